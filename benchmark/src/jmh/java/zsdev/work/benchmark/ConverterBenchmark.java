@@ -0,0 +1,129 @@
+package zsdev.work.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+import retrofit2.converter.moshi.MoshiConverterFactory;
+import retrofit2.converter.protobuf.ProtoConverterFactory;
+import retrofit2.converter.simplexml.SimpleXmlConverterFactory;
+import retrofit2.converter.wire.WireConverterFactory;
+import zsdev.work.benchmark.payload.Payloads;
+import zsdev.work.benchmark.payload.WireUserListResponse;
+import zsdev.work.benchmark.payload.XmlUserListResponse;
+import zsdev.work.network.enums.ConverterMode;
+
+/**
+ * Created: by 2026-10-18 21:00
+ * Description: ConverterMode各转换器的编解码基准测试，转换器工厂与NetworkHelper中的创建方式一致
+ * decode：响应体字节 -> 实体（Retrofit解析响应的路径）；encode：实体 -> 请求体字节（@Body的路径）
+ * Author: 张松
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConverterBenchmark {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    @Param({"GSON", "JACKSON", "MOSHI", "PROTOCOL_BUFFERS", "WIRE", "SIMPLE_XML"})
+    public ConverterMode mode;
+
+    @Param({"10", "100"})
+    public int userCount;
+
+    private Converter<ResponseBody, ?> responseConverter;
+
+    private Converter<Object, RequestBody> requestConverter;
+
+    private Object payload;
+
+    private byte[] payloadBytes;
+
+    private MediaType mediaType;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        Type type;
+        Converter.Factory factory;
+        switch (mode) {
+            case GSON:
+                factory = GsonConverterFactory.create();
+                type = Payloads.USER_LIST_RESPONSE_TYPE;
+                payload = Payloads.jsonResponse(userCount);
+                break;
+            case JACKSON:
+                factory = JacksonConverterFactory.create();
+                type = Payloads.USER_LIST_RESPONSE_TYPE;
+                payload = Payloads.jsonResponse(userCount);
+                break;
+            case MOSHI:
+                factory = MoshiConverterFactory.create();
+                type = Payloads.USER_LIST_RESPONSE_TYPE;
+                payload = Payloads.jsonResponse(userCount);
+                break;
+            case PROTOCOL_BUFFERS:
+                factory = ProtoConverterFactory.create();
+                type = com.google.protobuf.Struct.class;
+                payload = Payloads.protoResponse(userCount);
+                break;
+            case WIRE:
+                factory = WireConverterFactory.create();
+                type = WireUserListResponse.class;
+                payload = Payloads.wireResponse(userCount);
+                break;
+            case SIMPLE_XML:
+                factory = SimpleXmlConverterFactory.create();
+                type = XmlUserListResponse.class;
+                payload = Payloads.xmlResponse(userCount);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported mode: " + mode);
+        }
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl("http://localhost/")
+                .addConverterFactory(factory)
+                .build();
+        responseConverter = retrofit.responseBodyConverter(type, NO_ANNOTATIONS);
+        requestConverter = retrofit.requestBodyConverter(type, NO_ANNOTATIONS, NO_ANNOTATIONS);
+
+        RequestBody body = requestConverter.convert(payload);
+        mediaType = body.contentType();
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        //JSON格式解码服务端格式的数据（不含isSuccess()生成的success属性），其余格式解码自身编码的结果
+        payloadBytes = type == Payloads.USER_LIST_RESPONSE_TYPE ? Payloads.jsonBytes(userCount) : buffer.readByteArray();
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return responseConverter.convert(ResponseBody.create(payloadBytes, mediaType));
+    }
+
+    @Benchmark
+    public long encode() throws IOException {
+        RequestBody body = requestConverter.convert(payload);
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return buffer.size();
+    }
+}
@@ -0,0 +1,75 @@
+package zsdev.work.benchmark;
+
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Flowable;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import zsdev.work.benchmark.payload.Payloads;
+import zsdev.work.benchmark.payload.User;
+import zsdev.work.network.base.BaseResponse;
+import zsdev.work.network.rxjava.function.ResponseFunction;
+import zsdev.work.network.rxjava.function.StreamFunction;
+
+/**
+ * Created: by 2026-10-18 22:10
+ * Description: 大列表响应的整体解析与流式解析对比，配合gc profiler查看每次操作的分配量
+ * materialize：BaseResponse<List<User>>整体解析后取data（ResponseFunction的路径）；
+ * streamFirst：StreamFunction只解析到第一个元素（首个元素可显示的耗时）；streamAll：StreamFunction逐个解析全部元素
+ * Author: 张松
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StreamingBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+
+    @Param({"1000", "10000"})
+    public int userCount;
+
+    private final Gson gson = new Gson();
+
+    private byte[] payloadBytes;
+
+    private StreamFunction<User> streamFunction;
+
+    @Setup
+    public void setup() {
+        payloadBytes = Payloads.jsonBytes(userCount);
+        streamFunction = new StreamFunction<>(gson, User.class);
+    }
+
+    @Benchmark
+    public List<User> materialize() throws Throwable {
+        BaseResponse<List<User>> response = gson.fromJson(
+                new InputStreamReader(new ByteArrayInputStream(payloadBytes), StandardCharsets.UTF_8),
+                Payloads.USER_LIST_RESPONSE_TYPE);
+        return ResponseFunction.<List<User>>getInstance().apply(response);
+    }
+
+    @Benchmark
+    public User streamFirst() throws Throwable {
+        return Flowable.fromPublisher(streamFunction.apply(ResponseBody.create(payloadBytes, JSON))).blockingFirst();
+    }
+
+    @Benchmark
+    public long streamAll() throws Throwable {
+        return Flowable.fromPublisher(streamFunction.apply(ResponseBody.create(payloadBytes, JSON))).count().blockingGet();
+    }
+}
@@ -0,0 +1,184 @@
+package zsdev.work.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.TimeUnit;
+
+import autodispose2.AutoDispose;
+import autodispose2.AutoDisposeConverter;
+import autodispose2.ScopeProvider;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableTransformer;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import zsdev.work.network.base.BaseResponse;
+import zsdev.work.network.rxjava.function.ObservableErrorFunction;
+import zsdev.work.network.rxjava.function.ResponseFunction;
+import zsdev.work.network.rxjava.transformer.HandlerTransformer;
+import zsdev.work.network.rxjava.transformer.SchedulerTransformer;
+import zsdev.work.network.scheduler.NetworkScheduler;
+
+/**
+ * Created: by 2026-10-18 21:15
+ * Description: HandlerTransformer处理链组装开销的基准测试，每次调用处理100k个请求
+ * cached：当前实现，共用的转换器与Function单例；perCall：改为单例之前的实现，每次组装创建匿名转换器与Function
+ * handlerSubscribe/handlerSubscribeFlowable：完整调用HandlerTransformer.handlerSubscribe()，含AutoDispose绑定与订阅，
+ * 网络调度器替换为直接执行器，每个请求在当前线程同步完成，分配与耗时都计入本线程
+ * 配合-prof gc（已在build.gradle中启用）比较gc.alloc.rate.norm，即每个请求的分配字节数
+ * Author: 张松
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransformerAssemblyBenchmark {
+
+    private static final int REQUESTS = 100_000;
+
+    private Observable<BaseResponse<String>> source;
+
+    private Flowable<BaseResponse<String>> flowableSource;
+
+    private final AutoDisposeConverter<String> autoDisposeConverter = AutoDispose.autoDisposable(ScopeProvider.UNBOUND);
+
+    private final NoOpObserver observer = new NoOpObserver();
+
+    private final NoOpSubscriber subscriber = new NoOpSubscriber();
+
+    @Setup
+    public void setup() {
+        BaseResponse<String> response = new BaseResponse<>();
+        response.setCode(200);
+        response.setData("ok");
+        source = Observable.just(response);
+        flowableSource = Flowable.just(response);
+        //直接执行器：subscribeOn/unsubscribeOn在当前线程执行，不经过线程池排队
+        NetworkScheduler.setExecutor(Runnable::run);
+    }
+
+    @TearDown
+    public void tearDown() {
+        NetworkScheduler.setExecutor(null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void cached(Blackhole blackhole) {
+        for (int i = 0; i < REQUESTS; i++) {
+            blackhole.consume(source
+                    .map(ResponseFunction.<String>getInstance())
+                    .onErrorResumeNext(ObservableErrorFunction.<String>getInstance())
+                    .compose(SchedulerTransformer.<String>getObservableScheduler()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void perCall(Blackhole blackhole) {
+        for (int i = 0; i < REQUESTS; i++) {
+            blackhole.consume(source
+                    .map(new ResponseFunction<String>())
+                    .onErrorResumeNext(new ObservableErrorFunction<String>())
+                    .compose(perCallScheduler()));
+        }
+    }
+
+    /**
+     * 单例之前SchedulerTransformer.getObservableScheduler()的实现：每次调用创建匿名转换器
+     */
+    private static <T> ObservableTransformer<T, T> perCallScheduler() {
+        return new ObservableTransformer<T, T>() {
+            @Override
+            public Observable<T> apply(Observable<T> observable) {
+                return observable
+                        .subscribeOn(Schedulers.io())
+                        .observeOn(AndroidSchedulers.mainThread())
+                        .unsubscribeOn(Schedulers.io());
+            }
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void handlerSubscribe(Blackhole blackhole) {
+        for (int i = 0; i < REQUESTS; i++) {
+            HandlerTransformer.handlerSubscribe(source, autoDisposeConverter, observer);
+        }
+        blackhole.consume(observer.count);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void handlerSubscribeFlowable(Blackhole blackhole) {
+        for (int i = 0; i < REQUESTS; i++) {
+            HandlerTransformer.handlerSubscribe(flowableSource, autoDisposeConverter, subscriber);
+        }
+        blackhole.consume(subscriber.count);
+    }
+
+    /**
+     * 只计数的Observer，所有请求共用
+     */
+    private static final class NoOpObserver implements Observer<String> {
+
+        long count;
+
+        @Override
+        public void onSubscribe(Disposable d) {
+        }
+
+        @Override
+        public void onNext(String s) {
+            count++;
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            throw new IllegalStateException(e);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    /**
+     * 只计数的Subscriber，所有请求共用
+     */
+    private static final class NoOpSubscriber implements FlowableSubscriber<String> {
+
+        long count;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String s) {
+            count++;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
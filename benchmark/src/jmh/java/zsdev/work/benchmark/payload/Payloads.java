@@ -0,0 +1,118 @@
+package zsdev.work.benchmark.payload;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.protobuf.ListValue;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import zsdev.work.network.base.BaseResponse;
+
+/**
+ * Created: by 2026-10-18 20:55
+ * Description: 基准测试的响应数据：统一的BaseResponse结构（code、msg、data为用户列表），按各转换器所需的类型分别构建
+ * 同一userCount下各格式的数据内容一致，便于横向比较
+ * Author: 张松
+ */
+public final class Payloads {
+
+    /**
+     * BaseResponse<List<User>>的Type，Gson、Jackson、Moshi共用
+     */
+    public static final Type USER_LIST_RESPONSE_TYPE = TypeToken.getParameterized(BaseResponse.class,
+            TypeToken.getParameterized(List.class, User.class).getType()).getType();
+
+    private static final List<String> TAGS = Arrays.asList("vip", "android", "beta-tester");
+
+    private Payloads() {
+    }
+
+    public static BaseResponse<List<User>> jsonResponse(int userCount) {
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new User(i, name(i), email(i), i % 3 != 0, TAGS));
+        }
+        BaseResponse<List<User>> response = new BaseResponse<>();
+        response.setCode(200);
+        response.setMsg("success");
+        response.setData(users);
+        return response;
+    }
+
+    /**
+     * 模拟服务端返回的JSON，不含BaseResponse.isSuccess()等只读属性
+     *
+     * @param userCount 用户数量
+     * @return JSON字节
+     */
+    public static byte[] jsonBytes(int userCount) {
+        return new Gson().toJson(jsonResponse(userCount), USER_LIST_RESPONSE_TYPE).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static XmlUserListResponse xmlResponse(int userCount) {
+        List<XmlUser> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new XmlUser(i, name(i), email(i), i % 3 != 0, TAGS));
+        }
+        return new XmlUserListResponse(200, "success", users);
+    }
+
+    public static WireUserListResponse wireResponse(int userCount) {
+        WireUserListResponse.Builder builder = new WireUserListResponse.Builder();
+        builder.code = 200;
+        builder.msg = "success";
+        for (int i = 0; i < userCount; i++) {
+            WireUser.Builder user = new WireUser.Builder();
+            user.id = (long) i;
+            user.name = name(i);
+            user.email = email(i);
+            user.active = i % 3 != 0;
+            user.tags.addAll(TAGS);
+            builder.data.add(user.build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Protobuf使用内置的Struct表示相同结构，无需proto代码生成
+     *
+     * @param userCount 用户数量
+     * @return Struct
+     */
+    public static Struct protoResponse(int userCount) {
+        ListValue.Builder tags = ListValue.newBuilder();
+        for (String tag : TAGS) {
+            tags.addValues(Value.newBuilder().setStringValue(tag));
+        }
+        ListValue.Builder users = ListValue.newBuilder();
+        for (int i = 0; i < userCount; i++) {
+            Struct user = Struct.newBuilder()
+                    .putFields("id", Value.newBuilder().setNumberValue(i).build())
+                    .putFields("name", Value.newBuilder().setStringValue(name(i)).build())
+                    .putFields("email", Value.newBuilder().setStringValue(email(i)).build())
+                    .putFields("active", Value.newBuilder().setBoolValue(i % 3 != 0).build())
+                    .putFields("tags", Value.newBuilder().setListValue(tags).build())
+                    .build();
+            users.addValues(Value.newBuilder().setStructValue(user));
+        }
+        return Struct.newBuilder()
+                .putFields("code", Value.newBuilder().setNumberValue(200).build())
+                .putFields("msg", Value.newBuilder().setStringValue("success").build())
+                .putFields("data", Value.newBuilder().setListValue(users).build())
+                .build();
+    }
+
+    private static String name(int i) {
+        return "user_" + i;
+    }
+
+    private static String email(int i) {
+        return "user_" + i + "@example.com";
+    }
+}
@@ -0,0 +1,28 @@
+package zsdev.work.benchmark.payload;
+
+import java.util.List;
+
+/**
+ * Created: by 2026-10-18 20:45
+ * Description: JSON格式（Gson、Jackson、Moshi）基准测试的数据实体，对应BaseResponse<List<User>>中的data
+ * Author: 张松
+ */
+public class User {
+
+    public long id;
+    public String name;
+    public String email;
+    public boolean active;
+    public List<String> tags;
+
+    public User() {
+    }
+
+    public User(long id, String name, String email, boolean active, List<String> tags) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.active = active;
+        this.tags = tags;
+    }
+}
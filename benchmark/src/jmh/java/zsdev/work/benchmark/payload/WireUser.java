@@ -0,0 +1,136 @@
+package zsdev.work.benchmark.payload;
+
+import com.squareup.wire.FieldEncoding;
+import com.squareup.wire.Message;
+import com.squareup.wire.ProtoAdapter;
+import com.squareup.wire.ProtoReader;
+import com.squareup.wire.ProtoWriter;
+import com.squareup.wire.internal.Internal;
+
+import java.io.IOException;
+import java.util.List;
+
+import okio.ByteString;
+
+/**
+ * Created: by 2026-10-18 20:50
+ * Description: Wire基准测试的数据实体，按Wire代码生成器的格式手写，对应proto：
+ * message User { int64 id = 1; string name = 2; string email = 3; bool active = 4; repeated string tags = 5; }
+ * Author: 张松
+ */
+public final class WireUser extends Message<WireUser, WireUser.Builder> {
+
+    public static final ProtoAdapter<WireUser> ADAPTER = new ProtoAdapterWireUser();
+
+    private static final long serialVersionUID = 0L;
+
+    public final Long id;
+    public final String name;
+    public final String email;
+    public final Boolean active;
+    public final List<String> tags;
+
+    public WireUser(Long id, String name, String email, Boolean active, List<String> tags, ByteString unknownFields) {
+        super(ADAPTER, unknownFields);
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.active = active;
+        this.tags = Internal.immutableCopyOf("tags", tags);
+    }
+
+    @Override
+    public Builder newBuilder() {
+        Builder builder = new Builder();
+        builder.id = id;
+        builder.name = name;
+        builder.email = email;
+        builder.active = active;
+        builder.tags = Internal.copyOf("tags", tags);
+        builder.addUnknownFields(unknownFields());
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return "WireUser{id=" + id + ", name=" + name + '}';
+    }
+
+    public static final class Builder extends Message.Builder<WireUser, Builder> {
+
+        public Long id;
+        public String name;
+        public String email;
+        public Boolean active;
+        public List<String> tags = Internal.newMutableList();
+
+        @Override
+        public WireUser build() {
+            return new WireUser(id, name, email, active, tags, buildUnknownFields());
+        }
+    }
+
+    private static final class ProtoAdapterWireUser extends ProtoAdapter<WireUser> {
+
+        ProtoAdapterWireUser() {
+            super(FieldEncoding.LENGTH_DELIMITED, WireUser.class);
+        }
+
+        @Override
+        public int encodedSize(WireUser value) {
+            return ProtoAdapter.INT64.encodedSizeWithTag(1, value.id)
+                    + ProtoAdapter.STRING.encodedSizeWithTag(2, value.name)
+                    + ProtoAdapter.STRING.encodedSizeWithTag(3, value.email)
+                    + ProtoAdapter.BOOL.encodedSizeWithTag(4, value.active)
+                    + ProtoAdapter.STRING.asRepeated().encodedSizeWithTag(5, value.tags)
+                    + value.unknownFields().size();
+        }
+
+        @Override
+        public void encode(ProtoWriter writer, WireUser value) throws IOException {
+            ProtoAdapter.INT64.encodeWithTag(writer, 1, value.id);
+            ProtoAdapter.STRING.encodeWithTag(writer, 2, value.name);
+            ProtoAdapter.STRING.encodeWithTag(writer, 3, value.email);
+            ProtoAdapter.BOOL.encodeWithTag(writer, 4, value.active);
+            ProtoAdapter.STRING.asRepeated().encodeWithTag(writer, 5, value.tags);
+            writer.writeBytes(value.unknownFields());
+        }
+
+        @Override
+        public WireUser decode(ProtoReader reader) throws IOException {
+            Builder builder = new Builder();
+            long token = reader.beginMessage();
+            for (int tag; (tag = reader.nextTag()) != -1; ) {
+                switch (tag) {
+                    case 1:
+                        builder.id = ProtoAdapter.INT64.decode(reader);
+                        break;
+                    case 2:
+                        builder.name = ProtoAdapter.STRING.decode(reader);
+                        break;
+                    case 3:
+                        builder.email = ProtoAdapter.STRING.decode(reader);
+                        break;
+                    case 4:
+                        builder.active = ProtoAdapter.BOOL.decode(reader);
+                        break;
+                    case 5:
+                        builder.tags.add(ProtoAdapter.STRING.decode(reader));
+                        break;
+                    default:
+                        FieldEncoding fieldEncoding = reader.peekFieldEncoding();
+                        builder.addUnknownField(tag, fieldEncoding, fieldEncoding.rawProtoAdapter().decode(reader));
+                }
+            }
+            reader.endMessage(token);
+            return builder.build();
+        }
+
+        @Override
+        public WireUser redact(WireUser value) {
+            Builder builder = value.newBuilder();
+            builder.clearUnknownFields();
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package zsdev.work.benchmark.payload;
+
+import com.squareup.wire.FieldEncoding;
+import com.squareup.wire.Message;
+import com.squareup.wire.ProtoAdapter;
+import com.squareup.wire.ProtoReader;
+import com.squareup.wire.ProtoWriter;
+import com.squareup.wire.internal.Internal;
+
+import java.io.IOException;
+import java.util.List;
+
+import okio.ByteString;
+
+/**
+ * Created: by 2026-10-18 20:50
+ * Description: Wire基准测试的响应实体，按BaseResponse<List<User>>的结构手写，对应proto：
+ * message UserListResponse { int32 code = 1; string msg = 2; repeated User data = 3; }
+ * Author: 张松
+ */
+public final class WireUserListResponse extends Message<WireUserListResponse, WireUserListResponse.Builder> {
+
+    public static final ProtoAdapter<WireUserListResponse> ADAPTER = new ProtoAdapterWireUserListResponse();
+
+    private static final long serialVersionUID = 0L;
+
+    public final Integer code;
+    public final String msg;
+    public final List<WireUser> data;
+
+    public WireUserListResponse(Integer code, String msg, List<WireUser> data, ByteString unknownFields) {
+        super(ADAPTER, unknownFields);
+        this.code = code;
+        this.msg = msg;
+        this.data = Internal.immutableCopyOf("data", data);
+    }
+
+    @Override
+    public Builder newBuilder() {
+        Builder builder = new Builder();
+        builder.code = code;
+        builder.msg = msg;
+        builder.data = Internal.copyOf("data", data);
+        builder.addUnknownFields(unknownFields());
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return "WireUserListResponse{code=" + code + ", size=" + data.size() + '}';
+    }
+
+    public static final class Builder extends Message.Builder<WireUserListResponse, Builder> {
+
+        public Integer code;
+        public String msg;
+        public List<WireUser> data = Internal.newMutableList();
+
+        @Override
+        public WireUserListResponse build() {
+            return new WireUserListResponse(code, msg, data, buildUnknownFields());
+        }
+    }
+
+    private static final class ProtoAdapterWireUserListResponse extends ProtoAdapter<WireUserListResponse> {
+
+        ProtoAdapterWireUserListResponse() {
+            super(FieldEncoding.LENGTH_DELIMITED, WireUserListResponse.class);
+        }
+
+        @Override
+        public int encodedSize(WireUserListResponse value) {
+            return ProtoAdapter.INT32.encodedSizeWithTag(1, value.code)
+                    + ProtoAdapter.STRING.encodedSizeWithTag(2, value.msg)
+                    + WireUser.ADAPTER.asRepeated().encodedSizeWithTag(3, value.data)
+                    + value.unknownFields().size();
+        }
+
+        @Override
+        public void encode(ProtoWriter writer, WireUserListResponse value) throws IOException {
+            ProtoAdapter.INT32.encodeWithTag(writer, 1, value.code);
+            ProtoAdapter.STRING.encodeWithTag(writer, 2, value.msg);
+            WireUser.ADAPTER.asRepeated().encodeWithTag(writer, 3, value.data);
+            writer.writeBytes(value.unknownFields());
+        }
+
+        @Override
+        public WireUserListResponse decode(ProtoReader reader) throws IOException {
+            Builder builder = new Builder();
+            long token = reader.beginMessage();
+            for (int tag; (tag = reader.nextTag()) != -1; ) {
+                switch (tag) {
+                    case 1:
+                        builder.code = ProtoAdapter.INT32.decode(reader);
+                        break;
+                    case 2:
+                        builder.msg = ProtoAdapter.STRING.decode(reader);
+                        break;
+                    case 3:
+                        builder.data.add(WireUser.ADAPTER.decode(reader));
+                        break;
+                    default:
+                        FieldEncoding fieldEncoding = reader.peekFieldEncoding();
+                        builder.addUnknownField(tag, fieldEncoding, fieldEncoding.rawProtoAdapter().decode(reader));
+                }
+            }
+            reader.endMessage(token);
+            return builder.build();
+        }
+
+        @Override
+        public WireUserListResponse redact(WireUserListResponse value) {
+            Builder builder = value.newBuilder();
+            Internal.redactElements(builder.data, WireUser.ADAPTER);
+            builder.clearUnknownFields();
+            return builder.build();
+        }
+    }
+}
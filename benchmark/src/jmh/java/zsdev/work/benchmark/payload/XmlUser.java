@@ -0,0 +1,42 @@
+package zsdev.work.benchmark.payload;
+
+import org.simpleframework.xml.Element;
+import org.simpleframework.xml.ElementList;
+import org.simpleframework.xml.Root;
+
+import java.util.List;
+
+/**
+ * Created: by 2026-10-18 20:45
+ * Description: SimpleXML基准测试的数据实体，字段与User一致
+ * Author: 张松
+ */
+@Root(name = "user")
+public class XmlUser {
+
+    @Element
+    public long id;
+
+    @Element
+    public String name;
+
+    @Element
+    public String email;
+
+    @Element
+    public boolean active;
+
+    @ElementList(name = "tags", entry = "tag")
+    public List<String> tags;
+
+    public XmlUser() {
+    }
+
+    public XmlUser(long id, String name, String email, boolean active, List<String> tags) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.active = active;
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,35 @@
+package zsdev.work.benchmark.payload;
+
+import org.simpleframework.xml.Element;
+import org.simpleframework.xml.ElementList;
+import org.simpleframework.xml.Root;
+
+import java.util.List;
+
+/**
+ * Created: by 2026-10-18 20:45
+ * Description: SimpleXML基准测试的响应实体
+ * SimpleXML需要注解且不支持泛型字段，因此按BaseResponse<List<User>>的结构（code、msg、data）单独声明
+ * Author: 张松
+ */
+@Root(name = "response")
+public class XmlUserListResponse {
+
+    @Element
+    public int code;
+
+    @Element(required = false)
+    public String msg;
+
+    @ElementList(name = "data", entry = "user")
+    public List<XmlUser> data;
+
+    public XmlUserListResponse() {
+    }
+
+    public XmlUserListResponse(int code, String msg, List<XmlUser> data) {
+        this.code = code;
+        this.msg = msg;
+        this.data = data;
+    }
+}
@@ -0,0 +1,13 @@
+package android.net;
+
+/**
+ * Created: by 2026-10-18 20:40
+ * Description: JVM基准测试用的android.net.ParseException
+ * Author: 张松
+ */
+public class ParseException extends RuntimeException {
+
+    public ParseException(String response) {
+        super(response);
+    }
+}
@@ -0,0 +1,19 @@
+package android.os;
+
+/**
+ * Created: by 2026-10-18 20:40
+ * Description: JVM基准测试用的android.os.Process空实现，只保留线程优先级常量
+ * Author: 张松
+ */
+public final class Process {
+
+    public static final int THREAD_PRIORITY_DEFAULT = 0;
+
+    public static final int THREAD_PRIORITY_BACKGROUND = 10;
+
+    private Process() {
+    }
+
+    public static void setThreadPriority(int priority) {
+    }
+}
@@ -0,0 +1,54 @@
+package android.util;
+
+/**
+ * Created: by 2026-10-18 20:40
+ * Description: JVM基准测试用的android.util.Log空实现，不输出日志，避免日志I/O干扰测量
+ * Author: 张松
+ */
+public final class Log {
+
+    /**
+     * 日志级别，与Android的取值一致
+     */
+    public static final int VERBOSE = 2;
+    public static final int DEBUG = 3;
+    public static final int INFO = 4;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+    public static final int ASSERT = 7;
+
+    private Log() {
+    }
+
+    public static int v(String tag, String msg) {
+        return 0;
+    }
+
+    public static int i(String tag, String msg) {
+        return 0;
+    }
+
+    public static int d(String tag, String msg) {
+        return 0;
+    }
+
+    public static int d(String tag, String msg, Throwable tr) {
+        return 0;
+    }
+
+    public static int w(String tag, String msg) {
+        return 0;
+    }
+
+    public static int e(String tag, String msg) {
+        return 0;
+    }
+
+    public static int e(String tag, String msg, Throwable tr) {
+        return 0;
+    }
+
+    public static int println(int priority, String tag, String msg) {
+        return 0;
+    }
+}
@@ -0,0 +1,19 @@
+package io.reactivex.rxjava3.android.schedulers;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Created: by 2026-10-18 20:40
+ * Description: JVM基准测试用的AndroidSchedulers，JVM没有主线程Looper，用trampoline代替
+ * Author: 张松
+ */
+public final class AndroidSchedulers {
+
+    private AndroidSchedulers() {
+    }
+
+    public static Scheduler mainThread() {
+        return Schedulers.trampoline();
+    }
+}
@@ -29,7 +29,7 @@ import zsdev.work.swipeback.SwipeBackActivity;
 import zsdev.work.swipeback.SwipeBackLayout;
 import zsdev.work.utils.ActivityManagerUtil;
 import zsdev.work.utils.ImmersiveUtil;
-import zsdev.work.utils.network.newnet.NetworkLiveDataMBefore;
+import zsdev.work.utils.network.newnet.NetworkLiveData;
 import zsdev.work.utils.network.newnet.NetworkState;
 
 /**
@@ -81,8 +81,8 @@ public abstract class BaseActivity extends SwipeBackActivity implements IActivit
      */
     private void setNetworkStateListener(boolean isOpen) {
         if (isOpen) {
-            // TODO: 2023/9/28  此处使用旧版网络监听，待使用新版网络监听，待修复其重复调用onCapabilitiesChanged()多次出现Toast提示
-            NetworkLiveDataMBefore.getInstance(getNowActivityContext()).observe(this, this::getNetworkState);
+            //NetworkLiveData已防抖、去重，不会因多次回调onCapabilitiesChanged()重复提示
+            NetworkLiveData.getInstance(getNowActivityContext()).observe(this, this::getNetworkState);
         } else {
             Log.i(TAG, "setNetworkStateListener: 禁用网络监听");
         }
@@ -1,13 +1,22 @@
 package zsdev.work.network;
 
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import okhttp3.CookieJar;
+import okhttp3.Dns;
 import okhttp3.Interceptor;
+import okhttp3.Protocol;
 import retrofit2.Converter;
+import zsdev.work.network.breaker.CircuitBreakerPolicy;
+import zsdev.work.network.compress.CompressionPolicy;
 import zsdev.work.network.enums.ConverterMode;
 import zsdev.work.network.enums.CookieStoreMode;
+import zsdev.work.network.hedge.HedgingPolicy;
 import zsdev.work.network.interceptor.InterceptorHandler;
+import zsdev.work.network.retry.RetryPolicy;
 
 /**
  * Created: by 2023-08-11 14:06
@@ -114,6 +123,17 @@ public interface INetworkConfig {
      */
     ConverterMode setConverterFactoryMode();
 
+    /**
+     * 内容协商的格式列表，转换器模式为NEGOTIATE时生效，列表顺序即偏好顺序
+     * 请求按接口响应类型带上Accept请求头，响应按Content-Type选择转换器，服务端可按接口逐个从JSON切换到protobuf等格式
+     * 支持GSON、JACKSON、MOSHI、PROTOCOL_BUFFERS、WIRE、SIMPLE_XML、JAXB、SCALARS，通过NetworkHelper.getConverterMetrics()查询各格式的解析耗时
+     *
+     * @return 格式列表，默认protobuf优先、JSON兜底
+     */
+    default List<ConverterMode> setNegotiateConverterModes() {
+        return Arrays.asList(ConverterMode.PROTOCOL_BUFFERS, ConverterMode.GSON);
+    }
+
     /**
      * 设置Cookie存取模式
      *
@@ -127,4 +147,199 @@ public interface INetworkConfig {
      * @return Converter.Factory
      */
     Converter.Factory setCustomConverterFactory();
+
+    /* ********************************** 调度器与连接池：以下方法有默认实现，按需覆写 *************************************/
+
+    /**
+     * Dispatcher最大并发请求数，数值为0使用Okhttp默认值64
+     * 调度器为所有服务器URL共用，多个配置取其中最大值
+     *
+     * @return 最大并发请求数
+     */
+    default int setMaxRequests() {
+        return 0;
+    }
+
+    /**
+     * Dispatcher单个Host最大并发请求数，数值为0使用Okhttp默认值5
+     * 调度器为所有服务器URL共用，多个配置取其中最大值
+     *
+     * @return 单个Host最大并发请求数
+     */
+    default int setMaxRequestsPerHost() {
+        return 0;
+    }
+
+    /**
+     * 是否启用请求优先级：IMMEDIATE直接执行，NORMAL受最大并发请求数限制，BACKGROUND另受后台并发数限制且让出给排队的NORMAL
+     * 优先级通过接口方法的@Priority注解、@Tag RequestPriority参数或HandlerTransformer.handlerSubscribe()传入，默认禁用
+     *
+     * @return ture启用 false禁用
+     */
+    default boolean setIsEnablePriority() {
+        return false;
+    }
+
+    /**
+     * 后台请求（RequestPriority.BACKGROUND）最大并发数，数值为0使用默认值2
+     * 所有服务器URL共用，多个配置取其中最大值
+     *
+     * @return 后台请求最大并发数
+     */
+    default int setMaxBackgroundRequests() {
+        return 0;
+    }
+
+    /**
+     * 连接池最大空闲连接数，数值为0使用Okhttp默认值5
+     * 连接池为所有服务器URL共用，仅在首次创建根OkHttpClient时读取（优先全局配置）
+     *
+     * @return 最大空闲连接数
+     */
+    default int setMaxIdleConnections() {
+        return 0;
+    }
+
+    /**
+     * 连接池空闲连接保活时间，数值为0使用Okhttp默认值5分钟
+     * 连接池为所有服务器URL共用，仅在首次创建根OkHttpClient时读取（优先全局配置）
+     *
+     * @return 时间参数/ms
+     */
+    default long setKeepAliveDurationMills() {
+        return 0;
+    }
+
+    /**
+     * 协议偏好，如只使用HTTP/1.1：Collections.singletonList(Protocol.HTTP_1_1)，必须包含HTTP_1_1或H2_PRIOR_KNOWLEDGE
+     * 返回null使用Okhttp默认值（HTTP/2优先，HTTP/1.1兜底）
+     *
+     * @return 协议集合
+     */
+    default List<Protocol> setProtocols() {
+        return null;
+    }
+
+    /**
+     * DNS解析器，返回null使用系统解析
+     * 推荐使用带缓存的解析器：new CachingDnsBuilder().snapshotFile(new File(context.getCacheDir(), "MyNetworkDns")).build()
+     * 同一个实例可被多个网络配置共用，以共享缓存
+     *
+     * @return Dns
+     */
+    default Dns setDns() {
+        return null;
+    }
+
+    /**
+     * 是否启用相同请求合并：同一时刻相同的GET/HEAD请求只访问一次网络，默认禁用
+     *
+     * @return ture启用合并 false禁用合并
+     */
+    default boolean setIsEnableRequestCoalescing() {
+        return false;
+    }
+
+    /* ********************************** 缓存：setIsEnableCache()启用时生效 *************************************/
+
+    /**
+     * 磁盘缓存大小，数值为0使用默认值10MB
+     *
+     * @return 缓存大小/byte
+     */
+    default long setCacheMaxSize() {
+        return 0;
+    }
+
+    /**
+     * 磁盘缓存目录，返回null使用默认目录：context.getCacheDir()/MyNetworkCache
+     * 同一目录的缓存在多个服务器URL之间共用，缓存大小以首次创建时为准
+     *
+     * @return 缓存目录
+     */
+    default File setCacheDirectory() {
+        return null;
+    }
+
+    /**
+     * 内存缓存（磁盘缓存之前的一级缓存）大小，数值为0使用默认值2MB，小于0禁用内存缓存
+     * 内存缓存为所有服务器URL共用，大小以首次创建时为准，系统内存紧张时自动收缩
+     *
+     * @return 缓存大小/byte
+     */
+    default int setMemoryCacheMaxSize() {
+        return 0;
+    }
+
+    /**
+     * 重试策略：OkHttp层按策略重试连接失败、超时与可重试的HTTP状态码（默认408、429、5xx），返回null不重试
+     * 仅Rx调用需要重试时，也可在HandlerTransformer.handlerSubscribe()中传入重试策略
+     *
+     * @return 重试策略，通过RetryPolicyBuilder创建
+     */
+    default RetryPolicy setRetryPolicy() {
+        return null;
+    }
+
+    /**
+     * 熔断策略：按服务器URL统计失败率与慢请求率，超过阈值后直接拒绝请求（NetworkError.CIRCUIT_OPEN），返回null不熔断
+     * 避免单个服务器故障时请求长时间等待超时，占满Dispatcher并发数影响其他服务器
+     *
+     * @return 熔断策略，通过CircuitBreakerPolicyBuilder创建
+     */
+    default CircuitBreakerPolicy setCircuitBreakerPolicy() {
+        return null;
+    }
+
+    /**
+     * 对冲请求策略：GET/HEAD请求在等待时间（或该host的首字节耗时p95）内未返回时，在另一个连接上发起相同请求，先返回的胜出，返回null不对冲
+     * 对冲会增加服务器负载，由策略中的对冲预算与并发上限限制，通过NetworkHelper.getHedgingStats()查询发起与胜出次数
+     *
+     * @return 对冲请求策略，通过HedgingPolicyBuilder创建
+     */
+    default HedgingPolicy setHedgingPolicy() {
+        return null;
+    }
+
+    /**
+     * 请求体压缩策略：长度达到阈值的文本类请求体（JSON、表单等）对声明支持的host流式压缩后发送，返回null不压缩
+     * 通过NetworkHelper.getCompressionStats()按host查询节省的字节数、压缩耗时与gzip响应的解压耗时
+     *
+     * @return 请求体压缩策略，通过CompressionPolicyBuilder创建
+     */
+    default CompressionPolicy setRequestCompressionPolicy() {
+        return null;
+    }
+
+    /* ********************************** 网络指标与请求追踪 *************************************/
+
+    /**
+     * 是否启用网络指标统计（各阶段耗时与请求/响应大小的直方图），默认启用
+     * 通过NetworkHelper.getNetworkMetrics()查询
+     *
+     * @return ture启用统计 false禁用统计
+     */
+    default boolean setIsEnableMetrics() {
+        return true;
+    }
+
+    /**
+     * 是否启用请求追踪，记录各阶段耗时、大小、缓存状态与请求/响应头，默认禁用
+     * 通过NetworkHelper.getTraceRecorder()导出HAR文件
+     *
+     * @return ture启用追踪 false禁用追踪
+     */
+    default boolean setIsEnableTrace() {
+        return false;
+    }
+
+    /**
+     * 请求追踪最多保存的记录数，数值为0使用默认值200，超出后覆盖最旧的记录
+     * 追踪记录器为所有服务器URL共用，容量以首次创建时为准
+     *
+     * @return 记录数
+     */
+    default int setTraceMaxEntries() {
+        return 0;
+    }
 }
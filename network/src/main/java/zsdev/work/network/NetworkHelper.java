@@ -4,15 +4,34 @@ import android.content.Context;
 import android.text.TextUtils;
 import android.util.Log;
 
+import androidx.annotation.NonNull;
+
 import java.io.File;
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 
 import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
 import okhttp3.CookieJar;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit.converter.guava.GuavaOptionalConverterFactory;
 import retrofit.converter.java8.Java8OptionalConverterFactory;
@@ -27,15 +46,43 @@ import retrofit2.converter.protobuf.ProtoConverterFactory;
 import retrofit2.converter.scalars.ScalarsConverterFactory;
 import retrofit2.converter.simplexml.SimpleXmlConverterFactory;
 import retrofit2.converter.wire.WireConverterFactory;
+import zsdev.work.network.breaker.CircuitBreaker;
+import zsdev.work.network.breaker.CircuitBreakerPolicy;
+import zsdev.work.network.converter.ConverterMetrics;
+import zsdev.work.network.converter.NegotiatingConverterFactory;
+import zsdev.work.network.cache.MemoryResponseCache;
 import zsdev.work.network.cookie.CookieJarImpl;
 import zsdev.work.network.cookie.DBCookieStore;
 import zsdev.work.network.cookie.MemoryCookieStore;
 import zsdev.work.network.cookie.SpCookieStore;
+import zsdev.work.network.enums.ConverterMode;
+import zsdev.work.network.compress.CompressionInterceptor;
+import zsdev.work.network.compress.CompressionPolicy;
+import zsdev.work.network.compress.CompressionStats;
+import zsdev.work.network.compress.DecompressionTimingInterceptor;
+import zsdev.work.network.hedge.HedgingInterceptor;
+import zsdev.work.network.hedge.HedgingPolicy;
+import zsdev.work.network.hedge.HedgingStats;
+import zsdev.work.network.interceptor.AcceptInterceptor;
 import zsdev.work.network.interceptor.CachesInterceptor;
+import zsdev.work.network.interceptor.CircuitBreakerInterceptor;
+import zsdev.work.network.interceptor.CoalescingInterceptor;
 import zsdev.work.network.interceptor.HeadersInterceptor;
 import zsdev.work.network.interceptor.InterceptorHandler;
 import zsdev.work.network.interceptor.InterceptorImpl;
+import zsdev.work.network.interceptor.MemoryCacheInterceptor;
+import zsdev.work.network.interceptor.PriorityInterceptor;
+import zsdev.work.network.interceptor.RetryInterceptor;
 import zsdev.work.network.interceptor.UrlParameterInterceptor;
+import zsdev.work.network.metrics.CompositeEventListener;
+import zsdev.work.network.metrics.NetworkMetrics;
+import zsdev.work.network.priority.PriorityDispatcher;
+import zsdev.work.network.retry.RetryPolicy;
+import zsdev.work.network.scheduler.NetworkScheduler;
+import zsdev.work.network.trace.NetworkTraceRecorder;
+import zsdev.work.network.warmup.OnWarmUpListener;
+import zsdev.work.network.warmup.WarmUpEventListener;
+import zsdev.work.network.warmup.WarmUpResult;
 
 /**
  * Created: by 2023-09-06 00:11
@@ -91,42 +138,99 @@ public class NetworkHelper {
     }
 
     /**
-     * 清除网络配置缓存的Map数据
+     * 清除网络配置缓存的Map数据，之后的请求按新的网络配置重新构建Retrofit、OkHttpClient与内容协商转换器
+     * 以下数据有意保留：
+     * cacheMap：同一缓存目录只能由一个Cache实例持有，重建的OkHttpClient继续使用原Cache，避免同目录出现两个实例；
+     * circuitBreakerMap：熔断状态属于服务端而非配置，重建后沿用，避免清除配置后立即向已熔断的服务器放行请求
      */
     public static void clearConfigCache() {
-        getInstance().getRetrofitMap().clear();
-        getInstance().getNetWorkSingleConfigMap().clear();
-        getInstance().getOkhttpClientMap().clear();
+        NetworkHelper helper = getInstance();
+        helper.getRetrofitMap().clear();
+        helper.getNetWorkSingleConfigMap().clear();
+        helper.getOkhttpClientMap().clear();
+        helper.negotiatingConverterFactoryMap.clear();
     }
 
     /* ********************************** Retrofit *************************************/
 
     /**
-     * Retrofit全局变量
+     * 单个网络配置的Map集合，为了兼容多服务器URL。多线程首次请求会并发读写，因此使用ConcurrentHashMap
      */
-    private Retrofit mRetrofit;
+    private final Map<String, INetworkConfig> iNetWorkSingleConfigMap = new ConcurrentHashMap<>();
 
     /**
-     * 单个网络配置的Map集合，为了兼容多服务器URL
+     * Retrofit的Map集合，为了兼容多服务器URL。构建时对Map加锁并再次检查，保证同一URL只构建一次
+     * （ConcurrentHashMap.computeIfAbsent()需API 24，minSdk以下不可用）
      */
-    private final Map<String, INetworkConfig> iNetWorkSingleConfigMap = new HashMap<>();
+    private final Map<String, Retrofit> retrofitMap = new ConcurrentHashMap<>();
+
+    /* ********************************** Okhttp *************************************/
 
     /**
-     * Retrofit的Map集合，为了兼容多服务器URL
+     * 根OkHttpClient：所有服务器URL的OkHttpClient均由它newBuilder()派生，
+     * 共用同一个ConnectionPool、Dispatcher以及TLS/Socket工厂，避免每个URL各自维护连接池与调度线程
      */
-    private final Map<String, Retrofit> retrofitMap = new HashMap<>();
+    private volatile OkHttpClient mRootClient;
 
-    /* ********************************** Okhttp *************************************/
+    /**
+     * OkHttpClient的Map集合，为了兼容多服务器URL。构建时对Map加锁并再次检查，保证同一URL只构建一次
+     */
+    private final Map<String, OkHttpClient> okhttpClientMap = new ConcurrentHashMap<>();
+
+    /**
+     * 相同请求合并拦截器，所有启用合并的服务器URL共用，统计合并数量
+     */
+    private final CoalescingInterceptor coalescingInterceptor = new CoalescingInterceptor();
 
     /**
-     * 声明OkHttpClient全部变量
+     * 共用的网络指标统计，所有服务器URL的OkHttpClient共用
      */
-    private OkHttpClient mClient;
+    private final NetworkMetrics networkMetrics = new NetworkMetrics();
 
     /**
-     * OkHttpClient的Map集合，为了兼容多服务器URL
+     * 对冲请求统计，所有启用对冲的服务器URL共用
      */
-    private final Map<String, OkHttpClient> okhttpClientMap = new HashMap<>();
+    private final HedgingStats hedgingStats = new HedgingStats();
+
+    /**
+     * 内容协商转换器的Map集合，key为服务器URL
+     */
+    private final Map<String, NegotiatingConverterFactory> negotiatingConverterFactoryMap = new ConcurrentHashMap<>();
+
+    /**
+     * 内容协商转换器的解析耗时统计，所有服务器URL共用
+     */
+    private final ConverterMetrics converterMetrics = new ConverterMetrics();
+
+    /**
+     * 请求体压缩统计，所有启用压缩的服务器URL共用
+     */
+    private final CompressionStats compressionStats = new CompressionStats();
+
+    /**
+     * 请求优先级调度，setIsEnablePriority()启用时创建，所有服务器URL共用
+     */
+    private volatile PriorityDispatcher priorityDispatcher;
+
+    /**
+     * 响应内存缓存，所有服务器URL共用
+     */
+    private volatile MemoryResponseCache memoryResponseCache;
+
+    /**
+     * 共用的请求追踪记录器，setIsEnableTrace()启用时创建
+     */
+    private volatile NetworkTraceRecorder traceRecorder;
+
+    /**
+     * 磁盘缓存的Map集合，key为缓存目录。同一目录只能被一个Cache实例持有，多个URL共用时从此处取
+     */
+    private final ConcurrentHashMap<String, Cache> cacheMap = new ConcurrentHashMap<>();
+
+    /**
+     * 熔断器的Map集合，key为服务器URL。OkHttpClient重建（如clearConfigCache()）后沿用原熔断器的状态
+     */
+    private final ConcurrentHashMap<String, CircuitBreaker> circuitBreakerMap = new ConcurrentHashMap<>();
 
     /**
      * 默认请求连接超时时间
@@ -153,12 +257,36 @@ public class NetworkHelper {
      */
     private static final int DEFAULT_MAX_STALE = 60 * 60 * 24;
 
+    /**
+     * 默认连接池最大空闲连接数，同Okhttp默认值
+     */
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+
+    /**
+     * 默认连接池空闲连接保活时间5分钟，同Okhttp默认值
+     */
+    private static final long DEFAULT_KEEP_ALIVE_DURATION_MILLS = 5 * 60 * 1000L;
+
+    /**
+     * 磁盘缓存大小10MB
+     */
+    private static final long DEFAULT_CACHE_SIZE = 10 * 1024 * 1024;
+
+    /**
+     * 磁盘缓存目录名称
+     */
+    private static final String DEFAULT_CACHE_DIR_NAME = "MyNetworkCache";
+
+    /**
+     * 内存缓存大小2MB
+     */
+    private static final int DEFAULT_MEMORY_CACHE_SIZE = 2 * 1024 * 1024;
+
     /**
      * 无参构造
      */
     private NetworkHelper() {
-        mRetrofit = null;
-        mClient = null;
+        mRootClient = null;
     }
 
     /**
@@ -241,14 +369,41 @@ public class NetworkHelper {
         if (TextUtils.isEmpty(baseUrl)) throw new IllegalStateException("baseUrl can not be null!");
 
         //判断本次请求的服务器URL在Map集合中是否已注册有网络配置，如果已注册就将此含有配置属性的Retrofit对象返回使用
-        if (getRetrofitMap().get(baseUrl) != null) {
+        Retrofit retrofit = getRetrofitMap().get(baseUrl);
+        if (retrofit != null) {
             Log.i("NetworkHelper", "getRetrofit: " + baseUrl + "——>Retrofit已存在创建，正在引用中..");
-            return getRetrofitMap().get(baseUrl);
+            return retrofit;
         } else {
             Log.i("NetworkHelper", "getRetrofit: " + baseUrl + "——>Retrofit未创建");
         }
 
         //此处是使用全局网络配置、单个网络配置的关键之处
+        final INetworkConfig config = resolveNetWorkConfig(baseUrl, netWorkConfig);
+
+        //对引用网络配置判空校验，未注册配置程序关闭打印异常，反知继续下一步
+        checkNetWorkConfig(baseUrl, config);
+
+        Log.i("NetworkHelper", "getRetrofit: " + baseUrl + "成功引用网络配置");
+
+        //并发首次请求同一URL时只有一个线程执行构建，其余线程等待并复用构建结果
+        synchronized (retrofitMap) {
+            retrofit = retrofitMap.get(baseUrl);
+            if (retrofit == null) {
+                retrofit = createRetrofit(context, baseUrl, isEnableConverterFactory, isEnableRxJava, isEnableCookieStore, config);
+                retrofitMap.put(baseUrl, retrofit);
+            }
+            return retrofit;
+        }
+    }
+
+    /**
+     * 按优先级查找网络配置：netWorkConfig（直接注册） > iNetWorkSingleConfigMap（单次注册） > iNetWorkGlobalConfig（全局注册）
+     *
+     * @param baseUrl       服务器URL
+     * @param netWorkConfig 参数传递的网络配置，可为null
+     * @return 网络配置，均未注册时为null
+     */
+    private INetworkConfig resolveNetWorkConfig(String baseUrl, INetworkConfig netWorkConfig) {
         if (netWorkConfig == null) {   //netWorkConfig == null 意味着调用getRetrofit()时未使用参数传递注册
 
             Log.i("NetworkHelper", "getRetrofit: " + baseUrl + "当前未使用参数传递注册网络配置");
@@ -269,101 +424,143 @@ public class NetworkHelper {
         } else {
             Log.i("NetworkHelper", "getRetrofit: " + baseUrl + "当前已使用参数传递注册网络配置");
         }
+        return netWorkConfig;
+    }
 
-        //对引用网络配置判空校验，未注册配置程序关闭打印异常，反知继续下一步
-        checkNetWorkConfig(baseUrl, netWorkConfig);
-
-        Log.i("NetworkHelper", "getRetrofit: " + baseUrl + "成功引用网络配置");
-
-        //将接口传递来的网络配置参数装载Retrofit，生成Service
-        if (mRetrofit == null) {
-            //开始构建Retrofit
-            Retrofit.Builder builder = new Retrofit.Builder()
-                    .baseUrl(baseUrl) //服务器URL
-                    .client(getHttpClient(context, baseUrl, netWorkConfig, isEnableCookieStore));//设置使用okhttp网络请求，加载Okhttp已配置的网络参数
-            //设置实体转换器模式
-            if (!isEnableConverterFactory) {
-                Log.i("NetworkHelper", "getRetrofit: Current not using converter factory state!" +
-                        " will could not locate ResponseBody converter for bean!" +
-                        "If you do not use converter factory, please set the Retrofit service interface " +
-                        "Change the return value type to ResponseBody, and then you can only manually complete data parsing and usage!");
+    /**
+     * 构建Retrofit实例，仅由getRetrofit()在持有retrofitMap锁时调用，保证同一URL只执行一次
+     *
+     * @param context                  上下文
+     * @param baseUrl                  服务器URL
+     * @param isEnableConverterFactory 是否启用实体转换器
+     * @param isEnableRxJava           是否启用RxJava线程调度适配器
+     * @param isEnableCookieStore      是否启用Cookie存取模式
+     * @param netWorkConfig            已校验的网络配置
+     * @return Retrofit对象
+     */
+    private Retrofit createRetrofit(Context context, String baseUrl, boolean isEnableConverterFactory, boolean isEnableRxJava, boolean isEnableCookieStore, INetworkConfig netWorkConfig) {
+        //开始构建Retrofit
+        Retrofit.Builder builder = new Retrofit.Builder()
+                .baseUrl(baseUrl) //服务器URL
+                .client(getHttpClient(context, baseUrl, netWorkConfig, isEnableCookieStore));//设置使用okhttp网络请求，加载Okhttp已配置的网络参数
+        //设置实体转换器模式
+        if (!isEnableConverterFactory) {
+            Log.i("NetworkHelper", "getRetrofit: Current not using converter factory state!" +
+                    " will could not locate ResponseBody converter for bean!" +
+                    "If you do not use converter factory, please set the Retrofit service interface " +
+                    "Change the return value type to ResponseBody, and then you can only manually complete data parsing and usage!");
+        } else {
+            Log.i("NetworkHelper", "getRetrofit: Current yes using converter factory state!");
+            //开启实体转换器必须设置模式
+            if (netWorkConfig.setConverterFactoryMode() == null) {
+                throw new IllegalStateException("converter factory mode can not be null!");
+            }
+            if (netWorkConfig.setConverterFactoryMode() == ConverterMode.NEGOTIATE) {
+                builder.addConverterFactory(getNegotiatingConverterFactory(baseUrl, netWorkConfig));
+                Log.i("NetworkHelper", "getRetrofit: 使用内容协商转换器==" + netWorkConfig.setNegotiateConverterModes());
             } else {
-                Log.i("NetworkHelper", "getRetrofit: Current yes using converter factory state!");
-                //开启实体转换器必须设置模式
-                if (netWorkConfig.setConverterFactoryMode() == null) {
-                    throw new IllegalStateException("converter factory mode can not be null!");
-                }
-                //匹配模式设置属性
-                switch (netWorkConfig.setConverterFactoryMode()) {
-                    case GSON:
-                        builder.addConverterFactory(GsonConverterFactory.create());
-                        Log.i("NetworkHelper", "getRetrofit: 使用Gson转换器");
-                        break;
-                    case JACKSON:
-                        builder.addConverterFactory(JacksonConverterFactory.create());
-                        Log.i("NetworkHelper", "getRetrofit: 使用jackson转换器");
-                        break;
-                    case SCALARS:
-                        builder.addConverterFactory(ScalarsConverterFactory.create());
-                        Log.i("NetworkHelper", "getRetrofit: 使用scalars转换器");
-                        break;
-                    case MOSHI:
-                        builder.addConverterFactory(MoshiConverterFactory.create());
-                        Log.i("NetworkHelper", "getRetrofit: 使用moshi转换器");
-                        break;
-                    case SIMPLE_XML:
-                        builder.addConverterFactory(SimpleXmlConverterFactory.create());
-                        Log.i("NetworkHelper", "getRetrofit: 使用simplexml转换器");
-                        break;
-                    case WIRE:
-                        builder.addConverterFactory(WireConverterFactory.create());
-                        Log.i("NetworkHelper", "getRetrofit: 使用wire转换器");
-                        break;
-                    case PROTOCOL_BUFFERS:
-                        builder.addConverterFactory(ProtoConverterFactory.create());
-                        Log.i("NetworkHelper", "getRetrofit: 使用protobuf转换器");
-                        break;
-                    case JAXB:
-                        builder.addConverterFactory(JaxbConverterFactory.create());
-                        Log.i("NetworkHelper", "getRetrofit: 使用jaxb转换器");
-                        break;
-                    case JAVA8:
-                        builder.addConverterFactory(Java8OptionalConverterFactory.create());
-                        Log.i("NetworkHelper", "getRetrofit: 使用java8转换器");
-                        break;
-                    case GUAVA:
-                        builder.addConverterFactory(GuavaOptionalConverterFactory.create());
-                        Log.i("NetworkHelper", "getRetrofit: 使用guava转换器");
-                        break;
-                    case CUSTOM:
-                        Converter.Factory factory = netWorkConfig.setCustomConverterFactory();
-                        if (factory != null) {
-                            builder.addConverterFactory(factory);
-                            Log.i("NetworkHelper", "getRetrofit: 使用定制转换器");
-                        }
-                        break;
+                Converter.Factory factory = createConverterFactory(netWorkConfig.setConverterFactoryMode(), netWorkConfig);
+                if (factory != null) {
+                    builder.addConverterFactory(factory);
                 }
             }
+        }
 
-            //判断是否启用RxJava适配器
-            if (!isEnableRxJava) {
-                Log.i("NetworkHelper", "getRetrofit: Current not using rxjava state!");
-            } else {
-                //添加回调库
-                builder.addCallAdapterFactory(RxJava3CallAdapterFactory.create());
-                Log.i("NetworkHelper", "getRetrofit: Current yes using rxjava state!");
-            }
+        //判断是否启用RxJava适配器
+        if (!isEnableRxJava) {
+            Log.i("NetworkHelper", "getRetrofit: Current not using rxjava state!");
+        } else {
+            //添加回调库
+            builder.addCallAdapterFactory(RxJava3CallAdapterFactory.create());
+            Log.i("NetworkHelper", "getRetrofit: Current yes using rxjava state!");
+        }
 
-            //结束并构建Retrofit对象
-            mRetrofit = builder.build();
+        //结束并构建Retrofit对象
+        Retrofit retrofit = builder.build();
 
-            //重用网络配置：将本次已引用网络配置的Retrofit对象存入Map集合，下次根据key服务器URL获取对应的Retrofit对象值
-            getRetrofitMap().put(baseUrl, mRetrofit);
+        //重用网络配置：将本次已引用网络配置的单次注册的网络配置存入Map集合
+        getNetWorkSingleConfigMap().put(baseUrl, netWorkConfig);
+        return retrofit;
+    }
 
-            //重用网络配置：将本次已引用网络配置的单次注册的网络配置存入Map集合
-            getNetWorkSingleConfigMap().put(baseUrl, netWorkConfig);
+    /**
+     * 按转换器模式创建转换器工厂
+     *
+     * @param mode          转换器模式，不能为NEGOTIATE
+     * @param netWorkConfig 网络配置，CUSTOM模式从中获取定制转换器
+     * @return 转换器工厂，CUSTOM模式未设置定制转换器时为null
+     */
+    private static Converter.Factory createConverterFactory(ConverterMode mode, INetworkConfig netWorkConfig) {
+        switch (mode) {
+            case GSON:
+                Log.i("NetworkHelper", "getRetrofit: 使用Gson转换器");
+                return GsonConverterFactory.create();
+            case JACKSON:
+                Log.i("NetworkHelper", "getRetrofit: 使用jackson转换器");
+                return JacksonConverterFactory.create();
+            case SCALARS:
+                Log.i("NetworkHelper", "getRetrofit: 使用scalars转换器");
+                return ScalarsConverterFactory.create();
+            case MOSHI:
+                Log.i("NetworkHelper", "getRetrofit: 使用moshi转换器");
+                return MoshiConverterFactory.create();
+            case SIMPLE_XML:
+                Log.i("NetworkHelper", "getRetrofit: 使用simplexml转换器");
+                return SimpleXmlConverterFactory.create();
+            case WIRE:
+                Log.i("NetworkHelper", "getRetrofit: 使用wire转换器");
+                return WireConverterFactory.create();
+            case PROTOCOL_BUFFERS:
+                Log.i("NetworkHelper", "getRetrofit: 使用protobuf转换器");
+                return ProtoConverterFactory.create();
+            case JAXB:
+                Log.i("NetworkHelper", "getRetrofit: 使用jaxb转换器");
+                return JaxbConverterFactory.create();
+            case JAVA8:
+                Log.i("NetworkHelper", "getRetrofit: 使用java8转换器");
+                return Java8OptionalConverterFactory.create();
+            case GUAVA:
+                Log.i("NetworkHelper", "getRetrofit: 使用guava转换器");
+                return GuavaOptionalConverterFactory.create();
+            case CUSTOM:
+                Converter.Factory factory = netWorkConfig.setCustomConverterFactory();
+                if (factory != null) {
+                    Log.i("NetworkHelper", "getRetrofit: 使用定制转换器");
+                }
+                return factory;
+            default:
+                throw new IllegalArgumentException(mode + " can not be created as a single converter factory!");
+        }
+    }
+
+    /**
+     * 获取服务器URL的内容协商转换器工厂，判空创建。Retrofit与OkHttpClient（Accept请求头拦截器）共用同一实例
+     *
+     * @param baseUrl       服务器URL
+     * @param netWorkConfig 已校验的网络配置
+     * @return 内容协商转换器工厂
+     */
+    private NegotiatingConverterFactory getNegotiatingConverterFactory(String baseUrl, INetworkConfig netWorkConfig) {
+        //Retrofit与OkHttpClient必须拿到同一实例，加锁并再次检查
+        synchronized (negotiatingConverterFactoryMap) {
+            NegotiatingConverterFactory factory = negotiatingConverterFactoryMap.get(baseUrl);
+            if (factory != null) {
+                return factory;
+            }
+            List<ConverterMode> modes = netWorkConfig.setNegotiateConverterModes();
+            if (modes == null || modes.isEmpty()) {
+                throw new IllegalStateException("negotiate converter modes can not be empty!");
+            }
+            LinkedHashMap<ConverterMode, Converter.Factory> delegates = new LinkedHashMap<>();
+            for (ConverterMode mode : modes) {
+                if (!delegates.containsKey(mode)) {
+                    delegates.put(mode, createConverterFactory(mode, netWorkConfig));
+                }
+            }
+            factory = new NegotiatingConverterFactory(delegates, converterMetrics);
+            negotiatingConverterFactoryMap.put(baseUrl, factory);
+            return factory;
         }
-        return mRetrofit;
     }
 
     /**
@@ -427,6 +624,108 @@ public class NetworkHelper {
         }).setLevel(HttpLoggingInterceptor.Level.BODY);
     }
 
+    /**
+     * 获取根OkHttpClient，判空创建单例
+     * 各服务器URL的OkHttpClient由它派生，共用连接池、调度器与TLS配置
+     *
+     * @return 根OkHttpClient
+     */
+    public OkHttpClient getRootHttpClient() {
+        return getRootHttpClient(null);
+    }
+
+    /**
+     * 获取根OkHttpClient，判空创建单例
+     * 连接池与调度器参数优先读取全局配置，未注册全局配置时读取首个创建OkHttpClient的单次配置
+     *
+     * @param fallbackConfig 未注册全局配置时使用的网络配置，可为null
+     * @return 根OkHttpClient
+     */
+    private OkHttpClient getRootHttpClient(INetworkConfig fallbackConfig) {
+        if (mRootClient == null) {
+            synchronized (this) {
+                if (mRootClient == null) {
+                    INetworkConfig config = getNetWorkGlobalConfig() != null ? getNetWorkGlobalConfig() : fallbackConfig;
+                    int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+                    long keepAliveDurationMills = DEFAULT_KEEP_ALIVE_DURATION_MILLS;
+                    if (config != null) {
+                        //数值为0就使用默认值，数值不为0就使用注册传递过来的数值
+                        if (config.setMaxIdleConnections() != 0) {
+                            maxIdleConnections = config.setMaxIdleConnections();
+                        }
+                        if (config.setKeepAliveDurationMills() != 0) {
+                            keepAliveDurationMills = config.setKeepAliveDurationMills();
+                        }
+                    }
+                    Log.i("NetworkHelper", "getRootHttpClient: 连接池最大空闲连接数==" + maxIdleConnections + "，保活时间==" + keepAliveDurationMills);
+                    Dispatcher dispatcher = new Dispatcher();
+                    applyDispatcherConfig(dispatcher, config);
+                    mRootClient = new OkHttpClient.Builder()
+                            .dispatcher(dispatcher)
+                            .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveDurationMills, TimeUnit.MILLISECONDS))
+                            .build();
+                }
+            }
+        }
+        return mRootClient;
+    }
+
+    /**
+     * 将网络配置中的并发数设置到共用调度器，只增不减，避免后注册的服务器URL调低其他URL的并发上限
+     *
+     * @param dispatcher    共用调度器
+     * @param netWorkConfig 网络配置，可为null
+     */
+    private void applyDispatcherConfig(Dispatcher dispatcher, INetworkConfig netWorkConfig) {
+        if (netWorkConfig == null) return;
+        synchronized (dispatcher) {
+            if (netWorkConfig.setMaxRequests() > dispatcher.getMaxRequests()) {
+                dispatcher.setMaxRequests(netWorkConfig.setMaxRequests());
+                Log.i("NetworkHelper", "applyDispatcherConfig: 最大并发请求数==" + dispatcher.getMaxRequests());
+            }
+            if (netWorkConfig.setMaxRequestsPerHost() > dispatcher.getMaxRequestsPerHost()) {
+                dispatcher.setMaxRequestsPerHost(netWorkConfig.setMaxRequestsPerHost());
+                Log.i("NetworkHelper", "applyDispatcherConfig: 单个Host最大并发请求数==" + dispatcher.getMaxRequestsPerHost());
+            }
+        }
+    }
+
+    /**
+     * 获取调度器中排队等待执行的请求数
+     *
+     * @return 排队请求数
+     */
+    public static int getQueuedCallsCount() {
+        return getInstance().getRootHttpClient().dispatcher().queuedCallsCount();
+    }
+
+    /**
+     * 获取调度器中正在执行的请求数
+     *
+     * @return 执行中请求数
+     */
+    public static int getRunningCallsCount() {
+        return getInstance().getRootHttpClient().dispatcher().runningCallsCount();
+    }
+
+    /**
+     * 获取连接池中的空闲连接数
+     *
+     * @return 空闲连接数
+     */
+    public static int getIdleConnectionCount() {
+        return getInstance().getRootHttpClient().connectionPool().idleConnectionCount();
+    }
+
+    /**
+     * 获取连接池中的连接总数
+     *
+     * @return 连接总数
+     */
+    public static int getConnectionCount() {
+        return getInstance().getRootHttpClient().connectionPool().connectionCount();
+    }
+
     /**
      * 获取和配置OkHttpClient：连接超时时间、读取和写入超时时间、自定义拦截器、请求日志拦截器
      *
@@ -441,9 +740,10 @@ public class NetworkHelper {
         if (TextUtils.isEmpty(baseUrl)) throw new IllegalStateException("baseUrl can not be null!");
 
         //判断本次请求的服务器URL在Map集合中是否已注册有Okhttp对象，如果已创建对象返回给Retrofit使用
-        if (getOkhttpClientMap().get(baseUrl) != null) {
+        OkHttpClient client = getOkhttpClientMap().get(baseUrl);
+        if (client != null) {
             Log.i("NetworkHelper", "getHttpClient: " + baseUrl + "——>OkHttpClient已存在创建，正在引用中..");
-            return getOkhttpClientMap().get(baseUrl);
+            return client;
         } else {
             Log.i("NetworkHelper", "getHttpClient: " + baseUrl + "——>OkHttpClient未创建");
         }
@@ -451,122 +751,431 @@ public class NetworkHelper {
         //此处需对赋值引用全局配置进行判空校验，无全局网络配置程序关闭打印异常，反知即可进行下一步配置
         checkNetWorkConfig(baseUrl, netWorkConfig);
 
-        if (mClient == null) {
-            OkHttpClient.Builder builder = new OkHttpClient.Builder();
-            //请求错误后重试
-            builder.retryOnConnectionFailure(netWorkConfig.setIsEnableRetryOnConnection());
-            // 请求连接超时时间，时间数值为0就使用默认值，时间数值不为0就使用Application注册传递过来的时间数值
-            builder.connectTimeout(netWorkConfig.setConnectTimeoutMills() != 0
-                    ? netWorkConfig.setConnectTimeoutMills()
-                    : DEFAULT_CONNECT_TIMEOUT_MILLS, TimeUnit.MILLISECONDS);
-            // 数据读取超时时间，时间数值为0就使用默认值，时间数值不为0就使用Application注册传递过来的时间数值
-            builder.readTimeout(netWorkConfig.setReadTimeoutMills() != 0
-                    ? netWorkConfig.setReadTimeoutMills()
-                    : DEFAULT_READ_TIMEOUT_MILLS, TimeUnit.MILLISECONDS);
-            // 数据写入超时时间，时间数值为0就使用默认值，时间数值不为0就使用Application注册传递过来的时间数值
-            builder.writeTimeout(netWorkConfig.setWriteTimeoutMills() != 0
-                    ? netWorkConfig.setWriteTimeoutMills()
-                    : DEFAULT_WRITE_TIMEOUT_MILLS, TimeUnit.MILLISECONDS);
-
-            //设置Cookie存取模式
-            if (!isEnableCookieStore) {
-                Log.i("NetworkHelper", "getRetrofit: Current not using cookie store state!");
-            } else {
-                Log.i("NetworkHelper", "getRetrofit: Current yes using cookie store state!");
-                //开启Cookie存取必须设置模式
-                if (netWorkConfig.setCookieStoreMode() == null) {
-                    throw new IllegalStateException("cookie store mode can not be null!");
-                }
-                //匹配模式设置属性
-                switch (netWorkConfig.setCookieStoreMode()) {
-                    case SP:
-                        builder.cookieJar(new CookieJarImpl(new SpCookieStore(context)));
-                        Log.i("NetworkHelper", "getHttpClient: 当前Cookie存取模式是SharedPreferences");
-                        break;
-                    case MEMORY:
-                        builder.cookieJar(new CookieJarImpl(new MemoryCookieStore()));
-                        Log.i("NetworkHelper", "getHttpClient: 当前Cookie存取模式是Memory");
-                        break;
-                    case DB:
-                        // TODO: 2023/8/31 待完善DB模式存取Cookie
-                        builder.cookieJar(new CookieJarImpl(new DBCookieStore()));
-                        Log.i("NetworkHelper", "getHttpClient: 当前Cookie存取模式是DB");
-                        break;
-                    case CUSTOM:
-                        //自定义
-                        CookieJar cookieJar = netWorkConfig.setCustomCookieStore();
-                        if (cookieJar != null) {
-                            builder.cookieJar(cookieJar);
-                            Log.i("NetworkHelper", "getHttpClient: 当前Cookie存取模式是Custom");
-                        } else {
-                            throw new IllegalStateException("You must first create a class to implement the CookieJar interface of Okhttp before completing the customization of business requirements!");
-                        }
-                        break;
-                }
+        //并发首次请求同一URL时只有一个线程执行构建，其余线程等待并复用构建结果
+        synchronized (okhttpClientMap) {
+            client = okhttpClientMap.get(baseUrl);
+            if (client == null) {
+                client = createHttpClient(context, baseUrl, netWorkConfig, isEnableCookieStore);
+                okhttpClientMap.put(baseUrl, client);
             }
-            //设置请求头
-            builder.addInterceptor(new InterceptorImpl(new HeadersInterceptor(netWorkConfig.setHeaderParameters())));
-            //设置URL公共参数
-            builder.addInterceptor(new InterceptorImpl(new UrlParameterInterceptor(netWorkConfig.setUrlParameter())));
-
-            //接口传递：遍历设置添加定制拦截器，拦截交互数据
-            InterceptorHandler[] interceptorHandlers = netWorkConfig.setCustomInterceptor();
-            if (interceptorHandlers != null && interceptorHandlers.length > 0) {
-                for (InterceptorHandler interceptorHandler : interceptorHandlers) {
-                    //依次配置拦截器到Okhttp中
-                    builder.addInterceptor(new InterceptorImpl(interceptorHandler));
-                    Log.i("NetworkHelper", "添加定制拦截器（接口传递方式）：" + interceptorHandler.getClass().getSimpleName());
+            return client;
+        }
+    }
+
+    /**
+     * 构建OkHttpClient，仅由getHttpClient()在持有okhttpClientMap锁时调用，保证同一URL只执行一次
+     * 以根OkHttpClient的newBuilder()为起点，只覆盖本URL的超时、拦截器、Cookie、缓存等配置
+     *
+     * @param context             上下文
+     * @param baseUrl             服务器URL
+     * @param netWorkConfig       已校验的网络配置
+     * @param isEnableCookieStore 是否启用Cookie存取模式
+     * @return OkHttpClient对象
+     */
+    private OkHttpClient createHttpClient(Context context, String baseUrl, INetworkConfig netWorkConfig, boolean isEnableCookieStore) {
+        OkHttpClient rootClient = getRootHttpClient(netWorkConfig);
+        //调度器为共用对象，本URL配置的并发数只会调高共用上限
+        applyDispatcherConfig(rootClient.dispatcher(), netWorkConfig);
+        OkHttpClient.Builder builder = rootClient.newBuilder();
+        //请求错误后重试
+        builder.retryOnConnectionFailure(netWorkConfig.setIsEnableRetryOnConnection());
+        // 请求连接超时时间，时间数值为0就使用默认值，时间数值不为0就使用Application注册传递过来的时间数值
+        builder.connectTimeout(netWorkConfig.setConnectTimeoutMills() != 0
+                ? netWorkConfig.setConnectTimeoutMills()
+                : DEFAULT_CONNECT_TIMEOUT_MILLS, TimeUnit.MILLISECONDS);
+        // 数据读取超时时间，时间数值为0就使用默认值，时间数值不为0就使用Application注册传递过来的时间数值
+        builder.readTimeout(netWorkConfig.setReadTimeoutMills() != 0
+                ? netWorkConfig.setReadTimeoutMills()
+                : DEFAULT_READ_TIMEOUT_MILLS, TimeUnit.MILLISECONDS);
+        // 数据写入超时时间，时间数值为0就使用默认值，时间数值不为0就使用Application注册传递过来的时间数值
+        builder.writeTimeout(netWorkConfig.setWriteTimeoutMills() != 0
+                ? netWorkConfig.setWriteTimeoutMills()
+                : DEFAULT_WRITE_TIMEOUT_MILLS, TimeUnit.MILLISECONDS);
+        //影响连接复用的配置：协议偏好等
+        applyAddressConfig(builder, netWorkConfig);
+
+        //设置Cookie存取模式
+        if (!isEnableCookieStore) {
+            Log.i("NetworkHelper", "getRetrofit: Current not using cookie store state!");
+        } else {
+            Log.i("NetworkHelper", "getRetrofit: Current yes using cookie store state!");
+            //开启Cookie存取必须设置模式
+            if (netWorkConfig.setCookieStoreMode() == null) {
+                throw new IllegalStateException("cookie store mode can not be null!");
+            }
+            //匹配模式设置属性
+            switch (netWorkConfig.setCookieStoreMode()) {
+                case SP:
+                    builder.cookieJar(new CookieJarImpl(new SpCookieStore(context)));
+                    Log.i("NetworkHelper", "getHttpClient: 当前Cookie存取模式是SharedPreferences");
+                    break;
+                case MEMORY:
+                    builder.cookieJar(new CookieJarImpl(new MemoryCookieStore()));
+                    Log.i("NetworkHelper", "getHttpClient: 当前Cookie存取模式是Memory");
+                    break;
+                case DB:
+                    // TODO: 2023/8/31 待完善DB模式存取Cookie
+                    builder.cookieJar(new CookieJarImpl(new DBCookieStore()));
+                    Log.i("NetworkHelper", "getHttpClient: 当前Cookie存取模式是DB");
+                    break;
+                case CUSTOM:
+                    //自定义
+                    CookieJar cookieJar = netWorkConfig.setCustomCookieStore();
+                    if (cookieJar != null) {
+                        builder.cookieJar(cookieJar);
+                        Log.i("NetworkHelper", "getHttpClient: 当前Cookie存取模式是Custom");
+                    } else {
+                        throw new IllegalStateException("You must first create a class to implement the CookieJar interface of Okhttp before completing the customization of business requirements!");
+                    }
+                    break;
+            }
+        }
+        //设置请求头
+        builder.addInterceptor(new InterceptorImpl(new HeadersInterceptor(netWorkConfig.setHeaderParameters())));
+        //设置URL公共参数
+        builder.addInterceptor(new InterceptorImpl(new UrlParameterInterceptor(netWorkConfig.setUrlParameter())));
+        //内容协商：按接口响应类型设置Accept请求头
+        if (netWorkConfig.setConverterFactoryMode() == ConverterMode.NEGOTIATE) {
+            builder.addInterceptor(new AcceptInterceptor(getNegotiatingConverterFactory(baseUrl, netWorkConfig)));
+        }
+
+        //接口传递：遍历设置添加定制拦截器，拦截交互数据
+        InterceptorHandler[] interceptorHandlers = netWorkConfig.setCustomInterceptor();
+        if (interceptorHandlers != null && interceptorHandlers.length > 0) {
+            for (InterceptorHandler interceptorHandler : interceptorHandlers) {
+                //依次配置拦截器到Okhttp中
+                builder.addInterceptor(new InterceptorImpl(interceptorHandler));
+                Log.i("NetworkHelper", "添加定制拦截器（接口传递方式）：" + interceptorHandler.getClass().getSimpleName());
+            }
+        }
+
+        //非接口传递：遍历设置添加创建拦截器数组，如通过拦截器添加统一请求头等。
+        Interceptor[] interceptors = netWorkConfig.setInterceptors();
+        if (interceptors != null && interceptors.length > 0) {
+            for (Interceptor interceptor : interceptors) {
+                //依次配置拦截器到Okhttp中
+                builder.addInterceptor(interceptor);
+                Log.i("NetworkHelper", "添加定制拦截器（非接口传递方式）：" + interceptor.getClass().getSimpleName());
+            }
+        }
+
+        //相同请求合并，需放在请求头、公共参数及定制拦截器之后，比较最终的请求
+        if (netWorkConfig.setIsEnableRequestCoalescing()) {
+            builder.addInterceptor(coalescingInterceptor);
+            Log.i("NetworkHelper", "已启用相同请求合并");
+        }
+
+        //请求体压缩：放在定制拦截器之后压缩最终的请求体，网络拦截器在透明解压前为gzip响应计时
+        CompressionPolicy compressionPolicy = netWorkConfig.setRequestCompressionPolicy();
+        if (compressionPolicy != null) {
+            builder.addInterceptor(new CompressionInterceptor(compressionPolicy, compressionStats));
+            builder.addNetworkInterceptor(new DecompressionTimingInterceptor());
+            Log.i("NetworkHelper", "已启用请求体压缩：" + compressionPolicy.getEncoding().getToken() + "，最小压缩长度==" + compressionPolicy.getMinBodySize());
+        }
+
+        //判断是否开启打印默认日志
+        //根据APK打包类型(开发版或发布版)判定当前应用程序是否启用日志拦截器打印请求日志。PS：开发版启用打印，发布版禁用打印。
+        if (netWorkConfig.setIsEnableOkpDefaultPrintLog()) {
+            builder.addNetworkInterceptor(getHttpLoggingInterceptor());
+            Log.i("NetworkHelper", "已启用Okhttp默认日志打印");
+        } else {
+            Log.i("NetworkHelper", "未启用Okhttp默认日志打印");
+        }
+
+        //事件监听：网络指标统计 + 请求追踪
+        List<EventListener.Factory> eventListenerFactories = new ArrayList<>();
+        if (netWorkConfig.setIsEnableMetrics()) {
+            eventListenerFactories.add(networkMetrics);
+            Log.i("NetworkHelper", "已启用网络指标统计");
+        }
+        if (netWorkConfig.setIsEnableTrace()) {
+            eventListenerFactories.add(getTraceRecorder(netWorkConfig));
+            Log.i("NetworkHelper", "已启用请求追踪");
+        }
+        if (!eventListenerFactories.isEmpty()) {
+            builder.eventListenerFactory(CompositeEventListener.factory(eventListenerFactories));
+        }
+
+        //判断是否开启缓存 + 设置缓存时间
+        if (netWorkConfig.setIsEnableCache()) {
+            builder.addInterceptor(new InterceptorImpl(
+                    new CachesInterceptor(context, netWorkConfig.setCacheMaxAgeTimeUnitSeconds() != 0
+                            ? netWorkConfig.setCacheMaxAgeTimeUnitSeconds()
+                            : DEFAULT_MAX_AGE, netWorkConfig.setCacheMaxStaleTimeUnitSeconds() != 0
+                            ? netWorkConfig.setCacheMaxStaleTimeUnitSeconds()
+                            : DEFAULT_MAX_STALE))
+            );
+
+            //内存缓存：应用拦截器位于磁盘缓存之前，命中时不读取磁盘
+            if (netWorkConfig.setMemoryCacheMaxSize() >= 0) {
+                builder.addInterceptor(new MemoryCacheInterceptor(getMemoryResponseCache(context, netWorkConfig)));
+            }
+
+            //构建设置设置缓存目录和缓存大小，数值为0或null就使用默认值，同一目录的Cache实例在多个URL之间共用
+            File cacheDirectory = netWorkConfig.setCacheDirectory() != null
+                    ? netWorkConfig.setCacheDirectory()
+                    : new File(context.getCacheDir().getAbsolutePath(), DEFAULT_CACHE_DIR_NAME);
+            long cacheMaxSize = netWorkConfig.setCacheMaxSize() != 0
+                    ? netWorkConfig.setCacheMaxSize()
+                    : DEFAULT_CACHE_SIZE;
+            builder.cache(getSharedCache(cacheDirectory, cacheMaxSize));
+            Log.i("NetworkHelper", "已启用Okhttp缓存：缓存目录==" + cacheDirectory + "，缓存大小==" + cacheMaxSize);
+        } else {
+            Log.i("NetworkHelper", "未启用Okhttp缓存");
+        }
+
+        //重试：放在应用拦截器的最后，缓存命中的请求不进入重试
+        RetryPolicy retryPolicy = netWorkConfig.setRetryPolicy();
+        if (retryPolicy != null) {
+            builder.addInterceptor(new RetryInterceptor(retryPolicy));
+            Log.i("NetworkHelper", "已启用重试：最大重试次数==" + retryPolicy.getMaxRetries());
+        }
+
+        //熔断：放在重试之后，每次重试都经过熔断器
+        CircuitBreakerPolicy circuitBreakerPolicy = netWorkConfig.setCircuitBreakerPolicy();
+        if (circuitBreakerPolicy != null) {
+            CircuitBreaker circuitBreaker = circuitBreakerMap.get(baseUrl);
+            if (circuitBreaker == null) {
+                CircuitBreaker created = new CircuitBreaker(baseUrl, circuitBreakerPolicy);
+                circuitBreaker = circuitBreakerMap.putIfAbsent(baseUrl, created);
+                if (circuitBreaker == null) {
+                    circuitBreaker = created;
                 }
             }
+            builder.addInterceptor(new CircuitBreakerInterceptor(circuitBreaker));
+            Log.i("NetworkHelper", "已启用熔断：" + baseUrl);
+        }
+
+        //优先级：放在最后，缓存命中与熔断拒绝的请求不排队，每次重试单独排队
+        if (netWorkConfig.setIsEnablePriority()) {
+            builder.addInterceptor(new PriorityInterceptor(getPriorityDispatcher(netWorkConfig)));
+            Log.i("NetworkHelper", "已启用请求优先级：" + baseUrl);
+        }
+
+        //开始构建OkhttpClient对象
+        OkHttpClient client = builder.build();
+
+        //对冲：作为最后一个应用拦截器，由去掉应用拦截器的同配置client执行原请求与对冲请求
+        HedgingPolicy hedgingPolicy = netWorkConfig.setHedgingPolicy();
+        if (hedgingPolicy != null) {
+            OkHttpClient.Builder hedgeBuilder = client.newBuilder();
+            hedgeBuilder.interceptors().clear();
+            HedgingInterceptor hedgingInterceptor = new HedgingInterceptor(hedgeBuilder.build(), hedgingPolicy,
+                    netWorkConfig.setIsEnableMetrics() ? networkMetrics : null, hedgingStats);
+            //外层Call上的GET/HEAD请求不经过网络，只由内层Call记录统计与追踪，避免追踪中出现没有响应与耗时的外层记录
+            EventListener.Factory eventListenerFactory = client.eventListenerFactory();
+            client = client.newBuilder()
+                    .addInterceptor(hedgingInterceptor)
+                    .eventListenerFactory(call -> HedgingInterceptor.isHedgeable(call.request())
+                            ? EventListener.NONE : eventListenerFactory.create(call))
+                    .build();
+            Log.i("NetworkHelper", "已启用对冲请求：" + baseUrl);
+        }
+
+        //重用网络配置：将本次已引用网络配置的单次注册的网络配置存入Map集合
+        getNetWorkSingleConfigMap().put(baseUrl, netWorkConfig);
+        return client;
+    }
+
+    /**
+     * 设置参与连接复用匹配（okhttp3.Address）的配置，业务OkHttpClient与预热OkHttpClient都需一致，预热的连接才能被复用
+     *
+     * @param builder       OkHttpClient构建器
+     * @param netWorkConfig 网络配置
+     */
+    private void applyAddressConfig(OkHttpClient.Builder builder, INetworkConfig netWorkConfig) {
+        //DNS解析器，返回null就使用系统解析
+        Dns dns = netWorkConfig.setDns();
+        if (dns != null) {
+            builder.dns(dns);
+            Log.i("NetworkHelper", "getHttpClient: DNS解析器==" + dns.getClass().getSimpleName());
+        }
+        //协议偏好，返回null就使用默认值
+        List<Protocol> protocols = netWorkConfig.setProtocols();
+        if (protocols != null && !protocols.isEmpty()) {
+            builder.protocols(protocols);
+            Log.i("NetworkHelper", "getHttpClient: 协议偏好==" + protocols);
+        }
+    }
 
-            //非接口传递：遍历设置添加创建拦截器数组，如通过拦截器添加统一请求头等。
-            Interceptor[] interceptors = netWorkConfig.setInterceptors();
-            if (interceptors != null && interceptors.length > 0) {
-                for (Interceptor interceptor : interceptors) {
-                    //依次配置拦截器到Okhttp中
-                    builder.addInterceptor(interceptor);
-                    Log.i("NetworkHelper", "添加定制拦截器（非接口传递方式）：" + interceptor.getClass().getSimpleName());
+    /**
+     * 获取被合并（未访问网络、共用其他请求响应）的请求数
+     *
+     * @return 请求数
+     */
+    public static long getCoalescedCallsCount() {
+        return getInstance().coalescingInterceptor.getCoalescedCount();
+    }
+
+    /**
+     * 获取共用的内存缓存，判空创建单例，并注册系统内存回调以便内存紧张时自动收缩
+     *
+     * @param context       上下文
+     * @param netWorkConfig 网络配置
+     * @return 内存缓存
+     */
+    private MemoryResponseCache getMemoryResponseCache(Context context, INetworkConfig netWorkConfig) {
+        if (memoryResponseCache == null) {
+            synchronized (this) {
+                if (memoryResponseCache == null) {
+                    int maxSize = netWorkConfig.setMemoryCacheMaxSize() != 0
+                            ? netWorkConfig.setMemoryCacheMaxSize()
+                            : DEFAULT_MEMORY_CACHE_SIZE;
+                    MemoryResponseCache cache = new MemoryResponseCache(maxSize);
+                    context.getApplicationContext().registerComponentCallbacks(cache);
+                    memoryResponseCache = cache;
+                    Log.i("NetworkHelper", "已启用内存缓存：缓存大小==" + maxSize);
                 }
             }
+        }
+        return memoryResponseCache;
+    }
 
-            //判断是否开启打印默认日志
-            //根据APK打包类型(开发版或发布版)判定当前应用程序是否启用日志拦截器打印请求日志。PS：开发版启用打印，发布版禁用打印。
-            if (netWorkConfig.setIsEnableOkpDefaultPrintLog()) {
-                builder.addNetworkInterceptor(getHttpLoggingInterceptor());
-                Log.i("NetworkHelper", "已启用Okhttp默认日志打印");
-            } else {
-                Log.i("NetworkHelper", "未启用Okhttp默认日志打印");
+    /**
+     * 获取共用的内存缓存，未启用时为null，可用于查看命中率或手动清空
+     *
+     * @return 内存缓存
+     */
+    public static MemoryResponseCache getMemoryResponseCache() {
+        return getInstance().memoryResponseCache;
+    }
+
+    /**
+     * 获取服务器URL的熔断器，可查询状态、失败率或手动重置
+     *
+     * @param baseUrl 服务器URL
+     * @return 熔断器，未启用熔断或尚未创建OkHttpClient时为null
+     */
+    public static CircuitBreaker getCircuitBreaker(String baseUrl) {
+        return getInstance().circuitBreakerMap.get(baseUrl);
+    }
+
+    /**
+     * 获取全部熔断器，用于监控
+     *
+     * @return 熔断器集合，key为服务器URL
+     */
+    public static Map<String, CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(getInstance().circuitBreakerMap);
+    }
+
+    /**
+     * 获取对冲请求统计：可对冲请求数、对冲发起数、对冲胜出数
+     *
+     * @return 对冲请求统计
+     */
+    public static HedgingStats getHedgingStats() {
+        return getInstance().hedgingStats;
+    }
+
+    /**
+     * 获取内容协商转换器的统计：各格式的解析耗时（µs）与解析失败数
+     *
+     * @return 转换器统计
+     */
+    public static ConverterMetrics getConverterMetrics() {
+        return getInstance().converterMetrics;
+    }
+
+    /**
+     * 获取请求体压缩统计：各host节省的字节数、压缩耗时与gzip响应的解压耗时（µs）
+     *
+     * @return 压缩统计
+     */
+    public static CompressionStats getCompressionStats() {
+        return getInstance().compressionStats;
+    }
+
+    /**
+     * 获取网络指标统计，可按host或路由查询DNS、连接、TLS、首字节等耗时的百分位
+     *
+     * @return 网络指标统计
+     */
+    public static NetworkMetrics getNetworkMetrics() {
+        return getInstance().networkMetrics;
+    }
+
+    /**
+     * 获取共用的请求追踪记录器，判空创建单例
+     *
+     * @param netWorkConfig 网络配置
+     * @return 请求追踪记录器
+     */
+    private NetworkTraceRecorder getTraceRecorder(INetworkConfig netWorkConfig) {
+        if (traceRecorder == null) {
+            synchronized (this) {
+                if (traceRecorder == null) {
+                    int maxEntries = netWorkConfig.setTraceMaxEntries() != 0
+                            ? netWorkConfig.setTraceMaxEntries()
+                            : NetworkTraceRecorder.DEFAULT_MAX_ENTRIES;
+                    traceRecorder = new NetworkTraceRecorder(maxEntries, NetworkTraceRecorder.DEFAULT_REDACT_HEADERS);
+                    Log.i("NetworkHelper", "已创建请求追踪记录器：最多保存" + maxEntries + "条记录");
+                }
             }
+        }
+        return traceRecorder;
+    }
 
-            //判断是否开启缓存 + 设置缓存时间
-            if (netWorkConfig.setIsEnableCache()) {
-                builder.addInterceptor(new InterceptorImpl(
-                        new CachesInterceptor(context, netWorkConfig.setCacheMaxAgeTimeUnitSeconds() != 0
-                                ? netWorkConfig.setCacheMaxAgeTimeUnitSeconds()
-                                : DEFAULT_MAX_AGE, netWorkConfig.setCacheMaxStaleTimeUnitSeconds() != 0
-                                ? netWorkConfig.setCacheMaxStaleTimeUnitSeconds()
-                                : DEFAULT_MAX_STALE))
-                );
-
-                //构建设置设置缓存目录和缓存大小为10MB
-                builder.cache(new Cache(new File(
-                        context.getCacheDir().getAbsolutePath(), "MyNetworkCache"), 10 * 1024 * 1024)
-                );
-                Log.i("NetworkHelper", "已启用Okhttp缓存：缓存时间==" + 10 * 1024 * 1024);
-            } else {
-                Log.i("NetworkHelper", "未启用Okhttp缓存");
+    /**
+     * 获取共用的请求优先级调度，判空创建单例，已存在时按配置调大后台并发数
+     *
+     * @param netWorkConfig 网络配置
+     * @return 请求优先级调度
+     */
+    private PriorityDispatcher getPriorityDispatcher(INetworkConfig netWorkConfig) {
+        int maxBackgroundRequests = netWorkConfig.setMaxBackgroundRequests() != 0
+                ? netWorkConfig.setMaxBackgroundRequests()
+                : PriorityDispatcher.DEFAULT_MAX_BACKGROUND_REQUESTS;
+        if (priorityDispatcher == null) {
+            synchronized (this) {
+                if (priorityDispatcher == null) {
+                    priorityDispatcher = new PriorityDispatcher(getRootHttpClient().dispatcher(), maxBackgroundRequests);
+                    Log.i("NetworkHelper", "已创建请求优先级调度：后台请求最大并发数==" + maxBackgroundRequests);
+                    return priorityDispatcher;
+                }
             }
+        }
+        priorityDispatcher.setMaxBackgroundRequests(maxBackgroundRequests);
+        return priorityDispatcher;
+    }
 
-            //开始构建OkhttpClient对象
-            mClient = builder.build();
+    /**
+     * 获取共用的请求优先级调度，可查询执行中与排队中的请求数，未启用时为null
+     *
+     * @return 请求优先级调度
+     */
+    public static PriorityDispatcher getPriorityDispatcher() {
+        return getInstance().priorityDispatcher;
+    }
 
-            //重用网络配置：将本次已引用网络配置的OkhttpClient对象存入Map集合，下次根据key服务器URL获取对应的OkhttpClient对象值
-            getOkhttpClientMap().put(baseUrl, mClient);
+    /**
+     * 获取共用的请求追踪记录器，未启用时为null，可调用exportHar()导出HAR文件
+     *
+     * @return 请求追踪记录器
+     */
+    public static NetworkTraceRecorder getTraceRecorder() {
+        return getInstance().traceRecorder;
+    }
 
-            //重用网络配置：将本次已引用网络配置的单次注册的网络配置存入Map集合
-            getNetWorkSingleConfigMap().put(baseUrl, netWorkConfig);
+    /**
+     * 获取共用的磁盘缓存，同一目录只创建一个Cache实例
+     *
+     * @param directory 缓存目录
+     * @param maxSize   缓存大小/byte
+     * @return Cache对象
+     */
+    private Cache getSharedCache(File directory, long maxSize) {
+        String path = directory.getAbsolutePath();
+        Cache cache = cacheMap.get(path);
+        if (cache == null) {
+            //Cache首次读写时才打开目录，并发时未放入Map的实例不会被使用
+            Cache created = new Cache(new File(path), maxSize);
+            cache = cacheMap.putIfAbsent(path, created);
+            if (cache == null) {
+                cache = created;
+            }
         }
-        return mClient;
+        return cache;
     }
 
     /**
@@ -578,6 +1187,102 @@ public class NetworkHelper {
         return okhttpClientMap;
     }
 
+    /* ********************************** 连接预热 *************************************/
+
+    /**
+     * 冷启动连接预热：在后台线程构建根OkHttpClient，对每个服务器URL发起HEAD请求完成DNS解析、TCP连接与TLS握手，
+     * 连接归还到共用连接池后，首个业务请求即可直接复用。方法立即返回，可在Application.onCreate()中调用而不阻塞启动
+     * 应在注册网络配置之后调用，预热连接才能与业务OkHttpClient的配置匹配
+     *
+     * @param listener 预热完成回调，可为null，回调运行在后台线程
+     * @param baseUrls 需要预热的服务器URL
+     */
+    public static void warmUp(OnWarmUpListener listener, String... baseUrls) {
+        if (baseUrls == null || baseUrls.length == 0) return;
+        NetworkScheduler.io().scheduleDirect(() -> getInstance().executeWarmUp(listener, baseUrls));
+    }
+
+    /**
+     * 连接预热，不阻塞当前线程，每个服务器URL的预热请求由调度器异步执行
+     *
+     * @param listener 预热完成回调
+     * @param baseUrls 需要预热的服务器URL
+     */
+    private void executeWarmUp(OnWarmUpListener listener, String[] baseUrls) {
+        List<WarmUpResult> results = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger remaining = new AtomicInteger(baseUrls.length);
+        for (String baseUrl : baseUrls) {
+            WarmUpResult result = new WarmUpResult(baseUrl);
+            HttpUrl url = TextUtils.isEmpty(baseUrl) ? null : HttpUrl.parse(baseUrl);
+            if (url == null) {
+                result.setThrowable(new IllegalArgumentException("baseUrl is invalid: " + baseUrl));
+                onWarmUpFinish(listener, results, remaining, result);
+                continue;
+            }
+            result.setHost(url.host());
+            OkHttpClient client = getWarmUpClientBuilder(baseUrl)
+                    .eventListener(new WarmUpEventListener(result))
+                    .build();
+            //HEAD请求只取响应行与头，关闭响应后连接归还连接池
+            client.newCall(new Request.Builder().url(url).head().build()).enqueue(new Callback() {
+                @Override
+                public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                    result.setThrowable(e);
+                    onWarmUpFinish(listener, results, remaining, result);
+                }
+
+                @Override
+                public void onResponse(@NonNull Call call, @NonNull Response response) {
+                    response.close();
+                    onWarmUpFinish(listener, results, remaining, result);
+                }
+            });
+        }
+    }
+
+    /**
+     * 获取预热使用的OkHttpClient构建器：已创建的服务器URL直接派生，未创建的按网络配置从根OkHttpClient派生
+     * 预热只建立连接，不经过业务拦截器、缓存与Cookie
+     *
+     * @param baseUrl 服务器URL
+     * @return OkHttpClient构建器
+     */
+    private OkHttpClient.Builder getWarmUpClientBuilder(String baseUrl) {
+        OkHttpClient.Builder builder;
+        OkHttpClient client = getOkhttpClientMap().get(baseUrl);
+        if (client != null) {
+            builder = client.newBuilder();
+        } else {
+            INetworkConfig config = getNetWorkSingleConfigMap().get(baseUrl);
+            if (config == null) {
+                config = getNetWorkGlobalConfig();
+            }
+            builder = getRootHttpClient(config).newBuilder();
+            if (config != null) {
+                applyAddressConfig(builder, config);
+            }
+        }
+        builder.interceptors().clear();
+        builder.networkInterceptors().clear();
+        return builder.cache(null).cookieJar(CookieJar.NO_COOKIES);
+    }
+
+    /**
+     * 单个服务器URL预热结束，全部结束后回调
+     *
+     * @param listener  预热完成回调
+     * @param results   预热结果集合
+     * @param remaining 剩余未结束数量
+     * @param result    本次预热结果
+     */
+    private void onWarmUpFinish(OnWarmUpListener listener, List<WarmUpResult> results, AtomicInteger remaining, WarmUpResult result) {
+        Log.i("NetworkHelper", "warmUp: " + result);
+        results.add(result);
+        if (remaining.decrementAndGet() == 0 && listener != null) {
+            listener.onWarmUpComplete(new ArrayList<>(results));
+        }
+    }
+
     /* ********************************** RxJava配置：线程调用 + 异常处理变换（详见TransformerNormalHelper、TransformerExtendsResponseHelper）*************************************/
 
 //    /**
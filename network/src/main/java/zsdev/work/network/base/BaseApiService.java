@@ -3,13 +3,19 @@ package zsdev.work.network.base;
 import java.util.Map;
 
 import io.reactivex.rxjava3.core.Flowable;
+import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import retrofit2.Response;
 import retrofit2.http.Body;
 import retrofit2.http.FieldMap;
 import retrofit2.http.FormUrlEncoded;
 import retrofit2.http.GET;
+import retrofit2.http.HEAD;
+import retrofit2.http.Header;
+import retrofit2.http.HeaderMap;
 import retrofit2.http.Multipart;
+import retrofit2.http.PATCH;
 import retrofit2.http.POST;
 import retrofit2.http.Part;
 import retrofit2.http.PartMap;
@@ -17,6 +23,7 @@ import retrofit2.http.Path;
 import retrofit2.http.QueryMap;
 import retrofit2.http.Streaming;
 import retrofit2.http.Url;
+import zsdev.work.network.interceptor.CachesInterceptor;
 
 /**
  * Created: by 2023-09-07 00:24
@@ -28,10 +35,20 @@ public interface BaseApiService {
     @GET()
     Flowable<BaseResponse<Object>> get(@Url String url, @QueryMap Map<String, String> maps);
 
+    @GET()
+    Flowable<BaseResponse<Object>> get(@Url String url, @QueryMap Map<String, String> maps, @Header(CachesInterceptor.HEADER_CACHE_MODE) String cacheMode);
+
     @FormUrlEncoded
     @POST()
     Flowable<BaseResponse<Object>> post(@Url String url, @FieldMap Map<String, String> maps);
 
+    /**
+     * 流式请求：配合HandlerTransformer.handlerStreamSubscribe()逐个解析data数组中的元素
+     */
+    @Streaming
+    @GET()
+    Flowable<ResponseBody> stream(@Url String url, @QueryMap Map<String, String> maps);
+
     @POST()
     Flowable<BaseResponse<Object>> json(@Url String url, @Body RequestBody jsonStr);
 
@@ -42,8 +59,39 @@ public interface BaseApiService {
     @POST()
     Flowable<ResponseBody> uploadFiles(@Url String url, @Path("headers") Map<String, String> headers, @Part("filename") String description, @PartMap Map<String, RequestBody> maps);
 
+    /**
+     * 表单上传，请求体由UploadManager以FileRequestBody构建，文件不读入内存
+     */
+    @POST()
+    Flowable<Response<ResponseBody>> uploadMultipart(@Url String url, @Body MultipartBody body);
+
+    /**
+     * 续传上传（tus协议）：创建上传，响应Location为上传地址
+     */
+    @POST()
+    Flowable<Response<Void>> createUpload(@Url String url, @HeaderMap Map<String, String> headers);
+
+    /**
+     * 续传上传（tus协议）：查询服务器已接收的位置
+     */
+    @HEAD()
+    Flowable<Response<Void>> queryUpload(@Url String uploadUrl, @HeaderMap Map<String, String> headers);
+
+    /**
+     * 续传上传（tus协议）：从Upload-Offset位置上传一块
+     */
+    @PATCH()
+    Flowable<Response<Void>> patchUpload(@Url String uploadUrl, @HeaderMap Map<String, String> headers, @Body RequestBody chunk);
+
     @Streaming
     @GET
     Flowable<ResponseBody> downloadFile(@Url String fileUrl);
 
+    /**
+     * 按字节范围下载，供DownloadManager分段与续传使用，range与ifRange为null时不添加对应请求头
+     */
+    @Streaming
+    @GET
+    Flowable<Response<ResponseBody>> downloadRange(@Url String fileUrl, @Header("Range") String range, @Header("If-Range") String ifRange);
+
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package zsdev.work.network.base;
 import android.app.Activity;
 import android.app.Dialog;
 import android.content.Context;
-import android.os.Build;
 import android.util.Log;
 
 import io.reactivex.rxjava3.subscribers.ResourceSubscriber;
@@ -11,7 +10,7 @@ import zsdev.work.dialog.custom.DialogUserCustomView;
 import zsdev.work.network.INetworkHandler;
 import zsdev.work.network.exception.NetworkError;
 import zsdev.work.network.exception.ResponseThrowable;
-import zsdev.work.network.utils.NetworkLollipopAfterUtil;
+import zsdev.work.utils.network.newnet.ConnectivityMonitor;
 
 /**
  * Created: by 2023-09-07 23:48
@@ -71,12 +70,11 @@ public abstract class BaseFlowableSubscriber<T> extends ResourceSubscriber<T> im
     protected void onStart() {
         super.onStart();
         Log.i("BaseFlowableSubscriber", "onStart():显示进度条");
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-            if (!NetworkLollipopAfterUtil.isNetAvailable(context)) {
-                Log.i("BaseFlowableSubscriber", "onStart():当前网络不可用，请检查网络情况");
-                // 一定好主动调用下面这一句
-                onComplete();
-            }
+        //读取ConnectivityMonitor快照，不再每次请求跨进程查询ConnectivityManager
+        if (!ConnectivityMonitor.getInstance(context).isOnline()) {
+            Log.i("BaseFlowableSubscriber", "onStart():当前网络不可用，请检查网络情况");
+            // 一定好主动调用下面这一句
+            onComplete();
         }
         //显示等待框
         if (dialog != null) {
@@ -2,7 +2,6 @@ package zsdev.work.network.base;
 
 import android.app.Activity;
 import android.content.Context;
-import android.os.Build;
 import android.util.Log;
 
 import androidx.appcompat.app.AlertDialog;
@@ -13,7 +12,7 @@ import zsdev.work.dialog.normal.OnDialogCancelListener;
 import zsdev.work.network.INetworkHandler;
 import zsdev.work.network.exception.NetworkError;
 import zsdev.work.network.exception.ResponseThrowable;
-import zsdev.work.network.utils.NetworkLollipopAfterUtil;
+import zsdev.work.utils.network.newnet.ConnectivityMonitor;
 
 /**
  * Created: by 2023-09-12 00:40
@@ -63,12 +62,11 @@ public abstract class BaseObserverSubscriber<T> extends ResourceObserver<T> impl
     protected void onStart() {
         super.onStart();
         Log.i("BaseObserverSubscriber", "onStart():显示进度条");
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-            if (!NetworkLollipopAfterUtil.isNetAvailable(context)) {
-                Log.i("BaseObserverSubscriber", "onStart():当前网络不可用，请检查网络情况");
-                // 一定好主动调用下面这一句
-                onComplete();
-            }
+        //读取ConnectivityMonitor快照，不再每次请求跨进程查询ConnectivityManager
+        if (!ConnectivityMonitor.getInstance(context).isOnline()) {
+            Log.i("BaseObserverSubscriber", "onStart():当前网络不可用，请检查网络情况");
+            // 一定好主动调用下面这一句
+            onComplete();
         }
         //创建自定义对话框
         if (mDialogHelper == null) {
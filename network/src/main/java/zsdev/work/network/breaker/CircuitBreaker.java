@@ -0,0 +1,244 @@
+package zsdev.work.network.breaker;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+import zsdev.work.network.enums.CircuitState;
+
+/**
+ * Created: by 2026-10-18 18:05
+ * Description: 单个服务器URL的熔断器
+ * 关闭状态下用基于次数的滑动窗口统计最近windowSize次请求的失败率与慢请求率，任一达到阈值即打开；
+ * 打开状态直接拒绝请求（不占用Dispatcher并发数，也不等待超时），openDurationMills后进入半开；
+ * 半开状态只放行halfOpenMaxCalls个探测请求，探测结果均未达到阈值则关闭并清空窗口，否则重新打开。
+ * 状态与统计在同一把锁内更新，每次请求只有一次加锁的数组读写。
+ * Author: 张松
+ */
+public class CircuitBreaker {
+
+    private final String baseUrl;
+
+    private final CircuitBreakerPolicy policy;
+
+    private CircuitState state = CircuitState.CLOSED;
+
+    /**
+     * 打开的时间/ns
+     */
+    private long openedAtNanos;
+
+    /**
+     * 滑动窗口：每次请求结果，bit0失败、bit1慢请求
+     */
+    private final byte[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private int windowSlowCalls;
+
+    /**
+     * 半开状态：已放行、已完成、失败、慢请求的探测请求数
+     */
+    private int halfOpenPermitted;
+    private int halfOpenCalls;
+    private int halfOpenFailures;
+    private int halfOpenSlowCalls;
+
+    /**
+     * 打开状态下拒绝的请求数
+     */
+    private long rejectedCount;
+
+    public CircuitBreaker(String baseUrl, CircuitBreakerPolicy policy) {
+        this.baseUrl = baseUrl;
+        this.policy = policy;
+        this.window = new byte[policy.getWindowSize()];
+    }
+
+    /**
+     * 请求前获取许可
+     *
+     * @return 是否放行
+     */
+    public boolean tryAcquirePermission() {
+        CircuitState from = null;
+        boolean permitted;
+        synchronized (this) {
+            if (state == CircuitState.OPEN
+                    && System.nanoTime() - openedAtNanos >= TimeUnit.MILLISECONDS.toNanos(policy.getOpenDurationMills())) {
+                from = transitionTo(CircuitState.HALF_OPEN);
+            }
+            switch (state) {
+                case CLOSED:
+                    permitted = true;
+                    break;
+                case HALF_OPEN:
+                    permitted = halfOpenPermitted < policy.getHalfOpenMaxCalls();
+                    if (permitted) {
+                        halfOpenPermitted++;
+                    }
+                    break;
+                default:
+                    permitted = false;
+                    break;
+            }
+            if (!permitted) {
+                rejectedCount++;
+            }
+        }
+        notifyStateChanged(from, CircuitState.HALF_OPEN);
+        return permitted;
+    }
+
+    /**
+     * 记录请求结果
+     *
+     * @param durationMills 请求耗时/ms
+     * @param failure       是否失败
+     */
+    public void onResult(long durationMills, boolean failure) {
+        boolean slow = durationMills >= policy.getSlowCallDurationMills();
+        CircuitState from = null;
+        CircuitState to = null;
+        synchronized (this) {
+            if (state == CircuitState.CLOSED) {
+                record(failure, slow);
+                if (windowCalls >= policy.getMinimumCalls() && exceedsThreshold(windowCalls, windowFailures, windowSlowCalls)) {
+                    from = transitionTo(to = CircuitState.OPEN);
+                }
+            } else if (state == CircuitState.HALF_OPEN) {
+                halfOpenCalls++;
+                if (failure) halfOpenFailures++;
+                if (slow) halfOpenSlowCalls++;
+                if (exceedsThreshold(halfOpenCalls, halfOpenFailures, halfOpenSlowCalls)
+                        && (failure || slow)) {
+                    //探测失败立即重新打开，不必等待其余探测结果
+                    from = transitionTo(to = CircuitState.OPEN);
+                } else if (halfOpenCalls >= policy.getHalfOpenMaxCalls()) {
+                    from = transitionTo(to = CircuitState.CLOSED);
+                }
+            }
+            //打开状态下到达的结果来自打开之前放行的请求，忽略
+        }
+        notifyStateChanged(from, to);
+    }
+
+    /**
+     * 请求被取消，不计入统计，归还半开状态的探测许可
+     */
+    public synchronized void onIgnored() {
+        if (state == CircuitState.HALF_OPEN && halfOpenPermitted > halfOpenCalls) {
+            halfOpenPermitted--;
+        }
+    }
+
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * @return 滑动窗口内的失败率/%，请求数不足最少请求数时为-1
+     */
+    public synchronized float getFailureRate() {
+        return windowCalls < policy.getMinimumCalls() ? -1 : windowFailures * 100f / windowCalls;
+    }
+
+    /**
+     * @return 滑动窗口内的慢请求率/%，请求数不足最少请求数时为-1
+     */
+    public synchronized float getSlowCallRate() {
+        return windowCalls < policy.getMinimumCalls() ? -1 : windowSlowCalls * 100f / windowCalls;
+    }
+
+    /**
+     * @return 打开状态下拒绝的请求数
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * 手动重置为关闭状态，如网络恢复后
+     */
+    public void reset() {
+        CircuitState from;
+        synchronized (this) {
+            from = transitionTo(CircuitState.CLOSED);
+        }
+        notifyStateChanged(from, CircuitState.CLOSED);
+    }
+
+    /**
+     * 写入滑动窗口，覆盖最旧的结果
+     */
+    private void record(boolean failure, boolean slow) {
+        if (windowCalls == window.length) {
+            byte oldest = window[windowIndex];
+            if ((oldest & 1) != 0) windowFailures--;
+            if ((oldest & 2) != 0) windowSlowCalls--;
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = (byte) ((failure ? 1 : 0) | (slow ? 2 : 0));
+        if (failure) windowFailures++;
+        if (slow) windowSlowCalls++;
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private boolean exceedsThreshold(int calls, int failures, int slowCalls) {
+        return failures * 100f / calls >= policy.getFailureRateThreshold()
+                || slowCalls * 100f / calls >= policy.getSlowCallRateThreshold();
+    }
+
+    /**
+     * 切换状态并清空对应统计，需在锁内调用
+     *
+     * @param newState 新状态
+     * @return 变化前状态，未变化为null
+     */
+    private CircuitState transitionTo(CircuitState newState) {
+        CircuitState from = state;
+        if (from == newState) {
+            return null;
+        }
+        state = newState;
+        if (newState == CircuitState.OPEN) {
+            openedAtNanos = System.nanoTime();
+        } else if (newState == CircuitState.CLOSED) {
+            windowIndex = windowCalls = windowFailures = windowSlowCalls = 0;
+        }
+        halfOpenPermitted = halfOpenCalls = halfOpenFailures = halfOpenSlowCalls = 0;
+        return from;
+    }
+
+    /**
+     * 锁外回调状态变化
+     */
+    private void notifyStateChanged(CircuitState from, CircuitState to) {
+        if (from == null) return;
+        Log.i("CircuitBreaker", baseUrl + " 熔断器状态：" + from + " -> " + to);
+        OnCircuitStateChangedListener listener = policy.getListener();
+        if (listener != null) {
+            listener.onCircuitStateChanged(baseUrl, from, to);
+        }
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return "CircuitBreaker{" +
+                "baseUrl='" + baseUrl + '\'' +
+                ", state=" + state +
+                ", failureRate=" + getFailureRate() +
+                ", slowCallRate=" + getSlowCallRate() +
+                ", rejectedCount=" + rejectedCount +
+                '}';
+    }
+}
@@ -0,0 +1,104 @@
+package zsdev.work.network.breaker;
+
+/**
+ * Created: by 2026-10-18 17:55
+ * Description: 熔断策略，不可变对象，通过CircuitBreakerPolicyBuilder创建
+ * 同一策略可被多个服务器URL共用，每个服务器URL各自创建独立的CircuitBreaker统计
+ * Author: 张松
+ */
+public class CircuitBreakerPolicy {
+
+    /**
+     * 默认滑动窗口大小（最近多少次请求）
+     */
+    static final int DEFAULT_WINDOW_SIZE = 50;
+
+    /**
+     * 默认最少请求数，窗口内请求数不足时不计算失败率
+     */
+    static final int DEFAULT_MINIMUM_CALLS = 10;
+
+    /**
+     * 默认失败率阈值/%
+     */
+    static final float DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+
+    /**
+     * 默认慢请求率阈值/%
+     */
+    static final float DEFAULT_SLOW_CALL_RATE_THRESHOLD = 80;
+
+    /**
+     * 默认慢请求耗时阈值
+     */
+    static final long DEFAULT_SLOW_CALL_DURATION_MILLS = 5_000;
+
+    /**
+     * 默认打开时长
+     */
+    static final long DEFAULT_OPEN_DURATION_MILLS = 30_000;
+
+    /**
+     * 默认半开状态的探测请求数
+     */
+    static final int DEFAULT_HALF_OPEN_MAX_CALLS = 3;
+
+    /**
+     * 使用默认参数的熔断策略
+     */
+    public static final CircuitBreakerPolicy DEFAULT = new CircuitBreakerPolicyBuilder().build();
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDurationMills;
+    private final long openDurationMills;
+    private final int halfOpenMaxCalls;
+    private final OnCircuitStateChangedListener listener;
+
+    CircuitBreakerPolicy(int windowSize, int minimumCalls, float failureRateThreshold, float slowCallRateThreshold,
+                         long slowCallDurationMills, long openDurationMills, int halfOpenMaxCalls,
+                         OnCircuitStateChangedListener listener) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDurationMills = slowCallDurationMills;
+        this.openDurationMills = openDurationMills;
+        this.halfOpenMaxCalls = halfOpenMaxCalls;
+        this.listener = listener;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public float getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public float getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public long getSlowCallDurationMills() {
+        return slowCallDurationMills;
+    }
+
+    public long getOpenDurationMills() {
+        return openDurationMills;
+    }
+
+    public int getHalfOpenMaxCalls() {
+        return halfOpenMaxCalls;
+    }
+
+    public OnCircuitStateChangedListener getListener() {
+        return listener;
+    }
+}
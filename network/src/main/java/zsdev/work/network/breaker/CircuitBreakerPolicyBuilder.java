@@ -0,0 +1,105 @@
+package zsdev.work.network.breaker;
+
+/**
+ * Created: by 2026-10-18 18:00
+ * Description: 熔断策略的构建参数，未设置的参数使用CircuitBreakerPolicy中的默认值
+ * Author: 张松
+ */
+public class CircuitBreakerPolicyBuilder {
+
+    /**
+     * 滑动窗口大小（最近多少次请求）
+     */
+    private int windowSize = CircuitBreakerPolicy.DEFAULT_WINDOW_SIZE;
+
+    /**
+     * 最少请求数，窗口内请求数不足时不计算失败率
+     */
+    private int minimumCalls = CircuitBreakerPolicy.DEFAULT_MINIMUM_CALLS;
+
+    /**
+     * 失败率阈值/%，达到后打开
+     */
+    private float failureRateThreshold = CircuitBreakerPolicy.DEFAULT_FAILURE_RATE_THRESHOLD;
+
+    /**
+     * 慢请求率阈值/%，达到后打开
+     */
+    private float slowCallRateThreshold = CircuitBreakerPolicy.DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+
+    /**
+     * 慢请求耗时阈值
+     */
+    private long slowCallDurationMills = CircuitBreakerPolicy.DEFAULT_SLOW_CALL_DURATION_MILLS;
+
+    /**
+     * 打开时长，结束后进入半开
+     */
+    private long openDurationMills = CircuitBreakerPolicy.DEFAULT_OPEN_DURATION_MILLS;
+
+    /**
+     * 半开状态的探测请求数
+     */
+    private int halfOpenMaxCalls = CircuitBreakerPolicy.DEFAULT_HALF_OPEN_MAX_CALLS;
+
+    /**
+     * 状态变化监听
+     */
+    private OnCircuitStateChangedListener listener;
+
+    public CircuitBreakerPolicyBuilder windowSize(int windowSize) {
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    public CircuitBreakerPolicyBuilder minimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+        return this;
+    }
+
+    public CircuitBreakerPolicyBuilder failureRateThreshold(float failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    public CircuitBreakerPolicyBuilder slowCallRateThreshold(float slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        return this;
+    }
+
+    public CircuitBreakerPolicyBuilder slowCallDurationMills(long slowCallDurationMills) {
+        this.slowCallDurationMills = slowCallDurationMills;
+        return this;
+    }
+
+    public CircuitBreakerPolicyBuilder openDurationMills(long openDurationMills) {
+        this.openDurationMills = openDurationMills;
+        return this;
+    }
+
+    public CircuitBreakerPolicyBuilder halfOpenMaxCalls(int halfOpenMaxCalls) {
+        this.halfOpenMaxCalls = halfOpenMaxCalls;
+        return this;
+    }
+
+    public CircuitBreakerPolicyBuilder listener(OnCircuitStateChangedListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * 构建熔断策略
+     *
+     * @return 熔断策略
+     */
+    public CircuitBreakerPolicy build() {
+        if (windowSize <= 0) throw new IllegalStateException("windowSize must be > 0!");
+        if (minimumCalls <= 0 || minimumCalls > windowSize) throw new IllegalStateException("minimumCalls must be in [1, windowSize]!");
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100) throw new IllegalStateException("failureRateThreshold must be in (0, 100]!");
+        if (slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) throw new IllegalStateException("slowCallRateThreshold must be in (0, 100]!");
+        if (openDurationMills <= 0) throw new IllegalStateException("openDurationMills must be > 0!");
+        if (halfOpenMaxCalls <= 0) throw new IllegalStateException("halfOpenMaxCalls must be > 0!");
+        return new CircuitBreakerPolicy(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold,
+                slowCallDurationMills, openDurationMills, halfOpenMaxCalls, listener);
+    }
+}
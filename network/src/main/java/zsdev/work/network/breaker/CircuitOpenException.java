@@ -0,0 +1,23 @@
+package zsdev.work.network.breaker;
+
+import java.io.IOException;
+
+/**
+ * Created: by 2026-10-18 17:52
+ * Description: 熔断器打开时直接拒绝请求的异常，经ExceptionHandle转换为NetworkError.CIRCUIT_OPEN
+ * 继承IOException以便在OkHttp拦截器中抛出后由Call回调或RxJava onError()接收
+ * Author: 张松
+ */
+public class CircuitOpenException extends IOException {
+
+    private final String baseUrl;
+
+    public CircuitOpenException(String baseUrl) {
+        super("Circuit breaker is open: " + baseUrl);
+        this.baseUrl = baseUrl;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+}
@@ -0,0 +1,20 @@
+package zsdev.work.network.breaker;
+
+import zsdev.work.network.enums.CircuitState;
+
+/**
+ * Created: by 2026-10-18 17:50
+ * Description: 熔断器状态变化监听，可用于上报监控
+ * Author: 张松
+ */
+public interface OnCircuitStateChangedListener {
+
+    /**
+     * 熔断器状态变化，在触发变化的请求线程回调，请勿执行耗时操作
+     *
+     * @param baseUrl 服务器URL
+     * @param from    变化前状态
+     * @param to      变化后状态
+     */
+    void onCircuitStateChanged(String baseUrl, CircuitState from, CircuitState to);
+}
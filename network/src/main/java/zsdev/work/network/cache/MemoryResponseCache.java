@@ -0,0 +1,272 @@
+package zsdev.work.network.cache;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.os.Build;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Created: by 2026-10-18 11:10
+ * Description: 响应内存缓存（一级缓存），位于Okhttp磁盘缓存之前，命中时不经过磁盘读取与响应解析
+ * 按字节数限制总大小，单个响应不超过总大小的1/8，按最近使用淘汰。
+ * 实现ComponentCallbacks2，注册后系统内存紧张时自动收缩或清空。
+ * 每个key只保存一个响应，同时记录响应头Vary列出的请求头取值，读取时请求头取值不同视为未命中（与Okhttp磁盘缓存一致）。
+ * Author: 张松
+ */
+public class MemoryResponseCache implements ComponentCallbacks2 {
+
+    /**
+     * 不参与Vary比对的请求头：由拦截器按网络状态注入（如CachesInterceptor），只控制缓存行为，与响应内容无关
+     */
+    private static final Set<String> IGNORED_VARY_HEADERS = new HashSet<>(Arrays.asList("cache-control", "pragma"));
+
+    /**
+     * 缓存集合，按字节数计算大小
+     */
+    private final LruCache<String, Entry> lruCache;
+
+    /**
+     * 单个响应体最大字节数
+     */
+    private final int maxEntryBytes;
+
+    public MemoryResponseCache(int maxBytes) {
+        this.maxEntryBytes = maxBytes / 8;
+        this.lruCache = new LruCache<String, Entry>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Entry entry) {
+                return entry.body.length;
+            }
+        };
+    }
+
+    /**
+     * 获取未过期的缓存响应
+     *
+     * @param key     缓存key
+     * @param request 本次请求
+     * @return 缓存响应，未命中、已过期或Vary请求头不同为null
+     */
+    public Response get(String key, Request request) {
+        Entry entry = lruCache.get(key);
+        if (entry == null || !entry.matches(request)) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.receivedResponseAtMillis >= entry.maxAgeMillis) {
+            lruCache.remove(key);
+            return null;
+        }
+        return entry.newResponse(request);
+    }
+
+    /**
+     * 单个响应体是否可放入内存缓存
+     *
+     * @param contentLength 响应体字节数
+     * @return 是否可放入
+     */
+    public boolean isCacheableSize(long contentLength) {
+        return contentLength >= 0 && contentLength <= maxEntryBytes;
+    }
+
+    /**
+     * 单个响应体最大字节数
+     *
+     * @return 字节数
+     */
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /**
+     * 放入缓存
+     *
+     * @param key          缓存key
+     * @param request      应用层请求，用于记录Vary请求头的取值（response.request()含Okhttp自动添加的请求头，不可用于比对）
+     * @param response     响应
+     * @param body         完整响应体字节
+     * @param maxAgeMillis 有效时间/ms
+     */
+    public void put(String key, Request request, Response response, byte[] body, long maxAgeMillis) {
+        if (body.length > maxEntryBytes || maxAgeMillis <= 0) return;
+        Set<String> varyFields = varyFields(response.headers());
+        //Vary: *表示响应随任意请求信息变化，无法复用
+        if (varyFields.contains("*")) return;
+        lruCache.put(key, new Entry(request, varyFields, response, body, maxAgeMillis));
+    }
+
+    /**
+     * 解析响应头Vary列出的请求头名称（小写），忽略IGNORED_VARY_HEADERS
+     *
+     * @param responseHeaders 响应头
+     * @return 请求头名称
+     */
+    private static Set<String> varyFields(Headers responseHeaders) {
+        Set<String> fields = Collections.emptySet();
+        for (String vary : responseHeaders.values("Vary")) {
+            for (String field : vary.split(",")) {
+                String name = field.trim().toLowerCase(Locale.US);
+                if (name.isEmpty() || IGNORED_VARY_HEADERS.contains(name)) {
+                    continue;
+                }
+                if (fields.isEmpty()) {
+                    fields = new HashSet<>();
+                }
+                fields.add(name);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void evictAll() {
+        lruCache.evictAll();
+    }
+
+    /**
+     * 当前缓存字节数
+     *
+     * @return 字节数
+     */
+    public int size() {
+        return lruCache.size();
+    }
+
+    /**
+     * 缓存最大字节数
+     *
+     * @return 字节数
+     */
+    public int maxSize() {
+        return lruCache.maxSize();
+    }
+
+    /**
+     * 命中次数
+     *
+     * @return 次数
+     */
+    public int hitCount() {
+        return lruCache.hitCount();
+    }
+
+    /**
+     * 未命中次数
+     *
+     * @return 次数
+     */
+    public int missCount() {
+        return lruCache.missCount();
+    }
+
+    /**
+     * 系统内存紧张：后台或运行时内存不足收缩一半，更严重时清空。
+     * LruCache.trimToSize在Android 17才公开，更低版本直接清空
+     *
+     * @param level 内存等级
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_MODERATE || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+            lruCache.evictAll();
+        } else if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_LOW) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+                lruCache.trimToSize(lruCache.maxSize() / 2);
+            } else {
+                lruCache.evictAll();
+            }
+        }
+        Log.i("MemoryResponseCache", "onTrimMemory: level==" + level + "，当前缓存字节数==" + lruCache.size());
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+    }
+
+    @Override
+    public void onLowMemory() {
+        lruCache.evictAll();
+    }
+
+    /**
+     * 缓存条目：Vary请求头取值、响应行、响应头与完整响应体字节
+     */
+    private static final class Entry {
+
+        private final Set<String> varyFields;
+        private final Headers varyHeaders;
+        private final Protocol protocol;
+        private final int code;
+        private final String message;
+        private final Headers headers;
+        private final MediaType contentType;
+        private final byte[] body;
+        private final long sentRequestAtMillis;
+        private final long receivedResponseAtMillis;
+        private final long maxAgeMillis;
+
+        Entry(Request request, Set<String> varyFields, Response response, byte[] body, long maxAgeMillis) {
+            ResponseBody responseBody = response.body();
+            Headers.Builder varyHeaders = new Headers.Builder();
+            for (String name : varyFields) {
+                for (String value : request.headers(name)) {
+                    varyHeaders.add(name, value);
+                }
+            }
+            this.varyFields = varyFields;
+            this.varyHeaders = varyHeaders.build();
+            this.protocol = response.protocol();
+            this.code = response.code();
+            this.message = response.message();
+            this.headers = response.headers();
+            this.contentType = responseBody != null ? responseBody.contentType() : null;
+            this.body = body;
+            this.sentRequestAtMillis = response.sentRequestAtMillis();
+            this.receivedResponseAtMillis = response.receivedResponseAtMillis();
+            this.maxAgeMillis = maxAgeMillis;
+        }
+
+        /**
+         * 本次请求的Vary请求头取值是否与缓存时相同
+         */
+        boolean matches(Request request) {
+            for (String name : varyFields) {
+                if (!varyHeaders.values(name).equals(request.headers(name))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Response newResponse(Request request) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(protocol)
+                    .code(code)
+                    .message(message)
+                    .headers(headers)
+                    .body(ResponseBody.create(body, contentType))
+                    .sentRequestAtMillis(sentRequestAtMillis)
+                    .receivedResponseAtMillis(receivedResponseAtMillis)
+                    .build();
+        }
+    }
+}
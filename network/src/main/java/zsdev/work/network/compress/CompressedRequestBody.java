@@ -0,0 +1,128 @@
+package zsdev.work.network.compress;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.DeflaterSink;
+import okio.ForwardingSink;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Sink;
+
+/**
+ * Created: by 2026-10-19 00:55
+ * Description: 流式压缩的请求体：原请求体经压缩Sink直接写入请求的发送缓冲区，不在内存中缓存整个请求体
+ * 压缩后长度未知（contentLength为-1），HTTP/1.1下由BridgeInterceptor改为分块传输。
+ * 压缩前后各包一层计时Sink，两层耗时之差即压缩耗时（不含等待网络写出的时间）
+ * Author: 张松
+ */
+class CompressedRequestBody extends RequestBody {
+
+    private final RequestBody delegate;
+    private final CompressionPolicy policy;
+    private final HostCompressionStats stats;
+
+    CompressedRequestBody(RequestBody delegate, CompressionPolicy policy, HostCompressionStats stats) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.stats = stats;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return delegate.contentType();
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return delegate.isOneShot();
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        TimingSink compressedSink = new TimingSink(sink);
+        Deflater deflater;
+        Sink encoder;
+        switch (policy.getEncoding()) {
+            case DEFLATE:
+                deflater = new Deflater();
+                encoder = new DeflaterSink(compressedSink, deflater);
+                break;
+            case GZIP:
+            default:
+                GzipSink gzipSink = new GzipSink(compressedSink);
+                deflater = gzipSink.deflater();
+                encoder = gzipSink;
+                break;
+        }
+        TimingSink originalSink = new TimingSink(encoder);
+        BufferedSink bufferedSink = Okio.buffer(originalSink);
+        try {
+            delegate.writeTo(bufferedSink);
+        } catch (IOException | RuntimeException e) {
+            //写出失败时不写压缩尾，只释放Deflater的本地内存
+            deflater.end();
+            throw e;
+        }
+        //关闭时写出压缩尾，OkHttp随后关闭的请求体Sink已关闭时为空操作
+        bufferedSink.close();
+        stats.recordCompression(originalSink.bytes, compressedSink.bytes,
+                TimeUnit.NANOSECONDS.toMicros(originalSink.nanos - compressedSink.nanos));
+    }
+
+    /**
+     * 累计写出耗时与字节数的Sink
+     */
+    private static final class TimingSink extends ForwardingSink {
+
+        private long nanos;
+        private long bytes;
+
+        TimingSink(Sink delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(@NonNull Buffer source, long byteCount) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.write(source, byteCount);
+                bytes += byteCount;
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.flush();
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.close();
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package zsdev.work.network.compress;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Okio;
+
+/**
+ * Created: by 2026-10-19 01:00
+ * Description: 请求体压缩拦截器，应用拦截器，放在请求头、公共参数与定制拦截器之后，压缩最终的请求体
+ * 按CompressionPolicy流式压缩请求体并添加Content-Encoding请求头；请求已带Content-Encoding时不处理。
+ * 同时为请求附加ResponseProbe，配合网络拦截器DecompressionTimingInterceptor统计gzip响应体的解压耗时
+ * Author: 张松
+ */
+public class CompressionInterceptor implements Interceptor {
+
+    private final CompressionPolicy policy;
+
+    private final CompressionStats stats;
+
+    /**
+     * 响应Accept-Encoding声明支持压缩的host
+     */
+    private final Set<String> learnedHosts = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * 以415拒绝压缩请求体的host
+     */
+    private final Set<String> rejectedHosts = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    public CompressionInterceptor(CompressionPolicy policy, CompressionStats stats) {
+        this.policy = policy;
+        this.stats = stats;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        ResponseProbe probe = new ResponseProbe();
+        Request request = chain.request().newBuilder().tag(ResponseProbe.class, probe).build();
+        String host = request.url().host();
+        Response response;
+        if (shouldCompress(request, host)) {
+            RequestBody body = request.body();
+            Request compressed = request.newBuilder()
+                    .header("Content-Encoding", policy.getEncoding().getToken())
+                    .removeHeader("Content-Length")
+                    .method(request.method(), new CompressedRequestBody(body, policy, stats.getOrCreate(host)))
+                    .build();
+            response = chain.proceed(compressed);
+            if (response.code() == 415) {
+                //服务器不支持压缩的请求体
+                rejectedHosts.add(host);
+                stats.getOrCreate(host).recordRejected();
+                Log.i("CompressionInterceptor", "服务器拒绝压缩的请求体，不再压缩：" + host);
+                if (!body.isOneShot()) {
+                    response.close();
+                    probe = new ResponseProbe();
+                    request = request.newBuilder().tag(ResponseProbe.class, probe).build();
+                    response = chain.proceed(request);
+                }
+            }
+        } else {
+            response = chain.proceed(request);
+        }
+        learn(host, response);
+        return timeDecompression(response, probe, host);
+    }
+
+    /**
+     * 是否压缩请求体
+     *
+     * @param request 请求
+     * @param host    host
+     * @return 是否压缩
+     * @throws IOException 获取请求体长度失败
+     */
+    private boolean shouldCompress(Request request, String host) throws IOException {
+        RequestBody body = request.body();
+        if (body == null || body.isDuplex() || request.header("Content-Encoding") != null) {
+            return false;
+        }
+        if (rejectedHosts.contains(host) || !(policy.isDeclaredHost(host) || learnedHosts.contains(host))) {
+            return false;
+        }
+        //长度未知的请求体无法判断是否达到最小压缩长度，不压缩
+        long contentLength = body.contentLength();
+        return contentLength >= 0 && contentLength >= policy.getMinBodySize() && policy.isCompressible(body.contentType());
+    }
+
+    /**
+     * 按响应的Accept-Encoding响应头（RFC 7694）记录host是否支持压缩的请求体
+     *
+     * @param host     host
+     * @param response 响应
+     */
+    private void learn(String host, Response response) {
+        if (!policy.isLearnFromAcceptEncoding()) return;
+        String acceptEncoding = response.header("Accept-Encoding");
+        if (acceptEncoding == null) return;
+        String token = policy.getEncoding().getToken();
+        for (String value : acceptEncoding.split(",")) {
+            int semicolon = value.indexOf(';');
+            String coding = (semicolon >= 0 ? value.substring(0, semicolon) : value).trim().toLowerCase(Locale.US);
+            if (coding.equals(token)) {
+                if (learnedHosts.add(host)) {
+                    Log.i("CompressionInterceptor", "服务器声明支持压缩的请求体：" + host + "，" + token);
+                }
+                return;
+            }
+        }
+        learnedHosts.remove(host);
+    }
+
+    /**
+     * gzip响应体由OkHttp透明解压时，在解压后包一层计时Source，读完或关闭时记录解压耗时
+     *
+     * @param response 响应
+     * @param probe    网络拦截器记录解压前的计时Source
+     * @param host     host
+     * @return 响应
+     */
+    private Response timeDecompression(Response response, ResponseProbe probe, String host) {
+        TimingSource encodedSource = probe.encodedSource;
+        ResponseBody body = response.body();
+        //Content-Encoding已被移除说明OkHttp已透明解压；应用自行指定Accept-Encoding时保留原始响应体
+        if (encodedSource == null || body == null || response.header("Content-Encoding") != null) {
+            return response;
+        }
+        TimingSource decodedSource = new TimingSource(body.source(), source -> stats.getOrCreate(host).recordDecompression(
+                encodedSource.getBytes(), source.getBytes(),
+                TimeUnit.NANOSECONDS.toMicros(Math.max(0, source.getNanos() - encodedSource.getNanos()))));
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(decodedSource), body.contentType(), body.contentLength()))
+                .build();
+    }
+
+    /**
+     * 随请求传递到网络拦截器，记录gzip响应体解压前的计时Source
+     */
+    static final class ResponseProbe {
+
+        volatile TimingSource encodedSource;
+    }
+}
@@ -0,0 +1,94 @@
+package zsdev.work.network.compress;
+
+import java.util.Set;
+
+import okhttp3.MediaType;
+import zsdev.work.network.enums.ContentEncoding;
+
+/**
+ * Created: by 2026-10-19 00:40
+ * Description: 请求体压缩策略，不可变对象，通过CompressionPolicyBuilder创建
+ * 请求体长度不小于minBodySize、媒体类型为文本类（text/*、JSON、XML、表单）且host声明支持时，按encoding流式压缩请求体。
+ * host声明支持：在hosts中（"*"表示全部host），或learnFromAcceptEncoding为true且该host的响应带有包含encoding的Accept-Encoding响应头（RFC 7694）。
+ * 服务器对压缩的请求返回415时，该host不再压缩，请求体可重复写出时以不压缩的方式重新发送一次。
+ * Author: 张松
+ */
+public class CompressionPolicy {
+
+    /**
+     * 默认压缩格式
+     */
+    static final ContentEncoding DEFAULT_ENCODING = ContentEncoding.GZIP;
+
+    /**
+     * 默认最小压缩长度，更小的请求体压缩收益不足以抵消gzip头尾与CPU耗时
+     */
+    static final long DEFAULT_MIN_BODY_SIZE = 1024;
+
+    /**
+     * 全部host
+     */
+    static final String ALL_HOSTS = "*";
+
+    private final ContentEncoding encoding;
+    private final long minBodySize;
+    private final Set<String> hosts;
+    private final boolean learnFromAcceptEncoding;
+
+    CompressionPolicy(ContentEncoding encoding, long minBodySize, Set<String> hosts, boolean learnFromAcceptEncoding) {
+        this.encoding = encoding;
+        this.minBodySize = minBodySize;
+        this.hosts = hosts;
+        this.learnFromAcceptEncoding = learnFromAcceptEncoding;
+    }
+
+    public ContentEncoding getEncoding() {
+        return encoding;
+    }
+
+    public long getMinBodySize() {
+        return minBodySize;
+    }
+
+    /**
+     * @return 声明支持压缩请求体的host，小写，不可修改
+     */
+    public Set<String> getHosts() {
+        return hosts;
+    }
+
+    public boolean isLearnFromAcceptEncoding() {
+        return learnFromAcceptEncoding;
+    }
+
+    /**
+     * 是否为配置中声明支持的host
+     *
+     * @param host host
+     * @return 是否声明支持
+     */
+    boolean isDeclaredHost(String host) {
+        return hosts.contains(ALL_HOSTS) || hosts.contains(host);
+    }
+
+    /**
+     * 媒体类型是否值得压缩：文本类可压缩，图片、视频、已压缩的归档与multipart等不压缩
+     *
+     * @param contentType 媒体类型
+     * @return 是否压缩
+     */
+    boolean isCompressible(MediaType contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        if ("text".equals(contentType.type())) {
+            return true;
+        }
+        if (!"application".equals(contentType.type())) {
+            return false;
+        }
+        String subtype = contentType.subtype();
+        return "json".equals(subtype) || "xml".equals(subtype) || "x-www-form-urlencoded".equals(subtype)
+                || "javascript".equals(subtype) || subtype.endsWith("+json") || subtype.endsWith("+xml");
+    }
+}
@@ -0,0 +1,78 @@
+package zsdev.work.network.compress;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import zsdev.work.network.enums.ContentEncoding;
+
+/**
+ * Created: by 2026-10-19 00:45
+ * Description: 请求体压缩策略的构建参数，未设置的参数使用CompressionPolicy中的默认值
+ * Author: 张松
+ */
+public class CompressionPolicyBuilder {
+
+    /**
+     * 压缩格式
+     */
+    private ContentEncoding encoding = CompressionPolicy.DEFAULT_ENCODING;
+
+    /**
+     * 最小压缩长度/byte，长度未知的请求体不压缩
+     */
+    private long minBodySize = CompressionPolicy.DEFAULT_MIN_BODY_SIZE;
+
+    /**
+     * 声明支持压缩请求体的host
+     */
+    private final Set<String> hosts = new HashSet<>();
+
+    /**
+     * 是否按响应的Accept-Encoding响应头识别支持压缩的host
+     */
+    private boolean learnFromAcceptEncoding = true;
+
+    public CompressionPolicyBuilder encoding(ContentEncoding encoding) {
+        this.encoding = encoding;
+        return this;
+    }
+
+    public CompressionPolicyBuilder minBodySize(long minBodySize) {
+        this.minBodySize = minBodySize;
+        return this;
+    }
+
+    /**
+     * 添加声明支持压缩请求体的host，"*"表示全部host
+     *
+     * @param hosts host，如api.example.com
+     * @return this
+     */
+    public CompressionPolicyBuilder hosts(String... hosts) {
+        for (String host : hosts) {
+            this.hosts.add(host.toLowerCase(Locale.US));
+        }
+        return this;
+    }
+
+    public CompressionPolicyBuilder learnFromAcceptEncoding(boolean learnFromAcceptEncoding) {
+        this.learnFromAcceptEncoding = learnFromAcceptEncoding;
+        return this;
+    }
+
+    /**
+     * 构建请求体压缩策略
+     *
+     * @return 请求体压缩策略
+     */
+    public CompressionPolicy build() {
+        if (encoding == null) throw new IllegalStateException("encoding must not be null!");
+        if (minBodySize < 0) throw new IllegalStateException("minBodySize must be >= 0!");
+        if (hosts.isEmpty() && !learnFromAcceptEncoding) {
+            throw new IllegalStateException("hosts must not be empty when learnFromAcceptEncoding is disabled!");
+        }
+        return new CompressionPolicy(encoding, minBodySize, Collections.unmodifiableSet(new HashSet<>(hosts)), learnFromAcceptEncoding);
+    }
+}
@@ -0,0 +1,68 @@
+package zsdev.work.network.compress;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created: by 2026-10-19 00:50
+ * Description: 按host的压缩统计，所有启用请求体压缩的服务器URL共用
+ * 对比各host节省的字节数与压缩、解压耗时，判断在慢速蜂窝网络下压缩是否划算
+ * Author: 张松
+ */
+public class CompressionStats {
+
+    private final ConcurrentHashMap<String, HostCompressionStats> hostStatsMap = new ConcurrentHashMap<>();
+
+    /**
+     * 获取或创建host的统计
+     *
+     * @param host host
+     * @return host的统计
+     */
+    HostCompressionStats getOrCreate(String host) {
+        HostCompressionStats stats = hostStatsMap.get(host);
+        if (stats == null) {
+            HostCompressionStats created = new HostCompressionStats();
+            stats = hostStatsMap.putIfAbsent(host, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 获取host的统计
+     *
+     * @param host host
+     * @return host的统计，无记录时为null
+     */
+    public HostCompressionStats getHostStats(String host) {
+        return hostStatsMap.get(host);
+    }
+
+    /**
+     * 获取全部host的统计
+     *
+     * @return key为host
+     */
+    public Map<String, HostCompressionStats> getAllHostStats() {
+        return Collections.unmodifiableMap(hostStatsMap);
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        hostStatsMap.clear();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "CompressionStats" + hostStatsMap;
+    }
+}
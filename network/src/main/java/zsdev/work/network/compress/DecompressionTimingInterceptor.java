@@ -0,0 +1,35 @@
+package zsdev.work.network.compress;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Okio;
+
+/**
+ * Created: by 2026-10-19 01:00
+ * Description: 网络拦截器，在OkHttp透明解压之前为gzip响应体包一层计时Source，与CompressionInterceptor配合统计解压耗时
+ * 不修改响应头与响应体内容，未经CompressionInterceptor的请求不处理
+ * Author: 张松
+ */
+public class DecompressionTimingInterceptor implements Interceptor {
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        CompressionInterceptor.ResponseProbe probe = chain.request().tag(CompressionInterceptor.ResponseProbe.class);
+        ResponseBody body = response.body();
+        if (probe == null || body == null || !"gzip".equalsIgnoreCase(response.header("Content-Encoding"))) {
+            return response;
+        }
+        TimingSource encodedSource = new TimingSource(body.source(), null);
+        probe.encodedSource = encodedSource;
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(encodedSource), body.contentType(), body.contentLength()))
+                .build();
+    }
+}
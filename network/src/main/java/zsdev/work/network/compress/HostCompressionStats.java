@@ -0,0 +1,140 @@
+package zsdev.work.network.compress;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import zsdev.work.network.metrics.Histogram;
+import zsdev.work.network.metrics.HistogramSnapshot;
+
+/**
+ * Created: by 2026-10-19 00:50
+ * Description: 单个host的压缩统计：请求体压缩前后字节数与压缩耗时，gzip响应体解压前后字节数与解压耗时
+ * 耗时只含压缩/解压本身，不含网络写出与读取的等待时间。每次写出请求体（含重试）各记录一次
+ * Author: 张松
+ */
+public class HostCompressionStats {
+
+    private final AtomicLong originalBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong encodedResponseBytes = new AtomicLong();
+    private final AtomicLong decodedResponseBytes = new AtomicLong();
+
+    /**
+     * 请求体压缩耗时/μs
+     */
+    private final Histogram compressionTime = new Histogram();
+
+    /**
+     * 响应体解压耗时/μs
+     */
+    private final Histogram decompressionTime = new Histogram();
+
+    void recordCompression(long original, long compressed, long micros) {
+        originalBytes.addAndGet(original);
+        compressedBytes.addAndGet(compressed);
+        compressionTime.record(micros);
+    }
+
+    void recordRejected() {
+        rejectedCount.incrementAndGet();
+    }
+
+    void recordDecompression(long encoded, long decoded, long micros) {
+        encodedResponseBytes.addAndGet(encoded);
+        decodedResponseBytes.addAndGet(decoded);
+        decompressionTime.record(micros);
+    }
+
+    /**
+     * @return 压缩写出的请求体数量
+     */
+    public long getCompressedCount() {
+        return compressionTime.snapshot().getCount();
+    }
+
+    /**
+     * @return 请求体压缩前的字节数
+     */
+    public long getOriginalBytes() {
+        return originalBytes.get();
+    }
+
+    /**
+     * @return 请求体压缩后的字节数
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    /**
+     * @return 压缩节省的上行字节数
+     */
+    public long getSavedBytes() {
+        return originalBytes.get() - compressedBytes.get();
+    }
+
+    /**
+     * @return 请求体压缩耗时/μs
+     */
+    public HistogramSnapshot getCompressionTime() {
+        return compressionTime.snapshot();
+    }
+
+    /**
+     * @return 服务器以415拒绝压缩请求体的次数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @return gzip响应体解压前的字节数
+     */
+    public long getEncodedResponseBytes() {
+        return encodedResponseBytes.get();
+    }
+
+    /**
+     * @return gzip响应体解压后的字节数
+     */
+    public long getDecodedResponseBytes() {
+        return decodedResponseBytes.get();
+    }
+
+    /**
+     * @return 响应体解压耗时/μs
+     */
+    public HistogramSnapshot getDecompressionTime() {
+        return decompressionTime.snapshot();
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        originalBytes.set(0);
+        compressedBytes.set(0);
+        rejectedCount.set(0);
+        encodedResponseBytes.set(0);
+        decodedResponseBytes.set(0);
+        compressionTime.reset();
+        decompressionTime.reset();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "HostCompressionStats{" +
+                "compressed=" + getCompressedCount() +
+                ", originalBytes=" + originalBytes +
+                ", compressedBytes=" + compressedBytes +
+                ", rejected=" + rejectedCount +
+                ", compressionTime=" + compressionTime.snapshot() +
+                ", encodedResponseBytes=" + encodedResponseBytes +
+                ", decodedResponseBytes=" + decodedResponseBytes +
+                ", decompressionTime=" + decompressionTime.snapshot() +
+                '}';
+    }
+}
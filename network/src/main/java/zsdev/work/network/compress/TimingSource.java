@@ -0,0 +1,84 @@
+package zsdev.work.network.compress;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Source;
+
+/**
+ * Created: by 2026-10-19 00:55
+ * Description: 累计read()耗时与读出字节数的Source，嵌套在解压前后两层，两层耗时之差即解压耗时
+ * 读到末尾或关闭时回调一次OnFinishListener
+ * Author: 张松
+ */
+class TimingSource extends ForwardingSource {
+
+    private final OnFinishListener onFinishListener;
+
+    private volatile long nanos;
+    private volatile long bytes;
+    private boolean finished;
+
+    TimingSource(Source delegate, OnFinishListener onFinishListener) {
+        super(delegate);
+        this.onFinishListener = onFinishListener;
+    }
+
+    @Override
+    public long read(@NonNull Buffer sink, long byteCount) throws IOException {
+        long start = System.nanoTime();
+        long read;
+        try {
+            read = super.read(sink, byteCount);
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+        if (read == -1) {
+            finish();
+        } else {
+            bytes += read;
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            finish();
+        }
+    }
+
+    private void finish() {
+        if (finished) return;
+        finished = true;
+        if (onFinishListener != null) {
+            onFinishListener.onFinish(this);
+        }
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * 读取结束监听
+     */
+    interface OnFinishListener {
+
+        /**
+         * 读到末尾或关闭
+         *
+         * @param source 计时Source
+         */
+        void onFinish(TimingSource source);
+    }
+}
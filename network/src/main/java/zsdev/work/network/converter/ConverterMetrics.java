@@ -0,0 +1,92 @@
+package zsdev.work.network.converter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import zsdev.work.network.enums.ConverterMode;
+import zsdev.work.network.metrics.Histogram;
+import zsdev.work.network.metrics.HistogramSnapshot;
+
+/**
+ * Created: by 2026-10-18 21:30
+ * Description: 按格式统计响应体解析耗时与解析失败次数，所有内容协商转换器共用
+ * 对比同一接口切换格式前后的解析耗时，以及各格式实际收到的响应数量，用于逐个接口灰度切换到二进制格式
+ * Author: 张松
+ */
+public class ConverterMetrics {
+
+    /**
+     * 各格式的解析耗时/μs，预先创建，记录时无需加锁
+     */
+    private final Map<ConverterMode, Histogram> parseTimeMap = new EnumMap<>(ConverterMode.class);
+
+    private final Map<ConverterMode, AtomicLong> failureCountMap = new EnumMap<>(ConverterMode.class);
+
+    public ConverterMetrics() {
+        for (ConverterMode mode : ConverterMode.values()) {
+            parseTimeMap.put(mode, new Histogram());
+            failureCountMap.put(mode, new AtomicLong());
+        }
+    }
+
+    /**
+     * 记录一次解析
+     *
+     * @param mode        解析使用的格式
+     * @param parseMicros 解析耗时/μs
+     * @param failed      是否解析失败
+     */
+    void record(ConverterMode mode, long parseMicros, boolean failed) {
+        parseTimeMap.get(mode).record(parseMicros);
+        if (failed) {
+            failureCountMap.get(mode).incrementAndGet();
+        }
+    }
+
+    /**
+     * 获取格式的解析耗时快照
+     *
+     * @param mode 格式
+     * @return 解析耗时/μs，快照的数量即该格式的解析次数
+     */
+    public HistogramSnapshot getParseTime(ConverterMode mode) {
+        return parseTimeMap.get(mode).snapshot();
+    }
+
+    /**
+     * 获取格式的解析失败次数
+     *
+     * @param mode 格式
+     * @return 解析失败次数
+     */
+    public long getFailureCount(ConverterMode mode) {
+        return failureCountMap.get(mode).get();
+    }
+
+    /**
+     * 获取有解析记录的格式的耗时快照
+     *
+     * @return key为格式
+     */
+    public Map<ConverterMode, HistogramSnapshot> getParseTimeSnapshots() {
+        Map<ConverterMode, HistogramSnapshot> snapshots = new EnumMap<>(ConverterMode.class);
+        for (Map.Entry<ConverterMode, Histogram> entry : parseTimeMap.entrySet()) {
+            HistogramSnapshot snapshot = entry.getValue().snapshot();
+            if (snapshot.getCount() > 0) {
+                snapshots.put(entry.getKey(), snapshot);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        for (ConverterMode mode : ConverterMode.values()) {
+            parseTimeMap.get(mode).reset();
+            failureCountMap.get(mode).set(0);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package zsdev.work.network.converter;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava3.Result;
+import zsdev.work.network.enums.ConverterMode;
+
+/**
+ * Created: by 2026-10-18 21:35
+ * Description: 内容协商转换器工厂（ConverterMode.NEGOTIATE）
+ * 注册多个格式的转换器，列表顺序即偏好顺序。对每个响应类型，只有能解析该类型的格式参与协商（如protobuf只能解析MessageLite子类）：
+ * （1）解析响应：按响应的Content-Type选择对应格式的转换器，无Content-Type或不匹配时使用第一个可用格式
+ * （2）Accept请求头：由AcceptInterceptor按接口方法的响应类型添加，如"application/x-protobuf, application/json;q=0.9"，
+ * 服务端按接口逐个支持新格式即可灰度切换，未支持的接口继续返回JSON
+ * （3）请求体：使用第一个可用格式
+ * 每次解析的耗时按实际使用的格式记录到ConverterMetrics
+ * Author: 张松
+ */
+public class NegotiatingConverterFactory extends Converter.Factory {
+
+    /**
+     * 各格式的转换器工厂，按偏好排序
+     */
+    private final LinkedHashMap<ConverterMode, Converter.Factory> delegates;
+
+    private final ConverterMetrics metrics;
+
+    /**
+     * 响应类型对应的Accept请求头，创建响应转换器时记录
+     */
+    private final ConcurrentHashMap<Type, String> typeAcceptMap = new ConcurrentHashMap<>();
+
+    /**
+     * 接口方法对应的Accept请求头缓存
+     */
+    private final ConcurrentHashMap<Method, String> methodAcceptMap = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegates 各格式的转换器工厂，按偏好排序
+     * @param metrics   解析耗时统计
+     */
+    public NegotiatingConverterFactory(LinkedHashMap<ConverterMode, Converter.Factory> delegates, ConverterMetrics metrics) {
+        if (delegates.isEmpty()) {
+            throw new IllegalArgumentException("negotiate converter modes can not be empty!");
+        }
+        for (ConverterMode mode : delegates.keySet()) {
+            if (getMediaType(mode) == null) {
+                throw new IllegalArgumentException(mode + " can not be used for content negotiation!");
+            }
+        }
+        this.delegates = delegates;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 获取格式的Accept媒体类型
+     *
+     * @param mode 格式
+     * @return 媒体类型，不支持协商的格式为null
+     */
+    static String getMediaType(ConverterMode mode) {
+        switch (mode) {
+            case GSON:
+            case JACKSON:
+            case MOSHI:
+                return "application/json";
+            case PROTOCOL_BUFFERS:
+            case WIRE:
+                return "application/x-protobuf";
+            case SIMPLE_XML:
+            case JAXB:
+                return "application/xml";
+            case SCALARS:
+                return "text/plain";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 响应的Content-Type是否为该格式
+     *
+     * @param mode        格式
+     * @param contentType 响应的Content-Type
+     * @return 是否匹配
+     */
+    static boolean matches(ConverterMode mode, MediaType contentType) {
+        String subtype = contentType.subtype();
+        switch (mode) {
+            case GSON:
+            case JACKSON:
+            case MOSHI:
+                return "json".equals(subtype) || subtype.endsWith("+json");
+            case PROTOCOL_BUFFERS:
+            case WIRE:
+                return "x-protobuf".equals(subtype) || "protobuf".equals(subtype)
+                        || "vnd.google.protobuf".equals(subtype) || "x-protobuffer".equals(subtype);
+            case SIMPLE_XML:
+            case JAXB:
+                return "xml".equals(subtype) || subtype.endsWith("+xml");
+            case SCALARS:
+                return "text".equals(contentType.type()) && "plain".equals(subtype);
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(@NonNull Type type, @NonNull Annotation[] annotations, @NonNull Retrofit retrofit) {
+        List<ConverterMode> modes = new ArrayList<>();
+        List<Converter<ResponseBody, ?>> converters = new ArrayList<>();
+        for (Map.Entry<ConverterMode, Converter.Factory> entry : delegates.entrySet()) {
+            Converter<ResponseBody, ?> converter = entry.getValue().responseBodyConverter(type, annotations, retrofit);
+            if (converter != null) {
+                modes.add(entry.getKey());
+                converters.add(converter);
+            }
+        }
+        if (modes.isEmpty()) {
+            return null;
+        }
+        typeAcceptMap.put(type, buildAcceptHeader(modes));
+        return new NegotiatingResponseBodyConverter(modes, converters, metrics);
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(@NonNull Type type, @NonNull Annotation[] parameterAnnotations, @NonNull Annotation[] methodAnnotations, @NonNull Retrofit retrofit) {
+        for (Converter.Factory factory : delegates.values()) {
+            Converter<?, RequestBody> converter = factory.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取接口方法的Accept请求头
+     *
+     * @param method 接口方法
+     * @return Accept请求头，无法确定响应类型时为空字符串
+     */
+    public String getAcceptHeader(Method method) {
+        String accept = methodAcceptMap.get(method);
+        if (accept == null) {
+            Type type = getResponseType(method);
+            accept = type != null ? typeAcceptMap.get(type) : null;
+            if (accept == null) {
+                accept = "";
+            }
+            methodAcceptMap.put(method, accept);
+        }
+        return accept;
+    }
+
+    /**
+     * 按偏好顺序构建Accept请求头，相同媒体类型只保留一次，q值依次递减
+     *
+     * @param modes 可解析该类型的格式
+     * @return Accept请求头
+     */
+    private static String buildAcceptHeader(List<ConverterMode> modes) {
+        Set<String> mediaTypes = new LinkedHashSet<>();
+        for (ConverterMode mode : modes) {
+            mediaTypes.add(getMediaType(mode));
+        }
+        StringBuilder accept = new StringBuilder();
+        int index = 0;
+        for (String mediaType : mediaTypes) {
+            if (index > 0) {
+                accept.append(", ");
+            }
+            accept.append(mediaType);
+            if (index > 0) {
+                accept.append(";q=0.").append(Math.max(1, 10 - index));
+            }
+            index++;
+        }
+        return accept.toString();
+    }
+
+    /**
+     * 获取接口方法的响应体类型：去掉调用适配器的包装（Call、Observable、Flowable等）以及Response、Result
+     *
+     * @param method 接口方法
+     * @return 响应体类型，无法确定时为null
+     */
+    private static Type getResponseType(Method method) {
+        Type type = getFirstTypeArgument(method.getGenericReturnType());
+        if (type instanceof ParameterizedType) {
+            Type rawType = ((ParameterizedType) type).getRawType();
+            if (rawType == Response.class || rawType == Result.class) {
+                type = getFirstTypeArgument(type);
+            }
+        }
+        return type;
+    }
+
+    private static Type getFirstTypeArgument(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return null;
+        }
+        Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+        if (argument instanceof WildcardType) {
+            argument = ((WildcardType) argument).getUpperBounds()[0];
+        }
+        return argument;
+    }
+
+    /**
+     * 按Content-Type选择转换器解析响应体
+     */
+    private static final class NegotiatingResponseBodyConverter implements Converter<ResponseBody, Object> {
+
+        private final List<ConverterMode> modes;
+
+        private final List<Converter<ResponseBody, ?>> converters;
+
+        private final ConverterMetrics metrics;
+
+        NegotiatingResponseBodyConverter(List<ConverterMode> modes, List<Converter<ResponseBody, ?>> converters, ConverterMetrics metrics) {
+            this.modes = Collections.unmodifiableList(modes);
+            this.converters = Collections.unmodifiableList(converters);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object convert(@NonNull ResponseBody value) throws IOException {
+            int index = select(value.contentType());
+            ConverterMode mode = modes.get(index);
+            long startNanos = System.nanoTime();
+            try {
+                Object result = converters.get(index).convert(value);
+                metrics.record(mode, elapsedMicros(startNanos), false);
+                return result;
+            } catch (IOException | RuntimeException e) {
+                metrics.record(mode, elapsedMicros(startNanos), true);
+                throw e;
+            }
+        }
+
+        private int select(MediaType contentType) {
+            if (contentType != null) {
+                for (int i = 0; i < modes.size(); i++) {
+                    if (matches(modes.get(i), contentType)) {
+                        return i;
+                    }
+                }
+            }
+            return 0;
+        }
+
+        private static long elapsedMicros(long startNanos) {
+            return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        }
+    }
+}
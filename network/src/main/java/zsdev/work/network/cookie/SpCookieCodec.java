@@ -0,0 +1,84 @@
+package zsdev.work.network.cookie;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Locale;
+
+import okhttp3.Cookie;
+
+/**
+ * Created: by 2026-10-18 20:30
+ * Description: SpCookieStore的Cookie编解码：SpCookieSerializable序列化后转十六进制字符串存入SharedPreferences
+ * 不依赖Android，供SpCookieStore与JVM基准测试共用
+ * Author: 张松
+ */
+public final class SpCookieCodec {
+
+    private SpCookieCodec() {
+    }
+
+    /**
+     * cookie序列化成十六进制字符串
+     *
+     * @param cookie 要序列化的cookie
+     * @return 序列化之后的string
+     * @throws IOException 序列化失败
+     */
+    public static String encode(SpCookieSerializable cookie) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ObjectOutputStream outputStream = new ObjectOutputStream(os);
+        outputStream.writeObject(cookie);
+        outputStream.flush();
+        return byteArrayToHexString(os.toByteArray());
+    }
+
+    /**
+     * 十六进制字符串反序列化成cookie
+     *
+     * @param cookieString cookies string
+     * @return cookie object
+     * @throws IOException            反序列化失败
+     * @throws ClassNotFoundException 类型不匹配
+     */
+    public static Cookie decode(String cookieString) throws IOException, ClassNotFoundException {
+        byte[] bytes = hexStringToByteArray(cookieString);
+        ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        return ((SpCookieSerializable) objectInputStream.readObject()).getCookies();
+    }
+
+    /**
+     * 二进制数组转十六进制字符串
+     *
+     * @param bytes byte array to be converted
+     * @return string containing hex values
+     */
+    public static String byteArrayToHexString(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte element : bytes) {
+            int v = element & 0xff;
+            if (v < 16) {
+                sb.append('0');
+            }
+            sb.append(Integer.toHexString(v));
+        }
+        return sb.toString().toUpperCase(Locale.US);
+    }
+
+    /**
+     * 十六进制字符串转二进制数组
+     *
+     * @param hexString string of hex-encoded values
+     * @return decoded byte array
+     */
+    public static byte[] hexStringToByteArray(String hexString) {
+        int len = hexString.length();
+        byte[] data = new byte[len / 2];
+        for (int i = 0; i < len; i += 2) {
+            data[i / 2] = (byte) ((Character.digit(hexString.charAt(i), 16) << 4) + Character.digit(hexString.charAt(i + 1), 16));
+        }
+        return data;
+    }
+}
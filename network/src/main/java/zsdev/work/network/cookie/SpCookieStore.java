@@ -5,16 +5,11 @@ import android.content.SharedPreferences;
 import android.text.TextUtils;
 import android.util.Log;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -241,16 +236,12 @@ public class SpCookieStore implements CookieStore {
     protected String encodeCookie(SpCookieSerializable cookie) {
         if (cookie == null)
             return null;
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
         try {
-            ObjectOutputStream outputStream = new ObjectOutputStream(os);
-            outputStream.writeObject(cookie);
+            return SpCookieCodec.encode(cookie);
         } catch (IOException e) {
             Log.d(Log_TAG, "IOException in encodeCookie", e);
             return null;
         }
-
-        return byteArrayToHexString(os.toByteArray());
     }
 
     /**
@@ -260,12 +251,9 @@ public class SpCookieStore implements CookieStore {
      * @return cookie object
      */
     protected Cookie decodeCookie(String cookieString) {
-        byte[] bytes = hexStringToByteArray(cookieString);
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(bytes);
         Cookie cookie = null;
         try {
-            ObjectInputStream objectInputStream = new ObjectInputStream(byteArrayInputStream);
-            cookie = ((SpCookieSerializable) objectInputStream.readObject()).getCookies();
+            cookie = SpCookieCodec.decode(cookieString);
         } catch (IOException e) {
             Log.d(Log_TAG, "IOException in decodeCookie", e);
         } catch (ClassNotFoundException e) {
@@ -281,15 +269,7 @@ public class SpCookieStore implements CookieStore {
      * @return string containing hex values
      */
     protected String byteArrayToHexString(byte[] bytes) {
-        StringBuilder sb = new StringBuilder(bytes.length * 2);
-        for (byte element : bytes) {
-            int v = element & 0xff;
-            if (v < 16) {
-                sb.append('0');
-            }
-            sb.append(Integer.toHexString(v));
-        }
-        return sb.toString().toUpperCase(Locale.US);
+        return SpCookieCodec.byteArrayToHexString(bytes);
     }
 
     /**
@@ -299,11 +279,6 @@ public class SpCookieStore implements CookieStore {
      * @return decoded byte array
      */
     protected byte[] hexStringToByteArray(String hexString) {
-        int len = hexString.length();
-        byte[] data = new byte[len / 2];
-        for (int i = 0; i < len; i += 2) {
-            data[i / 2] = (byte) ((Character.digit(hexString.charAt(i), 16) << 4) + Character.digit(hexString.charAt(i + 1), 16));
-        }
-        return data;
+        return SpCookieCodec.hexStringToByteArray(hexString);
     }
 }
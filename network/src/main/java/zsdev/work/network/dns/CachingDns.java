@@ -0,0 +1,367 @@
+package zsdev.work.network.dns;
+
+import android.net.DnsResolver;
+import android.os.Build;
+import android.os.CancellationSignal;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.Dns;
+import zsdev.work.network.scheduler.NetworkScheduler;
+
+/**
+ * Created: by 2026-10-18 10:00
+ * Description: 带缓存的DNS解析器，通过INetworkConfig.setDns()配置给OkHttpClient
+ * （1）有界内存缓存：按最近使用淘汰，超过maxEntries移除最久未使用的Host
+ * （2）提前刷新：缓存存活超过ttl*refreshAheadRatio后，返回缓存的同时在后台刷新
+ * （3）过期可用：过期未超过maxStale时返回旧地址并后台刷新，同一Host同时只有一个刷新任务
+ * （4）并行解析：Android 10及以上使用DnsResolver并行查询A与AAAA记录，IPv4在前
+ * （5）磁盘快照：设置snapshotFile后缓存写入磁盘，进程重启后作为过期缓存先行使用
+ * Author: 张松
+ */
+public class CachingDns implements Dns {
+
+    /**
+     * 默认最大缓存Host数量
+     */
+    static final int DEFAULT_MAX_ENTRIES = 64;
+
+    /**
+     * 默认缓存有效时间5分钟
+     */
+    static final long DEFAULT_TTL_MILLS = 5 * 60 * 1000L;
+
+    /**
+     * 默认过期可用时间1天
+     */
+    static final long DEFAULT_MAX_STALE_MILLS = 24 * 60 * 60 * 1000L;
+
+    /**
+     * 默认提前刷新比例
+     */
+    static final float DEFAULT_REFRESH_AHEAD_RATIO = 0.75f;
+
+    /**
+     * 默认单次解析超时时间
+     */
+    static final long DEFAULT_LOOKUP_TIMEOUT_MILLS = 10 * 1000L;
+
+    /**
+     * 快照写入延迟，合并短时间内的多次更新
+     */
+    private static final long SNAPSHOT_DELAY_MILLS = 1000L;
+
+    /**
+     * 快照文件格式版本
+     */
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final int maxEntries;
+    private final long ttlMills;
+    private final long maxStaleMills;
+    private final long refreshAheadMills;
+    private final long lookupTimeoutMills;
+    private final File snapshotFile;
+    private final Dns delegate;
+
+    /**
+     * 缓存集合，访问顺序排序实现LRU，所有读写需同步
+     */
+    private final LinkedHashMap<String, DnsEntry> cache;
+
+    /**
+     * 正在后台刷新的Host
+     */
+    private final Set<String> refreshingHosts = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * 是否已安排快照写入
+     */
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean(false);
+
+    public CachingDns(int maxEntries, long ttlMills, long maxStaleMills, float refreshAheadRatio, long lookupTimeoutMills, File snapshotFile, Dns delegate) {
+        this.maxEntries = maxEntries;
+        this.ttlMills = ttlMills;
+        this.maxStaleMills = Math.max(0, maxStaleMills);
+        this.refreshAheadMills = (long) (ttlMills * refreshAheadRatio);
+        this.lookupTimeoutMills = lookupTimeoutMills;
+        this.snapshotFile = snapshotFile;
+        this.delegate = delegate;
+        this.cache = new LinkedHashMap<String, DnsEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DnsEntry> eldest) {
+                return size() > CachingDns.this.maxEntries;
+            }
+        };
+        if (snapshotFile != null) {
+            //磁盘读取放到后台，不阻塞创建OkHttpClient的线程
+            NetworkScheduler.io().scheduleDirect(this::loadSnapshot);
+        }
+    }
+
+    @NonNull
+    @Override
+    public List<InetAddress> lookup(@NonNull String hostname) throws UnknownHostException {
+        DnsEntry entry;
+        synchronized (cache) {
+            entry = cache.get(hostname);
+        }
+        if (entry != null) {
+            long age = System.currentTimeMillis() - entry.resolvedMills;
+            if (age >= 0 && age < ttlMills + maxStaleMills) {
+                if (age >= refreshAheadMills) {
+                    //临近过期或已过期：先返回缓存，后台刷新
+                    refreshAsync(hostname);
+                }
+                return entry.addresses;
+            }
+        }
+        //未缓存或过期太久：同步解析
+        List<InetAddress> addresses = resolve(hostname);
+        put(hostname, addresses);
+        return addresses;
+    }
+
+    /**
+     * 清空内存缓存
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 获取当前缓存的Host数量
+     *
+     * @return Host数量
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * 后台刷新，同一Host同时只有一个刷新任务
+     *
+     * @param hostname 主机名
+     */
+    private void refreshAsync(String hostname) {
+        if (!refreshingHosts.add(hostname)) return;
+        NetworkScheduler.io().scheduleDirect(() -> {
+            try {
+                put(hostname, resolve(hostname));
+            } catch (UnknownHostException e) {
+                //刷新失败保留旧地址，直到超过maxStale
+                Log.i("CachingDns", "refresh failed: " + hostname + "==" + e.getMessage());
+            } finally {
+                refreshingHosts.remove(hostname);
+            }
+        });
+    }
+
+    /**
+     * 写入缓存并安排快照
+     *
+     * @param hostname  主机名
+     * @param addresses 地址集合
+     */
+    private void put(String hostname, List<InetAddress> addresses) {
+        synchronized (cache) {
+            cache.put(hostname, new DnsEntry(addresses, System.currentTimeMillis()));
+        }
+        scheduleSnapshot();
+    }
+
+    /**
+     * 执行解析：优先使用委托Dns，Android 10及以上并行解析，其余使用系统解析
+     *
+     * @param hostname 主机名
+     * @return 地址集合
+     * @throws UnknownHostException 解析失败
+     */
+    private List<InetAddress> resolve(String hostname) throws UnknownHostException {
+        if (delegate != null) {
+            return delegate.lookup(hostname);
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            List<InetAddress> addresses = lookupParallel(hostname);
+            if (!addresses.isEmpty()) {
+                return addresses;
+            }
+        }
+        return Dns.SYSTEM.lookup(hostname);
+    }
+
+    /**
+     * 使用DnsResolver同时发起A与AAAA查询，合并结果IPv4在前
+     *
+     * @param hostname 主机名
+     * @return 地址集合，均失败时为空集合
+     * @throws UnknownHostException 等待时线程被中断
+     */
+    @RequiresApi(api = Build.VERSION_CODES.Q)
+    private List<InetAddress> lookupParallel(String hostname) throws UnknownHostException {
+        AtomicReference<List<InetAddress>> ipv4 = new AtomicReference<>(Collections.emptyList());
+        AtomicReference<List<InetAddress>> ipv6 = new AtomicReference<>(Collections.emptyList());
+        CountDownLatch latch = new CountDownLatch(2);
+        CancellationSignal cancellationSignal = new CancellationSignal();
+        DnsResolver resolver = DnsResolver.getInstance();
+        resolver.query(null, hostname, DnsResolver.TYPE_A, DnsResolver.FLAG_EMPTY, Runnable::run, cancellationSignal, newCallback(ipv4, latch));
+        resolver.query(null, hostname, DnsResolver.TYPE_AAAA, DnsResolver.FLAG_EMPTY, Runnable::run, cancellationSignal, newCallback(ipv6, latch));
+        try {
+            if (!latch.await(lookupTimeoutMills, TimeUnit.MILLISECONDS)) {
+                cancellationSignal.cancel();
+            }
+        } catch (InterruptedException e) {
+            cancellationSignal.cancel();
+            Thread.currentThread().interrupt();
+            throw new UnknownHostException("lookup interrupted: " + hostname);
+        }
+        List<InetAddress> addresses = new ArrayList<>(ipv4.get().size() + ipv6.get().size());
+        addresses.addAll(ipv4.get());
+        addresses.addAll(ipv6.get());
+        return addresses;
+    }
+
+    /**
+     * 创建DnsResolver查询回调
+     *
+     * @param answer 查询结果
+     * @param latch  计数器
+     * @return 查询回调
+     */
+    @RequiresApi(api = Build.VERSION_CODES.Q)
+    private static DnsResolver.Callback<List<InetAddress>> newCallback(AtomicReference<List<InetAddress>> answer, CountDownLatch latch) {
+        return new DnsResolver.Callback<List<InetAddress>>() {
+            @Override
+            public void onAnswer(@NonNull List<InetAddress> addresses, int rcode) {
+                answer.set(addresses);
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(@NonNull DnsResolver.DnsException error) {
+                latch.countDown();
+            }
+        };
+    }
+
+    /**
+     * 延迟写入快照，合并短时间内的多次更新
+     */
+    private void scheduleSnapshot() {
+        if (snapshotFile == null || !snapshotScheduled.compareAndSet(false, true)) return;
+        NetworkScheduler.io().scheduleDirect(() -> {
+            snapshotScheduled.set(false);
+            saveSnapshot();
+        }, SNAPSHOT_DELAY_MILLS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 将内存缓存写入快照文件，先写临时文件再重命名，避免写入中断导致文件损坏
+     */
+    private void saveSnapshot() {
+        Map<String, DnsEntry> copy;
+        synchronized (cache) {
+            copy = new LinkedHashMap<>(cache);
+        }
+        File tempFile = new File(snapshotFile.getAbsolutePath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(copy.size());
+            for (Map.Entry<String, DnsEntry> entry : copy.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().resolvedMills);
+                out.writeInt(entry.getValue().addresses.size());
+                for (InetAddress address : entry.getValue().addresses) {
+                    byte[] bytes = address.getAddress();
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+        } catch (IOException e) {
+            Log.i("CachingDns", "saveSnapshot failed: " + e.getMessage());
+            return;
+        }
+        if (!tempFile.renameTo(snapshotFile)) {
+            Log.i("CachingDns", "saveSnapshot failed: rename " + tempFile);
+        }
+    }
+
+    /**
+     * 读取快照文件，只补充内存中尚未存在的Host
+     */
+    private void loadSnapshot() {
+        if (!snapshotFile.exists()) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_VERSION) return;
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String hostname = in.readUTF();
+                long resolvedMills = in.readLong();
+                int addressCount = in.readInt();
+                List<InetAddress> addresses = new ArrayList<>(addressCount);
+                for (int j = 0; j < addressCount; j++) {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    addresses.add(InetAddress.getByAddress(hostname, bytes));
+                }
+                synchronized (cache) {
+                    if (!cache.containsKey(hostname)) {
+                        cache.put(hostname, new DnsEntry(addresses, resolvedMills));
+                    }
+                }
+            }
+            Log.i("CachingDns", "loadSnapshot: " + count + " hosts");
+        } catch (IOException e) {
+            Log.i("CachingDns", "loadSnapshot failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class DnsEntry {
+
+        /**
+         * 地址集合，不可修改
+         */
+        final List<InetAddress> addresses;
+
+        /**
+         * 解析时间（系统时间，用于跨进程持久化）
+         */
+        final long resolvedMills;
+
+        DnsEntry(List<InetAddress> addresses, long resolvedMills) {
+            this.addresses = Collections.unmodifiableList(new ArrayList<>(addresses));
+            this.resolvedMills = resolvedMills;
+        }
+    }
+}
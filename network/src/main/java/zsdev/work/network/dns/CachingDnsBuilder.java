@@ -0,0 +1,95 @@
+package zsdev.work.network.dns;
+
+import java.io.File;
+
+import okhttp3.Dns;
+
+/**
+ * Created: by 2026-10-18 10:05
+ * Description: 缓存DNS解析器的构建参数，未设置的参数使用CachingDns中的默认值
+ * Author: 张松
+ */
+public class CachingDnsBuilder {
+
+    /**
+     * 最大缓存Host数量
+     */
+    private int maxEntries = CachingDns.DEFAULT_MAX_ENTRIES;
+
+    /**
+     * 缓存有效时间
+     */
+    private long ttlMills = CachingDns.DEFAULT_TTL_MILLS;
+
+    /**
+     * 过期后仍可使用旧地址的时间，期间后台刷新
+     */
+    private long maxStaleMills = CachingDns.DEFAULT_MAX_STALE_MILLS;
+
+    /**
+     * 提前刷新比例，缓存存活时间超过ttl*比例后触发后台刷新
+     */
+    private float refreshAheadRatio = CachingDns.DEFAULT_REFRESH_AHEAD_RATIO;
+
+    /**
+     * 单次解析超时时间
+     */
+    private long lookupTimeoutMills = CachingDns.DEFAULT_LOOKUP_TIMEOUT_MILLS;
+
+    /**
+     * 磁盘快照文件，为null不持久化
+     */
+    private File snapshotFile;
+
+    /**
+     * 实际执行解析的Dns，为null使用系统解析（Android 10及以上IPv4/IPv6并行解析）
+     */
+    private Dns delegate;
+
+    public CachingDnsBuilder maxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    public CachingDnsBuilder ttlMills(long ttlMills) {
+        this.ttlMills = ttlMills;
+        return this;
+    }
+
+    public CachingDnsBuilder maxStaleMills(long maxStaleMills) {
+        this.maxStaleMills = maxStaleMills;
+        return this;
+    }
+
+    public CachingDnsBuilder refreshAheadRatio(float refreshAheadRatio) {
+        this.refreshAheadRatio = refreshAheadRatio;
+        return this;
+    }
+
+    public CachingDnsBuilder lookupTimeoutMills(long lookupTimeoutMills) {
+        this.lookupTimeoutMills = lookupTimeoutMills;
+        return this;
+    }
+
+    public CachingDnsBuilder snapshotFile(File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+        return this;
+    }
+
+    public CachingDnsBuilder delegate(Dns delegate) {
+        this.delegate = delegate;
+        return this;
+    }
+
+    /**
+     * 构建缓存DNS解析器
+     *
+     * @return 缓存DNS解析器
+     */
+    public CachingDns build() {
+        if (maxEntries <= 0) throw new IllegalStateException("maxEntries must be > 0!");
+        if (ttlMills <= 0) throw new IllegalStateException("ttlMills must be > 0!");
+        if (refreshAheadRatio <= 0 || refreshAheadRatio > 1) throw new IllegalStateException("refreshAheadRatio must be in (0, 1]!");
+        return new CachingDns(maxEntries, ttlMills, maxStaleMills, refreshAheadRatio, lookupTimeoutMills, snapshotFile, delegate);
+    }
+}
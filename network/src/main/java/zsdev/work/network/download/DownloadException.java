@@ -0,0 +1,16 @@
+package zsdev.work.network.download;
+
+import java.io.IOException;
+
+/**
+ * Created: by 2026-10-18 22:25
+ * Description: 下载校验失败的异常：服务器返回的范围或长度与请求不符、下载过程中文件发生变化（ETag/Last-Modified不一致）等
+ * 此类失败不重试，断点记录会被清除，重新下载时从头开始
+ * Author: 张松
+ */
+public class DownloadException extends IOException {
+
+    public DownloadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,135 @@
+package zsdev.work.network.download;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Created: by 2026-10-18 22:30
+ * Description: 断点记录：URL、文件校验标识（ETag、Last-Modified、总长度）与各分段的已下载字节数
+ * 以Properties文本格式保存在目标文件旁（xxx.journal），先写临时文件再重命名，进程被杀时不会留下半个记录
+ * Author: 张松
+ */
+class DownloadJournal {
+
+    private static final String KEY_URL = "url";
+    private static final String KEY_ETAG = "etag";
+    private static final String KEY_LAST_MODIFIED = "lastModified";
+    private static final String KEY_TOTAL_BYTES = "totalBytes";
+    private static final String KEY_SEGMENT_COUNT = "segmentCount";
+    private static final String KEY_SEGMENT_PREFIX = "segment.";
+
+    final String url;
+    final String etag;
+    final String lastModified;
+    final long totalBytes;
+    final List<DownloadSegment> segments;
+
+    DownloadJournal(String url, String etag, String lastModified, long totalBytes, List<DownloadSegment> segments) {
+        this.url = url;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.totalBytes = totalBytes;
+        this.segments = Collections.unmodifiableList(segments);
+    }
+
+    /**
+     * 是否为同一个文件的记录：URL与总长度相同，且ETag或Last-Modified相同
+     *
+     * @param other 本次探测得到的文件信息
+     * @return 是否可续传
+     */
+    boolean isSameResource(DownloadJournal other) {
+        if (!url.equals(other.url) || totalBytes != other.totalBytes || totalBytes < 0) {
+            return false;
+        }
+        if (etag != null || other.etag != null) {
+            return etag != null && etag.equals(other.etag);
+        }
+        return lastModified != null && lastModified.equals(other.lastModified);
+    }
+
+    long downloadedBytes() {
+        long downloaded = 0;
+        for (DownloadSegment segment : segments) {
+            downloaded += segment.downloaded.get();
+        }
+        return downloaded;
+    }
+
+    /**
+     * 各分段已下载字节数的快照，保存断点记录前先取快照再刷盘
+     *
+     * @return 与segments顺序一致的已下载字节数
+     */
+    long[] snapshotDownloaded() {
+        long[] downloaded = new long[segments.size()];
+        for (int i = 0; i < downloaded.length; i++) {
+            downloaded[i] = segments.get(i).downloaded.get();
+        }
+        return downloaded;
+    }
+
+    /**
+     * 保存断点记录
+     *
+     * @param file       记录文件
+     * @param downloaded snapshotDownloaded()取得的已下载字节数
+     * @throws IOException 写入失败
+     */
+    void save(File file, long[] downloaded) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_URL, url);
+        if (etag != null) properties.setProperty(KEY_ETAG, etag);
+        if (lastModified != null) properties.setProperty(KEY_LAST_MODIFIED, lastModified);
+        properties.setProperty(KEY_TOTAL_BYTES, String.valueOf(totalBytes));
+        properties.setProperty(KEY_SEGMENT_COUNT, String.valueOf(segments.size()));
+        for (int i = 0; i < segments.size(); i++) {
+            DownloadSegment segment = segments.get(i);
+            properties.setProperty(KEY_SEGMENT_PREFIX + i, segment.start + "," + segment.end + "," + downloaded[i]);
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            properties.store(out, null);
+        }
+        if (!tmp.renameTo(file)) {
+            throw new IOException("Failed to rename " + tmp + " to " + file);
+        }
+    }
+
+    /**
+     * 读取断点记录
+     *
+     * @param file 记录文件
+     * @return 断点记录，不存在或已损坏时为null
+     */
+    static DownloadJournal load(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            Properties properties = new Properties();
+            properties.load(in);
+            int segmentCount = Integer.parseInt(properties.getProperty(KEY_SEGMENT_COUNT));
+            List<DownloadSegment> segments = new ArrayList<>(segmentCount);
+            for (int i = 0; i < segmentCount; i++) {
+                String[] values = properties.getProperty(KEY_SEGMENT_PREFIX + i).split(",");
+                segments.add(new DownloadSegment(Long.parseLong(values[0]), Long.parseLong(values[1]), Long.parseLong(values[2])));
+            }
+            return new DownloadJournal(properties.getProperty(KEY_URL), properties.getProperty(KEY_ETAG),
+                    properties.getProperty(KEY_LAST_MODIFIED), Long.parseLong(properties.getProperty(KEY_TOTAL_BYTES)), segments);
+        } catch (IOException | RuntimeException e) {
+            Log.i("DownloadJournal", "断点记录无效，重新下载：" + e);
+            return null;
+        }
+    }
+}
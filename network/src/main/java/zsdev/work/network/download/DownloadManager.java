@@ -0,0 +1,102 @@
+package zsdev.work.network.download;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import zsdev.work.network.base.BaseApiService;
+import zsdev.work.network.scheduler.NetworkScheduler;
+
+/**
+ * Created: by 2026-10-18 22:40
+ * Description: 分段断点续传下载
+ * 基于BaseApiService.downloadRange()，请求经过该服务器URL已配置的OkHttpClient（共用连接池、拦截器与统计）。
+ * 使用方式：
+ * new DownloadManager(NetworkHelper.getApiServiceClass(context, baseUrl, false, true, false, BaseApiService.class))
+ * .download(url, file).compose(SchedulerTransformer.getFlowableScheduler()).subscribe(...)
+ * （1）download()返回的Flowable按进度回调间隔发送汇总进度，最后发送completed为true的进度并完成
+ * （2）取消订阅或失败时保留xxx.part与xxx.journal，再次下载同一URL到同一文件时校验长度与ETag后从断点继续
+ * （3）同一文件同时只能有一个下载（进程内所有DownloadManager实例共同生效），文件已在下载时以IllegalStateException结束，不影响正在进行的下载
+ * Author: 张松
+ */
+public class DownloadManager {
+
+    /**
+     * 正在下载的文件，key为目标文件的绝对路径。part文件与断点记录按目标文件命名，同一文件的两个下载会互相覆盖
+     */
+    private static final ConcurrentHashMap<String, DownloadTask> ACTIVE_DOWNLOADS = new ConcurrentHashMap<>();
+
+    private final BaseApiService apiService;
+
+    private final DownloadPolicy policy;
+
+    public DownloadManager(BaseApiService apiService) {
+        this(apiService, DownloadPolicy.DEFAULT);
+    }
+
+    /**
+     * @param apiService 服务器URL对应的BaseApiService，需启用RxJava适配器
+     * @param policy     分段下载策略
+     */
+    public DownloadManager(BaseApiService apiService, DownloadPolicy policy) {
+        this.apiService = apiService;
+        this.policy = policy;
+    }
+
+    /**
+     * 下载文件，订阅时开始
+     *
+     * @param url  文件URL
+     * @param file 目标文件，下载完成并校验后才会出现
+     * @return 下载进度，进度只保留最新值，下游处理慢时跳过中间进度；同一文件已在下载时发送IllegalStateException
+     */
+    public Flowable<DownloadProgress> download(String url, File file) {
+        return Flowable.defer(() -> {
+            String path = file.getAbsolutePath();
+            DownloadTask task = new DownloadTask(apiService, policy, url, file);
+            if (ACTIVE_DOWNLOADS.putIfAbsent(path, task) != null) {
+                return Flowable.error(new IllegalStateException(path + " is already being downloaded!"));
+            }
+            return Single.fromCallable(task::prepare)
+                    .subscribeOn(NetworkScheduler.io())
+                    .flatMapPublisher(segments -> {
+                        Flowable<DownloadProgress> done = Flowable.fromIterable(segments)
+                                .flatMapCompletable(segment -> fetch(task, segment), false, policy.getSegmentCount())
+                                .andThen(Flowable.fromCallable(task::finish));
+                        //进度定时发送，直到下载完成或失败
+                        Flowable<DownloadProgress> ticks = Flowable.interval(policy.getProgressIntervalMills(), TimeUnit.MILLISECONDS, NetworkScheduler.io())
+                                .onBackpressureDrop()
+                                .map(tick -> task.progress());
+                        //结束信号（完成进度或异常）只经done发送一次
+                        return done.publish(shared -> Flowable.merge(ticks.takeUntil(shared.materialize()), shared));
+                    })
+                    .onBackpressureLatest()
+                    .doFinally(() -> {
+                        //先保存断点并关闭文件，再允许同一文件的下一个下载开始
+                        task.close();
+                        ACTIVE_DOWNLOADS.remove(path, task);
+                    });
+        });
+    }
+
+    /**
+     * 并发下载一个分段，失败后从已下载位置重试，校验失败不重试。
+     * 所有下载的分段共用NetworkScheduler.transfer()的线程，超出上限的分段排队
+     *
+     * @param task    下载任务
+     * @param segment 分段
+     * @return Completable
+     */
+    private Completable fetch(DownloadTask task, DownloadSegment segment) {
+        return Completable.fromAction(() -> task.fetch(segment))
+                .subscribeOn(NetworkScheduler.transfer())
+                .retry(policy.getMaxSegmentRetries(), e -> e instanceof IOException && !(e instanceof DownloadException) && !task.isCancelled())
+                //一个分段最终失败时停止其他分段，取消时先标记再中断线程，中断引起的异常不再发送
+                .doOnError(e -> task.cancel())
+                .doOnDispose(task::cancel);
+    }
+}
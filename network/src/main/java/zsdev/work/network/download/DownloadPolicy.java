@@ -0,0 +1,86 @@
+package zsdev.work.network.download;
+
+/**
+ * Created: by 2026-10-18 22:20
+ * Description: 分段下载策略，不可变对象，通过DownloadPolicyBuilder创建
+ * 服务器支持Range时，文件按segmentCount分段并发下载，每段不小于minSegmentSize；不支持时单段下载
+ * 每段失败后从已下载位置重试maxSegmentRetries次，仍失败则结束下载并保留断点记录，重新调用download()即可续传
+ * Author: 张松
+ */
+public class DownloadPolicy {
+
+    /**
+     * 默认分段数
+     */
+    static final int DEFAULT_SEGMENT_COUNT = 4;
+
+    /**
+     * 默认最小分段大小：1MB
+     */
+    static final long DEFAULT_MIN_SEGMENT_SIZE = 1024 * 1024;
+
+    /**
+     * 默认读写缓冲区大小：64KB
+     */
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 默认进度回调间隔
+     */
+    static final long DEFAULT_PROGRESS_INTERVAL_MILLS = 200;
+
+    /**
+     * 默认断点记录保存间隔
+     */
+    static final long DEFAULT_JOURNAL_INTERVAL_MILLS = 1000;
+
+    /**
+     * 默认每段重试次数
+     */
+    static final int DEFAULT_MAX_SEGMENT_RETRIES = 2;
+
+    /**
+     * 默认策略
+     */
+    public static final DownloadPolicy DEFAULT = new DownloadPolicyBuilder().build();
+
+    private final int segmentCount;
+    private final long minSegmentSize;
+    private final int bufferSize;
+    private final long progressIntervalMills;
+    private final long journalIntervalMills;
+    private final int maxSegmentRetries;
+
+    DownloadPolicy(int segmentCount, long minSegmentSize, int bufferSize, long progressIntervalMills, long journalIntervalMills, int maxSegmentRetries) {
+        this.segmentCount = segmentCount;
+        this.minSegmentSize = minSegmentSize;
+        this.bufferSize = bufferSize;
+        this.progressIntervalMills = progressIntervalMills;
+        this.journalIntervalMills = journalIntervalMills;
+        this.maxSegmentRetries = maxSegmentRetries;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    public long getMinSegmentSize() {
+        return minSegmentSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public long getProgressIntervalMills() {
+        return progressIntervalMills;
+    }
+
+    public long getJournalIntervalMills() {
+        return journalIntervalMills;
+    }
+
+    public int getMaxSegmentRetries() {
+        return maxSegmentRetries;
+    }
+}
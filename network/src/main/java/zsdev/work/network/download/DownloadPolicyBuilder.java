@@ -0,0 +1,83 @@
+package zsdev.work.network.download;
+
+/**
+ * Created: by 2026-10-18 22:20
+ * Description: 分段下载策略的构建参数，未设置的参数使用DownloadPolicy中的默认值
+ * Author: 张松
+ */
+public class DownloadPolicyBuilder {
+
+    /**
+     * 最大分段数（并发数）
+     */
+    private int segmentCount = DownloadPolicy.DEFAULT_SEGMENT_COUNT;
+
+    /**
+     * 最小分段大小，小文件少分段或不分段
+     */
+    private long minSegmentSize = DownloadPolicy.DEFAULT_MIN_SEGMENT_SIZE;
+
+    /**
+     * 每段的读写缓冲区大小
+     */
+    private int bufferSize = DownloadPolicy.DEFAULT_BUFFER_SIZE;
+
+    /**
+     * 进度回调间隔
+     */
+    private long progressIntervalMills = DownloadPolicy.DEFAULT_PROGRESS_INTERVAL_MILLS;
+
+    /**
+     * 断点记录保存间隔
+     */
+    private long journalIntervalMills = DownloadPolicy.DEFAULT_JOURNAL_INTERVAL_MILLS;
+
+    /**
+     * 每段失败后的重试次数
+     */
+    private int maxSegmentRetries = DownloadPolicy.DEFAULT_MAX_SEGMENT_RETRIES;
+
+    public DownloadPolicyBuilder segmentCount(int segmentCount) {
+        this.segmentCount = segmentCount;
+        return this;
+    }
+
+    public DownloadPolicyBuilder minSegmentSize(long minSegmentSize) {
+        this.minSegmentSize = minSegmentSize;
+        return this;
+    }
+
+    public DownloadPolicyBuilder bufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    public DownloadPolicyBuilder progressIntervalMills(long progressIntervalMills) {
+        this.progressIntervalMills = progressIntervalMills;
+        return this;
+    }
+
+    public DownloadPolicyBuilder journalIntervalMills(long journalIntervalMills) {
+        this.journalIntervalMills = journalIntervalMills;
+        return this;
+    }
+
+    public DownloadPolicyBuilder maxSegmentRetries(int maxSegmentRetries) {
+        this.maxSegmentRetries = maxSegmentRetries;
+        return this;
+    }
+
+    /**
+     * 构建分段下载策略
+     *
+     * @return 分段下载策略
+     */
+    public DownloadPolicy build() {
+        if (segmentCount <= 0) throw new IllegalStateException("segmentCount must be > 0!");
+        if (minSegmentSize <= 0) throw new IllegalStateException("minSegmentSize must be > 0!");
+        if (bufferSize <= 0) throw new IllegalStateException("bufferSize must be > 0!");
+        if (progressIntervalMills <= 0 || journalIntervalMills <= 0) throw new IllegalStateException("progressIntervalMills and journalIntervalMills must be > 0!");
+        if (maxSegmentRetries < 0) throw new IllegalStateException("maxSegmentRetries must be >= 0!");
+        return new DownloadPolicy(segmentCount, minSegmentSize, bufferSize, progressIntervalMills, journalIntervalMills, maxSegmentRetries);
+    }
+}
@@ -0,0 +1,87 @@
+package zsdev.work.network.download;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+
+/**
+ * Created: by 2026-10-18 22:25
+ * Description: 下载进度，不可变对象，所有分段汇总后按进度回调间隔发送
+ * Author: 张松
+ */
+public class DownloadProgress {
+
+    private final String url;
+    private final File file;
+    private final long downloadedBytes;
+    private final long totalBytes;
+    private final long bytesPerSecond;
+    private final boolean completed;
+
+    DownloadProgress(String url, File file, long downloadedBytes, long totalBytes, long bytesPerSecond, boolean completed) {
+        this.url = url;
+        this.file = file;
+        this.downloadedBytes = downloadedBytes;
+        this.totalBytes = totalBytes;
+        this.bytesPerSecond = bytesPerSecond;
+        this.completed = completed;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return 目标文件，completed为true时已校验完成并写入
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return 已下载字节数，包含续传前已下载的部分
+     */
+    public long getDownloadedBytes() {
+        return downloadedBytes;
+    }
+
+    /**
+     * @return 文件总字节数，服务器未返回长度时为-1
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return 最近一个回调间隔内的下载速度/byte每秒
+     */
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * @return 下载进度百分比，总长度未知时为-1
+     */
+    public int getPercent() {
+        return totalBytes > 0 ? (int) (downloadedBytes * 100 / totalBytes) : -1;
+    }
+
+    /**
+     * @return 是否下载完成
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "DownloadProgress{" +
+                "url='" + url + '\'' +
+                ", downloaded=" + downloadedBytes +
+                ", total=" + totalBytes +
+                ", bytesPerSecond=" + bytesPerSecond +
+                ", completed=" + completed +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+package zsdev.work.network.download;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created: by 2026-10-18 22:30
+ * Description: 下载分段：[start, end]字节范围与已写入字节数
+ * downloaded只在数据写入文件后增加，断点记录保存的值不大于实际写入的字节数，续传时最多重复下载少量数据
+ * Author: 张松
+ */
+class DownloadSegment {
+
+    /**
+     * 起始位置
+     */
+    final long start;
+
+    /**
+     * 结束位置（包含），总长度未知时为-1
+     */
+    final long end;
+
+    /**
+     * 已写入字节数
+     */
+    final AtomicLong downloaded;
+
+    DownloadSegment(long start, long end, long downloaded) {
+        this.start = start;
+        this.end = end;
+        this.downloaded = new AtomicLong(downloaded);
+    }
+
+    /**
+     * @return 分段长度，总长度未知时为-1
+     */
+    long length() {
+        return end < 0 ? -1 : end - start + 1;
+    }
+
+    /**
+     * @return 剩余字节数，总长度未知时为Long.MAX_VALUE
+     */
+    long remaining() {
+        return end < 0 ? Long.MAX_VALUE : length() - downloaded.get();
+    }
+
+    boolean isCompleted() {
+        return end >= 0 && remaining() == 0;
+    }
+
+    /**
+     * @return 续传位置的Range请求头
+     */
+    String rangeHeader() {
+        return "bytes=" + (start + downloaded.get()) + "-" + (end < 0 ? "" : end);
+    }
+}
@@ -0,0 +1,430 @@
+package zsdev.work.network.download;
+
+import android.util.Log;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import retrofit2.HttpException;
+import retrofit2.Response;
+import zsdev.work.network.base.BaseApiService;
+
+/**
+ * Created: by 2026-10-18 22:35
+ * Description: 一次下载的执行状态，由DownloadManager创建，每次订阅一个实例
+ * （1）prepare()：以Range: bytes=0-0探测总长度、ETag与是否支持Range，与断点记录比对后决定续传或重新分段，预分配xxx.part文件
+ * （2）fetch()：各分段并发请求自己的字节范围，通过FileChannel按位置直接写入part文件，不经过内存中的整文件缓冲
+ * （3）finish()：校验各分段与文件长度后重命名为目标文件，删除断点记录
+ * 续传请求带If-Range（强ETag或Last-Modified），文件在服务器上变化时服务器返回200而不是206，以DownloadException结束并清除断点
+ * Author: 张松
+ */
+class DownloadTask {
+
+    private static final String HEADER_CONTENT_RANGE = "Content-Range";
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_LAST_MODIFIED = "Last-Modified";
+
+    private final BaseApiService apiService;
+    private final DownloadPolicy policy;
+    private final String url;
+    private final File file;
+    private final File partFile;
+    private final File journalFile;
+
+    /**
+     * 正在读取的响应体，取消时关闭以中断阻塞的读取
+     */
+    private final Set<ResponseBody> activeBodies = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private volatile boolean cancelled;
+
+    /**
+     * 下载已完成，不再保存断点记录
+     */
+    private volatile boolean completed;
+
+    /**
+     * 校验失败，关闭时删除part文件与断点记录
+     */
+    private volatile boolean discard;
+
+    private boolean rangeSupported;
+    private String ifRange;
+    private DownloadJournal journal;
+    private RandomAccessFile randomAccessFile;
+    private FileChannel channel;
+
+    /**
+     * 以下字段由this锁保护，用于计算速度与控制断点记录保存间隔
+     */
+    private long lastProgressBytes;
+    private long lastProgressNanos;
+    private long lastJournalNanos;
+
+    DownloadTask(BaseApiService apiService, DownloadPolicy policy, String url, File file) {
+        this.apiService = apiService;
+        this.policy = policy;
+        this.url = url;
+        this.file = file;
+        this.partFile = new File(file.getPath() + ".part");
+        this.journalFile = new File(file.getPath() + ".journal");
+    }
+
+    /**
+     * 探测文件信息，加载或创建断点记录并预分配文件
+     *
+     * @return 未完成的分段
+     * @throws IOException 探测或创建文件失败
+     */
+    List<DownloadSegment> prepare() throws IOException {
+        DownloadJournal probed = probe();
+        DownloadJournal saved = rangeSupported ? DownloadJournal.load(journalFile) : null;
+        if (saved != null && partFile.length() == probed.totalBytes && saved.isSameResource(probed)) {
+            journal = saved;
+            Log.i("DownloadTask", "续传：" + url + "，已下载" + saved.downloadedBytes() + "/" + saved.totalBytes);
+        } else {
+            journal = new DownloadJournal(url, probed.etag, probed.lastModified, probed.totalBytes, split(probed.totalBytes));
+            if (partFile.exists() && !partFile.delete()) {
+                throw new IOException("Failed to delete " + partFile);
+            }
+            Log.i("DownloadTask", "开始下载：" + url + "，总长度" + probed.totalBytes + "，分段数" + journal.segments.size());
+        }
+        if (probed.etag != null && !probed.etag.startsWith("W/")) {
+            ifRange = probed.etag;
+        } else {
+            ifRange = probed.lastModified;
+        }
+        File parent = partFile.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory " + parent);
+        }
+        randomAccessFile = new RandomAccessFile(partFile, "rw");
+        if (journal.totalBytes >= 0) {
+            //预分配文件，各分段按位置写入
+            randomAccessFile.setLength(journal.totalBytes);
+        }
+        channel = randomAccessFile.getChannel();
+        synchronized (this) {
+            lastProgressBytes = journal.downloadedBytes();
+            lastProgressNanos = System.nanoTime();
+            lastJournalNanos = lastProgressNanos;
+            saveJournal();
+        }
+        List<DownloadSegment> pending = new ArrayList<>();
+        for (DownloadSegment segment : journal.segments) {
+            if (!segment.isCompleted()) {
+                pending.add(segment);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * 请求第一个字节，从响应头获取总长度、ETag、Last-Modified以及是否支持Range
+     *
+     * @return 探测到的文件信息（不含分段）
+     * @throws IOException 请求失败
+     */
+    private DownloadJournal probe() throws IOException {
+        Response<ResponseBody> response = apiService.downloadRange(url, "bytes=0-0", null).blockingFirst();
+        try {
+            long totalBytes;
+            if (response.code() == 206) {
+                totalBytes = parseContentRange(response.headers().get(HEADER_CONTENT_RANGE))[2];
+                rangeSupported = totalBytes >= 0;
+            } else if (response.isSuccessful()) {
+                //不支持Range，返回了整个文件
+                ResponseBody body = response.body();
+                totalBytes = body != null ? body.contentLength() : -1;
+                rangeSupported = false;
+            } else if (response.code() == 416) {
+                //空文件无法满足bytes=0-0
+                totalBytes = -1;
+                rangeSupported = false;
+            } else {
+                throw new HttpException(response);
+            }
+            return new DownloadJournal(url, response.headers().get(HEADER_ETAG), response.headers().get(HEADER_LAST_MODIFIED),
+                    totalBytes, Collections.emptyList());
+        } finally {
+            closeQuietly(response.body());
+            closeQuietly(response.errorBody());
+        }
+    }
+
+    /**
+     * 按策略把文件分为若干段，不支持Range或长度未知时只有一段
+     *
+     * @param totalBytes 总长度
+     * @return 分段
+     */
+    private List<DownloadSegment> split(long totalBytes) {
+        List<DownloadSegment> segments = new ArrayList<>();
+        if (!rangeSupported || totalBytes <= 0) {
+            segments.add(new DownloadSegment(0, totalBytes - 1, 0));
+            return segments;
+        }
+        int count = (int) Math.max(1, Math.min(policy.getSegmentCount(), totalBytes / policy.getMinSegmentSize()));
+        long size = totalBytes / count;
+        for (int i = 0; i < count; i++) {
+            long start = i * size;
+            long end = i == count - 1 ? totalBytes - 1 : start + size - 1;
+            segments.add(new DownloadSegment(start, end, 0));
+        }
+        return segments;
+    }
+
+    /**
+     * 下载一个分段，从已下载位置继续
+     *
+     * @param segment 分段
+     * @throws IOException 请求、校验或写入失败
+     */
+    void fetch(DownloadSegment segment) throws IOException {
+        if (segment.isCompleted()) {
+            return;
+        }
+        String range = null;
+        if (rangeSupported) {
+            range = segment.rangeHeader();
+        } else {
+            //整文件下载无法续传，重试时从头写入
+            segment.downloaded.set(0);
+        }
+        Response<ResponseBody> response = null;
+        try {
+            response = apiService.downloadRange(url, range, range != null ? ifRange : null).blockingFirst();
+            if (!response.isSuccessful()) {
+                throw new HttpException(response);
+            }
+            if (range != null) {
+                if (response.code() != 206) {
+                    throw new DownloadException("Resource changed on server: " + url);
+                }
+                verify(response, segment);
+            }
+            ResponseBody body = response.body();
+            if (body == null) {
+                throw new DownloadException("Empty response body: " + url);
+            }
+            activeBodies.add(body);
+            copy(body.source(), segment);
+        } catch (IOException | RuntimeException e) {
+            if (cancelled) {
+                //取消后的异常不再向下游发送
+                return;
+            }
+            if (e instanceof DownloadException) {
+                discard = true;
+            }
+            throw e;
+        } finally {
+            if (response != null) {
+                activeBodies.remove(response.body());
+                closeQuietly(response.body());
+                closeQuietly(response.errorBody());
+            }
+        }
+    }
+
+    /**
+     * 校验响应的范围与ETag
+     */
+    private void verify(Response<ResponseBody> response, DownloadSegment segment) throws DownloadException {
+        long[] contentRange = parseContentRange(response.headers().get(HEADER_CONTENT_RANGE));
+        long expectedStart = segment.start + segment.downloaded.get();
+        if (contentRange[0] != expectedStart || contentRange[1] != segment.end || contentRange[2] != journal.totalBytes) {
+            throw new DownloadException("Unexpected Content-Range " + response.headers().get(HEADER_CONTENT_RANGE)
+                    + " for " + segment.rangeHeader() + "/" + journal.totalBytes);
+        }
+        String etag = response.headers().get(HEADER_ETAG);
+        if (journal.etag != null && etag != null && !journal.etag.equals(etag)) {
+            throw new DownloadException("ETag changed from " + journal.etag + " to " + etag + ": " + url);
+        }
+    }
+
+    /**
+     * 读取响应体并按位置写入文件，每次写入后更新已下载字节数
+     */
+    private void copy(BufferedSource source, DownloadSegment segment) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(policy.getBufferSize());
+        long position = segment.start + segment.downloaded.get();
+        while (!cancelled) {
+            long remaining = segment.remaining();
+            if (remaining == 0) {
+                break;
+            }
+            buffer.clear();
+            if (remaining < buffer.capacity()) {
+                buffer.limit((int) remaining);
+            }
+            int read = source.read(buffer);
+            if (read == -1) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            segment.downloaded.addAndGet(read);
+        }
+        if (!cancelled && segment.end >= 0 && !segment.isCompleted()) {
+            //连接提前结束，重试时从已下载位置继续
+            throw new EOFException("Segment ended early at " + position + ", expected end " + segment.end);
+        }
+    }
+
+    /**
+     * 汇总当前进度，并按间隔保存断点记录
+     *
+     * @return 下载进度
+     */
+    synchronized DownloadProgress progress() {
+        long now = System.nanoTime();
+        long downloaded = journal.downloadedBytes();
+        long elapsedNanos = now - lastProgressNanos;
+        long bytesPerSecond = elapsedNanos > 0 ? (downloaded - lastProgressBytes) * TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+        lastProgressBytes = downloaded;
+        lastProgressNanos = now;
+        if (now - lastJournalNanos >= TimeUnit.MILLISECONDS.toNanos(policy.getJournalIntervalMills())) {
+            lastJournalNanos = now;
+            saveJournal();
+        }
+        return new DownloadProgress(url, file, downloaded, journal.totalBytes, bytesPerSecond, false);
+    }
+
+    /**
+     * 全部分段完成后校验长度并重命名为目标文件
+     *
+     * @return 完成进度
+     * @throws IOException 校验或重命名失败
+     */
+    synchronized DownloadProgress finish() throws IOException {
+        if (cancelled) {
+            throw new InterruptedIOException("Download cancelled: " + url);
+        }
+        long downloaded = journal.downloadedBytes();
+        for (DownloadSegment segment : journal.segments) {
+            if (segment.end >= 0 && !segment.isCompleted()) {
+                discard = true;
+                throw new DownloadException("Segment " + segment.rangeHeader() + " is incomplete: " + url);
+            }
+        }
+        if (journal.totalBytes >= 0 && (downloaded != journal.totalBytes || channel.size() != journal.totalBytes)) {
+            discard = true;
+            throw new DownloadException("Length mismatch, expected " + journal.totalBytes + " but was " + downloaded + ": " + url);
+        }
+        channel.force(true);
+        closeChannel();
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Failed to delete " + file);
+        }
+        if (!partFile.renameTo(file)) {
+            throw new IOException("Failed to rename " + partFile + " to " + file);
+        }
+        journalFile.delete();
+        completed = true;
+        Log.i("DownloadTask", "下载完成：" + url + "，" + downloaded + "字节");
+        return new DownloadProgress(url, file, downloaded, downloaded, 0, true);
+    }
+
+    /**
+     * 取消：停止各分段的读取，关闭正在读取的响应体
+     */
+    void cancel() {
+        cancelled = true;
+        for (ResponseBody body : activeBodies) {
+            closeQuietly(body);
+        }
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 下载结束（完成、失败或取消）时调用：保存或删除断点记录并关闭文件
+     */
+    synchronized void close() {
+        cancel();
+        if (!completed && journal != null) {
+            if (discard) {
+                partFile.delete();
+                journalFile.delete();
+                Log.i("DownloadTask", "校验失败，已清除断点：" + url);
+            } else {
+                saveJournal();
+            }
+        }
+        closeChannel();
+    }
+
+    /**
+     * 先取已下载字节数的快照，再把已写入的数据刷到磁盘，最后保存快照。
+     * 分段在刷盘期间仍在写入，若刷盘后再读计数，记录可能包含尚未刷盘的数据；快照中的字节在取快照前已写入，
+     * 刷盘后都已落盘，记录中的已下载字节数不会超过磁盘上的实际数据
+     */
+    private void saveJournal() {
+        if (!rangeSupported || channel == null || !channel.isOpen()) {
+            return;
+        }
+        try {
+            long[] downloaded = journal.snapshotDownloaded();
+            channel.force(false);
+            journal.save(journalFile, downloaded);
+        } catch (IOException e) {
+            Log.i("DownloadTask", "保存断点记录失败：" + e);
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            if (randomAccessFile != null) {
+                randomAccessFile.close();
+            }
+        } catch (IOException e) {
+            Log.i("DownloadTask", "关闭文件失败：" + e);
+        }
+    }
+
+    private static void closeQuietly(ResponseBody body) {
+        if (body != null) {
+            body.close();
+        }
+    }
+
+    /**
+     * 解析Content-Range：bytes start-end/total
+     *
+     * @param contentRange 响应头
+     * @return [start, end, total]，total为*时为-1
+     * @throws DownloadException 格式错误
+     */
+    private static long[] parseContentRange(String contentRange) throws DownloadException {
+        try {
+            String value = contentRange.trim();
+            int space = value.indexOf(' ');
+            int dash = value.indexOf('-', space);
+            int slash = value.indexOf('/', dash);
+            long start = Long.parseLong(value.substring(space + 1, dash).trim());
+            long end = Long.parseLong(value.substring(dash + 1, slash).trim());
+            String total = value.substring(slash + 1).trim();
+            return new long[]{start, end, "*".equals(total) ? -1 : Long.parseLong(total)};
+        } catch (RuntimeException e) {
+            throw new DownloadException("Invalid Content-Range: " + contentRange);
+        }
+    }
+}
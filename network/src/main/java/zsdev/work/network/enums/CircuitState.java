@@ -0,0 +1,24 @@
+package zsdev.work.network.enums;
+
+/**
+ * Created: by 2026-10-18 17:45
+ * Description: 熔断器状态
+ * Author: 张松
+ */
+public enum CircuitState {
+
+    /**
+     * 关闭：正常放行请求，统计失败率与慢请求率
+     */
+    CLOSED,
+
+    /**
+     * 打开：直接拒绝请求，等待打开时长结束后进入半开
+     */
+    OPEN,
+
+    /**
+     * 半开：放行少量探测请求，探测结果正常则关闭，否则重新打开
+     */
+    HALF_OPEN;
+}
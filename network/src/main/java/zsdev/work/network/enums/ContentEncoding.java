@@ -0,0 +1,32 @@
+package zsdev.work.network.enums;
+
+/**
+ * Created: by 2026-10-19 00:40
+ * Description: 请求体压缩格式，对应Content-Encoding请求头
+ * Author: 张松
+ */
+public enum ContentEncoding {
+
+    /**
+     * gzip格式（RFC 1952）
+     */
+    GZIP("gzip"),
+
+    /**
+     * zlib格式（RFC 1950），HTTP中的deflate即此格式
+     */
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * @return Content-Encoding请求头的值
+     */
+    public String getToken() {
+        return token;
+    }
+}
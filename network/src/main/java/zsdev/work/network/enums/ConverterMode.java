@@ -60,5 +60,11 @@ public enum ConverterMode {
     /**
      * 定制转换器
      */
-    CUSTOM;
+    CUSTOM,
+
+    /**
+     * 内容协商：注册多个格式的转换器（INetworkConfig.setNegotiateConverterModes()），按响应的Content-Type选择解析器，
+     * 并按响应类型可解析的格式发送Accept请求头
+     */
+    NEGOTIATE;
 }
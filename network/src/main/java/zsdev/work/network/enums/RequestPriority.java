@@ -0,0 +1,24 @@
+package zsdev.work.network.enums;
+
+/**
+ * Created: by 2026-10-18 19:20
+ * Description: 请求优先级
+ * Author: 张松
+ */
+public enum RequestPriority {
+
+    /**
+     * 立即：用户正在等待的请求，不受并发上限限制，直接执行
+     */
+    IMMEDIATE,
+
+    /**
+     * 普通：默认优先级，受最大并发请求数限制，排队时优先于后台请求
+     */
+    NORMAL,
+
+    /**
+     * 后台：预加载、埋点上报等，单独限制并发数，有普通请求排队时不执行
+     */
+    BACKGROUND;
+}
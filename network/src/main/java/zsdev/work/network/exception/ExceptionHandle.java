@@ -14,7 +14,8 @@ import java.net.UnknownHostException;
 
 import javax.net.ssl.SSLHandshakeException;
 
-import retrofit2.adapter.rxjava3.HttpException;
+import retrofit2.HttpException;
+import zsdev.work.network.breaker.CircuitOpenException;
 
 
 /**
@@ -87,7 +88,11 @@ public class ExceptionHandle {
 
     public static ResponseThrowable handleException(Throwable e) {
         ResponseThrowable ex;
-        if (e instanceof HttpException) {
+        if (e instanceof CircuitOpenException) {
+            ex = new ResponseThrowable(e, NetworkError.CIRCUIT_OPEN);
+            ex.setMsg("服务暂时不可用，请稍候重试！");
+            return ex;
+        } else if (e instanceof HttpException) {
             HttpException httpException = (HttpException) e;
             ex = new ResponseThrowable(e, NetworkError.HTTP_ERROR);
             switch (httpException.code()) { //HTTP错误
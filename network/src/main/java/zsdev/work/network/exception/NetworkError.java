@@ -31,4 +31,9 @@ public class NetworkError {
      * 安全证书验证失败
      */
     public static final int SSL_ERROR = 1004;
+
+    /**
+     * 熔断：服务暂时不可用，请求未发送
+     */
+    public static final int CIRCUIT_OPEN = 1005;
 }
@@ -0,0 +1,317 @@
+package zsdev.work.network.hedge;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import zsdev.work.network.metrics.HistogramSnapshot;
+import zsdev.work.network.metrics.NetworkMetrics;
+
+/**
+ * Created: by 2026-10-18 19:00
+ * Description: 对冲请求拦截器，只处理GET/HEAD请求
+ * 原请求与对冲请求都由不含应用拦截器的OkHttpClient以同步方式执行（不占用Dispatcher的异步并发数），原请求在当前线程执行，
+ * 对冲请求在独立线程执行；先返回的响应胜出，另一个被取消。两个请求都失败时抛出原请求的异常。
+ * 对冲请求使用单独的连接池：HTTP/2下同一host的请求会复用同一个连接，共用连接池时对冲请求会落在原请求所在的慢连接上。
+ * 需作为最后一个应用拦截器，其之前的缓存、重试、熔断等拦截器把一次对冲视为一次请求。
+ * Author: 张松
+ */
+public class HedgingInterceptor implements Interceptor {
+
+    /**
+     * 自适应等待时间所需的最少统计次数
+     */
+    private static final int MIN_ADAPTIVE_SAMPLES = 20;
+
+    /**
+     * 自适应等待时间的刷新间隔
+     */
+    private static final long ADAPTIVE_REFRESH_MILLS = 10_000;
+
+    /**
+     * 检查外层请求是否取消的间隔
+     */
+    private static final long CANCEL_CHECK_MILLS = 100;
+
+    /**
+     * 对冲计时线程，所有实例共用
+     */
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "HedgingTimer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 执行对冲请求的线程，数量由hedgePermits限制
+     */
+    private static final ExecutorService HEDGE_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "HedgingCall");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 实际执行请求的OkHttpClient，不含应用拦截器
+     */
+    private final OkHttpClient client;
+
+    /**
+     * 执行对冲请求的OkHttpClient，与client配置相同，连接池独立
+     */
+    private final OkHttpClient hedgeClient;
+
+    private final HedgingPolicy policy;
+
+    /**
+     * 网络指标统计，为null时不使用自适应等待时间
+     */
+    private final NetworkMetrics metrics;
+
+    private final HedgingStats stats;
+
+    /**
+     * 同时进行的对冲请求许可
+     */
+    private final Semaphore hedgePermits;
+
+    /**
+     * 每个host的自适应等待时间：[等待时间/ms, 计算时间/ms]
+     */
+    private final ConcurrentHashMap<String, long[]> adaptiveDelays = new ConcurrentHashMap<>();
+
+    /**
+     * @param client  实际执行请求的OkHttpClient，不含应用拦截器
+     * @param policy  对冲请求策略
+     * @param metrics 网络指标统计，可为null
+     * @param stats   对冲请求统计
+     */
+    public HedgingInterceptor(OkHttpClient client, HedgingPolicy policy, NetworkMetrics metrics, HedgingStats stats) {
+        this.client = client;
+        this.hedgeClient = client.newBuilder().connectionPool(new ConnectionPool()).build();
+        this.policy = policy;
+        this.metrics = metrics;
+        this.stats = stats;
+        this.hedgePermits = new Semaphore(policy.getMaxConcurrentHedges());
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!isHedgeable(request)) {
+            return chain.proceed(request);
+        }
+        stats.onEligible();
+        policy.getHedgeBudget().onSuccess();
+        return new HedgedCall(request).execute(chain, getDelayMills(request.url().host()));
+    }
+
+    /**
+     * 是否为可对冲的请求：GET/HEAD请求不在外层Call上执行网络请求，只由内层的原请求与对冲请求执行
+     *
+     * @param request 请求
+     * @return 是否可对冲
+     */
+    public static boolean isHedgeable(Request request) {
+        return "GET".equals(request.method()) || "HEAD".equals(request.method());
+    }
+
+    /**
+     * 获取对冲等待时间
+     *
+     * @param host host
+     * @return 等待时间/ms
+     */
+    private long getDelayMills(String host) {
+        if (!policy.isAdaptiveDelay() || metrics == null) {
+            return policy.getDelayMills();
+        }
+        long now = System.currentTimeMillis();
+        long[] cached = adaptiveDelays.get(host);
+        if (cached != null && now - cached[1] < ADAPTIVE_REFRESH_MILLS) {
+            return cached[0];
+        }
+        HistogramSnapshot timeToFirstByte = metrics.getHostSnapshot(host).getTimeToFirstByte();
+        long delay = timeToFirstByte.getCount() >= MIN_ADAPTIVE_SAMPLES
+                ? Math.max(policy.getMinDelayMills(), TimeUnit.MICROSECONDS.toMillis(timeToFirstByte.getPercentile(95)))
+                : policy.getDelayMills();
+        adaptiveDelays.put(host, new long[]{delay, now});
+        return delay;
+    }
+
+    /**
+     * 一次可对冲的请求：原请求 + 至多一个对冲请求
+     */
+    private final class HedgedCall {
+
+        private final Request request;
+
+        private final Call primary;
+
+        private volatile Call hedge;
+
+        /**
+         * 以下字段由this锁保护
+         */
+        private boolean done;
+        private boolean hedgeRunning;
+        private Response winner;
+
+        HedgedCall(Request request) {
+            this.request = request;
+            this.primary = client.newCall(request);
+        }
+
+        Response execute(Chain chain, long delayMills) throws IOException {
+            ScheduledFuture<?> hedgeTimer = TIMER.schedule(this::fireHedge, delayMills, TimeUnit.MILLISECONDS);
+            ScheduledFuture<?> cancelWatcher = TIMER.scheduleWithFixedDelay(() -> {
+                if (chain.call().isCanceled()) {
+                    cancelAll();
+                }
+            }, CANCEL_CHECK_MILLS, CANCEL_CHECK_MILLS, TimeUnit.MILLISECONDS);
+            try {
+                Response response;
+                try {
+                    response = primary.execute();
+                } catch (IOException e) {
+                    //原请求失败或被胜出的对冲请求取消
+                    Response hedged = awaitHedge();
+                    if (hedged != null) {
+                        return hedged;
+                    }
+                    throw e;
+                }
+                if (offer(response)) {
+                    Call hedgeCall = hedge;
+                    if (hedgeCall != null) {
+                        hedgeCall.cancel();
+                    }
+                    return response;
+                }
+                response.close();
+                return awaitHedge();
+            } finally {
+                hedgeTimer.cancel(false);
+                cancelWatcher.cancel(false);
+            }
+        }
+
+        /**
+         * 等待时间到达，原请求仍未返回时发起对冲请求
+         */
+        private void fireHedge() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (!hedgePermits.tryAcquire()) {
+                    stats.onSkipped();
+                    return;
+                }
+                if (!policy.getHedgeBudget().tryAcquire()) {
+                    hedgePermits.release();
+                    stats.onSkipped();
+                    return;
+                }
+                hedgeRunning = true;
+            }
+            stats.onFired();
+            Log.i("HedgingInterceptor", "发起对冲请求：" + request.url());
+            HEDGE_EXECUTOR.execute(this::runHedge);
+        }
+
+        /**
+         * 执行对冲请求
+         */
+        private void runHedge() {
+            try {
+                Call call = hedgeClient.newCall(request);
+                synchronized (this) {
+                    if (done) {
+                        return;
+                    }
+                    hedge = call;
+                }
+                Response response = call.execute();
+                if (offer(response)) {
+                    stats.onWon();
+                    primary.cancel();
+                } else {
+                    response.close();
+                }
+            } catch (IOException e) {
+                Log.i("HedgingInterceptor", "对冲请求失败：" + e);
+            } finally {
+                synchronized (this) {
+                    hedgeRunning = false;
+                    notifyAll();
+                }
+                hedgePermits.release();
+            }
+        }
+
+        /**
+         * 提交响应，第一个提交的胜出
+         *
+         * @param response 响应
+         * @return 是否胜出
+         */
+        private synchronized boolean offer(Response response) {
+            if (done) {
+                return false;
+            }
+            done = true;
+            winner = response;
+            notifyAll();
+            return true;
+        }
+
+        /**
+         * 原请求已结束，等待进行中的对冲请求，并阻止之后再发起对冲
+         *
+         * @return 胜出的响应，无为null
+         * @throws InterruptedIOException 等待期间线程中断
+         */
+        private synchronized Response awaitHedge() throws InterruptedIOException {
+            try {
+                while (!done && hedgeRunning) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                throw new InterruptedIOException("Interrupted while waiting for hedged request");
+            }
+            done = true;
+            return winner;
+        }
+
+        /**
+         * 外层请求被取消时取消全部请求
+         */
+        private void cancelAll() {
+            primary.cancel();
+            Call hedgeCall = hedge;
+            if (hedgeCall != null) {
+                hedgeCall.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package zsdev.work.network.hedge;
+
+import zsdev.work.network.retry.RetryBudget;
+
+/**
+ * Created: by 2026-10-18 18:40
+ * Description: 对冲请求策略，不可变对象，通过HedgingPolicyBuilder创建
+ * GET/HEAD请求在delay内未收到响应时，在另一个连接上发起相同请求，先返回的响应胜出，另一个被取消。
+ * adaptiveDelay为true且该host已有足够的首字节耗时统计时，delay取该host的p95（不小于minDelayMills），否则使用delayMills。
+ * 额外负载上限：每次对冲从hedgeBudget获取令牌（默认每个请求存入0.1个，即对冲量长期不超过请求量的10%），
+ * 且同时进行的对冲请求不超过maxConcurrentHedges。
+ * Author: 张松
+ */
+public class HedgingPolicy {
+
+    /**
+     * 默认对冲等待时间
+     */
+    static final long DEFAULT_DELAY_MILLS = 500;
+
+    /**
+     * 默认最小对冲等待时间
+     */
+    static final long DEFAULT_MIN_DELAY_MILLS = 50;
+
+    /**
+     * 默认同时进行的最大对冲请求数
+     */
+    static final int DEFAULT_MAX_CONCURRENT_HEDGES = 4;
+
+    /**
+     * 默认对冲请求占比上限
+     */
+    static final float DEFAULT_MAX_HEDGE_RATIO = 0.1f;
+
+    private final long delayMills;
+    private final boolean adaptiveDelay;
+    private final long minDelayMills;
+    private final int maxConcurrentHedges;
+    private final RetryBudget hedgeBudget;
+
+    HedgingPolicy(long delayMills, boolean adaptiveDelay, long minDelayMills, int maxConcurrentHedges, RetryBudget hedgeBudget) {
+        this.delayMills = delayMills;
+        this.adaptiveDelay = adaptiveDelay;
+        this.minDelayMills = minDelayMills;
+        this.maxConcurrentHedges = maxConcurrentHedges;
+        this.hedgeBudget = hedgeBudget;
+    }
+
+    public long getDelayMills() {
+        return delayMills;
+    }
+
+    public boolean isAdaptiveDelay() {
+        return adaptiveDelay;
+    }
+
+    public long getMinDelayMills() {
+        return minDelayMills;
+    }
+
+    public int getMaxConcurrentHedges() {
+        return maxConcurrentHedges;
+    }
+
+    /**
+     * @return 对冲预算（令牌桶），与重试预算相同的实现
+     */
+    public RetryBudget getHedgeBudget() {
+        return hedgeBudget;
+    }
+}
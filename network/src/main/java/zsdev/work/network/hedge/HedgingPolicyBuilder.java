@@ -0,0 +1,74 @@
+package zsdev.work.network.hedge;
+
+import zsdev.work.network.retry.RetryBudget;
+
+/**
+ * Created: by 2026-10-18 18:45
+ * Description: 对冲请求策略的构建参数，未设置的参数使用HedgingPolicy中的默认值
+ * Author: 张松
+ */
+public class HedgingPolicyBuilder {
+
+    /**
+     * 对冲等待时间（无统计数据或未启用自适应时使用）
+     */
+    private long delayMills = HedgingPolicy.DEFAULT_DELAY_MILLS;
+
+    /**
+     * 是否使用host的首字节耗时p95作为对冲等待时间
+     */
+    private boolean adaptiveDelay = true;
+
+    /**
+     * 最小对冲等待时间
+     */
+    private long minDelayMills = HedgingPolicy.DEFAULT_MIN_DELAY_MILLS;
+
+    /**
+     * 同时进行的最大对冲请求数
+     */
+    private int maxConcurrentHedges = HedgingPolicy.DEFAULT_MAX_CONCURRENT_HEDGES;
+
+    /**
+     * 对冲请求占比上限
+     */
+    private float maxHedgeRatio = HedgingPolicy.DEFAULT_MAX_HEDGE_RATIO;
+
+    public HedgingPolicyBuilder delayMills(long delayMills) {
+        this.delayMills = delayMills;
+        return this;
+    }
+
+    public HedgingPolicyBuilder adaptiveDelay(boolean adaptiveDelay) {
+        this.adaptiveDelay = adaptiveDelay;
+        return this;
+    }
+
+    public HedgingPolicyBuilder minDelayMills(long minDelayMills) {
+        this.minDelayMills = minDelayMills;
+        return this;
+    }
+
+    public HedgingPolicyBuilder maxConcurrentHedges(int maxConcurrentHedges) {
+        this.maxConcurrentHedges = maxConcurrentHedges;
+        return this;
+    }
+
+    public HedgingPolicyBuilder maxHedgeRatio(float maxHedgeRatio) {
+        this.maxHedgeRatio = maxHedgeRatio;
+        return this;
+    }
+
+    /**
+     * 构建对冲请求策略
+     *
+     * @return 对冲请求策略
+     */
+    public HedgingPolicy build() {
+        if (delayMills <= 0 || minDelayMills <= 0) throw new IllegalStateException("delayMills and minDelayMills must be > 0!");
+        if (maxConcurrentHedges <= 0) throw new IllegalStateException("maxConcurrentHedges must be > 0!");
+        if (maxHedgeRatio <= 0 || maxHedgeRatio > 1) throw new IllegalStateException("maxHedgeRatio must be in (0, 1]!");
+        return new HedgingPolicy(delayMills, adaptiveDelay, minDelayMills, maxConcurrentHedges,
+                new RetryBudget(RetryBudget.DEFAULT_MAX_TOKENS, maxHedgeRatio));
+    }
+}
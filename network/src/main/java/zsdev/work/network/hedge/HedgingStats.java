@@ -0,0 +1,73 @@
+package zsdev.work.network.hedge;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created: by 2026-10-18 18:50
+ * Description: 对冲请求统计，所有服务器URL共用
+ * Author: 张松
+ */
+public class HedgingStats {
+
+    private final AtomicLong eligibleCount = new AtomicLong();
+    private final AtomicLong firedCount = new AtomicLong();
+    private final AtomicLong wonCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    void onEligible() {
+        eligibleCount.incrementAndGet();
+    }
+
+    void onFired() {
+        firedCount.incrementAndGet();
+    }
+
+    void onWon() {
+        wonCount.incrementAndGet();
+    }
+
+    void onSkipped() {
+        skippedCount.incrementAndGet();
+    }
+
+    /**
+     * @return 可对冲的请求数（GET/HEAD）
+     */
+    public long getEligibleCount() {
+        return eligibleCount.get();
+    }
+
+    /**
+     * @return 已发起的对冲请求数
+     */
+    public long getFiredCount() {
+        return firedCount.get();
+    }
+
+    /**
+     * @return 对冲请求先于原请求返回的次数
+     */
+    public long getWonCount() {
+        return wonCount.get();
+    }
+
+    /**
+     * @return 达到等待时间但因预算或并发上限未发起对冲的次数
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "HedgingStats{" +
+                "eligible=" + eligibleCount +
+                ", fired=" + firedCount +
+                ", won=" + wonCount +
+                ", skipped=" + skippedCount +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package zsdev.work.network.interceptor;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+import zsdev.work.network.converter.NegotiatingConverterFactory;
+
+/**
+ * Created: by 2026-10-18 21:40
+ * Description: 内容协商的Accept请求头拦截器，按Retrofit接口方法的响应类型添加可解析格式的Accept请求头
+ * 请求已带Accept请求头（如接口方法上的@Headers）时不覆盖
+ * Author: 张松
+ */
+public class AcceptInterceptor implements Interceptor {
+
+    private final NegotiatingConverterFactory converterFactory;
+
+    public AcceptInterceptor(NegotiatingConverterFactory converterFactory) {
+        this.converterFactory = converterFactory;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null && request.header("Accept") == null) {
+            String accept = converterFactory.getAcceptHeader(invocation.method());
+            if (!accept.isEmpty()) {
+                request = request.newBuilder().header("Accept", accept).build();
+            }
+        }
+        return chain.proceed(request);
+    }
+}
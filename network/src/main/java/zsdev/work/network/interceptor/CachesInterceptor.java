@@ -1,22 +1,45 @@
 package zsdev.work.network.interceptor;
 
 import android.content.Context;
-import android.os.Build;
 import android.util.Log;
 
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+
 import okhttp3.CacheControl;
 import okhttp3.Interceptor;
 import okhttp3.Request;
 import okhttp3.Response;
-import zsdev.work.network.utils.NetworkLollipopAfterUtil;
+import okhttp3.ResponseBody;
+import zsdev.work.utils.network.newnet.ConnectivityMonitor;
 
 /**
  * Created: by 2023-09-01 11:56
  * Description: 缓存策略拦截器
+ * 未指定缓存模式时：网络可用有效时间内读取缓存，网络不可用只读取缓存
+ * 通过请求头HEADER_CACHE_MODE指定缓存模式（拦截器会移除该请求头，不会发送到服务器）：
+ * CACHE_MODE_ONLY_CACHE 只读取缓存，过期不超过maxStale仍可使用，无缓存时响应504
+ * CACHE_MODE_REVALIDATE 携带ETag/Last-Modified向服务器条件请求，数据未变化（304）时响应304，由调用者忽略
+ * 两种模式配合CacheTransformer.staleWhileRevalidate()实现先显示缓存、后台校验后再推送最新数据
  * Author: 张松
  */
 public class CachesInterceptor implements InterceptorHandler {
 
+    /**
+     * 缓存模式请求头，Retrofit中使用@Header(CachesInterceptor.HEADER_CACHE_MODE)传入
+     */
+    public static final String HEADER_CACHE_MODE = "X-Cache-Mode";
+
+    /**
+     * 缓存模式：只读取缓存
+     */
+    public static final String CACHE_MODE_ONLY_CACHE = "only-cache";
+
+    /**
+     * 缓存模式：向服务器条件请求校验缓存
+     */
+    public static final String CACHE_MODE_REVALIDATE = "revalidate";
+
     private final Context context;
 
     private final int maxAge;
@@ -38,34 +61,38 @@ public class CachesInterceptor implements InterceptorHandler {
      */
     @Override
     public Request onBeforeRequest(Request request, Interceptor.Chain chain) {
-        Request.Builder builder = request.newBuilder();
-        // 网络不可用
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-            if (!NetworkLollipopAfterUtil.isNetAvailable(context)) {
-                builder.cacheControl(CacheControl.FORCE_CACHE)//无网络时只从缓存中读取
-                        .build();
-                Log.i("CacheInterceptor", "网络不可用，从缓存中读取数据。 ");
-            }
+        String cacheMode = request.header(HEADER_CACHE_MODE);
+        Request.Builder builder = request.newBuilder()
+                .removeHeader(HEADER_CACHE_MODE)
+                .removeHeader("Pragma"); // 清除头信息，因为服务器如果不支持，会返回一些干扰信息，不清除下面无法生效
+        if (CACHE_MODE_ONLY_CACHE.equals(cacheMode)) {
+            //只从缓存读取，过期不超过maxStale仍可使用
+            builder.cacheControl(new CacheControl.Builder()
+                    .onlyIfCached()
+                    .maxStale(maxStale, TimeUnit.SECONDS)
+                    .build());
+            Log.i("CacheInterceptor", "只从缓存中读取数据。 ");
+        } else if (CACHE_MODE_REVALIDATE.equals(cacheMode)) {
+            //max-age=0使缓存视为过期，Okhttp会携带If-None-Match/If-Modified-Since条件请求
+            builder.cacheControl(new CacheControl.Builder()
+                    .maxAge(0, TimeUnit.SECONDS)
+                    .build());
+            Log.i("CacheInterceptor", "向服务器校验缓存。 ");
+        } else if (!ConnectivityMonitor.getInstance(context).isOnline()) {
+            // 网络不可用
+            builder.header("Cache-Control", "public, only-if-cached, max-stale=" + maxStale); //无网络时只从缓存中读取，过期不超过maxStale仍可使用
+            Log.i("CacheInterceptor", "网络不可用，从缓存中读取数据。 ");
+        } else {
+            //网络可用
+            builder.header("Cache-Control", "public, max-age=" + maxAge);
+            Log.i("CacheInterceptor", "网络可用，有效时间内读取缓存 ");
         }
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-            if (!NetworkLollipopAfterUtil.isNetAvailable(context)) {
-                builder.removeHeader("Pragma") // 清除头信息，因为服务器如果不支持，会返回一些干扰信息，不清除下面无法生效
-                        .header("Cache-Control", "public, only-if-cached, max-stale=" + maxStale) //从缓存读取maxAge秒
-                        .build();
-                Log.i("CacheInterceptor", "网络不可用，缓存过期后 ");
-            } else {
-                //网络可用
-                builder.removeHeader("Pragma") // 清除头信息，因为服务器如果不支持，会返回一些干扰信息，不清除下面无法生效
-                        .header("Cache-Control", "public, max-age=" + maxAge)
-                        .build();
-                Log.i("CacheInterceptor", "网络可用，有效时间内读取缓存 ");
-            }
-        }
-        return request;
+        return builder.build();
     }
 
     /**
      * 请求之后+响应返回之前拦截响应数据
+     * 校验模式下服务器响应304时，转换为304响应交给调用者，避免重复推送相同数据
      *
      * @param response 响应对象
      * @param chain    chain
@@ -73,6 +100,20 @@ public class CachesInterceptor implements InterceptorHandler {
      */
     @Override
     public Response onAfterRequest(Response response, Interceptor.Chain chain) {
+        Response networkResponse = response.networkResponse();
+        if (CACHE_MODE_REVALIDATE.equals(chain.request().header(HEADER_CACHE_MODE))
+                && networkResponse != null && networkResponse.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            Log.i("CacheInterceptor", "缓存校验通过，数据未变化。 ");
+            ResponseBody body = response.body();
+            if (body != null) {
+                body.close();
+            }
+            return response.newBuilder()
+                    .code(HttpURLConnection.HTTP_NOT_MODIFIED)
+                    .message("Not Modified")
+                    .body(ResponseBody.create(new byte[0], null))
+                    .build();
+        }
         return response;
     }
 }
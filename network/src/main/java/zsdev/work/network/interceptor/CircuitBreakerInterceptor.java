@@ -0,0 +1,53 @@
+package zsdev.work.network.interceptor;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import zsdev.work.network.breaker.CircuitBreaker;
+import zsdev.work.network.breaker.CircuitOpenException;
+
+/**
+ * Created: by 2026-10-18 18:20
+ * Description: 熔断拦截器
+ * 熔断器打开时直接抛出CircuitOpenException，不访问网络；否则记录请求耗时与结果：IO异常与5xx响应为失败，取消的请求不计入。
+ * 放在重试拦截器之后，每次重试都单独经过熔断器，熔断打开后重试随即停止。
+ * Author: 张松
+ */
+public class CircuitBreakerInterceptor implements Interceptor {
+
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerInterceptor(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new CircuitOpenException(circuitBreaker.getBaseUrl());
+        }
+        long startNanos = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException | RuntimeException e) {
+            if (chain.call().isCanceled()) {
+                circuitBreaker.onIgnored();
+            } else {
+                circuitBreaker.onResult(elapsedMills(startNanos), true);
+            }
+            throw e;
+        }
+        circuitBreaker.onResult(elapsedMills(startNanos), response.code() >= 500);
+        return response;
+    }
+
+    private static long elapsedMills(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
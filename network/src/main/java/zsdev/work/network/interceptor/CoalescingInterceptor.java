@@ -0,0 +1,263 @@
+package zsdev.work.network.interceptor;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Handshake;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Invocation;
+import retrofit2.http.Streaming;
+
+/**
+ * Created: by 2026-10-18 10:40
+ * Description: 相同请求合并拦截器（single-flight）
+ * 同一时刻发起的相同GET/HEAD请求（方法、URL、请求头全部一致）只有第一个真正访问网络，其余请求等待并共用它的响应。
+ * 请求头全部参与比较，避免不同身份（Token、Cookie等）的请求被合并。
+ * 响应体超过maxShareBytes或第一个请求失败时，等待中的请求各自访问网络，不共用失败结果。
+ * 只有确实有等待者时才预读响应体，没有相同请求时不额外缓冲；Range请求与@Streaming接口（下载、流式读取）不合并。
+ * 每个等待者得到独立的Response与ResponseBody，Flowable/Observable各自消费互不影响。
+ * 需放在请求头、公共参数等拦截器之后，保证比较的是最终请求。
+ * Author: 张松
+ */
+public class CoalescingInterceptor implements Interceptor {
+
+    /**
+     * 默认可共用的最大响应体1MB
+     */
+    public static final long DEFAULT_MAX_SHARE_BYTES = 1024 * 1024;
+
+    /**
+     * 等待期间检查请求是否取消的间隔
+     */
+    private static final long AWAIT_CHECK_MILLS = 100;
+
+    /**
+     * 进行中的请求，key为请求标识
+     */
+    private final ConcurrentHashMap<String, InFlightCall> inFlightCalls = new ConcurrentHashMap<>();
+
+    /**
+     * 被合并（未访问网络）的请求数
+     */
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * 可共用的最大响应体
+     */
+    private final long maxShareBytes;
+
+    public CoalescingInterceptor() {
+        this(DEFAULT_MAX_SHARE_BYTES);
+    }
+
+    public CoalescingInterceptor(long maxShareBytes) {
+        this.maxShareBytes = maxShareBytes;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        //只合并幂等且无请求体的请求
+        if (!"GET".equals(request.method()) && !"HEAD".equals(request.method())) {
+            return chain.proceed(request);
+        }
+        //Range请求只取部分内容，@Streaming接口边下载边读取，都不能整体预读
+        if (request.header("Range") != null || isStreaming(request)) {
+            return chain.proceed(request);
+        }
+        String key = request.method() + ' ' + request.url() + '\n' + request.headers();
+        InFlightCall inFlightCall = new InFlightCall();
+        InFlightCall leader = inFlightCalls.putIfAbsent(key, inFlightCall);
+        if (leader != null) {
+            //已有相同请求进行中：登记后等待它的结果
+            leader.join();
+            SharedResponse shared = leader.await(chain);
+            if (shared != null) {
+                coalescedCount.incrementAndGet();
+                return shared.newResponse(request);
+            }
+            return chain.proceed(request);
+        }
+        SharedResponse shared = null;
+        try {
+            Response response = chain.proceed(request);
+            //先移除再检查等待者，移除后不会再有新的等待者；检查之后才登记的等待者得到null，自行请求
+            inFlightCalls.remove(key, inFlightCall);
+            if (inFlightCall.hasFollowers()) {
+                try {
+                    shared = SharedResponse.create(response, maxShareBytes);
+                } catch (IOException e) {
+                    //预读失败时原响应体已不可用，关闭后把异常交给本请求
+                    response.close();
+                    throw e;
+                }
+            }
+            return response;
+        } finally {
+            inFlightCalls.remove(key, inFlightCall);
+            inFlightCall.complete(shared);
+        }
+    }
+
+    /**
+     * 是否为@Streaming接口的请求
+     *
+     * @param request 请求
+     * @return 是否为流式读取
+     */
+    private static boolean isStreaming(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        return invocation != null && invocation.method().isAnnotationPresent(Streaming.class);
+    }
+
+    /**
+     * 获取被合并（未访问网络）的请求数
+     *
+     * @return 请求数
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * 获取当前进行中的请求数
+     *
+     * @return 请求数
+     */
+    public int getInFlightCount() {
+        return inFlightCalls.size();
+    }
+
+    /**
+     * 进行中的请求
+     */
+    private static final class InFlightCall {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        /**
+         * 已登记的等待者数量
+         */
+        private final AtomicInteger followers = new AtomicInteger();
+
+        private volatile SharedResponse sharedResponse;
+
+        void join() {
+            followers.incrementAndGet();
+        }
+
+        boolean hasFollowers() {
+            return followers.get() > 0;
+        }
+
+        void complete(SharedResponse sharedResponse) {
+            this.sharedResponse = sharedResponse;
+            latch.countDown();
+        }
+
+        /**
+         * 等待结果，等待期间本请求被取消时抛出异常
+         *
+         * @param chain chain
+         * @return 可共用的响应，为null表示需自行请求
+         * @throws IOException 请求被取消或线程中断
+         */
+        SharedResponse await(Chain chain) throws IOException {
+            try {
+                while (!latch.await(AWAIT_CHECK_MILLS, TimeUnit.MILLISECONDS)) {
+                    if (chain.call().isCanceled()) {
+                        throw new IOException("Canceled");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+            return sharedResponse;
+        }
+    }
+
+    /**
+     * 可共用的响应：响应行、响应头与完整响应体字节
+     */
+    private static final class SharedResponse {
+
+        private final Protocol protocol;
+        private final int code;
+        private final String message;
+        private final Handshake handshake;
+        private final Headers headers;
+        private final MediaType contentType;
+        private final byte[] body;
+        private final long sentRequestAtMillis;
+        private final long receivedResponseAtMillis;
+
+        private SharedResponse(Response response, MediaType contentType, byte[] body) {
+            this.protocol = response.protocol();
+            this.code = response.code();
+            this.message = response.message();
+            this.handshake = response.handshake();
+            this.headers = response.headers();
+            this.contentType = contentType;
+            this.body = body;
+            this.sentRequestAtMillis = response.sentRequestAtMillis();
+            this.receivedResponseAtMillis = response.receivedResponseAtMillis();
+        }
+
+        /**
+         * 预读响应体，不消费原响应，超过上限时不共用
+         *
+         * @param response      原响应
+         * @param maxShareBytes 可共用的最大响应体
+         * @return 可共用的响应，不可共用为null
+         * @throws IOException 读取异常
+         */
+        static SharedResponse create(Response response, long maxShareBytes) throws IOException {
+            ResponseBody body = response.body();
+            if (body == null) {
+                return new SharedResponse(response, null, new byte[0]);
+            }
+            if (body.contentLength() > maxShareBytes) {
+                return null;
+            }
+            ResponseBody peek = response.peekBody(maxShareBytes + 1);
+            if (peek.contentLength() > maxShareBytes) {
+                return null;
+            }
+            return new SharedResponse(response, body.contentType(), peek.bytes());
+        }
+
+        /**
+         * 为等待者创建独立的响应
+         *
+         * @param request 等待者的请求
+         * @return 响应
+         */
+        Response newResponse(Request request) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(protocol)
+                    .code(code)
+                    .message(message)
+                    .handshake(handshake)
+                    .headers(headers)
+                    .body(ResponseBody.create(body, contentType))
+                    .sentRequestAtMillis(sentRequestAtMillis)
+                    .receivedResponseAtMillis(receivedResponseAtMillis)
+                    .build();
+        }
+    }
+}
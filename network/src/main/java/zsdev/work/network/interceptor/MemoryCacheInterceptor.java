@@ -0,0 +1,66 @@
+package zsdev.work.network.interceptor;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import zsdev.work.network.cache.MemoryResponseCache;
+
+/**
+ * Created: by 2026-10-18 11:20
+ * Description: 内存缓存拦截器，作为应用拦截器位于Okhttp磁盘缓存之前
+ * 只缓存GET请求的200响应，有效时间取响应头Cache-Control的max-age；no-store、无max-age的响应不缓存，
+ * no-cache（每次使用前须向服务器校验）的响应也不缓存，内存缓存不做校验，校验交给Okhttp磁盘缓存。
+ * 请求头带no-cache/no-store/max-age=0（如缓存校验）时跳过内存缓存。
+ * 缓存key为URL，请求头只比对响应头Vary列出的部分，其中Cache-Control、Pragma不参与比对（CachesInterceptor按网络状态注入的缓存控制头不影响命中）。
+ * Author: 张松
+ */
+public class MemoryCacheInterceptor implements Interceptor {
+
+    /**
+     * 内存缓存
+     */
+    private final MemoryResponseCache memoryCache;
+
+    public MemoryCacheInterceptor(MemoryResponseCache memoryCache) {
+        this.memoryCache = memoryCache;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        CacheControl requestCacheControl = request.cacheControl();
+        if (!"GET".equals(request.method()) || requestCacheControl.noCache() || requestCacheControl.noStore()
+                || requestCacheControl.maxAgeSeconds() == 0) {
+            return chain.proceed(request);
+        }
+        String key = request.url().toString();
+        Response cached = memoryCache.get(key, request);
+        if (cached != null) {
+            Log.i("MemoryCacheInterceptor", "内存缓存命中：" + request.url());
+            return cached;
+        }
+        Response response = chain.proceed(request);
+        CacheControl cacheControl = response.cacheControl();
+        ResponseBody body = response.body();
+        if (response.code() == 200 && body != null && !cacheControl.noStore() && !cacheControl.noCache()
+                && cacheControl.maxAgeSeconds() > 0
+                && (body.contentLength() == -1 || memoryCache.isCacheableSize(body.contentLength()))) {
+            //预读响应体，不消费原响应，超过单个上限时不缓存
+            ResponseBody peek = response.peekBody(memoryCache.getMaxEntryBytes() + 1L);
+            if (memoryCache.isCacheableSize(peek.contentLength())) {
+                memoryCache.put(key, request, response, peek.bytes(), TimeUnit.SECONDS.toMillis(cacheControl.maxAgeSeconds()));
+            }
+        }
+        return response;
+    }
+}
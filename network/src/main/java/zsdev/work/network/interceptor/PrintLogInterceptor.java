@@ -2,8 +2,16 @@ package zsdev.work.network.interceptor;
 
 import android.util.Log;
 
+import androidx.annotation.NonNull;
+
 import java.io.IOException;
-import java.util.Objects;
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import okhttp3.Headers;
 import okhttp3.Interceptor;
@@ -13,14 +21,72 @@ import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ForwardingSink;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Sink;
+import okio.Source;
 
 /**
  * Created: by 2023-09-05 23:41
  * Description: 日志打印拦截器
+ * 请求体、响应体不再整体读取：以旁路（tee）方式在数据写出/被转换器读取的同时复制前maxLogBytes字节，原数据流原样传递。
+ * 日志拼接、unicode转换与打印均在后台单线程执行，队列满时丢弃最旧的日志，不阻塞请求线程。
+ * sampleRate大于1时按host采样，每个host每sampleRate个请求打印1个。
  * Author: 张松
  */
 public class PrintLogInterceptor implements InterceptorHandler {
 
+    /**
+     * 默认最多打印的请求体/响应体字节数4KB
+     */
+    public static final long DEFAULT_MAX_LOG_BYTES = 4 * 1024;
+
+    /**
+     * 日志队列最大长度
+     */
+    private static final int MAX_LOG_QUEUE_SIZE = 256;
+
+    /**
+     * 默认字符集（StandardCharsets需API 19）
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * 打印日志的后台线程，所有实例共用
+     */
+    private static final ExecutorService LOG_EXECUTOR = createLogExecutor();
+
+    /**
+     * 最多打印的请求体/响应体字节数
+     */
+    private final long maxLogBytes;
+
+    /**
+     * 采样率：每个host每sampleRate个请求打印1个
+     */
+    private final int sampleRate;
+
+    /**
+     * 每个host的请求计数
+     */
+    private final ConcurrentHashMap<String, AtomicInteger> hostCounters = new ConcurrentHashMap<>();
+
+    public PrintLogInterceptor() {
+        this(DEFAULT_MAX_LOG_BYTES, 1);
+    }
+
+    /**
+     * @param maxLogBytes 最多打印的请求体/响应体字节数
+     * @param sampleRate  采样率，每个host每sampleRate个请求打印1个，小于等于1全部打印
+     */
+    public PrintLogInterceptor(long maxLogBytes, int sampleRate) {
+        this.maxLogBytes = maxLogBytes;
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
     /**
      * 请求之前的拦截请求数据
      *
@@ -30,32 +96,25 @@ public class PrintLogInterceptor implements InterceptorHandler {
      */
     @Override
     public Request onBeforeRequest(Request request, Interceptor.Chain chain) {
-        //请求URL
-        Log.i("PrintLogInterceptor", "url     =  : " + request.url());
-        //请求方法
-        Log.i("PrintLogInterceptor", "method  =  : " + request.method());
-        //请求头
-        Headers headers = request.headers();
-        Log.i("PrintLogInterceptor", "headers =  : " + request.headers());
-        if (headers.size() > 0) {
-            Log.e("PrintLogInterceptor", "headers : " + headers.toString());
+        if (!isSampled(request)) {
+            return request;
         }
+        //请求URL、方法、请求头
+        Headers headers = request.headers();
+        String head = "url     =  : " + request.url() + "\nmethod  =  : " + request.method()
+                + (headers.size() > 0 ? "\nheaders =  : " + headers : "");
+        Request.Builder builder = request.newBuilder().tag(Sampled.class, Sampled.INSTANCE);
         //请求体
-        Log.i("PrintLogInterceptor", "request body    =  : " + request.body());
         RequestBody requestBody = request.body();
-        if (requestBody != null) {
-            MediaType mediaType = requestBody.contentType();
-            //判断ContentType类型
-            if (mediaType != null) {
-                if (isText(mediaType)) {
-                    Log.d("PrintLogInterceptor", "params : " + bodyToString(request));
-                } else {
-                    Log.d("PrintLogInterceptor", "params : " + " maybe [file part] , too large too print , ignored!");
-                }
-            }
+        if (requestBody == null) {
+            log(Log.INFO, head);
+        } else if (isText(requestBody.contentType()) && !requestBody.isDuplex()) {
+            builder.method(request.method(), new TeeRequestBody(requestBody, head));
+        } else {
+            log(Log.INFO, head + "\nparams : maybe [file part] , too large too print , ignored!");
         }
         //开始请求
-        return request;
+        return builder.build();
     }
 
     /**
@@ -67,47 +126,105 @@ public class PrintLogInterceptor implements InterceptorHandler {
      */
     @Override
     public Response onAfterRequest(Response response, Interceptor.Chain chain) {
-        //响应状态码
-        Log.d("PrintLogInterceptor", "code     =  : " + response.code());
-        //响应消息
-        Log.d("PrintLogInterceptor", "message  =  : " + response.message());
-        //响应HTTP协议版本
-        Log.d("PrintLogInterceptor", "protocol =  : " + response.protocol());
+        if (response.request().tag(Sampled.class) == null) {
+            return response;
+        }
+        //响应状态码、消息、HTTP协议版本
+        String head = "code     =  : " + response.code() + "\nmessage  =  : " + response.message()
+                + "\nprotocol =  : " + response.protocol();
         //响应体
         ResponseBody body = response.body();
-        if (body != null && body.contentType() != null) {
-            //有响应体解析MediaType和json数据
-            MediaType mediaType = body.contentType();
-            if (isText(mediaType)) {
-                String string = null;
-                try {
-                    string = body.string();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-                //MediaType
-                Log.d("PrintLogInterceptor", "mediaType =  :  " + Objects.requireNonNull(mediaType).toString());
-                //响应JSON字符串
-                Log.d("PrintLogInterceptor", "response string    =  : " + decode(string));
-                //构建响应体对象
-                body = ResponseBody.create(mediaType, Objects.requireNonNull(string));
-                //装载响应体对象，开始响应
-                return response.newBuilder().body(body).build();
-            } else {
-                Log.d("PrintLogInterceptor", "data : mediaType file content is too large, printing ignored!");
+        if (body != null && isText(body.contentType())) {
+            String contentEncoding = response.header("Content-Encoding");
+            if (contentEncoding == null || "identity".equalsIgnoreCase(contentEncoding)) {
+                //装载旁路响应体，转换器读取时顺带复制前maxLogBytes字节
+                return response.newBuilder().body(new TeeResponseBody(body, head)).build();
             }
+            log(Log.DEBUG, head + "\ndata : Content-Encoding " + contentEncoding + ", printing ignored!");
+        } else if (body != null && body.contentType() != null) {
+            log(Log.DEBUG, head + "\ndata : mediaType file content is too large, printing ignored!");
+        } else {
+            log(Log.DEBUG, head);
         }
-        //无响应体直接返回响应
+        //无需打印响应体直接返回响应
         return response;
     }
 
+    /**
+     * 按host采样
+     *
+     * @param request 请求对象
+     * @return 是否打印本次请求
+     */
+    private boolean isSampled(Request request) {
+        if (sampleRate <= 1) {
+            return true;
+        }
+        String host = request.url().host();
+        AtomicInteger counter = hostCounters.get(host);
+        if (counter == null) {
+            AtomicInteger created = new AtomicInteger();
+            counter = hostCounters.putIfAbsent(host, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return counter.getAndIncrement() % sampleRate == 0;
+    }
+
+    /**
+     * 提交到后台线程打印
+     *
+     * @param priority 日志级别
+     * @param message  日志
+     */
+    private static void log(int priority, String message) {
+        LOG_EXECUTOR.execute(() -> Log.println(priority, "PrintLogInterceptor", message));
+    }
+
+    /**
+     * 提交到后台线程转换并打印请求体/响应体
+     *
+     * @param priority  日志级别
+     * @param head      请求行/响应行信息
+     * @param label     请求体/响应体标签
+     * @param prefix    复制的前缀字节
+     * @param mediaType contentType
+     * @param truncated 是否超出打印长度被截断
+     */
+    private static void logBody(int priority, String head, String label, Buffer prefix, MediaType mediaType, boolean truncated) {
+        LOG_EXECUTOR.execute(() -> {
+            Charset charset = mediaType != null ? mediaType.charset(UTF_8) : UTF_8;
+            String body = decode(prefix.readString(charset == null ? UTF_8 : charset));
+            Log.println(priority, "PrintLogInterceptor", head
+                    + "\nmediaType =  :  " + mediaType
+                    + "\n" + label + "    =  : " + body + (truncated ? "...(truncated)" : ""));
+        });
+    }
+
+    /**
+     * 创建打印日志的后台线程
+     *
+     * @return 单线程、有界队列，队列满时丢弃最旧的日志
+     */
+    private static ExecutorService createLogExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(MAX_LOG_QUEUE_SIZE), runnable -> {
+            Thread thread = new Thread(runnable, "PrintLogInterceptor");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardOldestPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * 转换响应数据为字符串
      *
-     * @param unicodeStr response.body().string()
+     * @param unicodeStr 请求体/响应体前缀
      * @return 字符串
      */
-    private String decode(String unicodeStr) {
+    private static String decode(String unicodeStr) {
         if (unicodeStr == null) {
             return null;
         }
@@ -137,7 +254,7 @@ public class PrintLogInterceptor implements InterceptorHandler {
      * @param mediaType contentType
      * @return 匹配结果
      */
-    private boolean isText(MediaType mediaType) {
+    private static boolean isText(MediaType mediaType) {
         if (mediaType == null) return false;
         return ("text".equals(mediaType.subtype())
                 || "json".equals(mediaType.subtype())
@@ -148,20 +265,144 @@ public class PrintLogInterceptor implements InterceptorHandler {
     }
 
     /**
-     * 请求体数据转换成字符串
-     *
-     * @param request 请求对象
-     * @return 字符串
+     * 采样标记，随请求传递到响应
      */
-    private String bodyToString(final Request request) {
-        try {
-            final Request copy = request.newBuilder().build();
-            final Buffer buffer = new Buffer();
-            Objects.requireNonNull(copy.body()).writeTo(buffer);
-            return buffer.readUtf8();
-        } catch (final IOException e) {
-            return "something error when show requestBody.";
+    private enum Sampled {
+        INSTANCE
+    }
+
+    /**
+     * 旁路请求体：写出到网络的同时复制前maxLogBytes字节
+     */
+    private final class TeeRequestBody extends RequestBody {
+
+        private final RequestBody delegate;
+        private final String head;
+
+        TeeRequestBody(RequestBody delegate, String head) {
+            this.delegate = delegate;
+            this.head = head;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return delegate.isOneShot();
+        }
+
+        @Override
+        public void writeTo(@NonNull BufferedSink sink) throws IOException {
+            Buffer prefix = new Buffer();
+            long[] total = new long[1];
+            Sink teeSink = new ForwardingSink(sink) {
+                @Override
+                public void write(@NonNull Buffer source, long byteCount) throws IOException {
+                    long remaining = maxLogBytes - prefix.size();
+                    if (remaining > 0) {
+                        source.copyTo(prefix, 0, Math.min(byteCount, remaining));
+                    }
+                    total[0] += byteCount;
+                    super.write(source, byteCount);
+                }
+            };
+            BufferedSink bufferedSink = Okio.buffer(teeSink);
+            delegate.writeTo(bufferedSink);
+            bufferedSink.emit();
+            logBody(Log.DEBUG, head, "params", prefix, contentType(), total[0] > prefix.size());
         }
     }
-}
 
+    /**
+     * 旁路响应体：转换器读取的同时复制前maxLogBytes字节，读完或关闭时打印
+     */
+    private final class TeeResponseBody extends ResponseBody {
+
+        private final ResponseBody delegate;
+        private final String head;
+        private BufferedSource bufferedSource;
+
+        TeeResponseBody(ResponseBody delegate, String head) {
+            this.delegate = delegate;
+            this.head = head;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @NonNull
+        @Override
+        public BufferedSource source() {
+            if (bufferedSource == null) {
+                bufferedSource = Okio.buffer(new TeeSource(delegate.source()));
+            }
+            return bufferedSource;
+        }
+
+        @Override
+        public void close() {
+            if (bufferedSource != null) {
+                try {
+                    bufferedSource.close();
+                } catch (IOException ignored) {
+                }
+            } else {
+                delegate.close();
+            }
+        }
+
+        private final class TeeSource extends ForwardingSource {
+
+            private final Buffer prefix = new Buffer();
+            private long total;
+            private boolean logged;
+
+            TeeSource(Source delegate) {
+                super(delegate);
+            }
+
+            @Override
+            public long read(@NonNull Buffer sink, long byteCount) throws IOException {
+                long read = super.read(sink, byteCount);
+                if (read == -1) {
+                    finish();
+                    return read;
+                }
+                long remaining = maxLogBytes - prefix.size();
+                if (remaining > 0) {
+                    sink.copyTo(prefix, sink.size() - read, Math.min(read, remaining));
+                }
+                total += read;
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                finish();
+                super.close();
+            }
+
+            private void finish() {
+                if (logged) return;
+                logged = true;
+                boolean truncated = total > prefix.size() || delegate.contentLength() > prefix.size();
+                logBody(Log.DEBUG, head, "response string", prefix, contentType(), truncated);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package zsdev.work.network.interceptor;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+import zsdev.work.network.enums.RequestPriority;
+import zsdev.work.network.priority.Priority;
+import zsdev.work.network.priority.PriorityDispatcher;
+import zsdev.work.network.priority.PrioritySchedulers;
+
+/**
+ * Created: by 2026-10-18 19:40
+ * Description: 请求优先级拦截器，按优先级从PriorityDispatcher获取执行许可，收到响应头后释放
+ * 优先级依次取：请求的RequestPriority标签（@Tag参数）> 执行线程所属的PrioritySchedulers调度器 > 接口方法或接口上的@Priority注解 > NORMAL
+ * 放在缓存拦截器之后，缓存命中的请求不排队。
+ * Author: 张松
+ */
+public class PriorityInterceptor implements Interceptor {
+
+    private final PriorityDispatcher priorityDispatcher;
+
+    /**
+     * 接口方法的@Priority注解缓存
+     */
+    private final ConcurrentHashMap<Method, RequestPriority> annotationCache = new ConcurrentHashMap<>();
+
+    public PriorityInterceptor(PriorityDispatcher priorityDispatcher) {
+        this.priorityDispatcher = priorityDispatcher;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestPriority priority = resolvePriority(request);
+        priorityDispatcher.acquire(priority, chain.call());
+        try {
+            return chain.proceed(request);
+        } finally {
+            priorityDispatcher.release(priority);
+        }
+    }
+
+    /**
+     * 解析请求优先级
+     *
+     * @param request 请求
+     * @return 请求优先级
+     */
+    private RequestPriority resolvePriority(Request request) {
+        RequestPriority priority = request.tag(RequestPriority.class);
+        if (priority != null) {
+            return priority;
+        }
+        priority = PrioritySchedulers.currentPriority();
+        if (priority != null) {
+            return priority;
+        }
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return RequestPriority.NORMAL;
+        }
+        Method method = invocation.method();
+        priority = annotationCache.get(method);
+        if (priority == null) {
+            //注解结果固定，并发时重复解析也得到相同的值
+            Priority annotation = method.getAnnotation(Priority.class);
+            if (annotation == null) {
+                annotation = method.getDeclaringClass().getAnnotation(Priority.class);
+            }
+            priority = annotation != null ? annotation.value() : RequestPriority.NORMAL;
+            annotationCache.put(method, priority);
+        }
+        return priority;
+    }
+}
@@ -0,0 +1,130 @@
+package zsdev.work.network.interceptor;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import zsdev.work.network.retry.RetryPolicy;
+
+/**
+ * Created: by 2026-10-18 17:25
+ * Description: 重试拦截器
+ * 在OkHttp层按RetryPolicy重试连接失败、超时与可重试的HTTP状态码，对所有使用该OkHttpClient的请求生效，无需修改Rx调用。
+ * 按请求方法判断幂等：GET、HEAD、PUT、DELETE、OPTIONS为幂等，携带Idempotency-Key请求头的请求也视为幂等。
+ * 响应包含Retry-After（秒）时，等待时间取退避时间与Retry-After的较大值，但不超过最大退避时间。
+ * 应放在应用拦截器的最后，缓存命中的请求不会进入重试。
+ * Author: 张松
+ */
+public class RetryInterceptor implements Interceptor {
+
+    /**
+     * 声明请求幂等的请求头
+     */
+    public static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final RetryPolicy policy;
+
+    public RetryInterceptor(RetryPolicy policy) {
+        this.policy = policy;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        //只能发送一次的请求体不重试
+        if (request.body() != null && request.body().isOneShot()) {
+            return chain.proceed(request);
+        }
+        boolean idempotent = isIdempotent(request);
+        int retry = 0;
+        while (true) {
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                if (chain.call().isCanceled() || ++retry > policy.getMaxRetries()
+                        || !policy.isRetryable(e, idempotent) || !policy.getRetryBudget().tryAcquire()) {
+                    throw e;
+                }
+                sleep(chain, retry, policy.computeDelayMills(retry), e.toString());
+                continue;
+            }
+            if (!policy.isRetryableHttpCode(response.code(), idempotent)) {
+                if (response.isSuccessful()) {
+                    policy.getRetryBudget().onSuccess();
+                }
+                return response;
+            }
+            if (++retry > policy.getMaxRetries() || !policy.getRetryBudget().tryAcquire()) {
+                return response;
+            }
+            long delay = Math.min(policy.getMaxDelayMills(), Math.max(policy.computeDelayMills(retry), retryAfterMills(response)));
+            response.close();
+            sleep(chain, retry, delay, "HTTP " + response.code());
+        }
+    }
+
+    /**
+     * 判断请求是否幂等
+     *
+     * @param request 请求对象
+     * @return 是否幂等
+     */
+    private static boolean isIdempotent(Request request) {
+        switch (request.method()) {
+            case "GET":
+            case "HEAD":
+            case "PUT":
+            case "DELETE":
+            case "OPTIONS":
+                return true;
+            default:
+                return request.header(HEADER_IDEMPOTENCY_KEY) != null;
+        }
+    }
+
+    /**
+     * 解析Retry-After响应头，只支持秒数格式
+     *
+     * @param response 响应对象
+     * @return 等待时间/ms，无或无法解析为0
+     */
+    private static long retryAfterMills(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 退避等待
+     *
+     * @param chain  chain
+     * @param retry  第几次重试
+     * @param delay  等待时间/ms
+     * @param reason 重试原因
+     * @throws InterruptedIOException 等待期间线程中断
+     */
+    private static void sleep(Chain chain, int retry, long delay, String reason) throws InterruptedIOException {
+        Log.i("RetryInterceptor", chain.request().url() + " 第" + retry + "次重试，等待" + delay + "ms：" + reason);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package zsdev.work.network.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Created: by 2026-10-18 16:30
+ * Description: 组合事件监听，OkHttpClient只能设置一个EventListener.Factory，多个监听（网络指标、请求追踪等）通过它依次分发
+ * Author: 张松
+ */
+public class CompositeEventListener extends EventListener {
+
+    private final EventListener[] listeners;
+
+    private CompositeEventListener(EventListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * 组合多个EventListener.Factory，只有一个时直接返回
+     *
+     * @param factories 事件监听工厂
+     * @return 组合后的事件监听工厂
+     */
+    public static EventListener.Factory factory(List<EventListener.Factory> factories) {
+        if (factories.size() == 1) {
+            return factories.get(0);
+        }
+        List<EventListener.Factory> copy = new ArrayList<>(factories);
+        return call -> {
+            EventListener[] listeners = new EventListener[copy.size()];
+            for (int i = 0; i < listeners.length; i++) {
+                listeners[i] = copy.get(i).create(call);
+            }
+            return new CompositeEventListener(listeners);
+        };
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        for (EventListener listener : listeners) listener.callStart(call);
+    }
+
+    @Override
+    public void proxySelectStart(@NonNull Call call, @NonNull HttpUrl url) {
+        for (EventListener listener : listeners) listener.proxySelectStart(call, url);
+    }
+
+    @Override
+    public void proxySelectEnd(@NonNull Call call, @NonNull HttpUrl url, @NonNull List<Proxy> proxies) {
+        for (EventListener listener : listeners) listener.proxySelectEnd(call, url, proxies);
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        for (EventListener listener : listeners) listener.dnsStart(call, domainName);
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> inetAddressList) {
+        for (EventListener listener : listeners) listener.dnsEnd(call, domainName, inetAddressList);
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy) {
+        for (EventListener listener : listeners) listener.connectStart(call, inetSocketAddress, proxy);
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        for (EventListener listener : listeners) listener.secureConnectStart(call);
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+        for (EventListener listener : listeners) listener.secureConnectEnd(call, handshake);
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy, Protocol protocol) {
+        for (EventListener listener : listeners) listener.connectEnd(call, inetSocketAddress, proxy, protocol);
+    }
+
+    @Override
+    public void connectFailed(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy, Protocol protocol, @NonNull IOException ioe) {
+        for (EventListener listener : listeners) listener.connectFailed(call, inetSocketAddress, proxy, protocol, ioe);
+    }
+
+    @Override
+    public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+        for (EventListener listener : listeners) listener.connectionAcquired(call, connection);
+    }
+
+    @Override
+    public void connectionReleased(@NonNull Call call, @NonNull Connection connection) {
+        for (EventListener listener : listeners) listener.connectionReleased(call, connection);
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        for (EventListener listener : listeners) listener.requestHeadersStart(call);
+    }
+
+    @Override
+    public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+        for (EventListener listener : listeners) listener.requestHeadersEnd(call, request);
+    }
+
+    @Override
+    public void requestBodyStart(@NonNull Call call) {
+        for (EventListener listener : listeners) listener.requestBodyStart(call);
+    }
+
+    @Override
+    public void requestBodyEnd(@NonNull Call call, long byteCount) {
+        for (EventListener listener : listeners) listener.requestBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void requestFailed(@NonNull Call call, @NonNull IOException ioe) {
+        for (EventListener listener : listeners) listener.requestFailed(call, ioe);
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        for (EventListener listener : listeners) listener.responseHeadersStart(call);
+    }
+
+    @Override
+    public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+        for (EventListener listener : listeners) listener.responseHeadersEnd(call, response);
+    }
+
+    @Override
+    public void responseBodyStart(@NonNull Call call) {
+        for (EventListener listener : listeners) listener.responseBodyStart(call);
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        for (EventListener listener : listeners) listener.responseBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void responseFailed(@NonNull Call call, @NonNull IOException ioe) {
+        for (EventListener listener : listeners) listener.responseFailed(call, ioe);
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        for (EventListener listener : listeners) listener.callEnd(call);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        for (EventListener listener : listeners) listener.callFailed(call, ioe);
+    }
+
+    @Override
+    public void canceled(@NonNull Call call) {
+        for (EventListener listener : listeners) listener.canceled(call);
+    }
+
+    @Override
+    public void satisfactionFailure(@NonNull Call call, @NonNull Response response) {
+        for (EventListener listener : listeners) listener.satisfactionFailure(call, response);
+    }
+
+    @Override
+    public void cacheHit(@NonNull Call call, @NonNull Response response) {
+        for (EventListener listener : listeners) listener.cacheHit(call, response);
+    }
+
+    @Override
+    public void cacheMiss(@NonNull Call call) {
+        for (EventListener listener : listeners) listener.cacheMiss(call);
+    }
+
+    @Override
+    public void cacheConditionalHit(@NonNull Call call, @NonNull Response cachedResponse) {
+        for (EventListener listener : listeners) listener.cacheConditionalHit(call, cachedResponse);
+    }
+}
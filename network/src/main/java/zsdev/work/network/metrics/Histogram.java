@@ -0,0 +1,127 @@
+package zsdev.work.network.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Created: by 2026-10-18 15:50
+ * Description: 无锁、固定内存的直方图
+ * 采用对数-线性分桶：0~15每个值一个桶，之后每个2的幂区间再均分为8个桶，相对误差不超过12.5%，
+ * 共BUCKET_COUNT个桶覆盖全部非负long，内存固定约4KB，记录只需一次数组下标计算与几次原子自增
+ * Author: 张松
+ */
+public final class Histogram {
+
+    /**
+     * 每个2的幂区间的子桶数量（2^SUB_BUCKET_BITS）
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 线性区间上限，小于该值的数值每个值一个桶
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+
+    /**
+     * 线性区间上限对应的指数
+     */
+    private static final int LINEAR_EXPONENT = SUB_BUCKET_BITS + 1;
+
+    /**
+     * 桶数量
+     */
+    static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - LINEAR_EXPONENT) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 记录一个数值，负数按0记录
+     *
+     * @param value 数值
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMax;
+        while (value > (currentMax = max.get())) {
+            if (max.compareAndSet(currentMax, value)) break;
+        }
+    }
+
+    /**
+     * 获取快照，记录过程中获取的快照各字段之间可能有极小偏差
+     *
+     * @return 快照
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new HistogramSnapshot(copy, count.get(), sum.get(), max.get());
+    }
+
+    /**
+     * 清空
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * 数值所在的桶下标
+     *
+     * @param value 非负数值
+     * @return 桶下标
+     */
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return LINEAR_LIMIT + (exponent - LINEAR_EXPONENT) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * 桶的下限（包含）
+     *
+     * @param index 桶下标
+     * @return 下限
+     */
+    static long bucketLowerBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + LINEAR_EXPONENT;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * 桶的上限（包含）
+     *
+     * @param index 桶下标
+     * @return 上限
+     */
+    static long bucketUpperBound(int index) {
+        return index + 1 < BUCKET_COUNT ? bucketLowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,113 @@
+package zsdev.work.network.metrics;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Created: by 2026-10-18 15:55
+ * Description: 直方图快照，不可变对象，支持百分位查询与合并
+ * Author: 张松
+ */
+public final class HistogramSnapshot {
+
+    /**
+     * 空快照
+     */
+    public static final HistogramSnapshot EMPTY = new HistogramSnapshot(new long[Histogram.BUCKET_COUNT], 0, 0, 0);
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long count, long sum, long max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * @return 记录次数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return 数值总和
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * @return 最大值
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return 平均值，无记录为0
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * 查询百分位数值，返回所在桶的中间值（不超过最大值），相对误差不超过12.5%
+     *
+     * @param percentile 百分位，取值0~100，如50、95、99
+     * @return 数值，无记录为0
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100!");
+        }
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long lower = Histogram.bucketLowerBound(i);
+                long middle = lower + (Histogram.bucketUpperBound(i) - lower) / 2;
+                return Math.min(middle, max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 合并另一个快照，如合并同一host的多个路由
+     *
+     * @param other 另一个快照
+     * @return 合并后的新快照
+     */
+    public HistogramSnapshot merge(HistogramSnapshot other) {
+        long[] merged = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            merged[i] = counts[i] + other.counts[i];
+        }
+        return new HistogramSnapshot(merged, count + other.count, sum + other.sum, Math.max(max, other.max));
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{" +
+                "count=" + count +
+                ", mean=" + getMean() +
+                ", p50=" + getPercentile(50) +
+                ", p95=" + getPercentile(95) +
+                ", p99=" + getPercentile(99) +
+                ", max=" + max +
+                '}';
+    }
+}
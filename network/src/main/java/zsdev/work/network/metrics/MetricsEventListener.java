@@ -0,0 +1,156 @@
+package zsdev.work.network.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+/**
+ * Created: by 2026-10-18 16:10
+ * Description: 网络指标的事件监听，每个Call一个实例
+ * 请求过程中只记录到字段，请求结束时按实际连接的路由一次性写入直方图；重试、重定向时各阶段取最后一次
+ * Author: 张松
+ */
+class MetricsEventListener extends EventListener {
+
+    private final NetworkMetrics metrics;
+
+    private long dnsStartNanos;
+    private long connectStartNanos;
+    private long secureConnectStartNanos;
+    private long requestHeadersStartNanos;
+    private long responseBodyStartNanos;
+
+    private long dnsMicros = -1;
+    private long connectMicros = -1;
+    private long tlsMicros = -1;
+    private long timeToFirstByteMicros = -1;
+    private long bodyReadMicros = -1;
+    private long requestBytes = -1;
+    private long responseBytes = -1;
+
+    /**
+     * 实际连接的IP:端口
+     */
+    private InetSocketAddress socketAddress;
+
+    MetricsEventListener(NetworkMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> inetAddressList) {
+        dnsMicros = elapsedMicros(dnsStartNanos);
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        secureConnectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+        tlsMicros = elapsedMicros(secureConnectStartNanos);
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy, Protocol protocol) {
+        connectMicros = elapsedMicros(connectStartNanos);
+    }
+
+    @Override
+    public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+        socketAddress = connection.route().socketAddress();
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        requestHeadersStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(@NonNull Call call, long byteCount) {
+        requestBytes = byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        timeToFirstByteMicros = elapsedMicros(requestHeadersStartNanos);
+    }
+
+    @Override
+    public void responseBodyStart(@NonNull Call call) {
+        responseBodyStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        bodyReadMicros = elapsedMicros(responseBodyStartNanos);
+        responseBytes = byteCount;
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        record(call);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        record(call);
+    }
+
+    /**
+     * 写入直方图，未发生的阶段不记录；没有任何网络阶段的请求（缓存命中、对冲请求的外层Call）不创建路由
+     *
+     * @param call call
+     */
+    private void record(Call call) {
+        if (socketAddress == null && dnsMicros < 0 && connectMicros < 0 && timeToFirstByteMicros < 0) {
+            return;
+        }
+        RouteMetrics route = metrics.getRouteMetrics(call.request().url().host(), socketAddress);
+        recordIfPresent(route.dns, dnsMicros);
+        recordIfPresent(route.connect, connectMicros);
+        recordIfPresent(route.tls, tlsMicros);
+        recordIfPresent(route.timeToFirstByte, timeToFirstByteMicros);
+        recordIfPresent(route.bodyRead, bodyReadMicros);
+        recordIfPresent(route.requestBytes, requestBytes);
+        recordIfPresent(route.responseBytes, responseBytes);
+    }
+
+    private static void recordIfPresent(Histogram histogram, long value) {
+        if (value >= 0) {
+            histogram.record(value);
+        }
+    }
+
+    /**
+     * 计算从开始时间到当前的耗时
+     *
+     * @param startNanos 开始时间/ns
+     * @return 耗时/μs
+     */
+    private static long elapsedMicros(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+}
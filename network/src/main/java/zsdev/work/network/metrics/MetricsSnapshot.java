@@ -0,0 +1,113 @@
+package zsdev.work.network.metrics;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Created: by 2026-10-18 16:05
+ * Description: 路由或host的网络指标快照，不可变对象
+ * 耗时单位为微秒，大小单位为字节；复用连接的请求不记录DNS、连接、TLS耗时，因此各直方图的记录次数可能不同
+ * Author: 张松
+ */
+public final class MetricsSnapshot {
+
+    /**
+     * 空快照
+     */
+    public static final MetricsSnapshot EMPTY = new MetricsSnapshot(HistogramSnapshot.EMPTY, HistogramSnapshot.EMPTY,
+            HistogramSnapshot.EMPTY, HistogramSnapshot.EMPTY, HistogramSnapshot.EMPTY, HistogramSnapshot.EMPTY, HistogramSnapshot.EMPTY);
+
+    private final HistogramSnapshot dns;
+    private final HistogramSnapshot connect;
+    private final HistogramSnapshot tls;
+    private final HistogramSnapshot timeToFirstByte;
+    private final HistogramSnapshot bodyRead;
+    private final HistogramSnapshot requestBytes;
+    private final HistogramSnapshot responseBytes;
+
+    MetricsSnapshot(HistogramSnapshot dns, HistogramSnapshot connect, HistogramSnapshot tls,
+                    HistogramSnapshot timeToFirstByte, HistogramSnapshot bodyRead,
+                    HistogramSnapshot requestBytes, HistogramSnapshot responseBytes) {
+        this.dns = dns;
+        this.connect = connect;
+        this.tls = tls;
+        this.timeToFirstByte = timeToFirstByte;
+        this.bodyRead = bodyRead;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+    }
+
+    /**
+     * @return DNS解析耗时/μs
+     */
+    public HistogramSnapshot getDns() {
+        return dns;
+    }
+
+    /**
+     * @return TCP连接耗时（包含TLS握手）/μs
+     */
+    public HistogramSnapshot getConnect() {
+        return connect;
+    }
+
+    /**
+     * @return TLS握手耗时/μs
+     */
+    public HistogramSnapshot getTls() {
+        return tls;
+    }
+
+    /**
+     * @return 首字节耗时：开始发送请求头到开始接收响应头/μs
+     */
+    public HistogramSnapshot getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    /**
+     * @return 响应体读取耗时/μs
+     */
+    public HistogramSnapshot getBodyRead() {
+        return bodyRead;
+    }
+
+    /**
+     * @return 请求体大小/byte
+     */
+    public HistogramSnapshot getRequestBytes() {
+        return requestBytes;
+    }
+
+    /**
+     * @return 响应体大小/byte
+     */
+    public HistogramSnapshot getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * 合并另一个快照
+     *
+     * @param other 另一个快照
+     * @return 合并后的新快照
+     */
+    public MetricsSnapshot merge(MetricsSnapshot other) {
+        return new MetricsSnapshot(dns.merge(other.dns), connect.merge(other.connect), tls.merge(other.tls),
+                timeToFirstByte.merge(other.timeToFirstByte), bodyRead.merge(other.bodyRead),
+                requestBytes.merge(other.requestBytes), responseBytes.merge(other.responseBytes));
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "MetricsSnapshot{" +
+                "dns=" + dns +
+                ", connect=" + connect +
+                ", tls=" + tls +
+                ", timeToFirstByte=" + timeToFirstByte +
+                ", bodyRead=" + bodyRead +
+                ", requestBytes=" + requestBytes +
+                ", responseBytes=" + responseBytes +
+                '}';
+    }
+}
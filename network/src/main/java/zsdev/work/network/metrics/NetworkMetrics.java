@@ -0,0 +1,113 @@
+package zsdev.work.network.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+
+/**
+ * Created: by 2026-10-18 16:20
+ * Description: 网络指标统计
+ * 作为OkHttpClient的EventListener.Factory，按路由（host + 实际连接的IP:端口）统计DNS、连接、TLS、首字节、响应体读取耗时
+ * 与请求体、响应体大小的直方图。直方图无锁、固定内存，快照支持p50/p95/p99等百分位查询，可上报后对比不同网络配置的效果。
+ * 路由标识格式为"host/IP:端口"，未建立连接就失败的请求记录为"host/unconnected"。
+ * Author: 张松
+ */
+public class NetworkMetrics implements EventListener.Factory {
+
+    /**
+     * 未建立连接的路由
+     */
+    private static final String UNCONNECTED = "unconnected";
+
+    /**
+     * 路由指标，key为路由标识
+     */
+    private final ConcurrentHashMap<String, RouteMetrics> routeMetricsMap = new ConcurrentHashMap<>();
+
+    @NonNull
+    @Override
+    public EventListener create(@NonNull Call call) {
+        return new MetricsEventListener(this);
+    }
+
+    /**
+     * 获取路由指标，判空创建
+     *
+     * @param host          host
+     * @param socketAddress 实际连接的IP:端口，未建立连接为null
+     * @return 路由指标
+     */
+    RouteMetrics getRouteMetrics(String host, InetSocketAddress socketAddress) {
+        String route = host + '/' + (socketAddress != null
+                ? socketAddress.getAddress() != null ? socketAddress.getAddress().getHostAddress() + ':' + socketAddress.getPort() : socketAddress.toString()
+                : UNCONNECTED);
+        RouteMetrics routeMetrics = routeMetricsMap.get(route);
+        if (routeMetrics == null) {
+            RouteMetrics created = new RouteMetrics(host);
+            routeMetrics = routeMetricsMap.putIfAbsent(route, created);
+            if (routeMetrics == null) {
+                routeMetrics = created;
+            }
+        }
+        return routeMetrics;
+    }
+
+    /**
+     * 获取全部路由的指标快照
+     *
+     * @return key为路由标识"host/IP:端口"
+     */
+    public Map<String, MetricsSnapshot> getRouteSnapshots() {
+        Map<String, MetricsSnapshot> snapshots = new HashMap<>();
+        for (Map.Entry<String, RouteMetrics> entry : routeMetricsMap.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * 获取已统计的全部host
+     *
+     * @return host集合
+     */
+    public Set<String> getHosts() {
+        Set<String> hosts = new HashSet<>();
+        for (RouteMetrics routeMetrics : routeMetricsMap.values()) {
+            hosts.add(routeMetrics.host);
+        }
+        return hosts;
+    }
+
+    /**
+     * 获取host的指标快照，合并该host的全部路由
+     *
+     * @param host host
+     * @return 快照，无记录为MetricsSnapshot.EMPTY
+     */
+    public MetricsSnapshot getHostSnapshot(String host) {
+        MetricsSnapshot snapshot = MetricsSnapshot.EMPTY;
+        for (RouteMetrics routeMetrics : routeMetricsMap.values()) {
+            if (routeMetrics.host.equals(host)) {
+                snapshot = snapshot.merge(routeMetrics.snapshot());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 清空全部指标，如上报后开始新的统计周期
+     */
+    public void reset() {
+        for (RouteMetrics routeMetrics : routeMetricsMap.values()) {
+            routeMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package zsdev.work.network.metrics;
+
+/**
+ * Created: by 2026-10-18 16:00
+ * Description: 单个路由（host + 实际连接的IP:端口）的直方图集合，耗时单位为微秒，大小单位为字节
+ * Author: 张松
+ */
+final class RouteMetrics {
+
+    final String host;
+
+    final Histogram dns = new Histogram();
+    final Histogram connect = new Histogram();
+    final Histogram tls = new Histogram();
+    final Histogram timeToFirstByte = new Histogram();
+    final Histogram bodyRead = new Histogram();
+    final Histogram requestBytes = new Histogram();
+    final Histogram responseBytes = new Histogram();
+
+    RouteMetrics(String host) {
+        this.host = host;
+    }
+
+    MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(dns.snapshot(), connect.snapshot(), tls.snapshot(),
+                timeToFirstByte.snapshot(), bodyRead.snapshot(), requestBytes.snapshot(), responseBytes.snapshot());
+    }
+
+    void reset() {
+        dns.reset();
+        connect.reset();
+        tls.reset();
+        timeToFirstByte.reset();
+        bodyRead.reset();
+        requestBytes.reset();
+        responseBytes.reset();
+    }
+}
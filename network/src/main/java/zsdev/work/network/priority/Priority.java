@@ -0,0 +1,24 @@
+package zsdev.work.network.priority;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import zsdev.work.network.enums.RequestPriority;
+
+/**
+ * Created: by 2026-10-18 19:25
+ * Description: 声明Retrofit接口方法的请求优先级，也可注解在接口上作为全部方法的默认值
+ * 使用示例：@Priority(RequestPriority.BACKGROUND) @POST("log/report") Observable<BaseResponse<Object>> report(@Body ReportBean bean);
+ * 单次请求可用@Tag RequestPriority参数覆盖，需在INetworkConfig.setIsEnablePriority()启用后生效
+ * Author: 张松
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Priority {
+
+    RequestPriority value();
+}
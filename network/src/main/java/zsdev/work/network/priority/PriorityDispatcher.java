@@ -0,0 +1,156 @@
+package zsdev.work.network.priority;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import okhttp3.Call;
+import okhttp3.Dispatcher;
+import zsdev.work.network.enums.RequestPriority;
+
+/**
+ * Created: by 2026-10-18 19:30
+ * Description: 按优先级分配请求的执行许可，所有服务器URL共用
+ * RxJava3CallAdapterFactory.create()以同步方式执行请求，不经过OkHttp Dispatcher的排队，因此在拦截器中按优先级限制并发：
+ * IMMEDIATE直接执行；NORMAL在执行中请求数达到Dispatcher的最大并发请求数时排队；
+ * BACKGROUND另受maxBackgroundRequests限制，且有NORMAL请求排队时让出。
+ * Author: 张松
+ */
+public class PriorityDispatcher {
+
+    /**
+     * 默认后台请求最大并发数
+     */
+    public static final int DEFAULT_MAX_BACKGROUND_REQUESTS = 2;
+
+    /**
+     * 排队时检查请求是否取消的间隔
+     */
+    private static final long CANCEL_CHECK_MILLS = 100;
+
+    /**
+     * 共用调度器，最大并发请求数与其保持一致
+     */
+    private final Dispatcher dispatcher;
+
+    /**
+     * 以下字段由this锁保护
+     */
+    private int maxBackgroundRequests;
+    private int runningCount;
+    private int runningBackgroundCount;
+    private int queuedNormalCount;
+    private int queuedBackgroundCount;
+
+    public PriorityDispatcher(Dispatcher dispatcher, int maxBackgroundRequests) {
+        this.dispatcher = dispatcher;
+        this.maxBackgroundRequests = maxBackgroundRequests;
+    }
+
+    /**
+     * 获取执行许可，需要排队时阻塞当前线程，执行结束后必须调用release()
+     *
+     * @param priority 请求优先级
+     * @param call     当前请求，排队期间被取消时抛出IOException
+     * @throws IOException 请求被取消或线程被中断
+     */
+    public void acquire(RequestPriority priority, Call call) throws IOException {
+        synchronized (this) {
+            switch (priority) {
+                case IMMEDIATE:
+                    runningCount++;
+                    return;
+                case BACKGROUND:
+                    queuedBackgroundCount++;
+                    try {
+                        while (runningCount >= dispatcher.getMaxRequests() || runningBackgroundCount >= maxBackgroundRequests || queuedNormalCount > 0) {
+                            awaitOrThrow(call);
+                        }
+                    } finally {
+                        queuedBackgroundCount--;
+                    }
+                    runningBackgroundCount++;
+                    runningCount++;
+                    return;
+                default:
+                    queuedNormalCount++;
+                    try {
+                        while (runningCount >= dispatcher.getMaxRequests()) {
+                            awaitOrThrow(call);
+                        }
+                    } finally {
+                        queuedNormalCount--;
+                        //普通请求排队数变化，唤醒等待的后台请求
+                        notifyAll();
+                    }
+                    runningCount++;
+            }
+        }
+    }
+
+    /**
+     * 排队等待，请求取消或线程中断时抛出异常
+     *
+     * @param call 当前请求
+     * @throws IOException 请求被取消或线程被中断
+     */
+    private void awaitOrThrow(Call call) throws IOException {
+        if (call.isCanceled()) {
+            throw new IOException("Canceled");
+        }
+        try {
+            wait(CANCEL_CHECK_MILLS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for priority permit");
+        }
+    }
+
+    /**
+     * 释放执行许可
+     *
+     * @param priority 请求优先级，与acquire()时一致
+     */
+    public synchronized void release(RequestPriority priority) {
+        runningCount--;
+        if (priority == RequestPriority.BACKGROUND) {
+            runningBackgroundCount--;
+        }
+        notifyAll();
+    }
+
+    /**
+     * 设置后台请求最大并发数，只增不减
+     *
+     * @param maxBackgroundRequests 后台请求最大并发数
+     */
+    public synchronized void setMaxBackgroundRequests(int maxBackgroundRequests) {
+        if (maxBackgroundRequests > this.maxBackgroundRequests) {
+            this.maxBackgroundRequests = maxBackgroundRequests;
+            Log.i("PriorityDispatcher", "后台请求最大并发数==" + maxBackgroundRequests);
+            notifyAll();
+        }
+    }
+
+    /**
+     * @return 执行中的请求数
+     */
+    public synchronized int getRunningCount() {
+        return runningCount;
+    }
+
+    /**
+     * @return 执行中的后台请求数
+     */
+    public synchronized int getRunningBackgroundCount() {
+        return runningBackgroundCount;
+    }
+
+    /**
+     * @return 排队中的请求数（普通 + 后台）
+     */
+    public synchronized int getQueuedCount() {
+        return queuedNormalCount + queuedBackgroundCount;
+    }
+}
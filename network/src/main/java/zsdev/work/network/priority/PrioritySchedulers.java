@@ -0,0 +1,125 @@
+package zsdev.work.network.priority;
+
+import android.os.Process;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import zsdev.work.network.enums.RequestPriority;
+import zsdev.work.network.scheduler.NetworkScheduler;
+
+/**
+ * Created: by 2026-10-18 19:35
+ * Description: 按请求优先级划分的RxJava调度器
+ * NORMAL使用NetworkScheduler.io()；IMMEDIATE使用单独的无上限线程池，不与普通请求竞争线程；
+ * BACKGROUND使用固定线程数的线程池并降低线程优先级，超出的任务在调度器中排队。
+ * IMMEDIATE与BACKGROUND线程记录所属优先级，同步执行的请求在拦截器中据此识别优先级，无需在请求上另外标记。
+ * Author: 张松
+ */
+public final class PrioritySchedulers {
+
+    /**
+     * 后台调度器线程数
+     */
+    private static final int BACKGROUND_THREADS = 2;
+
+    /**
+     * 空闲线程保活时间
+     */
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private PrioritySchedulers() {
+    }
+
+    /**
+     * 调度器延迟创建
+     */
+    private static final class Holder {
+        static final Scheduler IMMEDIATE = Schedulers.from(Executors.newCachedThreadPool(
+                new LaneThreadFactory(RequestPriority.IMMEDIATE, Process.THREAD_PRIORITY_DEFAULT)));
+
+        static final Scheduler BACKGROUND = Schedulers.from(newBackgroundExecutor());
+
+        private static ThreadPoolExecutor newBackgroundExecutor() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(BACKGROUND_THREADS, BACKGROUND_THREADS,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new LaneThreadFactory(RequestPriority.BACKGROUND, Process.THREAD_PRIORITY_BACKGROUND));
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    /**
+     * 获取优先级对应的调度器
+     *
+     * @param priority 请求优先级，为null按NORMAL处理
+     * @return 调度器
+     */
+    public static Scheduler get(RequestPriority priority) {
+        if (priority == RequestPriority.IMMEDIATE) {
+            return Holder.IMMEDIATE;
+        }
+        if (priority == RequestPriority.BACKGROUND) {
+            return Holder.BACKGROUND;
+        }
+        return NetworkScheduler.io();
+    }
+
+    /**
+     * 获取当前线程所属的优先级
+     *
+     * @return 优先级，不是优先级调度器的线程为null
+     */
+    public static RequestPriority currentPriority() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof LaneThread ? ((LaneThread) thread).priority : null;
+    }
+
+    /**
+     * 记录所属优先级的线程
+     */
+    private static final class LaneThread extends Thread {
+
+        private final RequestPriority priority;
+
+        private final int threadPriority;
+
+        LaneThread(Runnable runnable, String name, RequestPriority priority, int threadPriority) {
+            super(runnable, name);
+            this.priority = priority;
+            this.threadPriority = threadPriority;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            Process.setThreadPriority(threadPriority);
+            super.run();
+        }
+    }
+
+    private static final class LaneThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final RequestPriority priority;
+
+        private final int threadPriority;
+
+        LaneThreadFactory(RequestPriority priority, int threadPriority) {
+            this.priority = priority;
+            this.threadPriority = threadPriority;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new LaneThread(runnable, "RxPriority-" + priority + "-" + count.incrementAndGet(), priority, threadPriority);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package zsdev.work.network.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created: by 2026-10-18 16:50
+ * Description: 重试预算（令牌桶）
+ * 每次重试消耗1个令牌，每次成功请求存入depositPerSuccess个令牌，令牌数不超过maxTokens。
+ * 后端故障时成功请求减少、令牌耗尽，重试自动停止，避免重试风暴放大后端压力；恢复后令牌随成功请求逐步补充。
+ * 例如depositPerSuccess为0.1时，长期重试量不超过成功请求量的10%。
+ * Author: 张松
+ */
+public class RetryBudget {
+
+    /**
+     * 默认最大令牌数
+     */
+    public static final int DEFAULT_MAX_TOKENS = 10;
+
+    /**
+     * 默认每次成功请求存入的令牌数
+     */
+    public static final float DEFAULT_DEPOSIT_PER_SUCCESS = 0.1f;
+
+    /**
+     * 令牌按千分之一计数，避免浮点运算
+     */
+    private static final long SCALE = 1000;
+
+    /**
+     * 全局共用的重试预算，RetryPolicyBuilder未指定预算时使用
+     */
+    private static final RetryBudget GLOBAL = new RetryBudget(DEFAULT_MAX_TOKENS, DEFAULT_DEPOSIT_PER_SUCCESS);
+
+    /**
+     * 当前令牌数（千分之一）
+     */
+    private final AtomicLong tokens;
+
+    /**
+     * 最大令牌数（千分之一）
+     */
+    private final long maxTokens;
+
+    /**
+     * 每次成功请求存入的令牌数（千分之一）
+     */
+    private final long depositPerSuccess;
+
+    /**
+     * @param maxTokens         最大令牌数，也是初始令牌数
+     * @param depositPerSuccess 每次成功请求存入的令牌数
+     */
+    public RetryBudget(int maxTokens, float depositPerSuccess) {
+        if (maxTokens <= 0) throw new IllegalArgumentException("maxTokens must be > 0!");
+        if (depositPerSuccess < 0) throw new IllegalArgumentException("depositPerSuccess must be >= 0!");
+        this.maxTokens = maxTokens * SCALE;
+        this.depositPerSuccess = (long) (depositPerSuccess * SCALE);
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    /**
+     * 获取全局共用的重试预算
+     *
+     * @return 重试预算
+     */
+    public static RetryBudget getGlobal() {
+        return GLOBAL;
+    }
+
+    /**
+     * 尝试获取一次重试的令牌
+     *
+     * @return 是否允许重试
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long current = tokens.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 请求成功，存入令牌
+     */
+    public void onSuccess() {
+        while (true) {
+            long current = tokens.get();
+            long next = Math.min(maxTokens, current + depositPerSuccess);
+            if (current == next || tokens.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 获取当前可用的重试次数
+     *
+     * @return 重试次数
+     */
+    public int getAvailableRetries() {
+        return (int) (tokens.get() / SCALE);
+    }
+}
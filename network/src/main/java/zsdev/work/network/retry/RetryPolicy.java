@@ -0,0 +1,155 @@
+package zsdev.work.network.retry;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import retrofit2.HttpException;
+import zsdev.work.network.exception.ExceptionHandle;
+import zsdev.work.network.exception.NetworkError;
+import zsdev.work.network.exception.ResponseThrowable;
+import zsdev.work.network.exception.ServerException;
+
+/**
+ * Created: by 2026-10-18 17:00
+ * Description: 重试策略，不可变对象，通过RetryPolicyBuilder创建
+ * 按ExceptionHandle的异常分类判断是否重试：
+ * NetworkError.NETWORK_ERROR（连接失败、超时）可重试；HTTP错误只重试retryableHttpCodes（默认408、429、500、502、503、504）；
+ * ServerException只重试retryableServerCodes（默认不重试）；解析错误、证书错误、未知错误不重试。
+ * 非幂等请求（POST等）只在请求确定未发送（ConnectException）或服务器明确未处理（429、503）时重试。
+ * 重试间隔为指数退避 + 完全随机抖动：random(0, min(maxDelayMills, baseDelayMills * 2^(第几次重试-1)))
+ * Author: 张松
+ */
+public class RetryPolicy {
+
+    /**
+     * 默认最大重试次数
+     */
+    static final int DEFAULT_MAX_RETRIES = 2;
+
+    /**
+     * 默认退避基准时间
+     */
+    static final long DEFAULT_BASE_DELAY_MILLS = 200;
+
+    /**
+     * 默认最大退避时间
+     */
+    static final long DEFAULT_MAX_DELAY_MILLS = 5_000;
+
+    /**
+     * 默认可重试的HTTP状态码
+     */
+    static final Set<Integer> DEFAULT_RETRYABLE_HTTP_CODES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            408, 429, 500, 502, 503, 504)));
+
+    /**
+     * 非幂等请求也可重试的HTTP状态码：服务器明确未处理本次请求
+     */
+    private static final Set<Integer> NOT_PROCESSED_HTTP_CODES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            429, 503)));
+
+    /**
+     * 使用默认参数的重试策略，适用于幂等请求
+     */
+    public static final RetryPolicy DEFAULT = new RetryPolicyBuilder().build();
+
+    private static final Random RANDOM = new Random();
+
+    private final int maxRetries;
+    private final long baseDelayMills;
+    private final long maxDelayMills;
+    private final Set<Integer> retryableHttpCodes;
+    private final Set<Integer> retryableServerCodes;
+    private final boolean idempotent;
+    private final RetryBudget retryBudget;
+
+    RetryPolicy(int maxRetries, long baseDelayMills, long maxDelayMills, Set<Integer> retryableHttpCodes,
+                Set<Integer> retryableServerCodes, boolean idempotent, RetryBudget retryBudget) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMills = baseDelayMills;
+        this.maxDelayMills = maxDelayMills;
+        this.retryableHttpCodes = retryableHttpCodes;
+        this.retryableServerCodes = retryableServerCodes;
+        this.idempotent = idempotent;
+        this.retryBudget = retryBudget;
+    }
+
+    /**
+     * 判断异常是否可重试，不检查重试次数与预算
+     *
+     * @param throwable  异常
+     * @param idempotent 本次请求是否幂等
+     * @return 是否可重试
+     */
+    public boolean isRetryable(Throwable throwable, boolean idempotent) {
+        if (throwable instanceof ResponseThrowable && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        if (throwable instanceof HttpException) {
+            return isRetryableHttpCode(((HttpException) throwable).code(), idempotent);
+        }
+        if (throwable instanceof ServerException) {
+            return idempotent && retryableServerCodes.contains(((ServerException) throwable).getCode());
+        }
+        if (ExceptionHandle.handleException(throwable).getCode() == NetworkError.NETWORK_ERROR) {
+            //连接未建立时请求一定未发送，非幂等请求也可重试
+            return idempotent || throwable instanceof ConnectException;
+        }
+        return false;
+    }
+
+    /**
+     * 判断HTTP状态码是否可重试，不检查重试次数与预算
+     *
+     * @param code       HTTP状态码
+     * @param idempotent 本次请求是否幂等
+     * @return 是否可重试
+     */
+    public boolean isRetryableHttpCode(int code, boolean idempotent) {
+        return retryableHttpCodes.contains(code) && (idempotent || NOT_PROCESSED_HTTP_CODES.contains(code));
+    }
+
+    /**
+     * 计算第retry次重试前的等待时间：指数退避 + 完全随机抖动
+     *
+     * @param retry 第几次重试，从1开始
+     * @return 等待时间/ms
+     */
+    public long computeDelayMills(int retry) {
+        int shift = Math.min(retry - 1, 30);
+        long ceiling = Math.min(maxDelayMills, baseDelayMills << shift);
+        if (ceiling <= 0) {
+            return 0;
+        }
+        return (long) (RANDOM.nextDouble() * ceiling);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getBaseDelayMills() {
+        return baseDelayMills;
+    }
+
+    public long getMaxDelayMills() {
+        return maxDelayMills;
+    }
+
+    /**
+     * Rx层无法获知请求方法，由策略声明本次请求是否幂等；拦截器按请求方法判断，忽略此值
+     *
+     * @return 是否幂等
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+}
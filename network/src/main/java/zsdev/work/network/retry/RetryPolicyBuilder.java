@@ -0,0 +1,97 @@
+package zsdev.work.network.retry;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Created: by 2026-10-18 17:05
+ * Description: 重试策略的构建参数，未设置的参数使用RetryPolicy中的默认值
+ * Author: 张松
+ */
+public class RetryPolicyBuilder {
+
+    /**
+     * 最大重试次数（不含首次请求）
+     */
+    private int maxRetries = RetryPolicy.DEFAULT_MAX_RETRIES;
+
+    /**
+     * 退避基准时间
+     */
+    private long baseDelayMills = RetryPolicy.DEFAULT_BASE_DELAY_MILLS;
+
+    /**
+     * 最大退避时间
+     */
+    private long maxDelayMills = RetryPolicy.DEFAULT_MAX_DELAY_MILLS;
+
+    /**
+     * 可重试的HTTP状态码
+     */
+    private Set<Integer> retryableHttpCodes = RetryPolicy.DEFAULT_RETRYABLE_HTTP_CODES;
+
+    /**
+     * 可重试的ServerException业务错误码
+     */
+    private Set<Integer> retryableServerCodes = Collections.emptySet();
+
+    /**
+     * 请求是否幂等（仅Rx层使用）
+     */
+    private boolean idempotent = true;
+
+    /**
+     * 重试预算，为null使用全局共用的预算
+     */
+    private RetryBudget retryBudget;
+
+    public RetryPolicyBuilder maxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    public RetryPolicyBuilder baseDelayMills(long baseDelayMills) {
+        this.baseDelayMills = baseDelayMills;
+        return this;
+    }
+
+    public RetryPolicyBuilder maxDelayMills(long maxDelayMills) {
+        this.maxDelayMills = maxDelayMills;
+        return this;
+    }
+
+    public RetryPolicyBuilder retryableHttpCodes(Set<Integer> retryableHttpCodes) {
+        this.retryableHttpCodes = retryableHttpCodes;
+        return this;
+    }
+
+    public RetryPolicyBuilder retryableServerCodes(Set<Integer> retryableServerCodes) {
+        this.retryableServerCodes = retryableServerCodes;
+        return this;
+    }
+
+    public RetryPolicyBuilder idempotent(boolean idempotent) {
+        this.idempotent = idempotent;
+        return this;
+    }
+
+    public RetryPolicyBuilder retryBudget(RetryBudget retryBudget) {
+        this.retryBudget = retryBudget;
+        return this;
+    }
+
+    /**
+     * 构建重试策略
+     *
+     * @return 重试策略
+     */
+    public RetryPolicy build() {
+        if (maxRetries < 0) throw new IllegalStateException("maxRetries must be >= 0!");
+        if (baseDelayMills < 0 || maxDelayMills < baseDelayMills) throw new IllegalStateException("delay must satisfy 0 <= baseDelayMills <= maxDelayMills!");
+        return new RetryPolicy(maxRetries, baseDelayMills, maxDelayMills,
+                Collections.unmodifiableSet(new HashSet<>(retryableHttpCodes)),
+                Collections.unmodifiableSet(new HashSet<>(retryableServerCodes)),
+                idempotent, retryBudget != null ? retryBudget : RetryBudget.getGlobal());
+    }
+}
@@ -15,6 +15,16 @@ import zsdev.work.network.exception.ExceptionHandle;
  */
 public class FlowableErrorFunction<T> implements Function<Throwable, Flowable<T>> {
 
+    private static final FlowableErrorFunction<Object> INSTANCE = new FlowableErrorFunction<>();
+
+    /**
+     * 获取Flowable异常处理函数
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FlowableErrorFunction<T> getInstance() {
+        return (FlowableErrorFunction<T>) INSTANCE;
+    }
+
     /**
      * 非服务器产生的异常，比如本地无网络请求，Json数据解析错误、实体转换器转换异常、接口地址无效404等各类运行时抛出异常。
      *
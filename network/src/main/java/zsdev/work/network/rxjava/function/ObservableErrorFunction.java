@@ -15,6 +15,16 @@ import zsdev.work.network.exception.ExceptionHandle;
  */
 public class ObservableErrorFunction<T> implements Function<Throwable, Observable<T>> {
 
+    private static final ObservableErrorFunction<Object> INSTANCE = new ObservableErrorFunction<>();
+
+    /**
+     * 获取Observable异常处理函数
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ObservableErrorFunction<T> getInstance() {
+        return (ObservableErrorFunction<T>) INSTANCE;
+    }
+
     /**
      * 非服务器产生的异常，比如本地无网络请求，Json数据解析错误、实体转换器转换异常、接口地址无效404等各类运行时抛出异常。
      *
@@ -12,6 +12,17 @@ import zsdev.work.network.exception.ServerException;
  * Author: 张松
  */
 public class ResponseFunction<T> implements Function<BaseResponse<T>, T> {
+
+    private static final ResponseFunction<Object> INSTANCE = new ResponseFunction<>();
+
+    /**
+     * 获取响应处理函数
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ResponseFunction<T> getInstance() {
+        return (ResponseFunction<T>) INSTANCE;
+    }
+
     /**
      * Code==200表示请求服务器且响应成功
      * Code!=200表示请求数据异常，如服务器返回非200的错误Code，但依然可以判定已经通过接口访问了服务器
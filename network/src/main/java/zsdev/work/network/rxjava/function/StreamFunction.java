@@ -0,0 +1,206 @@
+package zsdev.work.network.rxjava.function;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import org.reactivestreams.Publisher;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import io.reactivex.rxjava3.core.Emitter;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.functions.Function;
+import okhttp3.ResponseBody;
+import zsdev.work.network.base.BaseResponse;
+import zsdev.work.network.exception.ServerException;
+
+/**
+ * Created: by 2026-10-18 22:00
+ * Description: Flowable的Function流式解析数据：把BaseResponse格式的响应体解析为data数组中逐个元素的Flowable<T>
+ * 使用JsonReader边读边解析，不在内存中构建整个data列表，下游请求多少个才解析多少个（支持背压），首个元素无需等待整个响应体下载完成。
+ * （1）code/msg：位于data之前时（通常情况）先校验，code!=200直接抛出ServerException，不解析data；
+ * 位于data之后时只能在data解析完成后校验，此时已发送的元素无法撤回，失败仍以ServerException结束
+ * （2）data为null或不存在时不发送元素直接完成，data不是数组时抛出JsonParseException，数组中的null元素跳过
+ * （3）接口方法需加@Streaming注解并返回Flowable<ResponseBody>，否则Retrofit会先把响应体完整读入内存
+ * 取消订阅或解析结束时关闭响应体
+ * Author: 张松
+ */
+public class StreamFunction<T> implements Function<ResponseBody, Publisher<T>> {
+
+    /**
+     * 默认Gson，与GsonConverterFactory.create()的默认配置一致
+     */
+    private static final Gson DEFAULT_GSON = new Gson();
+
+    private static final String FIELD_CODE = "code";
+    private static final String FIELD_MSG = "msg";
+    private static final String FIELD_DATA = "data";
+
+    /**
+     * 元素的解析器，创建时获取一次，所有元素共用
+     */
+    private final TypeAdapter<T> adapter;
+
+    /**
+     * @param gson        解析元素使用的Gson
+     * @param elementType data数组的元素类型
+     */
+    @SuppressWarnings("unchecked")
+    public StreamFunction(Gson gson, Type elementType) {
+        this.adapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(elementType));
+    }
+
+    /**
+     * 使用默认Gson创建
+     *
+     * @param elementType data数组的元素类型
+     * @param <T>         元素泛型
+     * @return 流式解析Function
+     */
+    public static <T> StreamFunction<T> create(Class<T> elementType) {
+        return new StreamFunction<>(DEFAULT_GSON, elementType);
+    }
+
+    @Override
+    public Publisher<T> apply(@NonNull ResponseBody responseBody) {
+        //每次下游请求调用一次next()，最多发送一个元素
+        return Flowable.generate(() -> new StreamState(responseBody), this::next, StreamState::close);
+    }
+
+    /**
+     * 解析下一个元素
+     *
+     * @param state   解析状态
+     * @param emitter 发射器
+     * @throws IOException 读取响应体失败
+     */
+    private void next(StreamState state, Emitter<T> emitter) throws IOException {
+        try {
+            JsonReader reader = state.reader;
+            if (!state.inData) {
+                if (!state.readToData()) {
+                    state.checkSuccess();
+                    emitter.onComplete();
+                    return;
+                }
+            }
+            while (reader.hasNext()) {
+                T item = adapter.read(reader);
+                if (item != null) {
+                    emitter.onNext(item);
+                    return;
+                }
+            }
+            reader.endArray();
+            state.inData = false;
+            //data之后可能还有code/msg
+            state.readToData();
+            state.checkSuccess();
+            emitter.onComplete();
+        } catch (MalformedJsonException | IllegalStateException e) {
+            //JsonReader遇到非法JSON或与预期不符的结构，按解析错误处理
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * 一次响应体的解析状态，仅在订阅线程访问
+     */
+    private static final class StreamState {
+
+        private final ResponseBody responseBody;
+
+        private final JsonReader reader;
+
+        /**
+         * 已读取的code与msg
+         */
+        private final BaseResponse<Void> envelope = new BaseResponse<>();
+
+        private boolean codeRead;
+
+        private boolean started;
+
+        private boolean inData;
+
+        StreamState(ResponseBody responseBody) {
+            this.responseBody = responseBody;
+            this.reader = new JsonReader(responseBody.charStream());
+        }
+
+        /**
+         * 读取外层字段直到进入data数组
+         *
+         * @return true已进入data数组 false外层对象已读完
+         * @throws IOException 读取响应体失败
+         */
+        boolean readToData() throws IOException {
+            if (!started) {
+                reader.beginObject();
+                started = true;
+            }
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (FIELD_CODE.equals(name)) {
+                    envelope.setCode(reader.nextInt());
+                    codeRead = true;
+                } else if (FIELD_MSG.equals(name)) {
+                    envelope.setMsg(readNullableString());
+                } else if (FIELD_DATA.equals(name)) {
+                    JsonToken token = reader.peek();
+                    if (token == JsonToken.NULL) {
+                        reader.nextNull();
+                    } else if (token != JsonToken.BEGIN_ARRAY) {
+                        throw new JsonParseException("Expected data to be an array but was " + token);
+                    } else {
+                        //code在data之前时先校验，失败不解析data
+                        if (codeRead) {
+                            checkSuccess();
+                        }
+                        reader.beginArray();
+                        inData = true;
+                        return true;
+                    }
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return false;
+        }
+
+        private String readNullableString() throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+            return reader.nextString();
+        }
+
+        /**
+         * 与ResponseFunction相同，由BaseResponse.isSuccess()判断
+         */
+        void checkSuccess() {
+            if (!envelope.isSuccess()) {
+                throw new ServerException(envelope.getCode(), envelope.getMsg());
+            }
+        }
+
+        void close() throws IOException {
+            try {
+                reader.close();
+            } finally {
+                responseBody.close();
+            }
+        }
+    }
+}
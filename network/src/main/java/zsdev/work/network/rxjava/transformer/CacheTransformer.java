@@ -0,0 +1,54 @@
+package zsdev.work.network.rxjava.transformer;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.functions.Function;
+import retrofit2.HttpException;
+import zsdev.work.network.interceptor.CachesInterceptor;
+
+
+/**
+ * Created: by 2026-10-18 13:30
+ * Description: 缓存策略的Flowable组合，需启用缓存（INetworkConfig.setIsEnableCache()）
+ * Author: 张松
+ */
+public class CacheTransformer {
+
+    /**
+     * 先显示缓存、后台校验后再推送最新数据（stale-while-revalidate），适合列表页：
+     * 第一次发射：缓存数据（无缓存时跳过）
+     * 第二次发射：有缓存时携带ETag/Last-Modified条件请求，数据未变化（304）不发射；无缓存时直接请求网络
+     * Service方法需声明缓存模式请求头参数，例如：
+     * Flowable<BaseResponse<T>> list(@Url String url, @Header(CachesInterceptor.HEADER_CACHE_MODE) String cacheMode);
+     * 使用：CacheTransformer.staleWhileRevalidate(cacheMode -> service.list(url, cacheMode))，再交给HandlerTransformer.handlerSubscribe()
+     *
+     * @param request 根据缓存模式创建请求，缓存模式可能为null（表示直接请求网络）
+     * @param <T>     泛型
+     * @return 发射一次或两次的Flowable
+     */
+    public static <T> Flowable<T> staleWhileRevalidate(Function<String, Flowable<T>> request) {
+        return Flowable.defer(() -> {
+            AtomicBoolean isCacheHit = new AtomicBoolean(false);
+            Flowable<T> cache = Flowable.defer(() -> request.apply(CachesInterceptor.CACHE_MODE_ONLY_CACHE))
+                    .doOnNext(t -> isCacheHit.set(true))
+                    //无缓存时响应504，忽略后直接请求网络
+                    .onErrorResumeNext(throwable -> Flowable.empty());
+            Flowable<T> network = Flowable.defer(() -> request.apply(isCacheHit.get() ? CachesInterceptor.CACHE_MODE_REVALIDATE : null))
+                    //数据未变化，已发射的缓存即为最新数据
+                    .onErrorResumeNext(throwable -> isNotModified(throwable) ? Flowable.empty() : Flowable.error(throwable));
+            return cache.concatWith(network);
+        });
+    }
+
+    /**
+     * 是否为缓存校验通过的304响应
+     *
+     * @param throwable 异常
+     * @return 是否304
+     */
+    private static boolean isNotModified(Throwable throwable) {
+        return throwable instanceof HttpException && ((HttpException) throwable).code() == HttpURLConnection.HTTP_NOT_MODIFIED;
+    }
+}
@@ -9,65 +9,138 @@ import io.reactivex.rxjava3.core.FlowableTransformer;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.ObservableTransformer;
 import io.reactivex.rxjava3.core.Observer;
+import okhttp3.ResponseBody;
 import zsdev.work.network.base.BaseResponse;
+import zsdev.work.network.enums.RequestPriority;
+import zsdev.work.network.retry.RetryPolicy;
 import zsdev.work.network.rxjava.function.FlowableErrorFunction;
 import zsdev.work.network.rxjava.function.ObservableErrorFunction;
 import zsdev.work.network.rxjava.function.ResponseFunction;
+import zsdev.work.network.rxjava.function.StreamFunction;
 
 
 /**
  * Created: by 2023-09-11 16:13
  * Description: Observable和Flowable 的处理请求响应的数据 + 异常处理变换 + 线程调度切换的Scheduler
  * 【AutoDispose2绑定订阅生命周期处理内存泄漏：请借助RxJava3的to()传入BasePresenter中的bindLifecycle()】
+ * 处理链中的转换器与ResponseFunction、ObservableErrorFunction、FlowableErrorFunction都不保存请求状态，
+ * 均为进程内单例，不重试的请求组装处理链时不创建这些对象
  * Author: 张松
  */
 public class HandlerTransformer {
 
+    /**
+     * 不重试时按优先级下标缓存的转换器
+     */
+    private static final ObservableTransformer<?, ?>[] OBSERVABLE_HANDLERS = new ObservableTransformer<?, ?>[RequestPriority.values().length];
+    private static final FlowableTransformer<?, ?>[] FLOWABLE_HANDLERS = new FlowableTransformer<?, ?>[RequestPriority.values().length];
+
+    static {
+        for (RequestPriority priority : RequestPriority.values()) {
+            OBSERVABLE_HANDLERS[priority.ordinal()] = new ObservableHandler(null, priority);
+            FLOWABLE_HANDLERS[priority.ordinal()] = new FlowableHandler(null, priority);
+        }
+    }
+
     /**
      * （1）描述同bindLifecycle()
      * （2）数据处理：接收上游对象数据，依据BaseResponse中的isSuccess()方法来识别请求状态
      * 若isSuccess()返回true 即是本次发起的网络请求的响应code为200，此状态码值需要与后端接口统一返回Json固定格式相匹配，通常情况都是以200表示请求服务器接口响应成功
      * 若是其他错误情况，如客户端异常（网络、权限等...）、服务端异常（服务器访问失败、后端服务系统报错等...）、JSON数据解析异常等错误需要判断异常类型后装载对应错误Message返回给UI显示
+     * （3）重试：retryPolicy不为null时，在异常处理之前按重试策略重新发起请求
+     * （4）优先级：在优先级对应的调度器上订阅
+     * 不重试时返回共用的转换器，不创建对象
      *
-     * @param <T> 调用者传递到方法上游的对象数据
+     * @param retryPolicy 重试策略，为null不重试
+     * @param priority    请求优先级
+     * @param <T>         调用者传递到方法上游的对象数据
      * @return Observable转换器
      */
-    private static <T> ObservableTransformer<BaseResponse<T>, T> getObservableTransformerScheduler() {
-        return new ObservableTransformer<BaseResponse<T>, T>() {
-            @NonNull
-            @Override
-            public Observable<T> apply(@NonNull Observable<BaseResponse<T>> observable) {
-                return observable
-                        //数据成功与异常处理
-                        .map(new ResponseFunction<>()).onErrorResumeNext(new ObservableErrorFunction<>())
-                        //Observable线程调度
-                        .compose(SchedulerTransformer.getObservableScheduler());
-            }
-        };
+    @SuppressWarnings("unchecked")
+    private static <T> ObservableTransformer<BaseResponse<T>, T> getObservableTransformerScheduler(RetryPolicy retryPolicy, RequestPriority priority) {
+        ObservableTransformer<?, ?> transformer = retryPolicy == null
+                ? OBSERVABLE_HANDLERS[priority.ordinal()]
+                : new ObservableHandler(retryPolicy, priority);
+        return (ObservableTransformer<BaseResponse<T>, T>) transformer;
     }
 
     /**
      * （1）描述同bindLifecycle()
      * （2）数据处理：同上
+     * （3）重试：同上
+     * （4）优先级：同上
      *
+     * @param retryPolicy 重试策略，为null不重试
+     * @param priority    请求优先级
      * @return Flowable转换器
      */
-    private static <T> FlowableTransformer<BaseResponse<T>, T> getFlowableTransformerScheduler() {
+    @SuppressWarnings("unchecked")
+    private static <T> FlowableTransformer<BaseResponse<T>, T> getFlowableTransformerScheduler(RetryPolicy retryPolicy, RequestPriority priority) {
         //参数1：BaseResponse<T>为上游值（从model层调用传递过来的Bean），参数2：T为下游值（本次RxJava流程未结束，需要传递下一个流程中处理数据）
-        return new FlowableTransformer<BaseResponse<T>, T>() {
-            @NonNull
-            @Override
-            public Flowable<T> apply(@NonNull Flowable<BaseResponse<T>> flowable) {
-                //引用Function，若此处网络错误，直接onError(Throwable t)
-                return flowable
-                        //数据成功与异常处理
-                        .map(new ResponseFunction<>()).onErrorResumeNext(new FlowableErrorFunction<>())
-                        //Flowable线程调度
-                        .compose(SchedulerTransformer.getFlowableScheduler());
+        FlowableTransformer<?, ?> transformer = retryPolicy == null
+                ? FLOWABLE_HANDLERS[priority.ordinal()]
+                : new FlowableHandler(retryPolicy, priority);
+        return (FlowableTransformer<BaseResponse<T>, T>) transformer;
+    }
+
+    /**
+     * Observable数据处理 + 重试 + 异常处理 + 线程调度转换器，与数据类型无关
+     */
+    private static final class ObservableHandler implements ObservableTransformer<BaseResponse<Object>, Object> {
+
+        private final RetryPolicy retryPolicy;
+
+        private final RequestPriority priority;
+
+        ObservableHandler(RetryPolicy retryPolicy, RequestPriority priority) {
+            this.retryPolicy = retryPolicy;
+            this.priority = priority;
+        }
+
+        @NonNull
+        @Override
+        public Observable<Object> apply(@NonNull Observable<BaseResponse<Object>> observable) {
+            Observable<Object> data = observable.map(ResponseFunction.getInstance());
+            if (retryPolicy != null) {
+                data = data.compose(RetryTransformer.getObservableRetry(retryPolicy));
             }
-        };
+            return data
+                    //异常处理
+                    .onErrorResumeNext(ObservableErrorFunction.getInstance())
+                    //Observable线程调度
+                    .compose(SchedulerTransformer.getObservableScheduler(priority));
+        }
     }
 
+    /**
+     * Flowable数据处理 + 重试 + 异常处理 + 线程调度转换器，与数据类型无关
+     */
+    private static final class FlowableHandler implements FlowableTransformer<BaseResponse<Object>, Object> {
+
+        private final RetryPolicy retryPolicy;
+
+        private final RequestPriority priority;
+
+        FlowableHandler(RetryPolicy retryPolicy, RequestPriority priority) {
+            this.retryPolicy = retryPolicy;
+            this.priority = priority;
+        }
+
+        @NonNull
+        @Override
+        public Flowable<Object> apply(@NonNull Flowable<BaseResponse<Object>> flowable) {
+            //引用Function，若此处网络错误，直接onError(Throwable t)
+            Flowable<Object> data = flowable.map(ResponseFunction.getInstance());
+            if (retryPolicy != null) {
+                data = data.compose(RetryTransformer.getFlowableRetry(retryPolicy));
+            }
+            return data
+                    //异常处理
+                    .onErrorResumeNext(FlowableErrorFunction.getInstance())
+                    //Flowable线程调度
+                    .compose(SchedulerTransformer.getFlowableScheduler(priority));
+        }
+    }
 
     /**
      * Observable订阅封装，简化重复代码
@@ -78,9 +151,36 @@ public class HandlerTransformer {
      * @param <T>                  返回请求实体数据
      */
     public static <T> void handlerSubscribe(Observable<BaseResponse<T>> observable, AutoDisposeConverter<T> autoDisposeConverter, Observer<T> observer) {
+        handlerSubscribe(observable, null, autoDisposeConverter, observer);
+    }
+
+    /**
+     * Observable订阅封装，失败时按重试策略重试
+     *
+     * @param observable           Observable
+     * @param retryPolicy          重试策略，为null不重试，幂等请求可使用RetryPolicy.DEFAULT
+     * @param autoDisposeConverter AutoDisposeConverter绑定生命周期
+     * @param observer             自定义Observable订阅实现
+     * @param <T>                  返回请求实体数据
+     */
+    public static <T> void handlerSubscribe(Observable<BaseResponse<T>> observable, RetryPolicy retryPolicy, AutoDisposeConverter<T> autoDisposeConverter, Observer<T> observer) {
+        handlerSubscribe(observable, RequestPriority.NORMAL, retryPolicy, autoDisposeConverter, observer);
+    }
+
+    /**
+     * Observable订阅封装，按请求优先级调度，失败时按重试策略重试
+     *
+     * @param observable           Observable
+     * @param priority             请求优先级，预加载、埋点等使用BACKGROUND，用户正在等待的请求使用IMMEDIATE
+     * @param retryPolicy          重试策略，为null不重试
+     * @param autoDisposeConverter AutoDisposeConverter绑定生命周期
+     * @param observer             自定义Observable订阅实现
+     * @param <T>                  返回请求实体数据
+     */
+    public static <T> void handlerSubscribe(Observable<BaseResponse<T>> observable, RequestPriority priority, RetryPolicy retryPolicy, AutoDisposeConverter<T> autoDisposeConverter, Observer<T> observer) {
         observable
                 //设置Observable线程调用及数据处理
-                .compose(getObservableTransformerScheduler())
+                .compose(getObservableTransformerScheduler(retryPolicy, priority))
                 //维护声明周期，解决内存泄漏
                 .to(autoDisposeConverter)
                 //传入自定义订阅Observable实现
@@ -97,9 +197,75 @@ public class HandlerTransformer {
      * @param <T>                  返回请求实体数据
      */
     public static <T> void handlerSubscribe(Flowable<BaseResponse<T>> flowable, AutoDisposeConverter<T> autoDisposeConverter, FlowableSubscriber<T> flowableSubscriber) {
+        handlerSubscribe(flowable, null, autoDisposeConverter, flowableSubscriber);
+    }
+
+    /**
+     * Flowable订阅封装，失败时按重试策略重试
+     *
+     * @param flowable             Flowable
+     * @param retryPolicy          重试策略，为null不重试，幂等请求可使用RetryPolicy.DEFAULT
+     * @param autoDisposeConverter AutoDisposeConverter绑定生命周期
+     * @param flowableSubscriber   自定义Flowable订阅实现
+     * @param <T>                  返回请求实体数据
+     */
+    public static <T> void handlerSubscribe(Flowable<BaseResponse<T>> flowable, RetryPolicy retryPolicy, AutoDisposeConverter<T> autoDisposeConverter, FlowableSubscriber<T> flowableSubscriber) {
+        handlerSubscribe(flowable, RequestPriority.NORMAL, retryPolicy, autoDisposeConverter, flowableSubscriber);
+    }
+
+    /**
+     * Flowable订阅封装，按请求优先级调度，失败时按重试策略重试
+     *
+     * @param flowable             Flowable
+     * @param priority             请求优先级，描述同上
+     * @param retryPolicy          重试策略，为null不重试
+     * @param autoDisposeConverter AutoDisposeConverter绑定生命周期
+     * @param flowableSubscriber   自定义Flowable订阅实现
+     * @param <T>                  返回请求实体数据
+     */
+    public static <T> void handlerSubscribe(Flowable<BaseResponse<T>> flowable, RequestPriority priority, RetryPolicy retryPolicy, AutoDisposeConverter<T> autoDisposeConverter, FlowableSubscriber<T> flowableSubscriber) {
         flowable
                 //设置Flowable线程调用及数据处理
-                .compose(getFlowableTransformerScheduler())
+                .compose(getFlowableTransformerScheduler(retryPolicy, priority))
+                //维护声明周期，解决内存泄漏
+                .to(autoDisposeConverter)
+                //传入自定义Flowable订阅实现
+                .subscribe(flowableSubscriber);
+    }
+
+    /**
+     * Flowable流式订阅封装：data数组中的元素逐个解析、逐个发送，适用于大列表接口，首个元素到达即可显示
+     * 接口方法需加@Streaming注解并返回Flowable<ResponseBody>，如BaseApiService.stream()
+     *
+     * @param flowable             Flowable
+     * @param elementType          data数组的元素类型
+     * @param autoDisposeConverter AutoDisposeConverter绑定生命周期
+     * @param flowableSubscriber   自定义Flowable订阅实现，可通过request(n)分批请求元素
+     * @param <T>                  data数组的元素类型
+     */
+    public static <T> void handlerStreamSubscribe(Flowable<ResponseBody> flowable, Class<T> elementType, AutoDisposeConverter<T> autoDisposeConverter, FlowableSubscriber<T> flowableSubscriber) {
+        handlerStreamSubscribe(flowable, RequestPriority.NORMAL, StreamFunction.create(elementType), autoDisposeConverter, flowableSubscriber);
+    }
+
+    /**
+     * Flowable流式订阅封装，按请求优先级调度
+     * 解析在订阅线程进行，下游请求也调度回订阅线程，不在主线程读取响应体；已发送的元素无法撤回，因此不支持重试
+     *
+     * @param flowable             Flowable
+     * @param priority             请求优先级
+     * @param streamFunction       流式解析Function，需要定制Gson或泛型元素类型时创建new StreamFunction<>(gson, type)
+     * @param autoDisposeConverter AutoDisposeConverter绑定生命周期
+     * @param flowableSubscriber   自定义Flowable订阅实现
+     * @param <T>                  data数组的元素类型
+     */
+    public static <T> void handlerStreamSubscribe(Flowable<ResponseBody> flowable, RequestPriority priority, StreamFunction<T> streamFunction, AutoDisposeConverter<T> autoDisposeConverter, FlowableSubscriber<T> flowableSubscriber) {
+        flowable
+                //响应体展开为元素流
+                .concatMap(streamFunction)
+                //异常处理
+                .onErrorResumeNext(FlowableErrorFunction.getInstance())
+                //Flowable线程调度
+                .compose(SchedulerTransformer.getFlowableScheduler(priority))
                 //维护声明周期，解决内存泄漏
                 .to(autoDisposeConverter)
                 //传入自定义Flowable订阅实现
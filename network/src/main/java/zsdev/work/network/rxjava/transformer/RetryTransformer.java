@@ -0,0 +1,87 @@
+package zsdev.work.network.rxjava.transformer;
+
+import android.util.Log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableTransformer;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableTransformer;
+import zsdev.work.network.retry.RetryBudget;
+import zsdev.work.network.retry.RetryPolicy;
+
+
+/**
+ * Created: by 2026-10-18 17:15
+ * Description: Observable和Flowable 的重试变换
+ * 按RetryPolicy判断异常是否可重试，指数退避 + 完全随机抖动后重新订阅上游（即重新发起请求），每次重试需从RetryBudget获取令牌。
+ * 需放在异常处理变换之前，HandlerTransformer.handlerSubscribe()传入RetryPolicy时自动组合
+ * Author: 张松
+ */
+public class RetryTransformer {
+
+    /**
+     * Observable重试变换
+     *
+     * @param policy 重试策略
+     * @param <T>    泛型
+     * @return Observable转换器
+     */
+    public static <T> ObservableTransformer<T, T> getObservableRetry(RetryPolicy policy) {
+        RetryBudget budget = policy.getRetryBudget();
+        return observable -> observable
+                .doOnNext(t -> budget.onSuccess())
+                .retryWhen(errors -> {
+                    //每次订阅独立计数
+                    AtomicInteger retries = new AtomicInteger();
+                    return errors.flatMap(throwable -> {
+                        long delay = nextDelayMills(policy, throwable, retries.incrementAndGet());
+                        return delay < 0 ? Observable.error(throwable) : Observable.timer(delay, TimeUnit.MILLISECONDS);
+                    });
+                });
+    }
+
+    /**
+     * Flowable重试变换
+     *
+     * @param policy 重试策略
+     * @param <T>    泛型
+     * @return Flowable转换器
+     */
+    public static <T> FlowableTransformer<T, T> getFlowableRetry(RetryPolicy policy) {
+        RetryBudget budget = policy.getRetryBudget();
+        return flowable -> flowable
+                .doOnNext(t -> budget.onSuccess())
+                .retryWhen(errors -> {
+                    //每次订阅独立计数
+                    AtomicInteger retries = new AtomicInteger();
+                    return errors.flatMap(throwable -> {
+                        long delay = nextDelayMills(policy, throwable, retries.incrementAndGet());
+                        return delay < 0 ? Flowable.error(throwable) : Flowable.timer(delay, TimeUnit.MILLISECONDS);
+                    });
+                });
+    }
+
+    /**
+     * 计算下一次重试的等待时间
+     *
+     * @param policy    重试策略
+     * @param throwable 异常
+     * @param retry     第几次重试
+     * @return 等待时间/ms，小于0表示不重试
+     */
+    private static long nextDelayMills(RetryPolicy policy, Throwable throwable, int retry) {
+        if (retry > policy.getMaxRetries() || !policy.isRetryable(throwable, policy.isIdempotent())) {
+            return -1;
+        }
+        if (!policy.getRetryBudget().tryAcquire()) {
+            Log.i("RetryTransformer", "重试预算已耗尽，放弃重试：" + throwable);
+            return -1;
+        }
+        long delay = policy.computeDelayMills(retry);
+        Log.i("RetryTransformer", "第" + retry + "次重试，等待" + delay + "ms：" + throwable);
+        return delay;
+    }
+}
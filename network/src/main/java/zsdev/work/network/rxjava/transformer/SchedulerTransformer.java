@@ -7,16 +7,32 @@ import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.FlowableTransformer;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.ObservableTransformer;
-import io.reactivex.rxjava3.schedulers.Schedulers;
+import zsdev.work.network.enums.RequestPriority;
+import zsdev.work.network.priority.PrioritySchedulers;
+import zsdev.work.network.scheduler.NetworkScheduler;
 
 
 /**
  * Created: by 2023-09-11 16:27
  * Description: Observable和Flowable 的线程调度切换的Scheduler
+ * 转换器与数据类型无关，按优先级缓存为单例，获取时不创建对象
  * Author: 张松
  */
 public class SchedulerTransformer {
 
+    /**
+     * 按优先级下标缓存的转换器
+     */
+    private static final ObservableTransformer<?, ?>[] OBSERVABLE_SCHEDULERS = new ObservableTransformer<?, ?>[RequestPriority.values().length];
+    private static final FlowableTransformer<?, ?>[] FLOWABLE_SCHEDULERS = new FlowableTransformer<?, ?>[RequestPriority.values().length];
+
+    static {
+        for (RequestPriority priority : RequestPriority.values()) {
+            OBSERVABLE_SCHEDULERS[priority.ordinal()] = new ObservableScheduler(priority);
+            FLOWABLE_SCHEDULERS[priority.ordinal()] = new FlowableScheduler(priority);
+        }
+    }
+
     /**
      * Presenter中使用到IO子线程与Main主线程切换，每次都需要重新写就比较繁琐
      * Observable处理线程切换调度的转换器
@@ -30,19 +46,19 @@ public class SchedulerTransformer {
      * @return Observable转换器
      */
     public static <T> ObservableTransformer<T, T> getObservableScheduler() {
-        return new ObservableTransformer<T, T>() {
-            @NonNull
-            @Override
-            public Observable<T> apply(@NonNull Observable<T> observable) {
-                return observable
-                        //这仅影响Observable订阅时使用的线程，并且它将保留在下游,如果流中有多个实例subscribeOn，则只有第一个具有实际效果
-                        .subscribeOn(Schedulers.io())
-                        //指定下游运算所在的线程，使用observeOn所指定的线程来操作的后续切换和数据流推送
-                        .observeOn(AndroidSchedulers.mainThread())
-                        //解绑上次的线程
-                        .unsubscribeOn(Schedulers.io());
-            }
-        };
+        return getObservableScheduler(RequestPriority.NORMAL);
+    }
+
+    /**
+     * Observable按请求优先级处理线程切换调度的转换器，订阅在优先级对应的调度器上，其余同getObservableScheduler()
+     *
+     * @param priority 请求优先级，BACKGROUND限制并发线程数，IMMEDIATE不与普通请求竞争线程
+     * @param <T>      泛型
+     * @return Observable转换器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ObservableTransformer<T, T> getObservableScheduler(RequestPriority priority) {
+        return (ObservableTransformer<T, T>) OBSERVABLE_SCHEDULERS[priority.ordinal()];
     }
 
     /**
@@ -54,18 +70,64 @@ public class SchedulerTransformer {
      * @return Flowable转换器
      */
     public static <T> FlowableTransformer<T, T> getFlowableScheduler() {
-        return new FlowableTransformer<T, T>() {
-            @NonNull
-            @Override
-            public Flowable<T> apply(@NonNull Flowable<T> flowable) {
-                return flowable
-                        //这仅影响Observable订阅时使用的线程，并且它将保留在下游,如果流中有多个实例subscribeOn，则只有第一个具有实际效果
-                        .subscribeOn(Schedulers.io())
-                        //指定下游运算所在的线程，使用observeOn所指定的线程来操作的后续切换和数据流推送
-                        .observeOn(AndroidSchedulers.mainThread())
-                        //解绑上次的线程
-                        .unsubscribeOn(Schedulers.io());
-            }
-        };
+        return getFlowableScheduler(RequestPriority.NORMAL);
+    }
+
+    /**
+     * Flowable按请求优先级处理线程切换调度的转换器，描述同上
+     *
+     * @param priority 请求优先级
+     * @param <T>      泛型
+     * @return Flowable转换器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FlowableTransformer<T, T> getFlowableScheduler(RequestPriority priority) {
+        return (FlowableTransformer<T, T>) FLOWABLE_SCHEDULERS[priority.ordinal()];
+    }
+
+    /**
+     * Observable线程调度转换器，与数据类型无关，每个优先级共用一个实例
+     */
+    private static final class ObservableScheduler implements ObservableTransformer<Object, Object> {
+
+        private final RequestPriority priority;
+
+        ObservableScheduler(RequestPriority priority) {
+            this.priority = priority;
+        }
+
+        @NonNull
+        @Override
+        public Observable<Object> apply(@NonNull Observable<Object> observable) {
+            return observable
+                    //这仅影响Observable订阅时使用的线程，并且它将保留在下游,如果流中有多个实例subscribeOn，则只有第一个具有实际效果
+                    //调度器在组装时获取，NetworkScheduler.setExecutor()替换执行器后立即生效
+                    .subscribeOn(PrioritySchedulers.get(priority))
+                    //指定下游运算所在的线程，使用observeOn所指定的线程来操作的后续切换和数据流推送
+                    .observeOn(AndroidSchedulers.mainThread())
+                    //解绑上次的线程
+                    .unsubscribeOn(NetworkScheduler.io());
+        }
+    }
+
+    /**
+     * Flowable线程调度转换器，描述同上
+     */
+    private static final class FlowableScheduler implements FlowableTransformer<Object, Object> {
+
+        private final RequestPriority priority;
+
+        FlowableScheduler(RequestPriority priority) {
+            this.priority = priority;
+        }
+
+        @NonNull
+        @Override
+        public Flowable<Object> apply(@NonNull Flowable<Object> flowable) {
+            return flowable
+                    .subscribeOn(PrioritySchedulers.get(priority))
+                    .observeOn(AndroidSchedulers.mainThread())
+                    .unsubscribeOn(NetworkScheduler.io());
+        }
     }
 }
@@ -0,0 +1,204 @@
+package zsdev.work.network.scheduler;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import zsdev.work.network.metrics.Histogram;
+
+/**
+ * Created: by 2026-10-18 20:00
+ * Description: 网络模块的IO调度器，替代Schedulers.io()
+ * Schedulers.io()是无上限的缓存线程池，突发请求时会创建大量线程（每个约1MB栈），且大多阻塞在网络上；
+ * 默认使用固定上限的线程池，线程命名为NetworkIO-n，超出的任务排队。统计排队数、执行中线程数与任务等待时间，
+ * 可通过setExecutor()替换为调用方的执行器（如应用已有的IO线程池），统计同样生效。
+ * 下载分段等长时间阻塞的传输使用transfer()，不占用普通请求的线程。
+ * Author: 张松
+ */
+public final class NetworkScheduler {
+
+    /**
+     * 默认线程数上限
+     */
+    public static final int DEFAULT_MAX_THREADS = 16;
+
+    /**
+     * 传输调度器线程数上限
+     */
+    public static final int MAX_TRANSFER_THREADS = 8;
+
+    /**
+     * 空闲线程保活时间
+     */
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static final NetworkScheduler INSTANCE = new NetworkScheduler();
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong startedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    /**
+     * 任务等待时间/μs
+     */
+    private final Histogram waitTime = new Histogram();
+
+    /**
+     * 当前执行器与调度器，替换执行器时一起更新
+     */
+    private volatile Executor executor;
+    private volatile Scheduler scheduler;
+
+    private NetworkScheduler() {
+        install(newDefaultExecutor(DEFAULT_MAX_THREADS));
+    }
+
+    /**
+     * 传输调度器延迟创建
+     */
+    private static final class TransferHolder {
+        static final Scheduler TRANSFER = newTransferScheduler("NetworkTransfer", MAX_TRANSFER_THREADS);
+    }
+
+    /**
+     * 获取网络调度器
+     *
+     * @return 调度器
+     */
+    public static Scheduler io() {
+        return INSTANCE.scheduler;
+    }
+
+    /**
+     * 获取传输调度器，用于整个传输期间阻塞线程的任务（如下载分段），线程数固定上限，超出的任务排队，不影响io()上的请求
+     *
+     * @return 调度器
+     */
+    public static Scheduler transfer() {
+        return TransferHolder.TRANSFER;
+    }
+
+    /**
+     * 创建独立的传输调度器，线程数即同时执行的传输数，超出的任务在调度器中排队而不占用线程
+     *
+     * @param name       线程名前缀，线程命名为name-n
+     * @param maxThreads 线程数上限
+     * @return 调度器，取消订阅时中断正在执行的任务
+     */
+    public static Scheduler newTransferScheduler(String name, int maxThreads) {
+        if (maxThreads <= 0) throw new IllegalArgumentException("maxThreads must be > 0!");
+        return Schedulers.from(newExecutor(name, maxThreads), true);
+    }
+
+    /**
+     * 替换执行器，之后的订阅使用新的执行器，已提交的任务仍在原执行器执行；原执行器由调用方负责关闭
+     *
+     * @param executor 调用方的执行器，为null恢复默认线程池
+     */
+    public static void setExecutor(Executor executor) {
+        INSTANCE.install(executor != null ? executor : newDefaultExecutor(DEFAULT_MAX_THREADS));
+        Log.i("NetworkScheduler", "setExecutor: " + INSTANCE.executor);
+    }
+
+    /**
+     * 使用指定线程数上限的默认线程池
+     *
+     * @param maxThreads 线程数上限
+     */
+    public static void setMaxThreads(int maxThreads) {
+        if (maxThreads <= 0) throw new IllegalArgumentException("maxThreads must be > 0!");
+        setExecutor(newDefaultExecutor(maxThreads));
+    }
+
+    /**
+     * 获取统计快照
+     *
+     * @return 统计快照
+     */
+    public static SchedulerStats getStats() {
+        NetworkScheduler instance = INSTANCE;
+        long queued = instance.submittedCount.get() - instance.startedCount.get() - instance.rejectedCount.get();
+        return new SchedulerStats((int) Math.max(0, queued), instance.activeCount.get(),
+                instance.completedCount.get(), instance.rejectedCount.get(), instance.waitTime.snapshot());
+    }
+
+    private void install(Executor executor) {
+        this.executor = executor;
+        //与Schedulers.io()一致，取消订阅时中断正在执行的任务
+        this.scheduler = Schedulers.from(new InstrumentedExecutor(executor), true);
+    }
+
+    /**
+     * 创建默认线程池：固定上限、空闲回收、无界队列
+     *
+     * @param maxThreads 线程数上限
+     * @return 线程池
+     */
+    private static ThreadPoolExecutor newDefaultExecutor(int maxThreads) {
+        return newExecutor("NetworkIO", maxThreads);
+    }
+
+    private static ThreadPoolExecutor newExecutor(String name, int maxThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 统计排队、执行与等待时间的执行器包装
+     */
+    private final class InstrumentedExecutor implements Executor {
+
+        private final Executor delegate;
+
+        InstrumentedExecutor(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            long submitNanos = System.nanoTime();
+            submittedCount.incrementAndGet();
+            try {
+                delegate.execute(() -> {
+                    startedCount.incrementAndGet();
+                    activeCount.incrementAndGet();
+                    waitTime.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - submitNanos));
+                    try {
+                        command.run();
+                    } finally {
+                        activeCount.decrementAndGet();
+                        completedCount.incrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejectedCount.incrementAndGet();
+                throw e;
+            }
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "InstrumentedExecutor{" + delegate + '}';
+        }
+    }
+}
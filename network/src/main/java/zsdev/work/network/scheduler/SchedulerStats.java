@@ -0,0 +1,74 @@
+package zsdev.work.network.scheduler;
+
+import androidx.annotation.NonNull;
+
+import zsdev.work.network.metrics.HistogramSnapshot;
+
+/**
+ * Created: by 2026-10-18 19:55
+ * Description: 网络调度器统计快照
+ * Author: 张松
+ */
+public final class SchedulerStats {
+
+    private final int queueDepth;
+    private final int activeCount;
+    private final long completedCount;
+    private final long rejectedCount;
+    private final HistogramSnapshot waitTime;
+
+    SchedulerStats(int queueDepth, int activeCount, long completedCount, long rejectedCount, HistogramSnapshot waitTime) {
+        this.queueDepth = queueDepth;
+        this.activeCount = activeCount;
+        this.completedCount = completedCount;
+        this.rejectedCount = rejectedCount;
+        this.waitTime = waitTime;
+    }
+
+    /**
+     * @return 已提交但尚未开始执行的任务数
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * @return 正在执行任务的线程数
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * @return 已执行完成的任务数
+     */
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     * @return 被执行器拒绝的任务数
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * @return 任务从提交到开始执行的等待时间/μs
+     */
+    public HistogramSnapshot getWaitTime() {
+        return waitTime;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "SchedulerStats{" +
+                "queueDepth=" + queueDepth +
+                ", active=" + activeCount +
+                ", completed=" + completedCount +
+                ", rejected=" + rejectedCount +
+                ", waitTime=" + waitTime +
+                '}';
+    }
+}
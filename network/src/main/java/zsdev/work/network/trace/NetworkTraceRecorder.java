@@ -0,0 +1,269 @@
+package zsdev.work.network.trace;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+
+/**
+ * Created: by 2026-10-18 15:20
+ * Description: 网络请求追踪记录器
+ * 作为OkHttpClient的EventListener.Factory，记录每次请求的各阶段耗时、请求/响应大小、缓存状态与请求/响应头，
+ * 保存在固定容量的环形缓冲区中，超出容量覆盖最旧的记录，不记录请求体、响应体内容。
+ * 需要时调用exportHar()导出HAR 1.2格式的JSON文件，可导入Chrome DevTools、Charles等工具查看或对比，导出时对敏感请求头脱敏。
+ * Author: 张松
+ */
+public class NetworkTraceRecorder implements EventListener.Factory {
+
+    /**
+     * 默认最多保存的记录数
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 200;
+
+    /**
+     * 默认脱敏的请求头/响应头（小写）
+     */
+    public static final Set<String> DEFAULT_REDACT_HEADERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "authorization", "proxy-authorization", "cookie", "set-cookie")));
+
+    /**
+     * 脱敏后的值
+     */
+    private static final String REDACTED = "██";
+
+    /**
+     * 环形缓冲区
+     */
+    private final TraceEntry[] entries;
+
+    /**
+     * 下一条记录写入的位置
+     */
+    private int next;
+
+    /**
+     * 当前记录数
+     */
+    private int size;
+
+    /**
+     * 需要脱敏的请求头/响应头（小写）
+     */
+    private final Set<String> redactHeaders;
+
+    public NetworkTraceRecorder() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_REDACT_HEADERS);
+    }
+
+    /**
+     * @param maxEntries    最多保存的记录数
+     * @param redactHeaders 需要脱敏的请求头/响应头，不区分大小写
+     */
+    public NetworkTraceRecorder(int maxEntries, Set<String> redactHeaders) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0!");
+        }
+        this.entries = new TraceEntry[maxEntries];
+        Set<String> names = new HashSet<>();
+        for (String name : redactHeaders) {
+            names.add(name.toLowerCase(Locale.US));
+        }
+        this.redactHeaders = names;
+    }
+
+    @NonNull
+    @Override
+    public EventListener create(@NonNull Call call) {
+        return new TraceEventListener(this);
+    }
+
+    /**
+     * 保存一条记录，超出容量覆盖最旧的记录
+     *
+     * @param entry 记录
+     */
+    synchronized void record(TraceEntry entry) {
+        entries[next] = entry;
+        next = (next + 1) % entries.length;
+        if (size < entries.length) {
+            size++;
+        }
+    }
+
+    /**
+     * 获取当前保存的记录，按请求结束的先后排序
+     *
+     * @return 记录集合
+     */
+    public synchronized List<TraceEntry> getEntries() {
+        List<TraceEntry> list = new ArrayList<>(size);
+        int start = (next - size + entries.length) % entries.length;
+        for (int i = 0; i < size; i++) {
+            list.add(entries[(start + i) % entries.length]);
+        }
+        return list;
+    }
+
+    /**
+     * 清空记录
+     */
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        next = 0;
+        size = 0;
+    }
+
+    /**
+     * 导出当前记录为HAR 1.2格式的JSON文件，先写入临时文件再重命名，导出过程中不影响新记录
+     * 涉及文件读写，请在子线程调用
+     *
+     * @param file 导出文件
+     * @throws IOException 写入异常
+     */
+    public void exportHar(File file) throws IOException {
+        List<TraceEntry> snapshot = getEntries();
+        File temp = new File(file.getAbsolutePath() + ".tmp");
+        try (JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), "UTF-8")))) {
+            writer.setIndent("  ");
+            writer.beginObject().name("log").beginObject();
+            writer.name("version").value("1.2");
+            writer.name("creator").beginObject().name("name").value("zsdev.network").name("version").value("1.0").endObject();
+            writer.name("entries").beginArray();
+            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+            dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+            for (TraceEntry entry : snapshot) {
+                writeEntry(writer, entry, dateFormat);
+            }
+            writer.endArray();
+            writer.endObject().endObject();
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Failed to rename " + temp + " to " + file);
+        }
+        Log.i("NetworkTraceRecorder", "exportHar: 已导出" + snapshot.size() + "条记录到" + file);
+    }
+
+    /**
+     * 写入一条HAR entry
+     *
+     * @param writer     JsonWriter
+     * @param entry      记录
+     * @param dateFormat ISO 8601时间格式
+     * @throws IOException 写入异常
+     */
+    private void writeEntry(JsonWriter writer, TraceEntry entry, SimpleDateFormat dateFormat) throws IOException {
+        String httpVersion = entry.protocol != null ? entry.protocol.toUpperCase(Locale.US) : "";
+        writer.beginObject();
+        writer.name("startedDateTime").value(dateFormat.format(new Date(entry.startedDateTimeMills)));
+        writer.name("time").value(nonNegative(entry.totalMills));
+
+        //请求
+        writer.name("request").beginObject();
+        writer.name("method").value(entry.method);
+        writer.name("url").value(entry.url);
+        writer.name("httpVersion").value(httpVersion);
+        writer.name("cookies").beginArray().endArray();
+        writeHeaders(writer, entry.requestHeaders);
+        writer.name("queryString").beginArray();
+        HttpUrl url = entry.url != null ? HttpUrl.parse(entry.url) : null;
+        if (url != null) {
+            for (int i = 0; i < url.querySize(); i++) {
+                writer.beginObject().name("name").value(url.queryParameterName(i))
+                        .name("value").value(String.valueOf(url.queryParameterValue(i))).endObject();
+            }
+        }
+        writer.endArray();
+        writer.name("headersSize").value(entry.requestHeaders != null ? entry.requestHeaders.byteCount() : -1);
+        writer.name("bodySize").value(entry.requestBodySize);
+        writer.endObject();
+
+        //响应
+        writer.name("response").beginObject();
+        writer.name("status").value(entry.code);
+        writer.name("statusText").value(entry.message != null ? entry.message : "");
+        writer.name("httpVersion").value(httpVersion);
+        writer.name("cookies").beginArray().endArray();
+        writeHeaders(writer, entry.responseHeaders);
+        writer.name("content").beginObject()
+                .name("size").value(Math.max(entry.responseBodySize, 0))
+                .name("mimeType").value(entry.mimeType != null ? entry.mimeType : "")
+                .endObject();
+        String location = entry.responseHeaders != null ? entry.responseHeaders.get("Location") : null;
+        writer.name("redirectURL").value(location != null ? location : "");
+        writer.name("headersSize").value(entry.responseHeaders != null ? entry.responseHeaders.byteCount() : -1);
+        writer.name("bodySize").value(entry.responseBodySize);
+        writer.endObject();
+
+        //缓存与各阶段耗时，HAR中connect包含ssl
+        writer.name("cache").beginObject().endObject();
+        writer.name("timings").beginObject()
+                .name("blocked").value(-1)
+                .name("dns").value(entry.dnsMills)
+                .name("connect").value(entry.connectMills)
+                .name("ssl").value(entry.sslMills)
+                .name("send").value(nonNegative(entry.sendMills))
+                .name("wait").value(nonNegative(entry.waitMills))
+                .name("receive").value(nonNegative(entry.receiveMills))
+                .endObject();
+
+        //自定义字段以下划线开头
+        writer.name("_cacheStatus").value(entry.cacheStatus);
+        writer.name("_connectionReused").value(entry.connectionReused);
+        if (entry.error != null) {
+            writer.name("_error").value(entry.error);
+        }
+        writer.endObject();
+    }
+
+    /**
+     * 写入请求头/响应头，敏感字段脱敏
+     *
+     * @param writer  JsonWriter
+     * @param headers 请求头/响应头
+     * @throws IOException 写入异常
+     */
+    private void writeHeaders(JsonWriter writer, Headers headers) throws IOException {
+        writer.name("headers").beginArray();
+        if (headers != null) {
+            for (int i = 0; i < headers.size(); i++) {
+                String name = headers.name(i);
+                String value = redactHeaders.contains(name.toLowerCase(Locale.US)) ? REDACTED : headers.value(i);
+                writer.beginObject().name("name").value(name).name("value").value(value).endObject();
+            }
+        }
+        writer.endArray();
+    }
+
+    /**
+     * HAR中send、wait、receive、time不能为负数，未发生时记为0
+     *
+     * @param mills 耗时/ms
+     * @return 耗时/ms
+     */
+    private static double nonNegative(double mills) {
+        return Math.max(mills, 0);
+    }
+}
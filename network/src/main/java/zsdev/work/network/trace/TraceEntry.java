@@ -0,0 +1,175 @@
+package zsdev.work.network.trace;
+
+import androidx.annotation.NonNull;
+
+import okhttp3.Headers;
+
+/**
+ * Created: by 2026-10-18 15:05
+ * Description: 单次请求的追踪记录，由TraceEventListener在请求结束时生成，记录后不再修改
+ * 各阶段耗时单位为毫秒，未发生的阶段（如复用连接时的DNS、连接、TLS）为-1
+ * 请求头、响应头保存原始Headers，导出时才按NetworkTraceRecorder的配置脱敏
+ * Author: 张松
+ */
+public final class TraceEntry {
+
+    /**
+     * 缓存状态：未使用缓存
+     */
+    public static final String CACHE_NONE = "none";
+
+    /**
+     * 缓存状态：命中
+     */
+    public static final String CACHE_HIT = "hit";
+
+    /**
+     * 缓存状态：未命中
+     */
+    public static final String CACHE_MISS = "miss";
+
+    /**
+     * 缓存状态：条件请求后命中（服务器响应304）
+     */
+    public static final String CACHE_CONDITIONAL_HIT = "conditional-hit";
+
+    /**
+     * 缓存状态：要求只读缓存但无可用缓存（响应504）
+     */
+    public static final String CACHE_UNSATISFIABLE = "unsatisfiable";
+
+    long startedDateTimeMills;
+    String method;
+    String url;
+    String protocol;
+    int code;
+    String message;
+    Headers requestHeaders;
+    Headers responseHeaders;
+    long requestBodySize = -1;
+    long responseBodySize = -1;
+    String mimeType;
+    String cacheStatus = CACHE_NONE;
+    boolean connectionReused;
+    double dnsMills = -1;
+    double connectMills = -1;
+    double sslMills = -1;
+    double sendMills = -1;
+    double waitMills = -1;
+    double receiveMills = -1;
+    double totalMills = -1;
+    String error;
+
+    TraceEntry() {
+    }
+
+    public long getStartedDateTimeMills() {
+        return startedDateTimeMills;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * @return 响应状态码，请求失败为0
+     */
+    public int getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Headers getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    public Headers getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    public long getRequestBodySize() {
+        return requestBodySize;
+    }
+
+    public long getResponseBodySize() {
+        return responseBodySize;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public String getCacheStatus() {
+        return cacheStatus;
+    }
+
+    public boolean isConnectionReused() {
+        return connectionReused;
+    }
+
+    public double getDnsMills() {
+        return dnsMills;
+    }
+
+    public double getConnectMills() {
+        return connectMills;
+    }
+
+    public double getSslMills() {
+        return sslMills;
+    }
+
+    public double getSendMills() {
+        return sendMills;
+    }
+
+    public double getWaitMills() {
+        return waitMills;
+    }
+
+    public double getReceiveMills() {
+        return receiveMills;
+    }
+
+    public double getTotalMills() {
+        return totalMills;
+    }
+
+    /**
+     * @return 请求失败的异常信息，成功为null
+     */
+    public String getError() {
+        return error;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "TraceEntry{" +
+                "method='" + method + '\'' +
+                ", url='" + url + '\'' +
+                ", code=" + code +
+                ", cacheStatus='" + cacheStatus + '\'' +
+                ", connectionReused=" + connectionReused +
+                ", dnsMills=" + dnsMills +
+                ", connectMills=" + connectMills +
+                ", sslMills=" + sslMills +
+                ", sendMills=" + sendMills +
+                ", waitMills=" + waitMills +
+                ", receiveMills=" + receiveMills +
+                ", totalMills=" + totalMills +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,188 @@
+package zsdev.work.network.trace;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Created: by 2026-10-18 15:10
+ * Description: 请求追踪的事件监听，每个Call一个实例，只记录时间戳与对象引用，请求结束时生成TraceEntry交给NetworkTraceRecorder
+ * 重试、重定向时各阶段记录最后一次
+ * Author: 张松
+ */
+class TraceEventListener extends EventListener {
+
+    private final NetworkTraceRecorder recorder;
+
+    private final TraceEntry entry = new TraceEntry();
+
+    private long callStartNanos;
+    private long dnsStartNanos;
+    private long connectStartNanos;
+    private long secureConnectStartNanos;
+    private long sendStartNanos;
+    private long sendEndNanos;
+    private long responseHeadersStartNanos;
+    private boolean connectStarted;
+
+    TraceEventListener(NetworkTraceRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStartNanos = System.nanoTime();
+        entry.startedDateTimeMills = System.currentTimeMillis();
+        Request request = call.request();
+        entry.method = request.method();
+        entry.url = request.url().toString();
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> inetAddressList) {
+        entry.dnsMills = elapsedMills(dnsStartNanos);
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+        connectStarted = true;
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        secureConnectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+        entry.sslMills = elapsedMills(secureConnectStartNanos);
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy, Protocol protocol) {
+        entry.connectMills = elapsedMills(connectStartNanos);
+    }
+
+    @Override
+    public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+        entry.connectionReused = !connectStarted;
+        entry.protocol = connection.protocol().toString();
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        sendStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+        sendEndNanos = System.nanoTime();
+        entry.requestHeaders = request.headers();
+        entry.requestBodySize = 0;
+    }
+
+    @Override
+    public void requestBodyEnd(@NonNull Call call, long byteCount) {
+        sendEndNanos = System.nanoTime();
+        entry.requestBodySize = byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        responseHeadersStartNanos = System.nanoTime();
+        entry.sendMills = toMills(sendEndNanos - sendStartNanos);
+        entry.waitMills = toMills(responseHeadersStartNanos - sendEndNanos);
+    }
+
+    @Override
+    public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+        entry.code = response.code();
+        entry.message = response.message();
+        entry.protocol = response.protocol().toString();
+        entry.responseHeaders = response.headers();
+        entry.mimeType = response.header("Content-Type");
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        entry.responseBodySize = byteCount;
+        entry.receiveMills = elapsedMills(responseHeadersStartNanos);
+    }
+
+    @Override
+    public void cacheHit(@NonNull Call call, @NonNull Response response) {
+        entry.cacheStatus = TraceEntry.CACHE_HIT;
+        entry.code = response.code();
+        entry.message = response.message();
+        entry.responseHeaders = response.headers();
+        entry.mimeType = response.header("Content-Type");
+    }
+
+    @Override
+    public void cacheMiss(@NonNull Call call) {
+        entry.cacheStatus = TraceEntry.CACHE_MISS;
+    }
+
+    @Override
+    public void cacheConditionalHit(@NonNull Call call, @NonNull Response cachedResponse) {
+        entry.cacheStatus = TraceEntry.CACHE_CONDITIONAL_HIT;
+    }
+
+    @Override
+    public void satisfactionFailure(@NonNull Call call, @NonNull Response response) {
+        entry.cacheStatus = TraceEntry.CACHE_UNSATISFIABLE;
+        entry.code = response.code();
+        entry.message = response.message();
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        entry.totalMills = elapsedMills(callStartNanos);
+        recorder.record(entry);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        entry.totalMills = elapsedMills(callStartNanos);
+        entry.error = ioe.toString();
+        recorder.record(entry);
+    }
+
+    /**
+     * 计算从开始时间到当前的耗时
+     *
+     * @param startNanos 开始时间/ns
+     * @return 耗时/ms
+     */
+    private static double elapsedMills(long startNanos) {
+        return toMills(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 纳秒转换为毫秒，保留小数
+     *
+     * @param nanos 时间/ns
+     * @return 时间/ms
+     */
+    private static double toMills(long nanos) {
+        return nanos / 1_000_000d;
+    }
+}
@@ -0,0 +1,93 @@
+package zsdev.work.network.upload;
+
+import androidx.annotation.NonNull;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+import okio.Throttler;
+
+/**
+ * Created: by 2026-10-18 23:05
+ * Description: 文件请求体：从文件的指定位置读取指定长度，经Okio直接读入请求的发送缓冲区，不把文件读入内存
+ * 每写出一段即累加到共用的进度计数；OkHttp重试重新写出请求体时，先扣除上次已计入的字节数
+ * throttler不为null时经其限速，同一Throttler的所有请求体合计不超过其带宽
+ * Author: 张松
+ */
+public class FileRequestBody extends RequestBody {
+
+    /**
+     * 每次读取的字节数，与Okio的Segment大小一致
+     */
+    private static final long READ_BYTE_COUNT = 8192;
+
+    private final File file;
+    private final MediaType contentType;
+    private final long offset;
+    private final long length;
+    private final AtomicLong progress;
+    private final Throttler throttler;
+
+    /**
+     * 本请求体已计入progress的字节数
+     */
+    private long written;
+
+    /**
+     * @param file        文件
+     * @param contentType 媒体类型
+     * @param offset      起始位置
+     * @param length      长度
+     * @param progress    进度计数，可被多个请求体共用
+     * @param throttler   限速器，为null不限速
+     */
+    public FileRequestBody(File file, MediaType contentType, long offset, long length, AtomicLong progress, Throttler throttler) {
+        this.file = file;
+        this.contentType = contentType;
+        this.offset = offset;
+        this.length = length;
+        this.progress = progress;
+        this.throttler = throttler;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return length;
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        progress.addAndGet(-written);
+        written = 0;
+        BufferedSink target = throttler != null ? Okio.buffer(throttler.sink(sink)) : sink;
+        FileInputStream input = new FileInputStream(file);
+        try (Source source = Okio.source(input)) {
+            input.getChannel().position(offset);
+            long remaining = length;
+            while (remaining > 0) {
+                long read = source.read(target.getBuffer(), Math.min(remaining, READ_BYTE_COUNT));
+                if (read == -1) {
+                    throw new EOFException("File " + file + " ended before " + (offset + length));
+                }
+                target.emitCompleteSegments();
+                remaining -= read;
+                written += read;
+                progress.addAndGet(read);
+            }
+            target.emit();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package zsdev.work.network.upload;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okio.ByteString;
+import okio.Throttler;
+import retrofit2.HttpException;
+import retrofit2.Response;
+import zsdev.work.network.base.BaseApiService;
+
+/**
+ * Created: by 2026-10-18 23:15
+ * Description: 续传上传，协议为tus 1.0.0（核心协议 + creation扩展），服务端可使用tusd等实现，测试时可用MockWebServer按协议应答：
+ * （1）POST 创建地址，请求头Upload-Length、Upload-Metadata（filename），响应201与Location（上传地址）
+ * （2）HEAD 上传地址，响应Upload-Offset（服务器已接收的字节数）
+ * （3）PATCH 上传地址，请求头Upload-Offset，请求体Content-Type为application/offset+octet-stream，响应204与新的Upload-Offset
+ * 上传地址按（创建地址、文件路径、长度、修改时间）保存到续传记录，重新上传同一文件时先HEAD查询位置再继续；
+ * 每块失败后HEAD查询服务器实际接收的位置再重试，上传地址失效（404/410）时重新创建
+ * Author: 张松
+ */
+class ResumableUploadTask extends UploadTask {
+
+    private static final String TUS_VERSION = "1.0.0";
+    private static final String HEADER_TUS_RESUMABLE = "Tus-Resumable";
+    private static final String HEADER_UPLOAD_LENGTH = "Upload-Length";
+    private static final String HEADER_UPLOAD_OFFSET = "Upload-Offset";
+    private static final String HEADER_UPLOAD_METADATA = "Upload-Metadata";
+    private static final String HEADER_LOCATION = "Location";
+    private static final MediaType OFFSET_OCTET_STREAM = MediaType.get("application/offset+octet-stream");
+
+    private static final String KEY_ID = "id";
+    private static final String KEY_LOCATION = "location";
+
+    private final BaseApiService apiService;
+    private final UploadPolicy policy;
+    private final Throttler throttler;
+    private final File file;
+
+    /**
+     * 续传记录的标识：创建地址、文件路径、长度、修改时间，任一变化都重新创建上传
+     */
+    private final String journalId;
+
+    /**
+     * 续传记录目录为null时使用的内存记录，由UploadManager持有
+     */
+    private final Map<String, String> memoryJournal;
+
+    ResumableUploadTask(BaseApiService apiService, UploadPolicy policy, Throttler throttler, Map<String, String> memoryJournal, String createUrl, File file) {
+        super(createUrl, file.length());
+        this.apiService = apiService;
+        this.policy = policy;
+        this.throttler = throttler;
+        this.memoryJournal = memoryJournal;
+        this.file = file;
+        this.journalId = createUrl + "\n" + file.getAbsolutePath() + "\n" + file.length() + "\n" + file.lastModified();
+    }
+
+    /**
+     * 执行上传
+     *
+     * @return 上传地址
+     * @throws IOException 上传失败，续传记录保留
+     */
+    String run() throws IOException {
+        String location = loadLocation();
+        long offset = location != null ? queryOffset(location) : -1;
+        if (offset < 0) {
+            location = create();
+            offset = 0;
+            saveLocation(location);
+        } else {
+            Log.i("ResumableUploadTask", "续传：" + file.getName() + "，服务器已接收" + offset + "/" + totalBytes);
+        }
+        int failures = 0;
+        while (offset < totalBytes) {
+            uploadedBytes.set(offset);
+            long length = Math.min(policy.getChunkSize(), totalBytes - offset);
+            try {
+                offset = patch(location, offset, length);
+                failures = 0;
+            } catch (IOException e) {
+                if (Thread.currentThread().isInterrupted() || ++failures > policy.getMaxChunkRetries()) {
+                    throw e;
+                }
+                Log.i("ResumableUploadTask", "上传分块失败，查询服务器位置后重试：" + e);
+                offset = queryOffset(location);
+                if (offset < 0) {
+                    throw new IOException("Upload expired on server: " + location, e);
+                }
+            }
+        }
+        uploadedBytes.set(totalBytes);
+        removeLocation();
+        Log.i("ResumableUploadTask", "上传完成：" + file.getName() + "——>" + location);
+        return location;
+    }
+
+    /**
+     * 创建上传
+     *
+     * @return 上传地址
+     */
+    private String create() throws IOException {
+        Map<String, String> headers = tusHeaders();
+        headers.put(HEADER_UPLOAD_LENGTH, String.valueOf(totalBytes));
+        headers.put(HEADER_UPLOAD_METADATA, "filename " + ByteString.encodeUtf8(file.getName()).base64());
+        Response<Void> response = apiService.createUpload(url, headers).blockingFirst();
+        String location = response.headers().get(HEADER_LOCATION);
+        if (response.code() != 201 || location == null) {
+            throw new HttpException(response);
+        }
+        HttpUrl resolved = HttpUrl.get(url).resolve(location);
+        if (resolved == null) {
+            throw new IOException("Invalid upload location: " + location);
+        }
+        return resolved.toString();
+    }
+
+    /**
+     * 查询服务器已接收的位置
+     *
+     * @param location 上传地址
+     * @return 已接收字节数，上传地址失效时为-1
+     */
+    private long queryOffset(String location) throws IOException {
+        Response<Void> response = apiService.queryUpload(location, tusHeaders()).blockingFirst();
+        int code = response.code();
+        if (code == 403 || code == 404 || code == 410) {
+            return -1;
+        }
+        if (!response.isSuccessful()) {
+            throw new HttpException(response);
+        }
+        String length = response.headers().get(HEADER_UPLOAD_LENGTH);
+        if (length != null && Long.parseLong(length) != totalBytes) {
+            return -1;
+        }
+        return parseOffset(response);
+    }
+
+    /**
+     * 上传一块
+     *
+     * @return 服务器确认的新位置
+     */
+    private long patch(String location, long offset, long length) throws IOException {
+        Map<String, String> headers = tusHeaders();
+        headers.put(HEADER_UPLOAD_OFFSET, String.valueOf(offset));
+        FileRequestBody body = new FileRequestBody(file, OFFSET_OCTET_STREAM, offset, length, uploadedBytes, throttler);
+        Response<Void> response = apiService.patchUpload(location, headers, body).blockingFirst();
+        if (response.code() == 409) {
+            //位置不一致，按服务器位置继续
+            throw new IOException("Upload offset conflict at " + offset);
+        }
+        if (!response.isSuccessful()) {
+            throw new HttpException(response);
+        }
+        long newOffset = parseOffset(response);
+        if (newOffset <= offset || newOffset > offset + length) {
+            throw new IOException("Unexpected Upload-Offset " + newOffset + " after " + offset + "+" + length);
+        }
+        return newOffset;
+    }
+
+    private static long parseOffset(Response<Void> response) throws IOException {
+        String offset = response.headers().get(HEADER_UPLOAD_OFFSET);
+        if (offset == null) {
+            throw new IOException("Missing Upload-Offset header");
+        }
+        try {
+            return Long.parseLong(offset.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid Upload-Offset header: " + offset, e);
+        }
+    }
+
+    private static Map<String, String> tusHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(HEADER_TUS_RESUMABLE, TUS_VERSION);
+        return headers;
+    }
+
+    /* ********************************** 续传记录 *************************************/
+
+    private File journalFile() {
+        File directory = policy.getJournalDirectory();
+        return directory != null ? new File(directory, Integer.toHexString(journalId.hashCode()) + ".upload") : null;
+    }
+
+    private String loadLocation() {
+        File journalFile = journalFile();
+        if (journalFile == null) {
+            return memoryJournal.get(journalId);
+        }
+        if (!journalFile.exists()) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream(journalFile)) {
+            Properties properties = new Properties();
+            properties.load(in);
+            //哈希冲突或文件已变化时不使用
+            return journalId.equals(properties.getProperty(KEY_ID)) ? properties.getProperty(KEY_LOCATION) : null;
+        } catch (IOException e) {
+            Log.i("ResumableUploadTask", "续传记录无效，重新上传：" + e);
+            return null;
+        }
+    }
+
+    private void saveLocation(String location) {
+        File journalFile = journalFile();
+        if (journalFile == null) {
+            memoryJournal.put(journalId, location);
+            return;
+        }
+        File directory = journalFile.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            Log.i("ResumableUploadTask", "创建续传记录目录失败：" + directory);
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty(KEY_ID, journalId);
+        properties.setProperty(KEY_LOCATION, location);
+        try (OutputStream out = new FileOutputStream(journalFile)) {
+            properties.store(out, null);
+        } catch (IOException e) {
+            Log.i("ResumableUploadTask", "保存续传记录失败：" + e);
+        }
+    }
+
+    private void removeLocation() {
+        File journalFile = journalFile();
+        if (journalFile == null) {
+            memoryJournal.remove(journalId);
+        } else {
+            journalFile.delete();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package zsdev.work.network.upload;
+
+import java.io.File;
+import java.net.URLConnection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.ResponseBody;
+import okio.Throttler;
+import retrofit2.HttpException;
+import retrofit2.Response;
+import zsdev.work.network.base.BaseApiService;
+import zsdev.work.network.scheduler.NetworkScheduler;
+
+/**
+ * Created: by 2026-10-18 23:20
+ * Description: 文件上传：文件从磁盘经Okio直接写入请求（FileRequestBody），按进度回调间隔发送汇总进度
+ * （1）uploadMultipart()：multipart/form-data表单上传，一个请求包含多个文件
+ * （2）uploadResumable()：tus协议分块续传（见ResumableUploadTask），取消或失败后再次上传同一文件从服务器已接收的位置继续
+ * 同一实例的所有上传共用并发上限与带宽上限：上传在实例自己的调度器执行，线程数即并发上限，超出的上传排队而不占用线程
+ * 使用方式：
+ * new UploadManager(NetworkHelper.getApiServiceClass(context, baseUrl, false, true, false, BaseApiService.class), policy)
+ * .uploadResumable(createUrl, file).compose(SchedulerTransformer.getFlowableScheduler()).subscribe(...)
+ * Author: 张松
+ */
+public class UploadManager {
+
+    private static final MediaType OCTET_STREAM = MediaType.get("application/octet-stream");
+
+    private final BaseApiService apiService;
+
+    private final UploadPolicy policy;
+
+    /**
+     * 所有上传共用的限速器
+     */
+    private final Throttler throttler;
+
+    /**
+     * 执行上传的调度器，线程数为同时上传的文件数上限
+     */
+    private final Scheduler uploadScheduler;
+
+    /**
+     * 未设置续传记录目录时的上传地址记录
+     */
+    private final Map<String, String> memoryJournal = new ConcurrentHashMap<>();
+
+    public UploadManager(BaseApiService apiService) {
+        this(apiService, UploadPolicy.DEFAULT);
+    }
+
+    /**
+     * @param apiService 服务器URL对应的BaseApiService，需启用RxJava适配器
+     * @param policy     上传策略
+     */
+    public UploadManager(BaseApiService apiService, UploadPolicy policy) {
+        this.apiService = apiService;
+        this.policy = policy;
+        this.uploadScheduler = NetworkScheduler.newTransferScheduler("NetworkUpload", policy.getMaxConcurrentUploads());
+        if (policy.getMaxBytesPerSecond() > 0) {
+            throttler = new Throttler();
+            throttler.bytesPerSecond(policy.getMaxBytesPerSecond());
+        } else {
+            throttler = null;
+        }
+    }
+
+    /**
+     * 表单上传多个文件，订阅时开始
+     *
+     * @param url   上传地址
+     * @param files 表单字段名与文件
+     * @return 上传进度，完成进度的getResult()为响应体
+     */
+    public Flowable<UploadProgress> uploadMultipart(String url, Map<String, File> files) {
+        return Flowable.defer(() -> {
+            long totalBytes = 0;
+            for (File file : files.values()) {
+                totalBytes += file.length();
+            }
+            UploadTask task = new UploadTask(url, totalBytes);
+            MultipartBody.Builder builder = new MultipartBody.Builder().setType(MultipartBody.FORM);
+            for (Map.Entry<String, File> entry : files.entrySet()) {
+                File file = entry.getValue();
+                builder.addFormDataPart(entry.getKey(), file.getName(),
+                        new FileRequestBody(file, guessMediaType(file), 0, file.length(), task.uploadedBytes, throttler));
+            }
+            MultipartBody body = builder.build();
+            return withProgress(task, () -> {
+                Response<ResponseBody> response = apiService.uploadMultipart(url, body).blockingFirst();
+                try (ResponseBody responseBody = response.body()) {
+                    if (!response.isSuccessful() || responseBody == null) {
+                        throw new HttpException(response);
+                    }
+                    return responseBody.string();
+                }
+            });
+        });
+    }
+
+    /**
+     * 分块续传上传一个文件，订阅时开始
+     *
+     * @param createUrl 创建上传的地址（tus creation扩展的端点）
+     * @param file      文件
+     * @return 上传进度，完成进度的getResult()为服务器分配的上传地址
+     */
+    public Flowable<UploadProgress> uploadResumable(String createUrl, File file) {
+        return Flowable.defer(() -> {
+            ResumableUploadTask task = new ResumableUploadTask(apiService, policy, throttler, memoryJournal, createUrl, file);
+            return withProgress(task, task::run);
+        });
+    }
+
+    /**
+     * 在上传调度器执行上传，期间按间隔发送进度，最后发送完成进度
+     *
+     * @param task   上传任务
+     * @param upload 执行上传并返回结果
+     * @return 上传进度
+     */
+    private Flowable<UploadProgress> withProgress(UploadTask task, Callable<String> upload) {
+        Flowable<UploadProgress> done = Flowable.<String>create(emitter -> {
+            try {
+                String result = upload.call();
+                emitter.onNext(result);
+                emitter.onComplete();
+            } catch (Throwable e) {
+                //取消时线程被中断，异常不再发送
+                emitter.tryOnError(e);
+            }
+        }, BackpressureStrategy.LATEST)
+                .subscribeOn(uploadScheduler)
+                .map(task::complete);
+        Flowable<UploadProgress> ticks = Flowable.interval(policy.getProgressIntervalMills(), TimeUnit.MILLISECONDS, NetworkScheduler.io())
+                .onBackpressureDrop()
+                .map(tick -> task.progress());
+        //结束信号（完成进度或异常）只经done发送一次
+        return done.publish(shared -> Flowable.merge(ticks.takeUntil(shared.materialize()), shared))
+                .onBackpressureLatest();
+    }
+
+    private static MediaType guessMediaType(File file) {
+        String contentType = URLConnection.guessContentTypeFromName(file.getName());
+        MediaType mediaType = contentType != null ? MediaType.parse(contentType) : null;
+        return mediaType != null ? mediaType : OCTET_STREAM;
+    }
+}
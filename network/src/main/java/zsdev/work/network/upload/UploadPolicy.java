@@ -0,0 +1,83 @@
+package zsdev.work.network.upload;
+
+import java.io.File;
+
+/**
+ * Created: by 2026-10-18 23:00
+ * Description: 上传策略，不可变对象，通过UploadPolicyBuilder创建
+ * 同一UploadManager的上传共用并发上限与带宽上限；续传上传按chunkSize分块，每块失败后向服务器查询已接收位置再重试
+ * Author: 张松
+ */
+public class UploadPolicy {
+
+    /**
+     * 默认分块大小：4MB
+     */
+    static final long DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * 默认同时上传的文件数
+     */
+    static final int DEFAULT_MAX_CONCURRENT_UPLOADS = 2;
+
+    /**
+     * 默认进度回调间隔
+     */
+    static final long DEFAULT_PROGRESS_INTERVAL_MILLS = 200;
+
+    /**
+     * 默认每块重试次数
+     */
+    static final int DEFAULT_MAX_CHUNK_RETRIES = 3;
+
+    /**
+     * 默认策略
+     */
+    public static final UploadPolicy DEFAULT = new UploadPolicyBuilder().build();
+
+    private final long chunkSize;
+    private final int maxConcurrentUploads;
+    private final long maxBytesPerSecond;
+    private final long progressIntervalMills;
+    private final int maxChunkRetries;
+    private final File journalDirectory;
+
+    UploadPolicy(long chunkSize, int maxConcurrentUploads, long maxBytesPerSecond, long progressIntervalMills, int maxChunkRetries, File journalDirectory) {
+        this.chunkSize = chunkSize;
+        this.maxConcurrentUploads = maxConcurrentUploads;
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.progressIntervalMills = progressIntervalMills;
+        this.maxChunkRetries = maxChunkRetries;
+        this.journalDirectory = journalDirectory;
+    }
+
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getMaxConcurrentUploads() {
+        return maxConcurrentUploads;
+    }
+
+    /**
+     * @return 所有上传合计的带宽上限/byte每秒，0不限制
+     */
+    public long getMaxBytesPerSecond() {
+        return maxBytesPerSecond;
+    }
+
+    public long getProgressIntervalMills() {
+        return progressIntervalMills;
+    }
+
+    public int getMaxChunkRetries() {
+        return maxChunkRetries;
+    }
+
+    /**
+     * @return 续传记录目录，为null时只在当前UploadManager实例内续传
+     */
+    public File getJournalDirectory() {
+        return journalDirectory;
+    }
+}
@@ -0,0 +1,85 @@
+package zsdev.work.network.upload;
+
+import java.io.File;
+
+/**
+ * Created: by 2026-10-18 23:00
+ * Description: 上传策略的构建参数，未设置的参数使用UploadPolicy中的默认值
+ * Author: 张松
+ */
+public class UploadPolicyBuilder {
+
+    /**
+     * 续传上传每个PATCH请求的最大字节数
+     */
+    private long chunkSize = UploadPolicy.DEFAULT_CHUNK_SIZE;
+
+    /**
+     * 同时上传的最大文件数，超出的排队等待
+     */
+    private int maxConcurrentUploads = UploadPolicy.DEFAULT_MAX_CONCURRENT_UPLOADS;
+
+    /**
+     * 带宽上限，0不限制
+     */
+    private long maxBytesPerSecond;
+
+    /**
+     * 进度回调间隔
+     */
+    private long progressIntervalMills = UploadPolicy.DEFAULT_PROGRESS_INTERVAL_MILLS;
+
+    /**
+     * 每块连续失败的重试次数
+     */
+    private int maxChunkRetries = UploadPolicy.DEFAULT_MAX_CHUNK_RETRIES;
+
+    /**
+     * 续传记录目录，如new File(context.getFilesDir(), "MyNetworkUpload")
+     */
+    private File journalDirectory;
+
+    public UploadPolicyBuilder chunkSize(long chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public UploadPolicyBuilder maxConcurrentUploads(int maxConcurrentUploads) {
+        this.maxConcurrentUploads = maxConcurrentUploads;
+        return this;
+    }
+
+    public UploadPolicyBuilder maxBytesPerSecond(long maxBytesPerSecond) {
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        return this;
+    }
+
+    public UploadPolicyBuilder progressIntervalMills(long progressIntervalMills) {
+        this.progressIntervalMills = progressIntervalMills;
+        return this;
+    }
+
+    public UploadPolicyBuilder maxChunkRetries(int maxChunkRetries) {
+        this.maxChunkRetries = maxChunkRetries;
+        return this;
+    }
+
+    public UploadPolicyBuilder journalDirectory(File journalDirectory) {
+        this.journalDirectory = journalDirectory;
+        return this;
+    }
+
+    /**
+     * 构建上传策略
+     *
+     * @return 上传策略
+     */
+    public UploadPolicy build() {
+        if (chunkSize <= 0) throw new IllegalStateException("chunkSize must be > 0!");
+        if (maxConcurrentUploads <= 0) throw new IllegalStateException("maxConcurrentUploads must be > 0!");
+        if (maxBytesPerSecond < 0) throw new IllegalStateException("maxBytesPerSecond must be >= 0!");
+        if (progressIntervalMills <= 0) throw new IllegalStateException("progressIntervalMills must be > 0!");
+        if (maxChunkRetries < 0) throw new IllegalStateException("maxChunkRetries must be >= 0!");
+        return new UploadPolicy(chunkSize, maxConcurrentUploads, maxBytesPerSecond, progressIntervalMills, maxChunkRetries, journalDirectory);
+    }
+}
@@ -0,0 +1,76 @@
+package zsdev.work.network.upload;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Created: by 2026-10-18 23:05
+ * Description: 上传进度，不可变对象，按进度回调间隔发送
+ * Author: 张松
+ */
+public class UploadProgress {
+
+    private final String url;
+    private final long uploadedBytes;
+    private final long totalBytes;
+    private final long bytesPerSecond;
+    private final boolean completed;
+    private final String result;
+
+    UploadProgress(String url, long uploadedBytes, long totalBytes, long bytesPerSecond, boolean completed, String result) {
+        this.url = url;
+        this.uploadedBytes = uploadedBytes;
+        this.totalBytes = totalBytes;
+        this.bytesPerSecond = bytesPerSecond;
+        this.completed = completed;
+        this.result = result;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return 已写出的字节数，续传时包含服务器已接收的部分
+     */
+    public long getUploadedBytes() {
+        return uploadedBytes;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return 最近一个回调间隔内的上传速度/byte每秒
+     */
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public int getPercent() {
+        return totalBytes > 0 ? (int) (uploadedBytes * 100 / totalBytes) : 100;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return 上传结果，completed为true时有值：续传上传为服务器分配的上传地址，表单上传为响应体
+     */
+    public String getResult() {
+        return result;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "UploadProgress{" +
+                "url='" + url + '\'' +
+                ", uploaded=" + uploadedBytes +
+                ", total=" + totalBytes +
+                ", bytesPerSecond=" + bytesPerSecond +
+                ", completed=" + completed +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package zsdev.work.network.upload;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created: by 2026-10-18 23:10
+ * Description: 一次上传的进度状态，由UploadManager创建，每次订阅一个实例
+ * Author: 张松
+ */
+class UploadTask {
+
+    final String url;
+
+    final long totalBytes;
+
+    /**
+     * 已写出字节数，所有文件请求体共用
+     */
+    final AtomicLong uploadedBytes = new AtomicLong();
+
+    /**
+     * 以下字段由this锁保护，用于计算速度
+     */
+    private long lastProgressBytes;
+    private long lastProgressNanos = System.nanoTime();
+
+    UploadTask(String url, long totalBytes) {
+        this.url = url;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * 汇总当前进度
+     *
+     * @return 上传进度
+     */
+    synchronized UploadProgress progress() {
+        long now = System.nanoTime();
+        long uploaded = uploadedBytes.get();
+        long elapsedNanos = now - lastProgressNanos;
+        long bytesPerSecond = elapsedNanos > 0 ? Math.max(0, uploaded - lastProgressBytes) * TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+        lastProgressBytes = uploaded;
+        lastProgressNanos = now;
+        return new UploadProgress(url, uploaded, totalBytes, bytesPerSecond, false, null);
+    }
+
+    /**
+     * @param result 上传结果
+     * @return 完成进度
+     */
+    UploadProgress complete(String result) {
+        return new UploadProgress(url, totalBytes, totalBytes, 0, true, result);
+    }
+}
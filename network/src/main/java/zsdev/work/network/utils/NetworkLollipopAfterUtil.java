@@ -9,6 +9,13 @@ import android.os.Build;
 
 import androidx.annotation.RequiresApi;
 
+/**
+ * Android 6.0及以上 查询当前网络类型与可用状态
+ *
+ * @deprecated network模块已改用utils模块的ConnectivityMonitor，不再引用此类，保留仅为兼容旧调用；
+ * 请使用ConnectivityMonitor.getInstance(context).getSnapshot()
+ */
+@Deprecated
 @RequiresApi(api = Build.VERSION_CODES.M)
 public class NetworkLollipopAfterUtil {
 
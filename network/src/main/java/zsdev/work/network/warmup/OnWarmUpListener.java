@@ -0,0 +1,18 @@
+package zsdev.work.network.warmup;
+
+import java.util.List;
+
+/**
+ * Created: by 2026-10-18 09:22
+ * Description: 连接预热完成回调，回调运行在后台线程，更新UI需自行切换到主线程
+ * Author: 张松
+ */
+public interface OnWarmUpListener {
+
+    /**
+     * 全部服务器URL预热结束，不论成功与失败
+     *
+     * @param results 每个服务器URL的预热结果
+     */
+    void onWarmUpComplete(List<WarmUpResult> results);
+}
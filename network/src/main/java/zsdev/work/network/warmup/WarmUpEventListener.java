@@ -0,0 +1,93 @@
+package zsdev.work.network.warmup;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+/**
+ * Created: by 2026-10-18 09:25
+ * Description: 预热请求的事件监听，记录DNS、连接、TLS握手各阶段耗时到WarmUpResult
+ * Author: 张松
+ */
+public class WarmUpEventListener extends EventListener {
+
+    /**
+     * 预热结果
+     */
+    private final WarmUpResult result;
+
+    private long callStartNanos;
+    private long dnsStartNanos;
+    private long connectStartNanos;
+    private long secureConnectStartNanos;
+
+    public WarmUpEventListener(WarmUpResult result) {
+        this.result = result;
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStartNanos = System.nanoTime();
+        result.setHost(call.request().url().host());
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> inetAddressList) {
+        result.setDnsMills(elapsedMills(dnsStartNanos));
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        secureConnectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+        result.setTlsMills(elapsedMills(secureConnectStartNanos));
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy, Protocol protocol) {
+        result.setConnectMills(elapsedMills(connectStartNanos));
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        result.setTotalMills(elapsedMills(callStartNanos));
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        result.setTotalMills(elapsedMills(callStartNanos));
+    }
+
+    /**
+     * 计算从开始时间到当前的耗时
+     *
+     * @param startNanos 开始时间/ns
+     * @return 耗时/ms
+     */
+    private static long elapsedMills(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
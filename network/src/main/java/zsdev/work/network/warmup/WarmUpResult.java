@@ -0,0 +1,119 @@
+package zsdev.work.network.warmup;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Created: by 2026-10-18 09:20
+ * Description: 单个Host的连接预热结果，耗时单位均为毫秒，-1表示该阶段未发生（如连接池中已有可复用连接）
+ * Author: 张松
+ */
+public class WarmUpResult {
+
+    /**
+     * 服务器URL
+     */
+    private final String baseUrl;
+
+    /**
+     * 主机名
+     */
+    private String host;
+
+    /**
+     * DNS解析耗时
+     */
+    private long dnsMills = -1;
+
+    /**
+     * TCP连接耗时（包含TLS握手）
+     */
+    private long connectMills = -1;
+
+    /**
+     * TLS握手耗时
+     */
+    private long tlsMills = -1;
+
+    /**
+     * 预热总耗时
+     */
+    private long totalMills = -1;
+
+    /**
+     * 预热失败的异常
+     */
+    private Throwable throwable;
+
+    public WarmUpResult(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public boolean isSuccess() {
+        return throwable == null;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public long getDnsMills() {
+        return dnsMills;
+    }
+
+    public void setDnsMills(long dnsMills) {
+        this.dnsMills = dnsMills;
+    }
+
+    public long getConnectMills() {
+        return connectMills;
+    }
+
+    public void setConnectMills(long connectMills) {
+        this.connectMills = connectMills;
+    }
+
+    public long getTlsMills() {
+        return tlsMills;
+    }
+
+    public void setTlsMills(long tlsMills) {
+        this.tlsMills = tlsMills;
+    }
+
+    public long getTotalMills() {
+        return totalMills;
+    }
+
+    public void setTotalMills(long totalMills) {
+        this.totalMills = totalMills;
+    }
+
+    public Throwable getThrowable() {
+        return throwable;
+    }
+
+    public void setThrowable(Throwable throwable) {
+        this.throwable = throwable;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "WarmUpResult{" +
+                "host='" + host + '\'' +
+                ", dnsMills=" + dnsMills +
+                ", connectMills=" + connectMills +
+                ", tlsMills=" + tlsMills +
+                ", totalMills=" + totalMills +
+                ", throwable=" + throwable +
+                '}';
+    }
+}
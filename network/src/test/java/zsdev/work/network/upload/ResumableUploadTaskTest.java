@@ -0,0 +1,182 @@
+package zsdev.work.network.upload;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.HttpException;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
+import zsdev.work.network.base.BaseApiService;
+
+/**
+ * Created: by 2026-10-19 09:30
+ * Description: ResumableUploadTask续传位置恢复的测试，MockWebServer按tus 1.0.0协议应答
+ * Author: 张松
+ */
+public class ResumableUploadTaskTest {
+
+    private static final int FILE_LENGTH = 10;
+
+    @Rule
+    public final MockWebServer server = new MockWebServer();
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BaseApiService apiService;
+
+    private String createUrl;
+
+    private File file;
+
+    private byte[] content;
+
+    @Before
+    public void setUp() throws IOException {
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addCallAdapterFactory(RxJava3CallAdapterFactory.create())
+                .build()
+                .create(BaseApiService.class);
+        createUrl = server.url("/files/").toString();
+        content = new byte[FILE_LENGTH];
+        for (int i = 0; i < FILE_LENGTH; i++) {
+            content[i] = (byte) i;
+        }
+        file = temporaryFolder.newFile("data.bin");
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(content);
+        }
+    }
+
+    /**
+     * 上传中断后重新上传同一文件：按续传记录HEAD查询服务器位置，从该位置继续，不重新创建
+     */
+    @Test
+    public void resumesFromServerOffsetAfterRestart() throws Exception {
+        File journalDirectory = temporaryFolder.newFolder("journal");
+        UploadPolicy policy = new UploadPolicyBuilder().chunkSize(4).maxChunkRetries(0).journalDirectory(journalDirectory).build();
+
+        server.enqueue(new MockResponse().setResponseCode(201).setHeader("Location", "/files/1"));
+        server.enqueue(new MockResponse().setResponseCode(204).setHeader("Upload-Offset", "4"));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        try {
+            newTask(policy, new HashMap<>()).run();
+            fail("Expected the second chunk to fail");
+        } catch (HttpException expected) {
+            assertEquals(500, expected.code());
+        }
+        assertEquals("POST", takeRequest().getMethod());
+        assertPatch(takeRequest(), 0, 4);
+        assertPatch(takeRequest(), 4, 4);
+
+        server.enqueue(new MockResponse().setHeader("Upload-Offset", "4").setHeader("Upload-Length", FILE_LENGTH));
+        server.enqueue(new MockResponse().setResponseCode(204).setHeader("Upload-Offset", "8"));
+        server.enqueue(new MockResponse().setResponseCode(204).setHeader("Upload-Offset", FILE_LENGTH));
+        String location = newTask(policy, new HashMap<>()).run();
+
+        assertEquals(server.url("/files/1").toString(), location);
+        RecordedRequest head = takeRequest();
+        assertEquals("HEAD", head.getMethod());
+        assertEquals("/files/1", head.getPath());
+        assertPatch(takeRequest(), 4, 4);
+        assertPatch(takeRequest(), 8, 2);
+        assertEquals(6, server.getRequestCount());
+        //上传完成后删除续传记录
+        String[] journals = journalDirectory.list();
+        assertEquals(0, journals != null ? journals.length : -1);
+    }
+
+    /**
+     * 分块位置冲突（409）：HEAD查询服务器实际接收的位置，从该位置重传
+     */
+    @Test
+    public void recoversServerOffsetAfterChunkConflict() throws Exception {
+        UploadPolicy policy = new UploadPolicyBuilder().chunkSize(FILE_LENGTH).build();
+        Map<String, String> memoryJournal = new HashMap<>();
+
+        server.enqueue(new MockResponse().setResponseCode(201).setHeader("Location", "/files/2"));
+        server.enqueue(new MockResponse().setResponseCode(409));
+        server.enqueue(new MockResponse().setHeader("Upload-Offset", "6"));
+        server.enqueue(new MockResponse().setResponseCode(204).setHeader("Upload-Offset", FILE_LENGTH));
+        newTask(policy, memoryJournal).run();
+
+        assertEquals("POST", takeRequest().getMethod());
+        assertPatch(takeRequest(), 0, FILE_LENGTH);
+        assertEquals("HEAD", takeRequest().getMethod());
+        assertPatch(takeRequest(), 6, 4);
+        assertEquals(4, server.getRequestCount());
+        assertEquals(0, memoryJournal.size());
+    }
+
+    /**
+     * 上传地址已失效（404）：重新创建上传，从头开始
+     */
+    @Test
+    public void recreatesUploadWhenLocationExpired() throws Exception {
+        UploadPolicy policy = new UploadPolicyBuilder().chunkSize(FILE_LENGTH).build();
+        Map<String, String> memoryJournal = new HashMap<>();
+        ResumableUploadTask previous = newTask(policy, memoryJournal);
+        server.enqueue(new MockResponse().setResponseCode(201).setHeader("Location", "/files/3"));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        try {
+            previous.run();
+            fail("Expected the chunk to fail");
+        } catch (HttpException expected) {
+            assertEquals(500, expected.code());
+        }
+        takeRequest();
+        takeRequest();
+
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(new MockResponse().setResponseCode(201).setHeader("Location", "/files/4"));
+        server.enqueue(new MockResponse().setResponseCode(204).setHeader("Upload-Offset", FILE_LENGTH));
+        String location = newTask(policy, memoryJournal).run();
+
+        assertEquals(server.url("/files/4").toString(), location);
+        assertEquals("/files/3", takeRequest().getPath());
+        assertEquals("POST", takeRequest().getMethod());
+        assertPatch(takeRequest(), 0, FILE_LENGTH);
+        assertEquals(0, memoryJournal.size());
+    }
+
+    private ResumableUploadTask newTask(UploadPolicy policy, Map<String, String> memoryJournal) {
+        return new ResumableUploadTask(apiService, policy, null, memoryJournal, createUrl, file);
+    }
+
+    private RecordedRequest takeRequest() throws InterruptedException {
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        if (request == null) {
+            throw new AssertionError("No request received");
+        }
+        return request;
+    }
+
+    /**
+     * 校验PATCH请求的Upload-Offset与请求体为文件对应位置的内容
+     */
+    private void assertPatch(RecordedRequest request, int offset, int length) {
+        assertEquals("PATCH", request.getMethod());
+        assertEquals(String.valueOf(offset), request.getHeader("Upload-Offset"));
+        assertEquals("1.0.0", request.getHeader("Tus-Resumable"));
+        assertArrayEquals(Arrays.copyOfRange(content, offset, offset + length), request.getBody().readByteArray());
+    }
+}
@@ -0,0 +1,120 @@
+package zsdev.work.network.upload;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
+import zsdev.work.network.base.BaseApiService;
+import zsdev.work.network.scheduler.NetworkScheduler;
+
+/**
+ * Created: by 2026-10-19 14:10
+ * Description: UploadManager并发上限的测试：超出上限的上传排队，不占用NetworkScheduler.io()的线程
+ * Author: 张松
+ */
+public class UploadManagerTest {
+
+    private static final int MAX_CONCURRENT_UPLOADS = 2;
+
+    private static final int UPLOADS = 4;
+
+    @Rule
+    public final MockWebServer server = new MockWebServer();
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 服务器收到请求后阻塞，直到测试放行
+     */
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private UploadManager uploadManager;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        //只有一个NetworkIO线程：上传若占用该线程，其他任务无法执行
+        NetworkScheduler.setMaxThreads(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                int current = inFlight.incrementAndGet();
+                maxInFlight.accumulateAndGet(current, Math::max);
+                release.await(5, TimeUnit.SECONDS);
+                inFlight.decrementAndGet();
+                return new MockResponse().setBody("ok");
+            }
+        });
+        BaseApiService apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addCallAdapterFactory(RxJava3CallAdapterFactory.create())
+                .build()
+                .create(BaseApiService.class);
+        UploadPolicy policy = new UploadPolicyBuilder().maxConcurrentUploads(MAX_CONCURRENT_UPLOADS).build();
+        uploadManager = new UploadManager(apiService, policy);
+        file = temporaryFolder.newFile("data.bin");
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[16]);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        NetworkScheduler.setExecutor(null);
+    }
+
+    @Test
+    public void queuedUploadsDoNotHoldNetworkThreads() throws InterruptedException {
+        String url = server.url("/upload").toString();
+        @SuppressWarnings("unchecked")
+        TestSubscriber<UploadProgress>[] subscribers = new TestSubscriber[UPLOADS];
+        for (int i = 0; i < UPLOADS; i++) {
+            subscribers[i] = uploadManager.uploadMultipart(url, Collections.singletonMap("file", file)).test();
+        }
+        for (int i = 0; i < MAX_CONCURRENT_UPLOADS; i++) {
+            assertTrue("Upload did not start", server.takeRequest(5, TimeUnit.SECONDS) != null);
+        }
+
+        //上限内的上传阻塞在服务器，排队的上传不应开始，NetworkIO线程仍可执行其他任务
+        CountDownLatch ioTask = new CountDownLatch(1);
+        NetworkScheduler.io().scheduleDirect(ioTask::countDown);
+        assertTrue("NetworkIO thread is held by uploads", ioTask.await(1, TimeUnit.SECONDS));
+        assertEquals(MAX_CONCURRENT_UPLOADS, server.getRequestCount());
+
+        release.countDown();
+        for (TestSubscriber<UploadProgress> subscriber : subscribers) {
+            subscriber.awaitDone(5, TimeUnit.SECONDS);
+            subscriber.assertNoErrors().assertComplete();
+        }
+        assertEquals(UPLOADS, server.getRequestCount());
+        assertEquals(MAX_CONCURRENT_UPLOADS, maxInFlight.get());
+    }
+}
@@ -0,0 +1,231 @@
+package zsdev.work.utils.network.newnet;
+
+import android.annotation.SuppressLint;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkInfo;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Created: by 2026-10-18 14:15
+ * Description: 进程唯一的网络连接状态监听
+ * 首次获取实例时注册系统网络回调（Android 7.0及以上registerDefaultNetworkCallback，以下CONNECTIVITY_ACTION广播），之后不再注销。
+ * 网络变化时整体替换volatile快照，拦截器、订阅者等热点路径读取快照即可，无需每次跨进程查询ConnectivityManager。
+ * 界面监听请使用NetworkLiveData（已防抖、去重）。
+ * Author: 张松
+ */
+public class ConnectivityMonitor {
+
+    /**
+     * 单例
+     */
+    private static volatile ConnectivityMonitor connectivityMonitor;
+
+    /**
+     * 网络连接管理器
+     */
+    private final ConnectivityManager manager;
+
+    /**
+     * 最新网络连接状态快照
+     */
+    private volatile ConnectivitySnapshot snapshot;
+
+    /**
+     * 状态变化监听集合
+     */
+    private final List<OnConnectivityChangedListener> listeners = new CopyOnWriteArrayList<>();
+
+    private ConnectivityMonitor(Context context) {
+        manager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        //注册前先同步查询一次，避免回调到达前误判为无网络
+        snapshot = querySnapshot();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            manager.registerDefaultNetworkCallback(new DefaultNetworkCallback());
+        } else {
+            context.registerReceiver(new ConnectivityReceiver(), new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION));
+        }
+        Log.i("ConnectivityMonitor", "ConnectivityMonitor: 初始网络状态==" + snapshot);
+    }
+
+    /**
+     * 判空创建单例
+     *
+     * @param context 上下文
+     * @return ConnectivityMonitor单例对象
+     */
+    public static ConnectivityMonitor getInstance(Context context) {
+        if (connectivityMonitor == null) {
+            synchronized (ConnectivityMonitor.class) {
+                if (connectivityMonitor == null) {
+                    connectivityMonitor = new ConnectivityMonitor(context.getApplicationContext());
+                }
+            }
+        }
+        return connectivityMonitor;
+    }
+
+    /**
+     * 获取最新网络连接状态快照
+     *
+     * @return 快照
+     */
+    public ConnectivitySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 当前是否已连接网络
+     *
+     * @return 是否已连接
+     */
+    public boolean isOnline() {
+        return snapshot.isOnline();
+    }
+
+    /**
+     * 添加状态变化监听
+     *
+     * @param listener 监听
+     */
+    public void addListener(OnConnectivityChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 移除状态变化监听
+     *
+     * @param listener 监听
+     */
+    public void removeListener(OnConnectivityChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 更新快照，与上次相同时不通知
+     *
+     * @param newSnapshot 新快照
+     */
+    private void update(ConnectivitySnapshot newSnapshot) {
+        if (newSnapshot.equals(snapshot)) return;
+        snapshot = newSnapshot;
+        Log.i("ConnectivityMonitor", "update: 网络状态==" + newSnapshot);
+        for (OnConnectivityChangedListener listener : listeners) {
+            listener.onConnectivityChanged(newSnapshot);
+        }
+    }
+
+    /**
+     * 同步查询当前网络连接状态
+     *
+     * @return 快照
+     */
+    @SuppressLint("MissingPermission")
+    private ConnectivitySnapshot querySnapshot() {
+        if (manager == null) {
+            return ConnectivitySnapshot.OFFLINE;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            Network network = manager.getActiveNetwork();
+            NetworkCapabilities capabilities = network != null ? manager.getNetworkCapabilities(network) : null;
+            return capabilities != null ? fromCapabilities(capabilities) : ConnectivitySnapshot.OFFLINE;
+        }
+        NetworkInfo networkInfo = manager.getActiveNetworkInfo();
+        if (networkInfo == null || !networkInfo.isConnected()) {
+            return ConnectivitySnapshot.OFFLINE;
+        }
+        return new ConnectivitySnapshot(true, toTransport(networkInfo.getType()), manager.isActiveNetworkMetered(), true);
+    }
+
+    /**
+     * 由网络属性创建快照
+     *
+     * @param capabilities 网络属性
+     * @return 快照
+     */
+    @RequiresApi(api = Build.VERSION_CODES.M)
+    private static ConnectivitySnapshot fromCapabilities(NetworkCapabilities capabilities) {
+        int transport;
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)) {
+            transport = NetworkCapabilities.TRANSPORT_WIFI;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) {
+            transport = NetworkCapabilities.TRANSPORT_CELLULAR;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)) {
+            transport = NetworkCapabilities.TRANSPORT_ETHERNET;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_VPN)) {
+            transport = NetworkCapabilities.TRANSPORT_VPN;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_BLUETOOTH)) {
+            transport = NetworkCapabilities.TRANSPORT_BLUETOOTH;
+        } else {
+            transport = -1;
+        }
+        return new ConnectivitySnapshot(
+                capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET),
+                transport,
+                !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED),
+                capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED));
+    }
+
+    /**
+     * ConnectivityManager.TYPE_*转换为NetworkCapabilities.TRANSPORT_*
+     *
+     * @param type 网络类型
+     * @return 传输类型
+     */
+    private static int toTransport(int type) {
+        switch (type) {
+            case ConnectivityManager.TYPE_WIFI:
+                return NetworkCapabilities.TRANSPORT_WIFI;
+            case ConnectivityManager.TYPE_MOBILE:
+                return NetworkCapabilities.TRANSPORT_CELLULAR;
+            case ConnectivityManager.TYPE_ETHERNET:
+                return NetworkCapabilities.TRANSPORT_ETHERNET;
+            case ConnectivityManager.TYPE_VPN:
+                return NetworkCapabilities.TRANSPORT_VPN;
+            case ConnectivityManager.TYPE_BLUETOOTH:
+                return NetworkCapabilities.TRANSPORT_BLUETOOTH;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Android 7.0及以上默认网络回调，系统默认网络切换时也会回调
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private class DefaultNetworkCallback extends ConnectivityManager.NetworkCallback {
+
+        @Override
+        public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities networkCapabilities) {
+            update(fromCapabilities(networkCapabilities));
+        }
+
+        @Override
+        public void onLost(@NonNull Network network) {
+            update(ConnectivitySnapshot.OFFLINE);
+        }
+    }
+
+    /**
+     * Android 7.0以下网络变化广播
+     */
+    private class ConnectivityReceiver extends BroadcastReceiver {
+
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            update(querySnapshot());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package zsdev.work.utils.network.newnet;
+
+import android.net.NetworkCapabilities;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Created: by 2026-10-18 14:10
+ * Description: 网络连接状态快照，不可变对象，由ConnectivityMonitor在网络变化时整体替换
+ * Author: 张松
+ */
+public final class ConnectivitySnapshot {
+
+    /**
+     * 无网络
+     */
+    public static final ConnectivitySnapshot OFFLINE = new ConnectivitySnapshot(false, -1, false, false);
+
+    /**
+     * 是否已连接网络（具备INTERNET能力）
+     */
+    private final boolean online;
+
+    /**
+     * 传输类型，取值同NetworkCapabilities.TRANSPORT_*，无网络为-1
+     */
+    private final int transport;
+
+    /**
+     * 是否计费网络（通常为移动数据）
+     */
+    private final boolean metered;
+
+    /**
+     * 是否已验证可正常上网（NET_CAPABILITY_VALIDATED）
+     */
+    private final boolean validated;
+
+    public ConnectivitySnapshot(boolean online, int transport, boolean metered, boolean validated) {
+        this.online = online;
+        this.transport = transport;
+        this.metered = metered;
+        this.validated = validated;
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    public int getTransport() {
+        return transport;
+    }
+
+    public boolean isMetered() {
+        return metered;
+    }
+
+    public boolean isValidated() {
+        return validated;
+    }
+
+    /**
+     * 转换为界面使用的网络状态枚举
+     *
+     * @return 网络状态，蓝牙、VPN等其他传输类型为null
+     */
+    public NetworkState toNetworkState() {
+        if (!online) {
+            return NetworkState.NOT_NETWORK_CHECK;
+        }
+        switch (transport) {
+            case NetworkCapabilities.TRANSPORT_WIFI:
+                return NetworkState.WIFI;
+            case NetworkCapabilities.TRANSPORT_CELLULAR:
+                return NetworkState.MOBILE;
+            case NetworkCapabilities.TRANSPORT_ETHERNET:
+                return NetworkState.ETHERNET;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ConnectivitySnapshot)) return false;
+        ConnectivitySnapshot that = (ConnectivitySnapshot) o;
+        return online == that.online && transport == that.transport && metered == that.metered && validated == that.validated;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = online ? 1 : 0;
+        result = 31 * result + transport;
+        result = 31 * result + (metered ? 1 : 0);
+        result = 31 * result + (validated ? 1 : 0);
+        return result;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ConnectivitySnapshot{" +
+                "online=" + online +
+                ", transport=" + transport +
+                ", metered=" + metered +
+                ", validated=" + validated +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package zsdev.work.utils.network.newnet;
+
+/**
+ * Created: by 2026-10-18 14:12
+ * Description: 网络连接状态变化监听接口，回调运行在系统网络回调线程或主线程，不要执行耗时操作
+ * Author: 张松
+ */
+public interface OnConnectivityChangedListener {
+
+    /**
+     * 网络连接状态变化，快照与上次不同时才回调
+     *
+     * @param snapshot 最新网络连接状态快照
+     */
+    void onConnectivityChanged(ConnectivitySnapshot snapshot);
+}
@@ -0,0 +1,38 @@
+package zsdev.work.utils.ossaliyun;
+
+import com.alibaba.sdk.android.oss.ClientException;
+import com.alibaba.sdk.android.oss.ServiceException;
+
+/**
+ * Created: by 2026-10-18 23:58
+ * Description: 上传队列监听器，在队列工作线程回调
+ * Author: 张松
+ */
+public interface OnUploadQueueListener {
+
+    /**
+     * 上传进度
+     *
+     * @param task        任务
+     * @param currentSize 已上传大小
+     * @param totalSize   文件大小
+     */
+    void onProgress(OssUploadTask task, long currentSize, long totalSize);
+
+    /**
+     * 上传成功，内容相同的文件已上传过时不再上传文件内容
+     *
+     * @param task         任务
+     * @param deduplicated 是否由已上传的相同内容完成（同objectKey直接完成，不同objectKey在服务端复制）
+     */
+    void onSuccess(OssUploadTask task, boolean deduplicated);
+
+    /**
+     * 上传失败，不再自动重试
+     *
+     * @param task             任务
+     * @param clientException  本机客户端异常，可为null
+     * @param serviceException OSS服务端异常，可为null
+     */
+    void onFailure(OssUploadTask task, ClientException clientException, ServiceException serviceException);
+}
@@ -43,6 +43,26 @@ public class OssBuilder {
      */
     private String localFilePath;
 
+    /**
+     * 分片上传阈值：文件不小于此大小时使用分片并发上传，0不使用分片上传
+     */
+    private long multipartThreshold;
+
+    /**
+     * 分片大小，0使用默认值
+     */
+    private long partSize;
+
+    /**
+     * 分片上传并发数，0使用默认值
+     */
+    private int parallelism;
+
+    /**
+     * 分片上传断点目录，为null使用默认目录：context.getFilesDir()/OssCheckpoint
+     */
+    private String checkpointDirectory;
+
     public OssBuilder(Context context) {
         this.context = context;
     }
@@ -77,12 +97,37 @@ public class OssBuilder {
         return this;
     }
 
+    public OssBuilder multipartThreshold(long multipartThreshold) {
+        this.multipartThreshold = multipartThreshold;
+        return this;
+    }
+
+    public OssBuilder partSize(long partSize) {
+        this.partSize = partSize;
+        return this;
+    }
+
+    public OssBuilder parallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public OssBuilder checkpointDirectory(String checkpointDirectory) {
+        this.checkpointDirectory = checkpointDirectory;
+        return this;
+    }
+
     /**
      * 构建OSS工具构建对象
      *
      * @return 工具类对象
      */
     public OssManagerUtil build() {
-        return new OssManagerUtil(context, bucketName, accessKeyId, accessKeySecret, endPoint, objectKey, localFilePath);
+        if (multipartThreshold < 0 || partSize < 0 || parallelism < 0) {
+            throw new IllegalStateException("multipartThreshold, partSize and parallelism must be >= 0!");
+        }
+        OssManagerUtil ossManagerUtil = new OssManagerUtil(context, bucketName, accessKeyId, accessKeySecret, endPoint, objectKey, localFilePath);
+        ossManagerUtil.setMultipart(multipartThreshold, partSize, parallelism, checkpointDirectory);
+        return ossManagerUtil;
     }
 }
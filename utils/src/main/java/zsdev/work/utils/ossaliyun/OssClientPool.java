@@ -0,0 +1,250 @@
+package zsdev.work.utils.ossaliyun;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.alibaba.sdk.android.oss.ClientException;
+import com.alibaba.sdk.android.oss.OSS;
+import com.alibaba.sdk.android.oss.OSSClient;
+import com.alibaba.sdk.android.oss.common.auth.OSSCredentialProvider;
+import com.alibaba.sdk.android.oss.common.auth.OSSFederationCredentialProvider;
+import com.alibaba.sdk.android.oss.common.auth.OSSFederationToken;
+import com.alibaba.sdk.android.oss.common.auth.OSSPlainTextAKSKCredentialProvider;
+import com.alibaba.sdk.android.oss.common.auth.OSSStsTokenCredentialProvider;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created: by 2026-10-18 23:55
+ * Description: 进程唯一的OSSClient池，按EndPoint与凭证复用OSSClient（连接池、线程池随之复用），不再每次推送都创建
+ * 凭证在key中以SHA-256摘要表示，不保存明文。
+ * 固定STS凭证：每个EndPoint只保留一个OSSClient，传入新凭证时原地替换（STS每次签发的AccessKeyId都不同，按凭证区分会每次轮换泄漏一个OSSClient）
+ * 自动刷新的STS凭证：每分钟在后台线程检查一次，过期前5分钟内调用OssStsTokenProvider获取新凭证
+ * Author: 张松
+ */
+public class OssClientPool {
+
+    /**
+     * STS凭证检查间隔
+     */
+    private static final long REFRESH_CHECK_SECONDS = 60;
+
+    /**
+     * 摘要使用的字符集（StandardCharsets需API 19）
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * 单例
+     */
+    private static volatile OssClientPool ossClientPool;
+
+    /**
+     * OSSClient集合，key为EndPoint与凭证摘要。OSSClient自带线程池与连接池，创建时对Map加锁并再次检查，同一key只创建一次
+     */
+    private final Map<String, OSS> clientMap = new ConcurrentHashMap<>();
+
+    /**
+     * 固定STS凭证的OSSClient当前使用的凭证摘要，key同clientMap，仅在clientMap锁内访问
+     */
+    private final Map<String, String> stsCredentialMap = new HashMap<>();
+
+    /**
+     * 需要后台刷新的STS凭证，key同clientMap
+     */
+    private final Map<String, RefreshingCredentialProvider> refreshingProviderMap = new ConcurrentHashMap<>();
+
+    /**
+     * STS凭证刷新线程，首次创建自动刷新的客户端时启动
+     */
+    private volatile ScheduledExecutorService refresher;
+
+    private OssClientPool() {
+    }
+
+    /**
+     * 判空创建单例
+     *
+     * @return OssClientPool单例对象
+     */
+    public static OssClientPool getInstance() {
+        if (ossClientPool == null) {
+            synchronized (OssClientPool.class) {
+                if (ossClientPool == null) {
+                    ossClientPool = new OssClientPool();
+                }
+            }
+        }
+        return ossClientPool;
+    }
+
+    /**
+     * 获取AccessKey凭证的OSSClient
+     *
+     * @param context         上下文
+     * @param endPoint        EndPoint
+     * @param accessKeyId     access key id
+     * @param accessKeySecret access key secret
+     * @return OSSClient
+     */
+    public OSS getClient(Context context, String endPoint, String accessKeyId, String accessKeySecret) {
+        String key = endPoint + "\nak\n" + accessKeyId + "\n" + sha256(accessKeySecret);
+        synchronized (clientMap) {
+            OSS client = clientMap.get(key);
+            if (client == null) {
+                client = createClient(context, endPoint, new OSSPlainTextAKSKCredentialProvider(accessKeyId, accessKeySecret));
+                clientMap.put(key, client);
+            }
+            return client;
+        }
+    }
+
+    /**
+     * 获取固定STS凭证的OSSClient，同一EndPoint共用一个OSSClient，凭证与上次不同时原地替换凭证
+     * 凭证过期后传入新凭证即可，已开始的上传在替换后使用新凭证签名
+     *
+     * @param context         上下文
+     * @param endPoint        EndPoint
+     * @param accessKeyId     STS access key id
+     * @param accessKeySecret STS access key secret
+     * @param securityToken   STS security token
+     * @return OSSClient
+     */
+    public OSS getStsClient(Context context, String endPoint, String accessKeyId, String accessKeySecret, String securityToken) {
+        String key = endPoint + "\nsts";
+        String credential = sha256(accessKeyId + "\n" + accessKeySecret + "\n" + securityToken);
+        synchronized (clientMap) {
+            OSS client = clientMap.get(key);
+            if (client == null) {
+                client = createClient(context, endPoint, new OSSStsTokenCredentialProvider(accessKeyId, accessKeySecret, securityToken));
+                clientMap.put(key, client);
+            } else if (!credential.equals(stsCredentialMap.get(key))) {
+                Log.d("OssClientPool", "updateCredentialProvider: " + endPoint);
+                client.updateCredentialProvider(new OSSStsTokenCredentialProvider(accessKeyId, accessKeySecret, securityToken));
+            }
+            stsCredentialMap.put(key, credential);
+            return client;
+        }
+    }
+
+    /**
+     * 获取自动刷新STS凭证的OSSClient
+     *
+     * @param context       上下文
+     * @param endPoint      EndPoint
+     * @param credentialKey 凭证标识，如业务账号ID，相同标识共用同一个OSSClient与凭证
+     * @param tokenProvider STS临时凭证获取接口，同一标识只使用首次传入的实例
+     * @return OSSClient
+     */
+    public OSS getStsClient(Context context, String endPoint, String credentialKey, OssStsTokenProvider tokenProvider) {
+        String key = endPoint + "\nfederation\n" + credentialKey;
+        synchronized (clientMap) {
+            OSS client = clientMap.get(key);
+            if (client == null) {
+                RefreshingCredentialProvider provider = new RefreshingCredentialProvider(tokenProvider);
+                refreshingProviderMap.put(key, provider);
+                startRefresher();
+                client = createClient(context, endPoint, provider);
+                clientMap.put(key, client);
+            }
+            return client;
+        }
+    }
+
+    /**
+     * 移除OSSClient，如用户退出登录后移除其STS凭证
+     *
+     * @param endPoint      EndPoint
+     * @param credentialKey 自动刷新STS凭证的凭证标识
+     */
+    public void removeStsClient(String endPoint, String credentialKey) {
+        String key = endPoint + "\nfederation\n" + credentialKey;
+        synchronized (clientMap) {
+            refreshingProviderMap.remove(key);
+            clientMap.remove(key);
+        }
+    }
+
+    private static OSS createClient(Context context, String endPoint, OSSCredentialProvider credentialProvider) {
+        Log.d("OssClientPool", "createClient: " + endPoint);
+        return new OSSClient(context.getApplicationContext(), endPoint, credentialProvider);
+    }
+
+    /**
+     * 启动STS凭证刷新线程
+     */
+    private void startRefresher() {
+        if (refresher != null) {
+            return;
+        }
+        synchronized (this) {
+            if (refresher == null) {
+                ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "OssTokenRefresher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                executor.scheduleWithFixedDelay(this::refreshTokens, 0, REFRESH_CHECK_SECONDS, TimeUnit.SECONDS);
+                refresher = executor;
+            }
+        }
+    }
+
+    /**
+     * 检查全部STS凭证，即将过期的在此刷新
+     */
+    private void refreshTokens() {
+        for (RefreshingCredentialProvider provider : refreshingProviderMap.values()) {
+            try {
+                //SDK在凭证为空或过期前5分钟内才调用getFederationToken()
+                provider.getValidFederationToken();
+            } catch (ClientException e) {
+                Log.e("OssClientPool", "refreshTokens: " + e.getMessage());
+            } catch (RuntimeException e) {
+                Log.e("OssClientPool", "refreshTokens: " + e);
+            }
+        }
+    }
+
+    static String sha256(String value) {
+        try {
+            return toHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 委托OssStsTokenProvider获取凭证，缓存与过期判断由SDK的OSSFederationCredentialProvider完成
+     */
+    private static final class RefreshingCredentialProvider extends OSSFederationCredentialProvider {
+
+        private final OssStsTokenProvider tokenProvider;
+
+        RefreshingCredentialProvider(OssStsTokenProvider tokenProvider) {
+            this.tokenProvider = tokenProvider;
+        }
+
+        @Override
+        public OSSFederationToken getFederationToken() throws ClientException {
+            Log.d("OssClientPool", "getFederationToken: 刷新STS凭证");
+            return tokenProvider.getFederationToken();
+        }
+    }
+}
@@ -5,22 +5,36 @@ import android.util.Log;
 
 import com.alibaba.sdk.android.oss.ClientException;
 import com.alibaba.sdk.android.oss.OSS;
-import com.alibaba.sdk.android.oss.OSSClient;
 import com.alibaba.sdk.android.oss.ServiceException;
 import com.alibaba.sdk.android.oss.callback.OSSCompletedCallback;
-import com.alibaba.sdk.android.oss.common.auth.OSSCredentialProvider;
-import com.alibaba.sdk.android.oss.common.auth.OSSPlainTextAKSKCredentialProvider;
-import com.alibaba.sdk.android.oss.common.auth.OSSStsTokenCredentialProvider;
 import com.alibaba.sdk.android.oss.internal.OSSAsyncTask;
 import com.alibaba.sdk.android.oss.model.PutObjectRequest;
 import com.alibaba.sdk.android.oss.model.PutObjectResult;
 
+import java.io.File;
+
 /**
  * Created: by 2023-09-26 11:03
  * Description: 阿里云OSS对象存储工具类
  * Author: 张松
  */
 public class OssManagerUtil {
+
+    /**
+     * 默认分片大小：1MB
+     */
+    static final long DEFAULT_PART_SIZE = 1024 * 1024;
+
+    /**
+     * OSS最小分片大小：100KB
+     */
+    static final long MIN_PART_SIZE = 100 * 1024;
+
+    /**
+     * 默认分片上传并发数
+     */
+    static final int DEFAULT_PARALLELISM = 3;
+
     /**
      * 上下文
      */
@@ -71,6 +85,31 @@ public class OssManagerUtil {
      */
     private OSSAsyncTask mOSSAsyncTask;
 
+    /**
+     * 分片上传阈值，0不使用分片上传
+     */
+    private long mMultipartThreshold;
+
+    /**
+     * 分片大小
+     */
+    private long mPartSize = DEFAULT_PART_SIZE;
+
+    /**
+     * 分片上传并发数
+     */
+    private int mParallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * 分片上传断点目录
+     */
+    private File mCheckpointDirectory;
+
+    /**
+     * 分片上传任务
+     */
+    private OssMultipartUploader mMultipartUploader;
+
     public OssManagerUtil(Context context, String bucketName, String accessKeyId, String accessKeySecret, String endPoint, String objectKey, String localFilePath) {
         this.mContext = context;
         this.mBucketName = bucketName;
@@ -81,6 +120,23 @@ public class OssManagerUtil {
         this.mLocalFilePath = localFilePath;
     }
 
+    /**
+     * 设置分片上传：文件不小于阈值时按分片并发上传，中断后再次推送同一文件只上传缺失的分片，进度与结果仍经原监听器回调
+     *
+     * @param multipartThreshold  分片上传阈值，0不使用分片上传
+     * @param partSize            分片大小，0使用默认值1MB，不小于100KB
+     * @param parallelism         并发数，0使用默认值3
+     * @param checkpointDirectory 断点目录，为null使用默认目录：context.getFilesDir()/OssCheckpoint
+     */
+    public void setMultipart(long multipartThreshold, long partSize, int parallelism, String checkpointDirectory) {
+        this.mMultipartThreshold = multipartThreshold;
+        this.mPartSize = partSize > 0 ? Math.max(MIN_PART_SIZE, partSize) : DEFAULT_PART_SIZE;
+        this.mParallelism = parallelism > 0 ? parallelism : DEFAULT_PARALLELISM;
+        this.mCheckpointDirectory = checkpointDirectory != null
+                ? new File(checkpointDirectory)
+                : new File(mContext.getApplicationContext().getFilesDir(), "OssCheckpoint");
+    }
+
     /**
      * 设置推送文件进程监听器,推动将回调 onProgress(PutObjectRequest request, long currentSize, long totalSize)
      *
@@ -102,15 +158,13 @@ public class OssManagerUtil {
 
     /**
      * 将文件推入 oss,此方法为异步任务
+     * OSSClient从OssClientPool获取，相同EndPoint与凭证的推送共用同一个OSSClient
      */
     public void push() {
-        // 第一个参数：在【RAM访问控制】创建用户时分配的accessKeyId
-        // 第二个参数：在【RAM访问控制】创建用户时分配的accessKeySecret
-        OSSCredentialProvider ossCredentialProvider = new OSSPlainTextAKSKCredentialProvider(mAccessKeyId, mAccessKeySecret);
         // 第一个参数：上下文
         // 第二个参数：在OSS控制台创建好Bucket后，会有一个EndPoint(地域节点)，比如我这里的节点是：https://www.zsitking.top/
-        // 第三个参数：OSSCredentialProvider实力（初始化已携带 accessKeyId + accessKeySecret）
-        OSS oss = new OSSClient(mContext.getApplicationContext(), mEndPoint, ossCredentialProvider);
+        // 第三、四个参数：在【RAM访问控制】创建用户时分配的accessKeyId、accessKeySecret
+        OSS oss = OssClientPool.getInstance().getClient(mContext, mEndPoint, mAccessKeyId, mAccessKeySecret);
         onPush(oss);
     }
 
@@ -119,8 +173,20 @@ public class OssManagerUtil {
      */
     public void push(String accessKeyId, String accessKeySecret, String securityToken) {
         if (accessKeyId == null || accessKeySecret == null || securityToken == null) return;
-        OSSCredentialProvider credentialProvider = new OSSStsTokenCredentialProvider(accessKeyId, accessKeySecret, securityToken);
-        OSS oss = new OSSClient(mContext.getApplicationContext(), mEndPoint, credentialProvider);
+        OSS oss = OssClientPool.getInstance().getStsClient(mContext, mEndPoint, accessKeyId, accessKeySecret, securityToken);
+        onPush(oss);
+    }
+
+    /**
+     * 将文件推送 oss,此方法为异步任务
+     * STS凭证由OssClientPool在后台线程刷新，过期前自动获取新凭证
+     *
+     * @param credentialKey 凭证标识，如业务账号ID
+     * @param tokenProvider STS临时凭证获取接口
+     */
+    public void push(String credentialKey, OssStsTokenProvider tokenProvider) {
+        if (credentialKey == null || tokenProvider == null) return;
+        OSS oss = OssClientPool.getInstance().getStsClient(mContext, mEndPoint, credentialKey, tokenProvider);
         onPush(oss);
     }
 
@@ -130,6 +196,10 @@ public class OssManagerUtil {
      * @param oss OSS
      */
     private void onPush(OSS oss) {
+        if (mMultipartThreshold > 0 && new File(mLocalFilePath).length() >= mMultipartThreshold) {
+            onMultipartPush(oss);
+            return;
+        }
         //下面3个参数依次为 bucket名，Object名(OSS中的文件名)，上传文件本机路径
         // 第一个参数：OSS云存储创建的bucket桶名
         // 第二个参数：可以是一个文件路径：比如在bucket桶名中创建了一个文件夹为pic_data,那第二个参数传pic_data/OSS重名后的文件.后缀(重名覆盖问题，拼接时间戳)
@@ -186,12 +256,26 @@ public class OssManagerUtil {
     }
 
     /**
-     * 取消文件推送任务
+     * 分片推送，在独立线程中并发上传各分片
+     *
+     * @param oss OSS
+     */
+    private void onMultipartPush(OSS oss) {
+        mMultipartUploader = new OssMultipartUploader(oss, mBucketName, mObjectKey, mLocalFilePath, mPartSize, mParallelism,
+                mCheckpointDirectory, onPushProgressListener, onPushStateListener);
+        mMultipartUploader.start();
+    }
+
+    /**
+     * 取消文件推送任务，分片上传保留断点
      */
     public void cancelPush() {
         if (mOSSAsyncTask != null && !mOSSAsyncTask.isCanceled() && !mOSSAsyncTask.isCompleted()) {
             mOSSAsyncTask.cancel();
         }
+        if (mMultipartUploader != null) {
+            mMultipartUploader.cancel();
+        }
     }
 }
 
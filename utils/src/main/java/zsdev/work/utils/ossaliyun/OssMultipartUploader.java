@@ -0,0 +1,356 @@
+package zsdev.work.utils.ossaliyun;
+
+import android.util.Log;
+
+import com.alibaba.sdk.android.oss.ClientException;
+import com.alibaba.sdk.android.oss.OSS;
+import com.alibaba.sdk.android.oss.ServiceException;
+import com.alibaba.sdk.android.oss.model.CompleteMultipartUploadRequest;
+import com.alibaba.sdk.android.oss.model.CompleteMultipartUploadResult;
+import com.alibaba.sdk.android.oss.model.InitiateMultipartUploadRequest;
+import com.alibaba.sdk.android.oss.model.ListPartsRequest;
+import com.alibaba.sdk.android.oss.model.ListPartsResult;
+import com.alibaba.sdk.android.oss.model.PartETag;
+import com.alibaba.sdk.android.oss.model.PartSummary;
+import com.alibaba.sdk.android.oss.model.PutObjectRequest;
+import com.alibaba.sdk.android.oss.model.PutObjectResult;
+import com.alibaba.sdk.android.oss.model.UploadPartRequest;
+import com.alibaba.sdk.android.oss.model.UploadPartResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Created: by 2026-10-18 23:40
+ * Description: OSS分片并发上传，断点保存在本地文件中
+ * （1）初始化分片上传得到uploadId，文件按partSize切分，parallelism个线程并发上传各分片
+ * （2）每个分片完成后把uploadId与已完成分片的ETag写入断点文件；中断后再次上传同一文件（路径、长度、修改时间、分片大小相同）时，
+ * 用ListParts向服务器核对，只上传缺失的分片
+ * （3）全部分片完成后合并，删除断点文件；失败或取消时保留断点文件与服务器上的分片
+ * 进度为所有分片的合计，与普通上传一样经OnPushProgressListener回调，结果转换为PutObjectResult经OnPushStateListener回调。
+ * 断点文件的读写见OssUploadCheckpoint
+ * Author: 张松
+ */
+class OssMultipartUploader {
+
+    /**
+     * OSS单个文件最多10000个分片，文件过大时自动增大分片大小
+     */
+    private static final int MAX_PART_COUNT = 10000;
+
+    /**
+     * 每个分片网络异常后的重试次数
+     */
+    private static final int MAX_PART_RETRIES = 2;
+
+    private final OSS oss;
+    private final String bucketName;
+    private final String objectKey;
+    private final File file;
+    private final long partSize;
+    private final int parallelism;
+    private final OssUploadCheckpoint checkpoint;
+
+    /**
+     * 回调监听器使用的请求对象，描述本次上传的bucket、objectKey与本地文件
+     */
+    private final PutObjectRequest request;
+
+    private final OnPushProgressListener progressListener;
+    private final OnPushStateListener stateListener;
+
+    /**
+     * 各分片当前已上传字节数与合计
+     */
+    private final AtomicLongArray partProgress;
+    private final AtomicLong totalProgress = new AtomicLong();
+
+    /**
+     * 已完成分片的ETag，key为分片号，由this锁保护
+     */
+    private final Map<Integer, String> completedParts = new HashMap<>();
+
+    private volatile boolean cancelled;
+
+    private volatile ExecutorService partExecutor;
+
+    private String uploadId;
+
+    OssMultipartUploader(OSS oss, String bucketName, String objectKey, String localFilePath, long partSize, int parallelism,
+                         File checkpointDirectory, OnPushProgressListener progressListener, OnPushStateListener stateListener) {
+        this.oss = oss;
+        this.bucketName = bucketName;
+        this.objectKey = objectKey;
+        this.file = new File(localFilePath);
+        long length = file.length();
+        //向上取整保证不超过最大分片数
+        this.partSize = Math.max(partSize, (length + MAX_PART_COUNT - 1) / MAX_PART_COUNT);
+        this.parallelism = parallelism;
+        this.checkpoint = new OssUploadCheckpoint(checkpointDirectory, bucketName, objectKey, file, this.partSize);
+        this.request = new PutObjectRequest(bucketName, objectKey, localFilePath);
+        this.progressListener = progressListener;
+        this.stateListener = stateListener;
+        this.partProgress = new AtomicLongArray(getPartCount());
+    }
+
+    /**
+     * 开始上传，在独立线程执行
+     */
+    void start() {
+        Thread thread = new Thread(this::run, "OssMultipartUpload");
+        thread.start();
+    }
+
+    /**
+     * 取消上传，保留断点
+     */
+    void cancel() {
+        cancelled = true;
+        ExecutorService executor = partExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run() {
+        try {
+            PutObjectResult result = upload();
+            Log.d("OssMultipartUploader", "UploadSuccess: " + objectKey + ", ETag: " + result.getETag());
+            if (stateListener != null) {
+                stateListener.onSuccess(request, result);
+            }
+        } catch (ClientException e) {
+            Log.e("OssMultipartUploader", "UploadFailure: " + e.getMessage());
+            if (stateListener != null) {
+                stateListener.onFailure(request, e, null);
+            }
+        } catch (ServiceException e) {
+            Log.e("OssMultipartUploader", "UploadFailure: " + e.getErrorCode() + ", RequestId: " + e.getRequestId());
+            if (stateListener != null) {
+                stateListener.onFailure(request, null, e);
+            }
+        } catch (RuntimeException e) {
+            //独立线程中未捕获的异常会结束进程，转为失败回调
+            Log.e("OssMultipartUploader", "UploadFailure: " + e);
+            if (stateListener != null) {
+                stateListener.onFailure(request, new ClientException(e), null);
+            }
+        }
+    }
+
+    /**
+     * 在当前线程上传，OssUploadQueue的工作线程直接调用
+     *
+     * @return 合并结果转换的PutObjectResult
+     */
+    PutObjectResult upload() throws ClientException, ServiceException {
+        uploadId = checkpoint.load(completedParts);
+        if (uploadId != null) {
+            verifyCompletedParts();
+        }
+        if (uploadId == null) {
+            uploadId = oss.initMultipartUpload(new InitiateMultipartUploadRequest(bucketName, objectKey)).getUploadId();
+            checkpoint.save(uploadId, completedParts);
+        } else {
+            Log.d("OssMultipartUploader", "Resume: " + objectKey + ", completed parts: " + completedParts.size() + "/" + getPartCount());
+        }
+        uploadParts();
+        List<PartETag> partETags = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<Integer, String> entry : completedParts.entrySet()) {
+                partETags.add(new PartETag(entry.getKey(), entry.getValue()));
+            }
+        }
+        Collections.sort(partETags, (a, b) -> Integer.compare(a.getPartNumber(), b.getPartNumber()));
+        CompleteMultipartUploadResult complete = oss.completeMultipartUpload(
+                new CompleteMultipartUploadRequest(bucketName, objectKey, uploadId, partETags));
+        checkpoint.delete();
+        PutObjectResult result = new PutObjectResult();
+        result.setETag(complete.getETag());
+        result.setRequestId(complete.getRequestId());
+        result.setStatusCode(complete.getStatusCode());
+        result.setResponseHeader(complete.getResponseHeader());
+        return result;
+    }
+
+    /**
+     * 并发上传未完成的分片
+     */
+    private void uploadParts() throws ClientException, ServiceException {
+        List<Integer> pending = new ArrayList<>();
+        for (int partNumber = 1; partNumber <= getPartCount(); partNumber++) {
+            synchronized (this) {
+                if (completedParts.containsKey(partNumber)) {
+                    onPartProgress(partNumber, getPartLength(partNumber));
+                    continue;
+                }
+            }
+            pending.add(partNumber);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (cancelled) {
+            throw new ClientException("Multipart upload cancelled: " + objectKey);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, pending.size()));
+        partExecutor = executor;
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            FileChannel channel = randomAccessFile.getChannel();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int partNumber : pending) {
+                futures.add(executor.submit(() -> {
+                    uploadPart(channel, partNumber);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ServiceException) throw (ServiceException) cause;
+            if (cause instanceof ClientException) throw (ClientException) cause;
+            throw new ClientException(cause);
+        } catch (InterruptedException | CancellationException | RejectedExecutionException e) {
+            //RejectedExecutionException：cancel()已关闭线程池，submit被拒绝
+            throw new ClientException("Multipart upload cancelled: " + objectKey, e);
+        } catch (IOException e) {
+            throw new ClientException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+        if (cancelled) {
+            throw new ClientException("Multipart upload cancelled: " + objectKey);
+        }
+    }
+
+    /**
+     * 上传一个分片，网络异常时重试
+     */
+    private void uploadPart(FileChannel channel, int partNumber) throws ClientException, ServiceException, IOException {
+        byte[] content = readPart(channel, partNumber);
+        for (int attempt = 0; ; attempt++) {
+            if (cancelled) {
+                throw new ClientException("Multipart upload cancelled: " + objectKey);
+            }
+            UploadPartRequest uploadPartRequest = new UploadPartRequest(bucketName, objectKey, uploadId, partNumber);
+            uploadPartRequest.setPartContent(content);
+            uploadPartRequest.setProgressCallback((partRequest, currentSize, totalSize) -> onPartProgress(partNumber, currentSize));
+            try {
+                UploadPartResult result = oss.uploadPart(uploadPartRequest);
+                onPartProgress(partNumber, content.length);
+                synchronized (this) {
+                    completedParts.put(partNumber, result.getETag());
+                    checkpoint.save(uploadId, completedParts);
+                }
+                return;
+            } catch (ClientException e) {
+                onPartProgress(partNumber, 0);
+                if (cancelled || attempt >= MAX_PART_RETRIES) {
+                    throw e;
+                }
+                Log.d("OssMultipartUploader", "Part " + partNumber + " failed, retrying: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 读取分片内容，只有parallelism个分片同时在内存中
+     */
+    private byte[] readPart(FileChannel channel, int partNumber) throws IOException {
+        byte[] content = new byte[(int) getPartLength(partNumber)];
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        long position = (partNumber - 1) * partSize;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read == -1) {
+                throw new IOException("File " + file + " changed during upload");
+            }
+        }
+        return content;
+    }
+
+    /**
+     * 更新分片进度并回调合计进度
+     */
+    private void onPartProgress(int partNumber, long currentSize) {
+        long delta = currentSize - partProgress.getAndSet(partNumber - 1, currentSize);
+        long total = totalProgress.addAndGet(delta);
+        if (progressListener != null && delta != 0) {
+            progressListener.onProgress(request, total, file.length());
+        }
+    }
+
+    /**
+     * 与服务器核对断点中的已完成分片，只保留服务器上存在且ETag一致的分片；分片上传已失效时重新开始
+     */
+    private void verifyCompletedParts() throws ClientException, ServiceException {
+        Map<Integer, String> serverParts = new HashMap<>();
+        try {
+            Integer marker = null;
+            while (true) {
+                ListPartsRequest listPartsRequest = new ListPartsRequest(bucketName, objectKey, uploadId);
+                if (marker != null) {
+                    listPartsRequest.setPartNumberMarker(marker);
+                }
+                ListPartsResult result = oss.listParts(listPartsRequest);
+                for (PartSummary part : result.getParts()) {
+                    if (part.getSize() == getPartLength(part.getPartNumber())) {
+                        serverParts.put(part.getPartNumber(), part.getETag());
+                    }
+                }
+                if (!result.isTruncated()) {
+                    break;
+                }
+                marker = result.getNextPartNumberMarker();
+            }
+        } catch (ServiceException e) {
+            if (e.getStatusCode() == 404) {
+                //分片上传已被合并、取消或过期
+                Log.d("OssMultipartUploader", "Checkpoint expired: " + e.getErrorCode());
+                uploadId = null;
+                completedParts.clear();
+                checkpoint.delete();
+                return;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            Iterator<Map.Entry<Integer, String>> iterator = completedParts.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, String> entry = iterator.next();
+                if (!entry.getValue().equals(serverParts.get(entry.getKey()))) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private int getPartCount() {
+        long length = file.length();
+        return (int) Math.max(1, (length + partSize - 1) / partSize);
+    }
+
+    private long getPartLength(int partNumber) {
+        long start = (partNumber - 1) * partSize;
+        return Math.min(partSize, file.length() - start);
+    }
+}
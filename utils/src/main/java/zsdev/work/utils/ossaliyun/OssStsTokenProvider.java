@@ -0,0 +1,21 @@
+package zsdev.work.utils.ossaliyun;
+
+import com.alibaba.sdk.android.oss.ClientException;
+import com.alibaba.sdk.android.oss.common.auth.OSSFederationToken;
+
+/**
+ * Created: by 2026-10-18 23:55
+ * Description: STS临时凭证获取接口，通常向业务服务器请求，运行在后台线程
+ * OssClientPool在凭证过期前5分钟内于后台调用，上传请求不会因刷新凭证而等待
+ * Author: 张松
+ */
+public interface OssStsTokenProvider {
+
+    /**
+     * 获取新的STS临时凭证
+     *
+     * @return 临时凭证：new OSSFederationToken(accessKeyId, accessKeySecret, securityToken, expiration)
+     * @throws ClientException 获取失败
+     */
+    OSSFederationToken getFederationToken() throws ClientException;
+}
@@ -0,0 +1,102 @@
+package zsdev.work.utils.ossaliyun;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Created: by 2026-10-19 10:20
+ * Description: 分片上传的本地断点文件，记录uploadId与已完成分片的ETag
+ * 断点标识由bucket、objectKey、文件路径、长度、修改时间与分片大小组成，任一变化后断点失效。
+ * 先写临时文件再重命名，中断时不会留下写了一半的断点文件
+ * Author: 张松
+ */
+class OssUploadCheckpoint {
+
+    private static final String KEY_ID = "id";
+    private static final String KEY_UPLOAD_ID = "uploadId";
+    private static final String KEY_PART_PREFIX = "part.";
+
+    /**
+     * 断点标识，文件或分片大小变化后断点失效
+     */
+    private final String id;
+
+    private final File checkpointFile;
+
+    OssUploadCheckpoint(File checkpointDirectory, String bucketName, String objectKey, File file, long partSize) {
+        this.id = bucketName + "\n" + objectKey + "\n" + file.getAbsolutePath() + "\n" + file.length() + "\n" + file.lastModified() + "\n" + partSize;
+        this.checkpointFile = new File(checkpointDirectory, Integer.toHexString(id.hashCode()) + ".checkpoint");
+    }
+
+    /**
+     * 读取断点
+     *
+     * @param completedParts 读取到的已完成分片，key为分片号，value为ETag
+     * @return uploadId，断点不存在、已失效或已损坏时返回null且不填充completedParts
+     */
+    String load(Map<Integer, String> completedParts) {
+        if (!checkpointFile.exists()) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream(checkpointFile)) {
+            Properties properties = new Properties();
+            properties.load(in);
+            String uploadId = properties.getProperty(KEY_UPLOAD_ID);
+            if (!id.equals(properties.getProperty(KEY_ID)) || uploadId == null) {
+                return null;
+            }
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith(KEY_PART_PREFIX)) {
+                    completedParts.put(Integer.parseInt(name.substring(KEY_PART_PREFIX.length())), properties.getProperty(name));
+                }
+            }
+            return uploadId;
+        } catch (IOException | RuntimeException e) {
+            Log.e("OssUploadCheckpoint", "Invalid checkpoint, restart: " + e);
+            completedParts.clear();
+            return null;
+        }
+    }
+
+    /**
+     * 保存断点，调用方保证completedParts在保存期间不被修改
+     */
+    void save(String uploadId, Map<Integer, String> completedParts) {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_ID, id);
+        properties.setProperty(KEY_UPLOAD_ID, uploadId);
+        for (Map.Entry<Integer, String> entry : completedParts.entrySet()) {
+            properties.setProperty(KEY_PART_PREFIX + entry.getKey(), entry.getValue());
+        }
+        File directory = checkpointFile.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            Log.e("OssUploadCheckpoint", "Failed to create checkpoint directory: " + directory);
+            return;
+        }
+        File tmp = new File(checkpointFile.getPath() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            properties.store(out, null);
+        } catch (IOException e) {
+            Log.e("OssUploadCheckpoint", "Failed to save checkpoint: " + e);
+            return;
+        }
+        if (!tmp.renameTo(checkpointFile)) {
+            Log.e("OssUploadCheckpoint", "Failed to rename checkpoint: " + tmp);
+        }
+    }
+
+    /**
+     * 删除断点，分片上传完成或已失效时调用
+     */
+    void delete() {
+        checkpointFile.delete();
+    }
+}
@@ -0,0 +1,487 @@
+package zsdev.work.utils.ossaliyun;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.alibaba.sdk.android.oss.ClientException;
+import com.alibaba.sdk.android.oss.OSS;
+import com.alibaba.sdk.android.oss.ServiceException;
+import com.alibaba.sdk.android.oss.model.CopyObjectRequest;
+import com.alibaba.sdk.android.oss.model.PutObjectRequest;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import zsdev.work.utils.network.newnet.ConnectivityMonitor;
+import zsdev.work.utils.network.newnet.ConnectivitySnapshot;
+import zsdev.work.utils.network.newnet.OnConnectivityChangedListener;
+
+/**
+ * Created: by 2026-10-19 00:15
+ * Description: 持久化的OSS上传队列，通过OssUploadQueueBuilder创建
+ * （1）每个任务保存为队列目录中的一个文件，进程被杀后重新创建队列即加载未完成的任务，上传中的任务恢复为等待，分片上传从断点继续
+ * （2）同时上传的任务数不超过maxConcurrentUploads，网络异常的任务回到队尾，超过最大尝试次数后失败
+ * （3）上传前计算文件内容的SHA-256：同一bucket中已上传过相同内容时不再上传，objectKey不同时在服务端复制；
+ * 相同内容正在上传时等待其完成后再处理
+ * （4）unmeteredOnly为true时只在不计流量的网络上开始新任务，切换到计流量网络时进行中的任务继续完成
+ * 队列不保存凭证，重新创建时需传入OSSClient
+ * Author: 张松
+ */
+public class OssUploadQueue {
+
+    /**
+     * 默认同时上传的最大任务数
+     */
+    static final int DEFAULT_MAX_CONCURRENT_UPLOADS = 2;
+
+    /**
+     * 默认每个任务的最大尝试次数
+     */
+    static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final OSS oss;
+    private final String bucketName;
+    private final File directory;
+    private final File checkpointDirectory;
+    private final int maxConcurrentUploads;
+    private final int maxAttempts;
+    private final boolean unmeteredOnly;
+    private final long multipartThreshold;
+    private final long partSize;
+    private final int parallelism;
+
+    private final ConnectivityMonitor connectivityMonitor;
+
+    private final OnConnectivityChangedListener connectivityListener = snapshot -> dispatch();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "OssUploadQueue");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 以下字段由this锁保护
+     * tasks：全部任务，key为任务ID；pending：等待上传的任务
+     * uploadingHashes：正在上传的内容；waitingTasks：等待相同内容上传完成的任务，key为bucket与内容摘要
+     * uploadedKeys：已上传内容的objectKey，key为bucket与内容摘要
+     */
+    private final Map<String, OssUploadTask> tasks = new LinkedHashMap<>();
+    private final Deque<OssUploadTask> pending = new ArrayDeque<>();
+    private final Set<String> uploadingHashes = new HashSet<>();
+    private final Map<String, List<OssUploadTask>> waitingTasks = new HashMap<>();
+    private final Map<String, String> uploadedKeys = new HashMap<>();
+    private int running;
+    private boolean started;
+
+    private volatile OnUploadQueueListener listener;
+
+    OssUploadQueue(Context context, OSS oss, String bucketName, String queueDirectory, int maxConcurrentUploads, int maxAttempts,
+                   boolean unmeteredOnly, long multipartThreshold, long partSize, int parallelism) {
+        this.oss = oss;
+        this.bucketName = bucketName;
+        this.directory = queueDirectory != null
+                ? new File(queueDirectory)
+                : new File(context.getApplicationContext().getFilesDir(), "OssUploadQueue");
+        this.checkpointDirectory = new File(directory, "checkpoint");
+        this.maxConcurrentUploads = maxConcurrentUploads;
+        this.maxAttempts = maxAttempts;
+        this.unmeteredOnly = unmeteredOnly;
+        this.multipartThreshold = multipartThreshold;
+        this.partSize = partSize;
+        this.parallelism = parallelism;
+        this.connectivityMonitor = ConnectivityMonitor.getInstance(context);
+        load();
+    }
+
+    /**
+     * 设置上传队列监听器
+     *
+     * @param listener 监听器
+     */
+    public void setListener(OnUploadQueueListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 开始处理队列，并在网络状态变化时继续
+     */
+    public void start() {
+        synchronized (this) {
+            if (started) return;
+            started = true;
+        }
+        connectivityMonitor.addListener(connectivityListener);
+        dispatch();
+    }
+
+    /**
+     * 停止开始新任务，上传中的任务继续完成
+     */
+    public void stop() {
+        synchronized (this) {
+            started = false;
+        }
+        connectivityMonitor.removeListener(connectivityListener);
+    }
+
+    /**
+     * 添加上传任务，相同文件与objectKey的任务未完成时返回该任务
+     *
+     * @param localFilePath 本地文件路径
+     * @param objectKey     文件名或文件目录
+     * @return 任务
+     * @throws IOException 任务文件写入失败
+     */
+    public OssUploadTask enqueue(String localFilePath, String objectKey) throws IOException {
+        OssUploadTask task;
+        synchronized (this) {
+            for (OssUploadTask existing : tasks.values()) {
+                if ((existing.getState() == OssUploadTask.State.PENDING || existing.getState() == OssUploadTask.State.RUNNING)
+                        && existing.getBucketName().equals(bucketName)
+                        && existing.getObjectKey().equals(objectKey)
+                        && existing.getLocalFilePath().equals(localFilePath)) {
+                    return existing;
+                }
+            }
+            task = new OssUploadTask(UUID.randomUUID().toString(), bucketName, objectKey, localFilePath,
+                    System.currentTimeMillis());
+            task.save(directory);
+            tasks.put(task.getId(), task);
+            pending.add(task);
+            Log.d("OssUploadQueue", "enqueue: " + task);
+        }
+        dispatch();
+        return task;
+    }
+
+    /**
+     * 失败的任务重新上传
+     */
+    public void retryFailed() {
+        synchronized (this) {
+            for (OssUploadTask task : tasks.values()) {
+                if (task.getState() == OssUploadTask.State.FAILED) {
+                    task.setAttempts(0);
+                    task.setState(OssUploadTask.State.PENDING);
+                    saveQuietly(task);
+                    pending.add(task);
+                }
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * 移除未在上传中的任务
+     *
+     * @param taskId 任务ID
+     * @return 是否已移除
+     */
+    public synchronized boolean remove(String taskId) {
+        OssUploadTask task = tasks.get(taskId);
+        if (task == null || task.getState() == OssUploadTask.State.RUNNING) {
+            return false;
+        }
+        tasks.remove(taskId);
+        pending.remove(task);
+        for (List<OssUploadTask> waiting : waitingTasks.values()) {
+            waiting.remove(task);
+        }
+        task.delete(directory);
+        return true;
+    }
+
+    /**
+     * 删除已完成任务的记录，之后不再对这些内容去重
+     */
+    public synchronized void clearCompleted() {
+        Iterator<OssUploadTask> iterator = tasks.values().iterator();
+        while (iterator.hasNext()) {
+            OssUploadTask task = iterator.next();
+            if (task.getState() == OssUploadTask.State.DONE) {
+                iterator.remove();
+                task.delete(directory);
+            }
+        }
+        uploadedKeys.clear();
+    }
+
+    /**
+     * @return 全部任务，按添加顺序
+     */
+    public synchronized List<OssUploadTask> getTasks() {
+        return Collections.unmodifiableList(new ArrayList<>(tasks.values()));
+    }
+
+    /**
+     * 加载队列目录中的任务
+     */
+    private void load() {
+        //noinspection ResultOfMethodCallIgnored
+        directory.mkdirs();
+        File[] files = directory.listFiles();
+        if (files == null) return;
+        List<OssUploadTask> loaded = new ArrayList<>();
+        for (File file : files) {
+            if (file.getName().endsWith(OssUploadTask.FILE_SUFFIX + ".tmp")) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            } else if (file.getName().endsWith(OssUploadTask.FILE_SUFFIX)) {
+                try {
+                    loaded.add(OssUploadTask.load(file));
+                } catch (IOException e) {
+                    Log.e("OssUploadQueue", "load: " + e.getMessage());
+                    //noinspection ResultOfMethodCallIgnored
+                    file.delete();
+                }
+            }
+        }
+        Collections.sort(loaded, (a, b) -> Long.compare(a.getCreatedTime(), b.getCreatedTime()));
+        synchronized (this) {
+            for (OssUploadTask task : loaded) {
+                tasks.put(task.getId(), task);
+                switch (task.getState()) {
+                    case RUNNING:
+                        //进程被杀时正在上传
+                        task.setState(OssUploadTask.State.PENDING);
+                        saveQuietly(task);
+                        pending.add(task);
+                        break;
+                    case PENDING:
+                        pending.add(task);
+                        break;
+                    case DONE:
+                        if (task.getContentHash() != null) {
+                            uploadedKeys.put(hashKey(task), task.getObjectKey());
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        Log.d("OssUploadQueue", "load: " + loaded.size() + " tasks, pending: " + pending.size());
+    }
+
+    /**
+     * 在并发数与网络条件允许时开始等待中的任务
+     */
+    private void dispatch() {
+        if (!isNetworkAllowed()) return;
+        synchronized (this) {
+            while (started && running < maxConcurrentUploads && !pending.isEmpty()) {
+                OssUploadTask task = pending.poll();
+                task.setState(OssUploadTask.State.RUNNING);
+                saveQuietly(task);
+                running++;
+                executor.execute(() -> run(task));
+            }
+        }
+    }
+
+    private boolean isNetworkAllowed() {
+        ConnectivitySnapshot snapshot = connectivityMonitor.getSnapshot();
+        return snapshot.isOnline() && (!unmeteredOnly || !snapshot.isMetered());
+    }
+
+    /**
+     * 在工作线程执行任务
+     *
+     * @param task 任务
+     */
+    private void run(OssUploadTask task) {
+        String hashKey = null;
+        try {
+            File file = new File(task.getLocalFilePath());
+            if (!file.isFile()) {
+                fail(task, new ClientException("file not found: " + task.getLocalFilePath()), null);
+                return;
+            }
+            if (task.getContentHash() == null) {
+                task.setContentHash(sha256(file));
+                saveQuietly(task);
+            }
+            String uploadedKey;
+            synchronized (this) {
+                uploadedKey = uploadedKeys.get(hashKey(task));
+                if (uploadedKey == null) {
+                    if (uploadingHashes.contains(hashKey(task))) {
+                        //相同内容正在上传，完成后再处理
+                        task.setState(OssUploadTask.State.PENDING);
+                        saveQuietly(task);
+                        List<OssUploadTask> waiting = waitingTasks.get(hashKey(task));
+                        if (waiting == null) {
+                            waiting = new ArrayList<>();
+                            waitingTasks.put(hashKey(task), waiting);
+                        }
+                        waiting.add(task);
+                        return;
+                    }
+                    hashKey = hashKey(task);
+                    uploadingHashes.add(hashKey);
+                }
+            }
+            if (uploadedKey != null && copyUploaded(task, uploadedKey)) {
+                complete(task, true);
+                return;
+            }
+            upload(task, file);
+            complete(task, false);
+        } catch (IOException e) {
+            fail(task, new ClientException("read failed: " + task.getLocalFilePath(), e), null);
+        } catch (ClientException e) {
+            Log.e("OssUploadQueue", "UploadFailure: " + task.getObjectKey() + ", " + e.getMessage());
+            synchronized (this) {
+                task.setAttempts(task.getAttempts() + 1);
+                if (task.getAttempts() < maxAttempts && tasks.containsKey(task.getId())) {
+                    task.setState(OssUploadTask.State.PENDING);
+                    saveQuietly(task);
+                    pending.add(task);
+                    return;
+                }
+            }
+            fail(task, e, null);
+        } catch (ServiceException e) {
+            Log.e("OssUploadQueue", "UploadFailure: " + task.getObjectKey() + ", " + e.getErrorCode() + ", RequestId: " + e.getRequestId());
+            fail(task, null, e);
+        } catch (RuntimeException e) {
+            Log.e("OssUploadQueue", "UploadFailure: " + task.getObjectKey() + ", " + e);
+            fail(task, new ClientException(e), null);
+        } finally {
+            synchronized (this) {
+                running--;
+                if (hashKey != null) {
+                    uploadingHashes.remove(hashKey);
+                    List<OssUploadTask> waiting = waitingTasks.remove(hashKey);
+                    if (waiting != null) {
+                        for (int i = waiting.size() - 1; i >= 0; i--) {
+                            pending.addFirst(waiting.get(i));
+                        }
+                    }
+                }
+            }
+            dispatch();
+        }
+    }
+
+    /**
+     * 上传文件，不小于分片阈值时使用分片并发上传
+     */
+    private void upload(OssUploadTask task, File file) throws ClientException, ServiceException {
+        long length = file.length();
+        if (multipartThreshold > 0 && length >= multipartThreshold) {
+            new OssMultipartUploader(oss, task.getBucketName(), task.getObjectKey(), task.getLocalFilePath(), partSize, parallelism,
+                    checkpointDirectory, (request, currentSize, totalSize) -> onProgress(task, currentSize, totalSize), null).upload();
+            return;
+        }
+        PutObjectRequest put = new PutObjectRequest(task.getBucketName(), task.getObjectKey(), task.getLocalFilePath());
+        put.setProgressCallback((request, currentSize, totalSize) -> onProgress(task, currentSize, totalSize));
+        oss.putObject(put);
+    }
+
+    /**
+     * 内容已上传过时复制到新的objectKey
+     *
+     * @return 是否已完成，已上传的对象不存在或无法复制时返回false，改为上传文件
+     */
+    private boolean copyUploaded(OssUploadTask task, String uploadedKey) throws ClientException {
+        if (uploadedKey.equals(task.getObjectKey())) {
+            return true;
+        }
+        try {
+            oss.copyObject(new CopyObjectRequest(task.getBucketName(), uploadedKey, task.getBucketName(), task.getObjectKey()));
+            return true;
+        } catch (ServiceException e) {
+            Log.d("OssUploadQueue", "copyObject: " + uploadedKey + " -> " + task.getObjectKey() + ", " + e.getErrorCode());
+            synchronized (this) {
+                uploadedKeys.remove(hashKey(task));
+            }
+            return false;
+        }
+    }
+
+    private void onProgress(OssUploadTask task, long currentSize, long totalSize) {
+        OnUploadQueueListener queueListener = listener;
+        if (queueListener != null) {
+            queueListener.onProgress(task, currentSize, totalSize);
+        }
+    }
+
+    private void complete(OssUploadTask task, boolean deduplicated) {
+        synchronized (this) {
+            task.setState(OssUploadTask.State.DONE);
+            uploadedKeys.put(hashKey(task), task.getObjectKey());
+            if (tasks.containsKey(task.getId())) {
+                saveQuietly(task);
+            }
+        }
+        Log.d("OssUploadQueue", "UploadSuccess: " + task.getObjectKey() + (deduplicated ? " (deduplicated)" : ""));
+        OnUploadQueueListener queueListener = listener;
+        if (queueListener != null) {
+            queueListener.onSuccess(task, deduplicated);
+        }
+    }
+
+    private void fail(OssUploadTask task, ClientException clientException, ServiceException serviceException) {
+        synchronized (this) {
+            task.setState(OssUploadTask.State.FAILED);
+            if (tasks.containsKey(task.getId())) {
+                saveQuietly(task);
+            }
+        }
+        OnUploadQueueListener queueListener = listener;
+        if (queueListener != null) {
+            queueListener.onFailure(task, clientException, serviceException);
+        }
+    }
+
+    private void saveQuietly(OssUploadTask task) {
+        try {
+            task.save(directory);
+        } catch (IOException e) {
+            Log.e("OssUploadQueue", "save: " + task + ", " + e.getMessage());
+        }
+    }
+
+    private static String hashKey(OssUploadTask task) {
+        return task.getBucketName() + "\n" + task.getContentHash();
+    }
+
+    private static String sha256(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return OssClientPool.toHex(digest.digest());
+    }
+}
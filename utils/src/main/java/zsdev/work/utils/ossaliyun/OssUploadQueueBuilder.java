@@ -0,0 +1,122 @@
+package zsdev.work.utils.ossaliyun;
+
+import android.content.Context;
+
+import com.alibaba.sdk.android.oss.OSS;
+
+/**
+ * Created: by 2026-10-19 00:10
+ * Description: 上传队列的构建参数，未设置的参数使用OssUploadQueue中的默认值
+ * Author: 张松
+ */
+public class OssUploadQueueBuilder {
+
+    /**
+     * 上下文
+     */
+    private final Context context;
+
+    /**
+     * OSSClient，推荐从OssClientPool获取（自动刷新STS凭证的客户端适合长期运行的队列）
+     */
+    private final OSS oss;
+
+    /**
+     * 桶名 bucket name
+     */
+    private final String bucketName;
+
+    /**
+     * 队列目录，为null使用默认目录：context.getFilesDir()/OssUploadQueue
+     */
+    private String queueDirectory;
+
+    /**
+     * 同时上传的最大任务数
+     */
+    private int maxConcurrentUploads = OssUploadQueue.DEFAULT_MAX_CONCURRENT_UPLOADS;
+
+    /**
+     * 每个任务网络异常后的最大尝试次数
+     */
+    private int maxAttempts = OssUploadQueue.DEFAULT_MAX_ATTEMPTS;
+
+    /**
+     * 是否只在不计流量的网络（如WiFi）上开始上传
+     */
+    private boolean unmeteredOnly;
+
+    /**
+     * 分片上传阈值：文件不小于此大小时使用分片并发上传，0不使用分片上传
+     */
+    private long multipartThreshold;
+
+    /**
+     * 分片大小，0使用默认值
+     */
+    private long partSize;
+
+    /**
+     * 分片上传并发数，0使用默认值
+     */
+    private int parallelism;
+
+    public OssUploadQueueBuilder(Context context, OSS oss, String bucketName) {
+        this.context = context;
+        this.oss = oss;
+        this.bucketName = bucketName;
+    }
+
+    public OssUploadQueueBuilder queueDirectory(String queueDirectory) {
+        this.queueDirectory = queueDirectory;
+        return this;
+    }
+
+    public OssUploadQueueBuilder maxConcurrentUploads(int maxConcurrentUploads) {
+        this.maxConcurrentUploads = maxConcurrentUploads;
+        return this;
+    }
+
+    public OssUploadQueueBuilder maxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    public OssUploadQueueBuilder unmeteredOnly(boolean unmeteredOnly) {
+        this.unmeteredOnly = unmeteredOnly;
+        return this;
+    }
+
+    public OssUploadQueueBuilder multipartThreshold(long multipartThreshold) {
+        this.multipartThreshold = multipartThreshold;
+        return this;
+    }
+
+    public OssUploadQueueBuilder partSize(long partSize) {
+        this.partSize = partSize;
+        return this;
+    }
+
+    public OssUploadQueueBuilder parallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 构建上传队列，加载队列目录中未完成的任务，调用start()后开始上传
+     *
+     * @return 上传队列
+     */
+    public OssUploadQueue build() {
+        if (oss == null || bucketName == null) throw new IllegalStateException("oss and bucketName must not be null!");
+        if (maxConcurrentUploads <= 0) throw new IllegalStateException("maxConcurrentUploads must be > 0!");
+        if (maxAttempts <= 0) throw new IllegalStateException("maxAttempts must be > 0!");
+        if (multipartThreshold < 0 || partSize < 0 || parallelism < 0) {
+            throw new IllegalStateException("multipartThreshold, partSize and parallelism must be >= 0!");
+        }
+        return new OssUploadQueue(context, oss, bucketName, queueDirectory, maxConcurrentUploads, maxAttempts, unmeteredOnly,
+                multipartThreshold,
+                partSize > 0 ? Math.max(OssManagerUtil.MIN_PART_SIZE, partSize) : OssManagerUtil.DEFAULT_PART_SIZE,
+                parallelism > 0 ? parallelism : OssManagerUtil.DEFAULT_PARALLELISM);
+    }
+}
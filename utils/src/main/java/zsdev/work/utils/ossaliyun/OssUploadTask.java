@@ -0,0 +1,195 @@
+package zsdev.work.utils.ossaliyun;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * Created: by 2026-10-18 23:58
+ * Description: 上传队列中的任务，每个任务保存为队列目录中的一个文件，进程被杀后重新加载
+ * 只保存bucket、objectKey、本地路径与状态，不保存凭证
+ * Author: 张松
+ */
+public class OssUploadTask {
+
+    /**
+     * 任务状态
+     */
+    public enum State {
+        /**
+         * 等待上传（含网络异常后等待重试）
+         */
+        PENDING,
+        /**
+         * 上传中，进程被杀后重新加载为PENDING
+         */
+        RUNNING,
+        /**
+         * 已完成，保留记录用于内容去重
+         */
+        DONE,
+        /**
+         * 失败（服务端拒绝、文件不存在或超过最大尝试次数），可通过OssUploadQueue.retryFailed()重新上传
+         */
+        FAILED
+    }
+
+    private static final String KEY_ID = "id";
+    private static final String KEY_BUCKET_NAME = "bucketName";
+    private static final String KEY_OBJECT_KEY = "objectKey";
+    private static final String KEY_LOCAL_FILE_PATH = "localFilePath";
+    private static final String KEY_CONTENT_HASH = "contentHash";
+    private static final String KEY_STATE = "state";
+    private static final String KEY_ATTEMPTS = "attempts";
+    private static final String KEY_CREATED_TIME = "createdTime";
+
+    static final String FILE_SUFFIX = ".task";
+
+    private final String id;
+    private final String bucketName;
+    private final String objectKey;
+    private final String localFilePath;
+    private final long createdTime;
+
+    /**
+     * 文件内容的SHA-256，首次上传前计算
+     */
+    private volatile String contentHash;
+    private volatile State state;
+    private volatile int attempts;
+
+    OssUploadTask(String id, String bucketName, String objectKey, String localFilePath, long createdTime) {
+        this.id = id;
+        this.bucketName = bucketName;
+        this.objectKey = objectKey;
+        this.localFilePath = localFilePath;
+        this.createdTime = createdTime;
+        this.state = State.PENDING;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public String getObjectKey() {
+        return objectKey;
+    }
+
+    public String getLocalFilePath() {
+        return localFilePath;
+    }
+
+    public long getCreatedTime() {
+        return createdTime;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    void setState(State state) {
+        this.state = state;
+    }
+
+    void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    /**
+     * 写入任务文件，先写临时文件再重命名，避免进程被杀时留下不完整的文件
+     *
+     * @param directory 队列目录
+     * @throws IOException 写入失败
+     */
+    void save(File directory) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_ID, id);
+        properties.setProperty(KEY_BUCKET_NAME, bucketName);
+        properties.setProperty(KEY_OBJECT_KEY, objectKey);
+        properties.setProperty(KEY_LOCAL_FILE_PATH, localFilePath);
+        if (contentHash != null) {
+            properties.setProperty(KEY_CONTENT_HASH, contentHash);
+        }
+        properties.setProperty(KEY_STATE, state.name());
+        properties.setProperty(KEY_ATTEMPTS, String.valueOf(attempts));
+        properties.setProperty(KEY_CREATED_TIME, String.valueOf(createdTime));
+        File tmp = new File(directory, id + FILE_SUFFIX + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            properties.store(out, null);
+        }
+        if (!tmp.renameTo(new File(directory, id + FILE_SUFFIX))) {
+            throw new IOException("rename failed: " + tmp);
+        }
+    }
+
+    /**
+     * 删除任务文件
+     *
+     * @param directory 队列目录
+     */
+    void delete(File directory) {
+        //noinspection ResultOfMethodCallIgnored
+        new File(directory, id + FILE_SUFFIX).delete();
+    }
+
+    /**
+     * 读取任务文件
+     *
+     * @param file 任务文件
+     * @return 任务
+     * @throws IOException 读取失败或内容不完整
+     */
+    static OssUploadTask load(File file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        String id = properties.getProperty(KEY_ID);
+        String bucketName = properties.getProperty(KEY_BUCKET_NAME);
+        String objectKey = properties.getProperty(KEY_OBJECT_KEY);
+        String localFilePath = properties.getProperty(KEY_LOCAL_FILE_PATH);
+        if (id == null || bucketName == null || objectKey == null || localFilePath == null) {
+            throw new IOException("incomplete task: " + file);
+        }
+        try {
+            OssUploadTask task = new OssUploadTask(id, bucketName, objectKey, localFilePath,
+                    Long.parseLong(properties.getProperty(KEY_CREATED_TIME, "0")));
+            task.contentHash = properties.getProperty(KEY_CONTENT_HASH);
+            task.state = State.valueOf(properties.getProperty(KEY_STATE, State.PENDING.name()));
+            task.attempts = Integer.parseInt(properties.getProperty(KEY_ATTEMPTS, "0"));
+            return task;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("invalid task: " + file, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OssUploadTask{" +
+                "id='" + id + '\'' +
+                ", objectKey='" + objectKey + '\'' +
+                ", state=" + state +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
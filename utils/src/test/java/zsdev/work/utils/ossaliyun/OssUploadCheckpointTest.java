@@ -0,0 +1,114 @@
+package zsdev.work.utils.ossaliyun;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Created: by 2026-10-19 10:40
+ * Description: OssUploadCheckpoint断点续传的测试：同一文件重新上传时恢复uploadId与已完成分片，文件变化后断点失效
+ * Author: 张松
+ */
+public class OssUploadCheckpointTest {
+
+    private static final long PART_SIZE = 4;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File directory;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = new File(temporaryFolder.getRoot(), "checkpoint");
+        file = temporaryFolder.newFile("data.bin");
+        write(file, new byte[10]);
+    }
+
+    /**
+     * 中断后重新上传同一文件：读取到保存的uploadId与已完成分片
+     */
+    @Test
+    public void resumesCompletedParts() {
+        Map<Integer, String> completedParts = new HashMap<>();
+        completedParts.put(1, "etag-1");
+        completedParts.put(3, "etag-3");
+        new OssUploadCheckpoint(directory, "bucket", "key", file, PART_SIZE).save("upload-1", completedParts);
+
+        Map<Integer, String> loaded = new HashMap<>();
+        String uploadId = new OssUploadCheckpoint(directory, "bucket", "key", file, PART_SIZE).load(loaded);
+
+        assertEquals("upload-1", uploadId);
+        assertEquals(completedParts, loaded);
+    }
+
+    /**
+     * 文件内容变化或分片大小、objectKey不同：断点不可用，从头上传
+     */
+    @Test
+    public void ignoresCheckpointOfChangedUpload() throws IOException {
+        Map<Integer, String> completedParts = new HashMap<>();
+        completedParts.put(1, "etag-1");
+        new OssUploadCheckpoint(directory, "bucket", "key", file, PART_SIZE).save("upload-1", completedParts);
+
+        Map<Integer, String> loaded = new HashMap<>();
+        assertNull(new OssUploadCheckpoint(directory, "bucket", "key", file, PART_SIZE * 2).load(loaded));
+        assertNull(new OssUploadCheckpoint(directory, "bucket", "other", file, PART_SIZE).load(loaded));
+        write(file, new byte[12]);
+        assertNull(new OssUploadCheckpoint(directory, "bucket", "key", file, PART_SIZE).load(loaded));
+        assertTrue(loaded.isEmpty());
+    }
+
+    /**
+     * 断点文件损坏：丢弃断点，不抛出异常
+     */
+    @Test
+    public void ignoresCorruptCheckpoint() throws IOException {
+        OssUploadCheckpoint checkpoint = new OssUploadCheckpoint(directory, "bucket", "key", file, PART_SIZE);
+        checkpoint.save("upload-1", new HashMap<>());
+        File[] files = directory.listFiles();
+        assertEquals(1, files != null ? files.length : -1);
+        //分片号不是数字
+        try (OutputStream out = new FileOutputStream(files[0], true)) {
+            out.write("part.abc=etag\n".getBytes("UTF-8"));
+        }
+
+        Map<Integer, String> loaded = new HashMap<>();
+        assertNull(checkpoint.load(loaded));
+        assertTrue(loaded.isEmpty());
+    }
+
+    /**
+     * 上传完成后删除断点，再次上传不会续传
+     */
+    @Test
+    public void deleteRemovesCheckpoint() {
+        OssUploadCheckpoint checkpoint = new OssUploadCheckpoint(directory, "bucket", "key", file, PART_SIZE);
+        checkpoint.save("upload-1", new HashMap<>());
+        checkpoint.delete();
+
+        assertNull(checkpoint.load(new HashMap<>()));
+        String[] files = directory.list();
+        assertEquals(0, files != null ? files.length : -1);
+    }
+
+    private static void write(File target, byte[] content) throws IOException {
+        try (OutputStream out = new FileOutputStream(target)) {
+            out.write(content);
+        }
+    }
+}